@@ -0,0 +1,42 @@
+package works.jayesh.demo.cart.model.entity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart totals, recomputed from the items on every cart response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        List<CartItem> cartItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            cartItems.add(CartItem.builder()
+                    .price(new BigDecimal("9.99").add(BigDecimal.valueOf(i)))
+                    .quantity(1 + i % 4)
+                    .build());
+        }
+        cart = Cart.builder().items(cartItems).build();
+    }
+
+    @Benchmark
+    public BigDecimal getTotalAmount() {
+        return cart.getTotalAmount();
+    }
+}
@@ -0,0 +1,102 @@
+package works.jayesh.demo.common.tracing;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of the layer observations: a service span with one repository span inside,
+ * as LayerObservationAspect records them, at different sampling probabilities. "off" is the
+ * no-op registry, the floor; {@code timers} adds the per-layer timers the app also records. Spans go through the same batch processor the app uses, with an
+ * exporter that drops them, so only the in-process cost is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+// The tracing bridge takes several seconds of warmup to reach steady state
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TracingBenchmark {
+
+    @Param({"off", "0.0", "0.1", "1.0"})
+    public String sampling;
+
+    @Param({"true", "false"})
+    public boolean timers;
+
+    private SdkTracerProvider tracerProvider;
+    private ObservationRegistry registry;
+
+    @Setup
+    public void setUp() {
+        if ("off".equals(sampling)) {
+            registry = ObservationRegistry.NOOP;
+            return;
+        }
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(Double.parseDouble(sampling))))
+                .addSpanProcessor(BatchSpanProcessor.builder(new DiscardingExporter()).build())
+                .build();
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("benchmark"), new OtelCurrentTraceContext(), event -> {
+        });
+        registry = ObservationRegistry.create();
+        if (timers) {
+            registry.observationConfig().observationHandler(new DefaultMeterObservationHandler(new SimpleMeterRegistry()));
+        }
+        registry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (tracerProvider != null) {
+            tracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Benchmark
+    public Object serviceWithRepositoryCall() {
+        return observe(LayerObservationAspect.SERVICE, "OrderService", "createOrder",
+                () -> observe(LayerObservationAspect.REPOSITORY, "OrderRepository", "save", () -> "order"));
+    }
+
+    private Object observe(String name, String type, String method, Observation.CheckedCallable<Object, RuntimeException> call) {
+        return Observation.createNotStarted(name, registry)
+                .contextualName(type + "." + method)
+                .lowCardinalityKeyValue("class", type)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked(call);
+    }
+
+    private static final class DiscardingExporter implements SpanExporter {
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package works.jayesh.demo.config;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the correlation id filter, with and without an incoming header.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CorrelationIdFilterBenchmark {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    private MockHttpServletRequest withHeader;
+    private MockHttpServletRequest withoutHeader;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        withHeader = new MockHttpServletRequest("GET", "/api/products");
+        withHeader.addHeader("X-Correlation-ID", "3f2b8c1e-bench-4d7a-9e21-0c5a6f7d8e90");
+        withoutHeader = new MockHttpServletRequest("GET", "/api/products");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void propagatedId() throws Exception {
+        filter.doFilter(withHeader, response, chain);
+    }
+
+    @Benchmark
+    public void generatedId() throws Exception {
+        filter.doFilter(withoutHeader, response, chain);
+    }
+}
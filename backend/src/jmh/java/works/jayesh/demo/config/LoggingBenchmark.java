@@ -0,0 +1,109 @@
+package works.jayesh.demo.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of a service INFO line written as JSON, straight to the log file (the
+ * old prod setup) and through the async queue configured in logback-spring.xml. Runs with
+ * several threads, since contention on the file appender's lock is the cost being removed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    private Path directory;
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logging-benchmark");
+        context = new LoggerContext();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        // Read the correlation id from the same MDC the request filter writes to
+        context.setMDCAdapter(MDC.getMDCAdapter());
+
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("logstash");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(directory.resolve("benchmark.log").toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> root = file;
+        if ("async".equals(appender)) {
+            // Same settings as the prod defaults in application.yml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_FILE");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            root = async;
+        }
+
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        rootLogger.addAppender(root);
+        logger = context.getLogger("works.jayesh.demo.order.service.OrderService");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    /**
+     * Each worker thread carries a correlation id, as a request thread does behind CorrelationIdFilter.
+     */
+    @State(Scope.Thread)
+    public static class RequestThread {
+
+        @Setup
+        public void setUp() {
+            MDC.put("correlationId", "3f2b8c1e-bench-4d7a-9e21-0c5a6f7d8e90");
+        }
+    }
+
+    @Benchmark
+    public void info(RequestThread thread) {
+        logger.info("Creating new order for user: {}", 42L);
+    }
+
+    @Benchmark
+    public void debugDisabled(RequestThread thread) {
+        logger.debug("Creating new order for user: {}", 42L);
+    }
+}
@@ -0,0 +1,121 @@
+package works.jayesh.demo.order.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import works.jayesh.demo.DemoApplication;
+import works.jayesh.demo.address.model.entity.Address;
+import works.jayesh.demo.address.model.entity.AddressType;
+import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full checkout through OrderService.createOrder, against the in-memory H2 database of the
+ * test profile. Covers the prefetch queries, stock updates, pricing and the order insert.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckoutBenchmark {
+
+    @Param({"1", "5"})
+    private int lines;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderCreateRequest request;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(DemoApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.profiles.active=test",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.works.jayesh.demo=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        orderService = context.getBean(OrderService.class);
+
+        User customer = context.getBean(UserRepository.class).save(User.builder()
+                .firstName("Bench")
+                .lastName("Buyer")
+                .email("bench-buyer@test.com")
+                .password("secret")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("Benchmark")
+                .slug("benchmark")
+                .active(true)
+                .build());
+        Address address = context.getBean(AddressRepository.class).save(Address.builder()
+                .user(customer)
+                .fullName("Bench Buyer")
+                .phoneNumber("1234567890")
+                .addressLine1("1 Benchmark Way")
+                .city("Pune")
+                .state("MH")
+                .country("India")
+                .postalCode("411001")
+                .type(AddressType.HOME)
+                .isDefault(true)
+                .build());
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Benchmark Widget " + i)
+                    .sku("BENCH-" + i)
+                    .price(new BigDecimal("24.99"))
+                    .stockQuantity(Integer.MAX_VALUE)
+                    .slug("benchmark-widget-" + i)
+                    .category(category)
+                    .seller(customer)
+                    .brand("BenchBrand")
+                    .status(ProductStatus.ACTIVE)
+                    .totalSold(0)
+                    .build());
+            items.add(new OrderItemRequest(product.getId(), 1));
+        }
+
+        request = new OrderCreateRequest();
+        request.setUserId(customer.getId());
+        request.setShippingAddressId(address.getId());
+        request.setBillingAddressId(address.getId());
+        request.setItems(items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request);
+    }
+}
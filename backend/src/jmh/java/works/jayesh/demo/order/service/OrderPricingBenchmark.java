@@ -0,0 +1,51 @@
+package works.jayesh.demo.order.service;
+
+import org.openjdk.jmh.annotations.*;
+import works.jayesh.demo.order.model.entity.Order;
+import works.jayesh.demo.order.model.entity.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subtotal, tax and total computed by OrderService.createOrder, for orders of varying size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderPricingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            BigDecimal unitPrice = new BigDecimal("19.99").add(BigDecimal.valueOf(i));
+            orderItems.add(OrderItem.builder()
+                    .unitPrice(unitPrice)
+                    .quantity(1 + i % 3)
+                    .totalPrice(unitPrice.multiply(BigDecimal.valueOf(1 + i % 3)))
+                    .build());
+        }
+        order = Order.builder()
+                .orderItems(orderItems)
+                .shippingCost(new BigDecimal("10.00"))
+                .discount(BigDecimal.ZERO)
+                .build();
+    }
+
+    @Benchmark
+    public BigDecimal applyTotals() {
+        OrderService.applyTotals(order);
+        return order.getTotalAmount();
+    }
+}
@@ -0,0 +1,102 @@
+package works.jayesh.demo.product.service;
+
+import org.openjdk.jmh.annotations.*;
+import works.jayesh.demo.product.model.dto.ProductSummary;
+import works.jayesh.demo.product.model.dto.RelatedProductResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full build of the related-products matrix and snapshot from 10 million synthetic order lines,
+ * and a single related-products lookup against the built snapshot.
+ * Baskets average four lines over 100,000 products grouped into clusters of 20, with a few
+ * clusters far more popular than the rest, so neighbour lists fill up and pruning runs the way it
+ * does on real order history. The database scan is not included.
+ */
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CoPurchaseMatrixBenchmark {
+
+    private static final int LINES = 10_000_000;
+    private static final int PRODUCTS = 100_000;
+    private static final int CLUSTER_SIZE = 20;
+    private static final int NEIGHBOURS = 20;
+    private static final int CANDIDATES = 64;
+
+    // Order i's product ids are lines[orderStarts[i]] until orderStarts[i + 1]
+    private long[] lines;
+    private int[] orderStarts;
+
+    private RelatedProducts.Snapshot snapshot;
+    private long[] lookups;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        lines = new long[LINES];
+        List<Integer> starts = new ArrayList<>();
+        int clusters = PRODUCTS / CLUSTER_SIZE;
+        int line = 0;
+        while (line < LINES) {
+            starts.add(line);
+            // Squaring a uniform draw skews orders towards the low-numbered clusters
+            double skew = random.nextDouble();
+            int cluster = (int) (skew * skew * clusters);
+            int basket = Math.min(1 + random.nextInt(7), LINES - line);
+            for (int i = 0; i < basket; i++) {
+                long productId = random.nextInt(5) == 0
+                        ? 1 + random.nextInt(PRODUCTS)
+                        : 1 + (long) cluster * CLUSTER_SIZE + random.nextInt(CLUSTER_SIZE);
+                lines[line++] = productId;
+            }
+        }
+        starts.add(LINES);
+        orderStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+
+        CoPurchaseMatrix matrix = build();
+        snapshot = RelatedProducts.Snapshot.of(matrix, NEIGHBOURS);
+        List<Long> ids = new ArrayList<>(matrix.size());
+        List<ProductSummary> summaries = new ArrayList<>(matrix.size());
+        for (int position = 0; position < matrix.size(); position++) {
+            long id = matrix.productId(position);
+            ids.add(id);
+            summaries.add(new ProductSummary(id, "Product " + id, "product-" + id,
+                    new BigDecimal("19.99"), null, 4.5, true));
+        }
+        snapshot.summarize(ids, summaries);
+
+        lookups = random.longs(1024, 1, PRODUCTS + 1).toArray();
+    }
+
+    private CoPurchaseMatrix build() {
+        CoPurchaseMatrix matrix = new CoPurchaseMatrix(CANDIDATES);
+        for (int order = 0; order + 1 < orderStarts.length; order++) {
+            matrix.addOrder(Arrays.copyOfRange(lines, orderStarts[order], orderStarts[order + 1]));
+        }
+        return matrix;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RelatedProducts.Snapshot buildFromOrderLines() {
+        return RelatedProducts.Snapshot.of(build(), NEIGHBOURS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public List<RelatedProductResponse> related() {
+        return snapshot.related(lookups[next++ & (lookups.length - 1)], 10);
+    }
+}
@@ -0,0 +1,74 @@
+package works.jayesh.demo.product.service;
+
+import org.openjdk.jmh.annotations.*;
+import works.jayesh.demo.product.model.dto.ProductResponse;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.user.model.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping run for every product in a listing page, and the slug regexes run on
+ * every product create.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductServiceBenchmark {
+
+    @Param({"Wireless Headphones", "  Ultra-Slim 4K  Monitor -- 27\" (2026 Edition) & Stand!  "})
+    private String name;
+
+    private ProductService productService;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        // Neither method touches the repositories
+        productService = new ProductService(null, null, null, null, null, null, null);
+
+        Category category = Category.builder().id(3L).name("Electronics").slug("electronics").build();
+        User seller = User.builder().id(7L).firstName("Sally").lastName("Seller").build();
+        product = Product.builder()
+                .id(42L)
+                .name(name)
+                .sku("BENCH-42")
+                .description("A product used for benchmarking the response mapping")
+                .shortDescription("Benchmark product")
+                .price(new BigDecimal("199.99"))
+                .discountPrice(new BigDecimal("149.99"))
+                .stockQuantity(100)
+                .slug("benchmark-product")
+                .category(category)
+                .seller(seller)
+                .images(new ArrayList<>(List.of("a.jpg", "b.jpg", "c.jpg")))
+                .brand("BenchBrand")
+                .status(ProductStatus.ACTIVE)
+                .averageRating(4.5)
+                .totalReviews(120)
+                .totalSold(900)
+                .tags(new ArrayList<>(List.of("audio", "wireless")))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public ProductResponse mapToResponse() {
+        return ProductService.mapToResponse(product);
+    }
+
+    @Benchmark
+    public String generateSlug() {
+        return productService.generateSlug(name);
+    }
+}
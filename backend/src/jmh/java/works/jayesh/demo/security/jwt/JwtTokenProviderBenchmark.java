@@ -0,0 +1,45 @@
+package works.jayesh.demo.security.jwt;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing on login and refresh, and verification on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret",
+                "BenchmarkSecretKeyForJwtTokenGenerationAndValidationShouldBeAtLeast256BitsLong");
+        ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenExpiration", 900000L);
+
+        userDetails = User.withUsername("bench@test.com").password("secret").roles("CUSTOMER").build();
+        token = jwtTokenProvider.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtTokenProvider.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public Boolean verify() {
+        return jwtTokenProvider.validateToken(token, userDetails);
+    }
+}
@@ -0,0 +1,89 @@
+package works.jayesh.demo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms in microseconds, plus error counts. Latencies of the first
+ * request of an operation are measured from its scheduled start, so time spent queued behind a
+ * slow server counts against the server instead of silently lowering the request rate.
+ */
+public class LatencyRecorder {
+
+    // Anything slower than a minute is clamped; three significant digits keeps each histogram small
+    private static final long MAX_MICROS = 60_000_000L;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long micros, boolean success) {
+        histograms.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(MAX_MICROS, 3))
+                .recordValue(Math.min(Math.max(micros, 1), MAX_MICROS));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    public long errors(String endpoint) {
+        LongAdder count = errors.get(endpoint);
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * Prints a summary table and writes one percentile distribution (.hgrm) per endpoint plus a
+     * summary.json to the output directory, for plotting and diffing across runs.
+     */
+    public Map<String, Map<String, Object>> report(PrintStream out, Path outputDir, double seconds) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        out.printf("%n%-36s %9s %7s %9s %9s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            String endpoint = entry.getKey();
+            Histogram histogram = entry.getValue().copy();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", histogram.getTotalCount());
+            row.put("errors", errors(endpoint));
+            row.put("throughput", histogram.getTotalCount() / seconds);
+            row.put("p50", millis(histogram, 50.0));
+            row.put("p90", millis(histogram, 90.0));
+            row.put("p99", millis(histogram, 99.0));
+            row.put("p999", millis(histogram, 99.9));
+            row.put("max", histogram.getMaxValue() / 1000.0);
+            summary.put(endpoint, row);
+
+            out.printf("%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint, histogram.getTotalCount(),
+                    errors(endpoint), row.get("throughput"), row.get("p50"), row.get("p90"), row.get("p99"),
+                    row.get("p999"), row.get("max"));
+            writeDistribution(histogram, outputDir.resolve(fileName(endpoint) + ".hgrm"));
+        }
+        return summary;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void writeDistribution(Histogram histogram, Path file) {
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(stream, 1000.0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
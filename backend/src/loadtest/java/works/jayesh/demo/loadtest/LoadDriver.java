@@ -0,0 +1,209 @@
+package works.jayesh.demo.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-loop load generator: operations arrive as a Poisson process at the configured rate and
+ * each runs on its own virtual thread, so a slow response never delays the next arrival.
+ * Arrivals during the warmup are executed but not recorded.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class LoadDriver {
+
+    private static final int BROWSE_PAGES = 50;
+    private static final int MAX_PENDING_ORDERS = 10_000;
+
+    private final LoadTestConfig config;
+    private final SyntheticDataSeeder.SeededData data;
+    private final String baseUrl;
+    private final Function<String, String> tokens;
+    private final JsonMapper jsonMapper;
+    private final LatencyRecorder recorder;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Orders placed by checkouts, waiting to be paid for by a payment operation
+    private final Queue<Long> unpaidOrders = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Runs the warmup and measured phases, then waits for in-flight operations to finish.
+     */
+    public void run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(config.seed());
+        int totalWeight = 0;
+        for (int weight : config.mix()) {
+            totalWeight += weight;
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        double meanGapNanos = 1_000_000_000.0 / config.rate();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = start;
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long scheduledAt = next;
+                boolean measured = scheduledAt >= measureFrom;
+                Operation operation = pick(random.nextInt(totalWeight));
+                workers.execute(() -> execute(operation, scheduledAt, measured));
+
+                next += (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(60, TimeUnit.SECONDS)) {
+                log.warn("Operations still running 60 s after the last arrival");
+            }
+        }
+    }
+
+    private Operation pick(int roll) {
+        int[] mix = config.mix();
+        for (int i = 0; i < mix.length; i++) {
+            roll -= mix[i];
+            if (roll < 0) {
+                return Operation.values()[i];
+            }
+        }
+        return Operation.BROWSE;
+    }
+
+    private void execute(Operation operation, long scheduledAt, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int customer = random.nextInt(data.customerIds().size());
+        Long productId = data.productIds().get(random.nextInt(data.productIds().size()));
+        try {
+            switch (operation) {
+                case BROWSE -> get("GET /api/products", "/api/products?page=" + random.nextInt(BROWSE_PAGES) + "&size=20",
+                        null, scheduledAt, measured);
+                case SEARCH -> get("GET /api/products/search", "/api/products/search?keyword="
+                        + data.searchTerms().get(random.nextInt(data.searchTerms().size())) + "&size=20",
+                        null, scheduledAt, measured);
+                case PRODUCT_DETAIL -> get("GET /api/products/{id}", "/api/products/" + productId,
+                        null, scheduledAt, measured);
+                case CART -> {
+                    Long userId = data.customerIds().get(customer);
+                    String token = tokens.apply(data.customerEmails().get(customer));
+                    post("POST /api/cart/user/{id}", "/api/cart/user/" + userId,
+                            Map.of("productId", productId, "quantity", 1), token, scheduledAt, measured);
+                    get("GET /api/cart/user/{id}", "/api/cart/user/" + userId, token, System.nanoTime(), measured);
+                }
+                case CHECKOUT -> {
+                    Long orderId = checkout(customer, productId, scheduledAt, measured);
+                    if (orderId != null && unpaidOrders.size() < MAX_PENDING_ORDERS) {
+                        unpaidOrders.add(orderId);
+                    }
+                }
+                case PAYMENT -> {
+                    Long orderId = unpaidOrders.poll();
+                    long paymentStart = scheduledAt;
+                    if (orderId == null) {
+                        orderId = checkout(customer, productId, scheduledAt, measured);
+                        paymentStart = System.nanoTime();
+                    }
+                    if (orderId != null) {
+                        pay(orderId, customer, paymentStart, measured);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.debug("{} failed", operation, e);
+        }
+    }
+
+    private Long checkout(int customer, Long productId, long startedAt, boolean measured) {
+        Map<String, Object> order = Map.of(
+                "userId", data.customerIds().get(customer),
+                "items", List.of(Map.of("productId", productId, "quantity", 1)),
+                "shippingAddressId", data.addressIds().get(customer),
+                "billingAddressId", data.addressIds().get(customer));
+        JsonNode created = post("POST /api/orders", "/api/orders", order,
+                tokens.apply(data.customerEmails().get(customer)), startedAt, measured);
+        if (created == null) {
+            return null;
+        }
+        return created.path("data").path("id").asLong();
+    }
+
+    private void pay(Long orderId, int customer, long startedAt, boolean measured) {
+        String token = tokens.apply(data.customerEmails().get(customer));
+        JsonNode payment = post("POST /api/payments", "/api/payments",
+                Map.of("orderId", orderId, "paymentMethod", "CREDIT_CARD", "paymentGateway", "stripe"),
+                token, startedAt, measured);
+        if (payment != null) {
+            post("POST /api/payments/{id}/process", "/api/payments/" + payment.path("data").path("id").asLong()
+                    + "/process", null, token, System.nanoTime(), measured);
+        }
+    }
+
+    private JsonNode get(String endpoint, String path, String token, long startedAt, boolean measured) {
+        return send(endpoint, request(path, token).GET().build(), startedAt, measured);
+    }
+
+    private JsonNode post(String endpoint, String path, Object body, String token, long startedAt, boolean measured) {
+        HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body))
+                : HttpRequest.BodyPublishers.noBody();
+        return send(endpoint, request(path, token).header("Content-Type", "application/json").POST(publisher).build(),
+                startedAt, measured);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Returns the parsed body of a 2xx response, or null after recording the failure
+    private JsonNode send(String endpoint, HttpRequest request, long startedAt, boolean measured) {
+        boolean success = false;
+        String body = null;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() / 100 == 2;
+            body = response.body();
+            if (!success) {
+                log.debug("{} returned {}: {}", endpoint, response.statusCode(), body);
+            }
+        } catch (IOException e) {
+            log.debug("{} failed", endpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (measured) {
+            recorder.record(endpoint, (System.nanoTime() - startedAt) / 1_000, success);
+        }
+        return success ? jsonMapper.readTree(body) : null;
+    }
+}
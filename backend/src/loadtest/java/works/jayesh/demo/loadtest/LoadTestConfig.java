@@ -0,0 +1,47 @@
+package works.jayesh.demo.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param profile         Spring profile the app is started with: {@code test} (H2) or {@code dev} (local Postgres)
+ * @param users           customers to seed, each with an address and a cart
+ * @param categories      categories to seed; one in five is a top-level category
+ * @param products        products to seed, spread over the categories
+ * @param orders          historical orders to seed
+ * @param rate            request arrivals per second, independent of response times
+ * @param warmup          run time discarded before measuring
+ * @param duration        measured run time
+ * @param mix             relative weights of the browse, search, detail, cart, checkout and payment operations
+ * @param seed            random seed for the dataset and the arrival schedule
+ */
+public record LoadTestConfig(String profile, int users, int categories, int products, int orders,
+                             double rate, Duration warmup, Duration duration, int[] mix, long seed) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.profile", "test"),
+                Integer.getInteger("loadtest.users", 1_000),
+                Integer.getInteger("loadtest.categories", 50),
+                Integer.getInteger("loadtest.products", 10_000),
+                Integer.getInteger("loadtest.orders", 5_000),
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                parseMix(System.getProperty("loadtest.mix", "45,20,15,12,5,3")),
+                Long.getLong("loadtest.seed", 42));
+    }
+
+    private static int[] parseMix(String mix) {
+        String[] parts = mix.split(",");
+        if (parts.length != Operation.values().length) {
+            throw new IllegalArgumentException("loadtest.mix needs " + Operation.values().length + " weights: " + mix);
+        }
+        int[] weights = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            weights[i] = Integer.parseInt(parts[i].trim());
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,76 @@
+package works.jayesh.demo.loadtest;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+import works.jayesh.demo.DemoApplication;
+import works.jayesh.demo.product.service.CategoryTreeCache;
+import works.jayesh.demo.security.jwt.JwtTokenProvider;
+import works.jayesh.demo.security.service.CustomUserDetailsService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application on a random port, seeds a synthetic dataset, drives the configured
+ * workload over HTTP and reports latency percentiles per endpoint. Program arguments are passed
+ * on to Spring, e.g. {@code --spring.datasource.url=...} to point the dev profile at another database.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Path outputDir = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+        Files.createDirectories(outputDir);
+
+        String[] springArgs = Stream.concat(Stream.of(
+                "--spring.profiles.active=" + config.profile(),
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.works.jayesh.demo=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"), Stream.of(args))
+                .toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(DemoApplication.class, springArgs)) {
+            SyntheticDataSeeder seeder = new SyntheticDataSeeder(context.getBean(JdbcTemplate.class),
+                    context.getBean(TransactionTemplate.class),
+                    context.getBean(PasswordEncoder.class).encode("loadtest-password"));
+            SyntheticDataSeeder.SeededData data = seeder.seed(config);
+
+            // The rows went in behind Hibernate's and the category tree's backs
+            context.getBean(EntityManagerFactory.class).getCache().evictAll();
+            context.getBean(CategoryTreeCache.class).reload();
+
+            // Tokens are minted directly rather than by logging in, so BCrypt stays out of the numbers
+            JwtTokenProvider jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+            CustomUserDetailsService userDetailsService = context.getBean(CustomUserDetailsService.class);
+            Map<String, String> tokens = new ConcurrentHashMap<>();
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            JsonMapper jsonMapper = context.getBean(JsonMapper.class);
+            LatencyRecorder recorder = new LatencyRecorder();
+            new LoadDriver(config, data, baseUrl,
+                    email -> tokens.computeIfAbsent(email,
+                            key -> jwtTokenProvider.generateAccessToken(userDetailsService.loadUserByUsername(key))),
+                    jsonMapper, recorder).run();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("profile", config.profile());
+            report.put("rate", config.rate());
+            report.put("durationSeconds", config.duration().toSeconds());
+            report.put("endpoints", recorder.report(System.out, outputDir, config.duration().toSeconds()));
+            jsonMapper.writerWithDefaultPrettyPrinter().writeValue(outputDir.resolve("summary.json").toFile(), report);
+            System.out.println("\nHistograms and summary.json written to " + outputDir.toAbsolutePath());
+        }
+    }
+}
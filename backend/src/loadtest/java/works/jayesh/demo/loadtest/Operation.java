@@ -0,0 +1,13 @@
+package works.jayesh.demo.loadtest;
+
+/**
+ * User actions in the workload mix. Each arrival picks one by weight and issues its requests in order.
+ */
+public enum Operation {
+    BROWSE,
+    SEARCH,
+    PRODUCT_DETAIL,
+    CART,
+    CHECKOUT,
+    PAYMENT
+}
@@ -0,0 +1,239 @@
+package works.jayesh.demo.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds a synthetic catalog with JDBC batch inserts, bypassing JPA so that tens of thousands of
+ * rows load in seconds. Every natural key carries a per-run prefix, so repeated runs against the
+ * same Postgres database do not collide, and generated ids are read back by that prefix.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataSeeder {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] ADJECTIVES = {"Wireless", "Compact", "Premium", "Organic", "Smart", "Classic",
+            "Portable", "Ultra", "Eco", "Deluxe"};
+    private static final String[] NOUNS = {"Headphones", "Backpack", "Kettle", "Monitor", "Sneakers", "Lamp",
+            "Blender", "Jacket", "Speaker", "Watch", "Notebook", "Camera"};
+    private static final String[] TAGS = {"new", "sale", "bestseller", "eco", "gift", "limited", "premium", "budget"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String passwordHash;
+
+    /**
+     * Ids of the seeded rows, index-aligned: customer i owns address i and cart i.
+     */
+    public record SeededData(String prefix, List<Long> customerIds, List<String> customerEmails,
+                             List<Long> addressIds, List<Long> productIds, List<String> searchTerms) {
+    }
+
+    public SeededData seed(LoadTestConfig config) {
+        String prefix = "lt" + System.currentTimeMillis();
+        Random random = new Random(config.seed());
+        LocalDateTime now = LocalDateTime.now();
+
+        return transactionTemplate.execute(status -> {
+            long start = System.nanoTime();
+
+            Long sellerId = insertSeller(prefix, now);
+            List<Long> customerIds = insertCustomers(prefix, config.users(), now);
+            List<String> customerEmails = jdbcTemplate.queryForList(
+                    "SELECT email FROM users WHERE email LIKE ? AND role = 'CUSTOMER' ORDER BY id", String.class,
+                    prefix + "-customer-%");
+            List<Long> categoryIds = insertCategories(prefix, config.categories(), now);
+            List<Long> productIds = insertProducts(prefix, config.products(), categoryIds, sellerId, random, now);
+            List<Long> addressIds = insertAddresses(prefix, customerIds, now);
+            insertCarts(customerIds, productIds, random, now);
+            insertOrders(prefix, config.orders(), customerIds, addressIds, productIds, random, now);
+
+            log.warn("Seeded {} customers, {} categories, {} products and {} orders in {} ms",
+                    customerIds.size(), categoryIds.size(), productIds.size(), config.orders(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return new SeededData(prefix, customerIds, customerEmails, addressIds, productIds,
+                    List.of(ADJECTIVES).stream().map(String::toLowerCase).toList());
+        });
+    }
+
+    private Long insertSeller(String prefix, LocalDateTime now) {
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, role, status, "
+                        + "email_verified, phone_verified, two_factor_enabled, created_at, updated_at) "
+                        + "VALUES (?, ?, 'Load', 'Seller', 'SELLER', 'ACTIVE', true, false, false, ?, ?)",
+                prefix + "-seller@load.test", passwordHash, Timestamp.valueOf(now), Timestamp.valueOf(now));
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class,
+                prefix + "-seller@load.test");
+    }
+
+    private List<Long> insertCustomers(String prefix, int count, LocalDateTime now) {
+        batch("INSERT INTO users (email, password, first_name, last_name, role, status, "
+                        + "email_verified, phone_verified, two_factor_enabled, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, 'Customer', 'CUSTOMER', 'ACTIVE', true, false, false, ?, ?)",
+                count, i -> new Object[]{prefix + "-customer-" + i + "@load.test", passwordHash,
+                        "Load" + i, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? AND role = 'CUSTOMER' ORDER BY id",
+                Long.class, prefix + "-customer-%");
+    }
+
+    // One in five categories is top-level; the rest hang under a top-level category
+    private List<Long> insertCategories(String prefix, int count, LocalDateTime now) {
+        int roots = Math.max(1, count / 5);
+        batch("INSERT INTO categories (name, slug, description, active, display_order, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, true, ?, ?, ?)",
+                count, i -> new Object[]{prefix + " Category " + i, prefix + "-category-" + i,
+                        "Synthetic category " + i, i, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM categories WHERE slug LIKE ? ORDER BY id",
+                Long.class, prefix + "-category-%");
+
+        List<Object[]> parents = new ArrayList<>();
+        List<Object[]> closure = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            closure.add(new Object[]{ids.get(i), ids.get(i), 0});
+            if (i >= roots) {
+                Long parentId = ids.get(i % roots);
+                parents.add(new Object[]{parentId, ids.get(i)});
+                closure.add(new Object[]{parentId, ids.get(i), 1});
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE categories SET parent_category_id = ? WHERE id = ?", parents);
+        jdbcTemplate.batchUpdate("INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, ?)",
+                closure);
+        return ids;
+    }
+
+    private List<Long> insertProducts(String prefix, int count, List<Long> categoryIds, Long sellerId,
+                                      Random random, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                    + " " + i;
+            BigDecimal price = BigDecimal.valueOf(5 + random.nextInt(50_000), 2).add(BigDecimal.TEN);
+            BigDecimal discountPrice = random.nextInt(4) == 0
+                    ? price.multiply(new BigDecimal("0.85")).setScale(2, RoundingMode.HALF_UP) : null;
+            rows.add(new Object[]{name, prefix + "-SKU-" + i, "Synthetic product " + i + " for load testing",
+                    name, price, discountPrice, 1_000_000, prefix + "-product-" + i,
+                    categoryIds.get(random.nextInt(categoryIds.size())), sellerId, "Brand" + (i % 40),
+                    random.nextInt(10) == 0, Math.round(random.nextDouble() * 50) / 10.0, random.nextInt(500),
+                    random.nextInt(2_000), Timestamp.valueOf(now.minusMinutes(i)), Timestamp.valueOf(now)});
+        }
+        batch("INSERT INTO products (name, sku, description, short_description, price, discount_price, "
+                + "stock_quantity, slug, category_id, seller_id, brand, active, featured, status, average_rating, "
+                + "total_reviews, total_sold, created_at, updated_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, ?, 'ACTIVE', ?, ?, ?, ?, ?, 0)", rows);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM products WHERE sku LIKE ? ORDER BY id",
+                Long.class, prefix + "-SKU-%");
+
+        List<Object[]> images = new ArrayList<>(ids.size() * 3);
+        List<Object[]> tags = new ArrayList<>(ids.size() * 2);
+        for (Long id : ids) {
+            for (int image = 0; image < 3; image++) {
+                images.add(new Object[]{id, "https://cdn.load.test/products/" + id + "/" + image + ".jpg"});
+            }
+            tags.add(new Object[]{id, TAGS[random.nextInt(TAGS.length)]});
+            tags.add(new Object[]{id, TAGS[random.nextInt(TAGS.length)]});
+        }
+        batch("INSERT INTO product_images (product_id, image_url) VALUES (?, ?)", images);
+        batch("INSERT INTO product_tags (product_id, tag) VALUES (?, ?)", tags);
+        return ids;
+    }
+
+    private List<Long> insertAddresses(String prefix, List<Long> customerIds, LocalDateTime now) {
+        batch("INSERT INTO addresses (user_id, type, full_name, phone_number, address_line1, city, state, "
+                        + "country, postal_code, is_default, created_at, updated_at) "
+                        + "VALUES (?, 'HOME', ?, '9999999999', ?, 'Pune', 'MH', 'India', '411001', true, ?, ?)",
+                customerIds.size(), i -> new Object[]{customerIds.get(i), prefix + " Customer " + i,
+                        i + " Load Test Road", Timestamp.valueOf(now), Timestamp.valueOf(now)});
+
+        Map<Long, Long> byUser = new HashMap<>();
+        jdbcTemplate.query("SELECT id, user_id FROM addresses WHERE full_name LIKE ?",
+                rs -> {
+                    byUser.put(rs.getLong("user_id"), rs.getLong("id"));
+                }, prefix + " Customer %");
+        return customerIds.stream().map(byUser::get).toList();
+    }
+
+    // Every customer gets a cart; half of them start with two items in it
+    private void insertCarts(List<Long> customerIds, List<Long> productIds, Random random, LocalDateTime now) {
+        batch("INSERT INTO carts (user_id, version, created_at, updated_at) VALUES (?, 0, ?, ?)",
+                customerIds.size(), i -> new Object[]{customerIds.get(i), Timestamp.valueOf(now), Timestamp.valueOf(now)});
+
+        Map<Long, Long> cartByUser = new HashMap<>();
+        jdbcTemplate.query("SELECT id, user_id FROM carts WHERE user_id BETWEEN ? AND ?",
+                rs -> {
+                    cartByUser.put(rs.getLong("user_id"), rs.getLong("id"));
+                }, customerIds.getFirst(), customerIds.getLast());
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < customerIds.size(); i += 2) {
+            Long cartId = cartByUser.get(customerIds.get(i));
+            items.add(new Object[]{cartId, productIds.get(random.nextInt(productIds.size())), 1, new BigDecimal("19.99"),
+                    Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            items.add(new Object[]{cartId, productIds.get(random.nextInt(productIds.size())), 2, new BigDecimal("49.99"),
+                    Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        }
+        batch("INSERT INTO cart_items (cart_id, product_id, quantity, price, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", items);
+    }
+
+    // Delivered orders of two lines each, spread over the last 90 days
+    private void insertOrders(String prefix, int count, List<Long> customerIds, List<Long> addressIds,
+                              List<Long> productIds, Random random, LocalDateTime now) {
+        BigDecimal unitPrice = new BigDecimal("25.00");
+        BigDecimal subtotal = unitPrice.multiply(BigDecimal.valueOf(3));
+        BigDecimal tax = subtotal.multiply(new BigDecimal("0.10"));
+        BigDecimal shipping = new BigDecimal("10.00");
+        BigDecimal total = subtotal.add(tax).add(shipping);
+
+        batch("INSERT INTO orders (order_number, user_id, status, subtotal, tax, shipping_cost, discount, "
+                        + "total_amount, shipping_address_id, billing_address_id, created_at, updated_at, version) "
+                        + "VALUES (?, ?, 'DELIVERED', ?, ?, ?, 0, ?, ?, ?, ?, ?, 0)",
+                count, i -> {
+                    int customer = random.nextInt(customerIds.size());
+                    Timestamp placedAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(90 * 24 * 60)));
+                    return new Object[]{prefix + "-ORD-" + i, customerIds.get(customer), subtotal, tax, shipping,
+                            total, addressIds.get(customer), addressIds.get(customer), placedAt, placedAt};
+                });
+        List<Long> orderIds = jdbcTemplate.queryForList("SELECT id FROM orders WHERE order_number LIKE ? ORDER BY id",
+                Long.class, prefix + "-ORD-%");
+
+        List<Object[]> items = new ArrayList<>(orderIds.size() * 2);
+        for (Long orderId : orderIds) {
+            items.add(orderItem(orderId, productIds.get(random.nextInt(productIds.size())), unitPrice, 1));
+            items.add(orderItem(orderId, productIds.get(random.nextInt(productIds.size())), unitPrice, 2));
+        }
+        batch("INSERT INTO order_items (order_id, product_id, product_name, product_sku, unit_price, quantity, "
+                + "total_price) VALUES (?, ?, 'Seeded product', 'SEEDED', ?, ?, ?)", items);
+    }
+
+    private static Object[] orderItem(Long orderId, Long productId, BigDecimal unitPrice, int quantity) {
+        return new Object[]{orderId, productId, unitPrice, quantity, unitPrice.multiply(BigDecimal.valueOf(quantity))};
+    }
+
+    private void batch(String sql, int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(row.apply(i));
+        }
+        batch(sql, rows);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
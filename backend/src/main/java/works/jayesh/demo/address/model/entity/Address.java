@@ -2,6 +2,8 @@ package works.jayesh.demo.address.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import works.jayesh.demo.user.model.entity.User;
@@ -9,6 +11,8 @@ import works.jayesh.demo.user.model.entity.User;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "addresses")
 @Table(name = "addresses")
 @Getter
 @Setter
@@ -1,6 +1,9 @@
 package works.jayesh.demo.address.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import works.jayesh.demo.address.model.entity.Address;
 
@@ -15,4 +18,13 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
     Optional<Address> findByUserIdAndIsDefaultTrue(Long userId);
 
     List<Address> findByUserIdOrderByIsDefaultDescCreatedAtDesc(Long userId);
+
+    /**
+     * Make one address the user's default and clear the flag on all others in a single statement.
+     * Written in JPQL so Hibernate invalidates only the addresses cache region.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Address a SET a.isDefault = CASE WHEN a.id = :addressId THEN true ELSE false END " +
+            "WHERE a.user.id = :userId")
+    int setDefaultAddress(@Param("userId") Long userId, @Param("addressId") Long addressId);
 }
@@ -0,0 +1,63 @@
+package works.jayesh.demo.address.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import works.jayesh.demo.address.model.dto.AddressResponse;
+import works.jayesh.demo.common.transaction.AfterTransaction;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of each user's address book, already mapped and ordered for the API.
+ * Writes evict the user's entry immediately and again after commit, so a read racing the
+ * write cannot re-cache the pre-commit state. Entries also expire after a TTL, which bounds
+ * staleness from writes made by other instances.
+ */
+@Component
+public class AddressBookCache {
+
+    private final int maxUsers;
+    private final long ttlMillis;
+    private final Map<Long, Entry> entries;
+
+    public AddressBookCache(@Value("${app.addresses.cache.max-users:10000}") int maxUsers,
+                            @Value("${app.addresses.cache.ttl-ms:300000}") long ttlMillis) {
+        this.maxUsers = Math.max(maxUsers, 1);
+        this.ttlMillis = ttlMillis;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > AddressBookCache.this.maxUsers;
+            }
+        });
+    }
+
+    private record Entry(List<AddressResponse> addresses, long loadedAt) {
+    }
+
+    public List<AddressResponse> get(Long userId, Supplier<List<AddressResponse>> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.loadedAt() < ttlMillis) {
+            return entry.addresses();
+        }
+
+        List<AddressResponse> addresses = List.copyOf(loader.get());
+        entries.put(userId, new Entry(addresses, now));
+        return addresses;
+    }
+
+    public void evict(Long userId) {
+        entries.remove(userId);
+        // Again once the transaction ends, so a read racing the write cannot re-cache stale rows
+        AfterTransaction.afterCompletion(() -> entries.remove(userId));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
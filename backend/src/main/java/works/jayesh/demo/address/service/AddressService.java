@@ -22,6 +22,7 @@ public class AddressService {
 
     private final AddressRepository addressRepository;
     private final UserRepository userRepository;
+    private final AddressBookCache addressBookCache;
 
     public AddressResponse createAddress(Long userId, AddressRequest request) {
         log.info("Creating new address for user: {}", userId);
@@ -29,15 +30,6 @@ public class AddressService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
 
-        // If this is set as default, unset other default addresses
-        if (request.getIsDefault() != null && request.getIsDefault()) {
-            addressRepository.findByUserIdAndIsDefaultTrue(userId)
-                    .ifPresent(addr -> {
-                        addr.setDefault(false);
-                        addressRepository.save(addr);
-                    });
-        }
-
         Address address = Address.builder()
                 .user(user)
                 .type(request.getType())
@@ -50,10 +42,14 @@ public class AddressService {
                 .country(request.getCountry())
                 .postalCode(request.getPostalCode())
                 .landmark(request.getLandmark())
-                .isDefault(request.getIsDefault() != null && request.getIsDefault())
+                .isDefault(Boolean.TRUE.equals(request.getIsDefault()))
                 .build();
 
         Address savedAddress = addressRepository.save(address);
+        if (savedAddress.isDefault()) {
+            addressRepository.setDefaultAddress(userId, savedAddress.getId());
+        }
+        addressBookCache.evict(userId);
         log.info("Address created successfully with ID: {}", savedAddress.getId());
 
         return mapToResponse(savedAddress);
@@ -67,23 +63,15 @@ public class AddressService {
 
     @Transactional(readOnly = true)
     public List<AddressResponse> getUserAddresses(Long userId) {
-        return addressRepository.findByUserIdOrderByIsDefaultDescCreatedAtDesc(userId)
-                .stream().map(this::mapToResponse).toList();
+        return addressBookCache.get(userId, () -> addressRepository.findByUserIdOrderByIsDefaultDescCreatedAtDesc(userId)
+                .stream().map(this::mapToResponse).toList());
     }
 
     public AddressResponse updateAddress(Long addressId, AddressRequest request) {
         log.info("Updating address with ID: {}", addressId);
 
         Address address = findAddressById(addressId);
-
-        // If this is set as default, unset other default addresses
-        if (request.getIsDefault() && !address.isDefault()) {
-            addressRepository.findByUserIdAndIsDefaultTrue(address.getUser().getId())
-                    .ifPresent(addr -> {
-                        addr.setDefault(false);
-                        addressRepository.save(addr);
-                    });
-        }
+        Long userId = address.getUser().getId();
 
         address.setType(request.getType());
         address.setFullName(request.getFullName());
@@ -95,9 +83,14 @@ public class AddressService {
         address.setCountry(request.getCountry());
         address.setPostalCode(request.getPostalCode());
         address.setLandmark(request.getLandmark());
-        address.setDefault(request.getIsDefault() != null && request.getIsDefault());
+        address.setDefault(Boolean.TRUE.equals(request.getIsDefault()));
 
         Address updatedAddress = addressRepository.save(address);
+        // Re-asserting an existing default is one cheap statement and never trusts a stale entity
+        if (updatedAddress.isDefault()) {
+            addressRepository.setDefaultAddress(userId, addressId);
+        }
+        addressBookCache.evict(userId);
         log.info("Address updated successfully with ID: {}", addressId);
 
         return mapToResponse(updatedAddress);
@@ -107,6 +100,7 @@ public class AddressService {
         log.info("Deleting address with ID: {}", addressId);
         Address address = findAddressById(addressId);
         addressRepository.delete(address);
+        addressBookCache.evict(address.getUser().getId());
         log.info("Address deleted successfully with ID: {}", addressId);
     }
 
@@ -0,0 +1,73 @@
+package works.jayesh.demo.analytics.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import works.jayesh.demo.analytics.model.dto.*;
+import works.jayesh.demo.analytics.model.entity.RollupGranularity;
+import works.jayesh.demo.analytics.service.AnalyticsService;
+import works.jayesh.demo.common.model.ApiResponse;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/sales")
+    public ResponseEntity<ApiResponse<List<SalesBucketResponse>>> getSalesSeries(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status) {
+        List<SalesBucketResponse> series = analyticsService.getSalesSeries(granularity, from, to, status);
+        return ResponseEntity.ok(ApiResponse.success("Sales retrieved successfully", series));
+    }
+
+    @GetMapping("/products/top")
+    public ResponseEntity<ApiResponse<List<ProductSalesResponse>>> getTopProducts(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ProductSalesResponse> products = analyticsService.getTopProducts(granularity, from, to, status, limit);
+        return ResponseEntity.ok(ApiResponse.success("Top products retrieved successfully", products));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<ApiResponse<List<CategorySalesResponse>>> getCategorySales(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status) {
+        List<CategorySalesResponse> categories = analyticsService.getCategorySales(granularity, from, to, status);
+        return ResponseEntity.ok(ApiResponse.success("Category sales retrieved successfully", categories));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<ApiResponse<List<StatusSalesResponse>>> getStatusBreakdown(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<StatusSalesResponse> breakdown = analyticsService.getStatusBreakdown(granularity, from, to);
+        return ResponseEntity.ok(ApiResponse.success("Status breakdown retrieved successfully", breakdown));
+    }
+
+    @PostMapping("/backfill")
+    public ResponseEntity<ApiResponse<BackfillResponse>> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        BackfillResponse response = analyticsService.backfill(from, to);
+        return ResponseEntity.ok(ApiResponse.success("Sales rollups backfilled successfully", response));
+    }
+}
@@ -0,0 +1,19 @@
+package works.jayesh.demo.analytics.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private Integer days;
+    private Long rollupRows;
+}
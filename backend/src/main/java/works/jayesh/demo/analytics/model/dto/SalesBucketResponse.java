@@ -0,0 +1,19 @@
+package works.jayesh.demo.analytics.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesBucketResponse {
+    private LocalDateTime bucketStart;
+    private BigDecimal revenue;
+    private Long units;
+    private Long orderCount;
+}
@@ -0,0 +1,20 @@
+package works.jayesh.demo.analytics.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusSalesResponse {
+    private OrderStatus status;
+    private BigDecimal revenue;
+    private Long units;
+    private Long orderCount;
+}
@@ -0,0 +1,7 @@
+package works.jayesh.demo.analytics.model.entity;
+
+public enum RollupDimension {
+    PRODUCT,
+    CATEGORY,
+    TOTAL
+}
@@ -0,0 +1,58 @@
+package works.jayesh.demo.analytics.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated sales for one time bucket, keyed by dimension (product, category or
+ * store total) and the current status of the orders it covers. Orders are bucketed by
+ * their creation time; a status change moves the order's contribution between rows.
+ */
+@Entity
+@Table(name = "sales_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sales_rollup_key",
+                columnNames = {"granularity", "dimension", "bucket_start", "dimension_id", "status"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RollupGranularity granularity;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RollupDimension dimension;
+
+    // Product or category id; 0 for the TOTAL dimension
+    @Column(nullable = false)
+    private Long dimensionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false)
+    private Long orderCount;
+}
@@ -0,0 +1,70 @@
+package works.jayesh.demo.analytics.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import works.jayesh.demo.analytics.model.dto.CategorySalesResponse;
+import works.jayesh.demo.analytics.model.dto.ProductSalesResponse;
+import works.jayesh.demo.analytics.model.dto.SalesBucketResponse;
+import works.jayesh.demo.analytics.model.dto.StatusSalesResponse;
+import works.jayesh.demo.analytics.model.entity.RollupGranularity;
+import works.jayesh.demo.analytics.model.entity.SalesRollup;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    @Query("SELECT new works.jayesh.demo.analytics.model.dto.SalesBucketResponse(" +
+            "r.bucketStart, SUM(r.revenue), SUM(r.units), SUM(r.orderCount)) " +
+            "FROM SalesRollup r WHERE r.granularity = :granularity " +
+            "AND r.dimension = works.jayesh.demo.analytics.model.entity.RollupDimension.TOTAL " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<SalesBucketResponse> findSalesSeries(@Param("granularity") RollupGranularity granularity,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("status") OrderStatus status);
+
+    @Query("SELECT new works.jayesh.demo.analytics.model.dto.ProductSalesResponse(" +
+            "r.dimensionId, p.name, SUM(r.revenue), SUM(r.units), SUM(r.orderCount)) " +
+            "FROM SalesRollup r LEFT JOIN Product p ON p.id = r.dimensionId " +
+            "WHERE r.granularity = :granularity " +
+            "AND r.dimension = works.jayesh.demo.analytics.model.entity.RollupDimension.PRODUCT " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "GROUP BY r.dimensionId, p.name ORDER BY SUM(r.revenue) DESC, r.dimensionId")
+    List<ProductSalesResponse> findTopProducts(@Param("granularity") RollupGranularity granularity,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("status") OrderStatus status,
+                                               Pageable pageable);
+
+    @Query("SELECT new works.jayesh.demo.analytics.model.dto.CategorySalesResponse(" +
+            "r.dimensionId, c.name, SUM(r.revenue), SUM(r.units), SUM(r.orderCount)) " +
+            "FROM SalesRollup r LEFT JOIN Category c ON c.id = r.dimensionId " +
+            "WHERE r.granularity = :granularity " +
+            "AND r.dimension = works.jayesh.demo.analytics.model.entity.RollupDimension.CATEGORY " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "GROUP BY r.dimensionId, c.name ORDER BY SUM(r.revenue) DESC, r.dimensionId")
+    List<CategorySalesResponse> findCategorySales(@Param("granularity") RollupGranularity granularity,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to,
+                                                  @Param("status") OrderStatus status);
+
+    @Query("SELECT new works.jayesh.demo.analytics.model.dto.StatusSalesResponse(" +
+            "r.status, SUM(r.revenue), SUM(r.units), SUM(r.orderCount)) " +
+            "FROM SalesRollup r WHERE r.granularity = :granularity " +
+            "AND r.dimension = works.jayesh.demo.analytics.model.entity.RollupDimension.TOTAL " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "GROUP BY r.status ORDER BY r.status")
+    List<StatusSalesResponse> findStatusBreakdown(@Param("granularity") RollupGranularity granularity,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,138 @@
+package works.jayesh.demo.analytics.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import works.jayesh.demo.analytics.model.dto.*;
+import works.jayesh.demo.analytics.model.entity.RollupGranularity;
+import works.jayesh.demo.analytics.repository.SalesRollupRepository;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    private static final int MAX_TOP_LIMIT = 100;
+
+    private static final String INSERT_COLUMNS = "INSERT INTO sales_rollups " +
+            "(granularity, bucket_start, dimension, dimension_id, status, revenue, units, order_count) ";
+
+    // Each statement rebuilds one (granularity, dimension) slice of a day from the raw order tables
+    private static final List<String> BACKFILL_SQL = List.of(
+            rebuildProducts("HOUR"), rebuildProducts("DAY"),
+            rebuildCategories("HOUR"), rebuildCategories("DAY"),
+            rebuildTotals("HOUR"), rebuildTotals("DAY"));
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final SalesRollupRecorder salesRollupRecorder;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public List<SalesBucketResponse> getSalesSeries(RollupGranularity granularity, LocalDateTime from,
+                                                    LocalDateTime to, OrderStatus status) {
+        validateRange(from, to);
+        return salesRollupRepository.findSalesSeries(granularity, from, to, status);
+    }
+
+    public List<ProductSalesResponse> getTopProducts(RollupGranularity granularity, LocalDateTime from,
+                                                     LocalDateTime to, OrderStatus status, int limit) {
+        validateRange(from, to);
+        int size = Math.max(1, Math.min(limit, MAX_TOP_LIMIT));
+        return salesRollupRepository.findTopProducts(granularity, from, to, status, PageRequest.of(0, size));
+    }
+
+    public List<CategorySalesResponse> getCategorySales(RollupGranularity granularity, LocalDateTime from,
+                                                        LocalDateTime to, OrderStatus status) {
+        validateRange(from, to);
+        return salesRollupRepository.findCategorySales(granularity, from, to, status);
+    }
+
+    public List<StatusSalesResponse> getStatusBreakdown(RollupGranularity granularity, LocalDateTime from,
+                                                        LocalDateTime to) {
+        validateRange(from, to);
+        return salesRollupRepository.findStatusBreakdown(granularity, from, to);
+    }
+
+    /**
+     * Recompute rollups for orders created in [from, to) from the raw order tables, one day per
+     * transaction so a long backfill never holds locks on more than a day of rollup rows. Orders
+     * committing meanwhile wait for the day being rebuilt and are counted exactly once.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BackfillResponse backfill(LocalDate from, LocalDate to) {
+        validateRange(from.atStartOfDay(), to.atStartOfDay());
+        log.info("Backfilling sales rollups from {} to {}", from, to);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long rows = 0;
+        int days = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            LocalDateTime start = day.atStartOfDay();
+            LocalDateTime end = day.plusDays(1).atStartOfDay();
+            Long inserted = salesRollupRecorder.rebuild(start, end, transactionTemplate, tx -> {
+                jdbcTemplate.update("DELETE FROM sales_rollups WHERE bucket_start >= ? AND bucket_start < ?",
+                        Timestamp.valueOf(start), Timestamp.valueOf(end));
+                long count = 0;
+                for (String sql : BACKFILL_SQL) {
+                    count += jdbcTemplate.update(sql, Timestamp.valueOf(start), Timestamp.valueOf(end));
+                }
+                return count;
+            });
+            rows += inserted != null ? inserted : 0;
+            days++;
+        }
+
+        log.info("Backfilled {} sales rollup rows over {} days", rows, days);
+        return BackfillResponse.builder()
+                .from(from)
+                .to(to)
+                .days(days)
+                .rollupRows(rows)
+                .build();
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalStateException("'from' must be before 'to'");
+        }
+    }
+
+    private static String rebuildProducts(String granularity) {
+        return INSERT_COLUMNS + "SELECT '" + granularity + "', DATE_TRUNC('" + granularity + "', o.created_at), " +
+                "'PRODUCT', oi.product_id, o.status, SUM(oi.total_price), SUM(oi.quantity), COUNT(DISTINCT o.id) " +
+                "FROM orders o JOIN order_items oi ON oi.order_id = o.id " +
+                "WHERE o.created_at >= ? AND o.created_at < ? " +
+                "GROUP BY DATE_TRUNC('" + granularity + "', o.created_at), oi.product_id, o.status";
+    }
+
+    private static String rebuildCategories(String granularity) {
+        return INSERT_COLUMNS + "SELECT '" + granularity + "', DATE_TRUNC('" + granularity + "', o.created_at), " +
+                "'CATEGORY', p.category_id, o.status, SUM(oi.total_price), SUM(oi.quantity), COUNT(DISTINCT o.id) " +
+                "FROM orders o JOIN order_items oi ON oi.order_id = o.id JOIN products p ON p.id = oi.product_id " +
+                "WHERE o.created_at >= ? AND o.created_at < ? " +
+                "GROUP BY DATE_TRUNC('" + granularity + "', o.created_at), p.category_id, o.status";
+    }
+
+    private static String rebuildTotals(String granularity) {
+        return INSERT_COLUMNS + "SELECT '" + granularity + "', t.bucket_start, 'TOTAL', 0, t.status, " +
+                "SUM(t.total_amount), SUM(t.units), COUNT(*) " +
+                "FROM (SELECT DATE_TRUNC('" + granularity + "', o.created_at) AS bucket_start, o.status, " +
+                "o.total_amount, (SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi " +
+                "WHERE oi.order_id = o.id) AS units " +
+                "FROM orders o WHERE o.created_at >= ? AND o.created_at < ?) t " +
+                "GROUP BY t.bucket_start, t.status";
+    }
+}
@@ -0,0 +1,243 @@
+package works.jayesh.demo.analytics.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import works.jayesh.demo.analytics.model.entity.RollupDimension;
+import works.jayesh.demo.analytics.model.entity.RollupGranularity;
+import works.jayesh.demo.common.buffer.CoalescingBuffer;
+import works.jayesh.demo.common.transaction.AfterTransaction;
+import works.jayesh.demo.order.model.entity.Order;
+import works.jayesh.demo.order.model.entity.OrderItem;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+import works.jayesh.demo.product.model.entity.Product;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Turns order lifecycle changes into rollup deltas. Deltas are buffered in memory once the
+ * order transaction commits and merged into sales_rollups on a schedule, so checkout never
+ * waits on (or locks) a shared aggregate row. A backfill rebuilds rows through {@link #rebuild},
+ * which keeps those deltas from counting an order the rebuild has already read.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesRollupRecorder {
+
+    static final String MERGE_SQL = "MERGE INTO sales_rollups r USING (SELECT " +
+            "CAST(? AS VARCHAR(16)) AS granularity, CAST(? AS TIMESTAMP) AS bucket_start, " +
+            "CAST(? AS VARCHAR(16)) AS dimension, CAST(? AS BIGINT) AS dimension_id, " +
+            "CAST(? AS VARCHAR(32)) AS status, CAST(? AS NUMERIC(38, 2)) AS revenue, " +
+            "CAST(? AS BIGINT) AS units, CAST(? AS BIGINT) AS order_count) d " +
+            "ON r.granularity = d.granularity AND r.dimension = d.dimension AND r.bucket_start = d.bucket_start " +
+            "AND r.dimension_id = d.dimension_id AND r.status = d.status " +
+            "WHEN MATCHED THEN UPDATE SET revenue = r.revenue + d.revenue, units = r.units + d.units, " +
+            "order_count = r.order_count + d.order_count " +
+            "WHEN NOT MATCHED THEN INSERT (granularity, bucket_start, dimension, dimension_id, status, " +
+            "revenue, units, order_count) VALUES (d.granularity, d.bucket_start, d.dimension, d.dimension_id, " +
+            "d.status, d.revenue, d.units, d.order_count)";
+
+    private static final long TOTAL_ID = 0L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CoalescingBuffer<RollupKey, RollupDelta> pendingDeltas =
+            new CoalescingBuffer<>("sales rollup deltas", RollupDelta::plus, RollupDelta::isZero);
+
+    // Order commits share it from before the commit until their deltas are buffered; a rebuild takes it exclusively
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    // Bucket ranges being rebuilt; flushes leave their deltas pending until the rebuild is done
+    private final Set<BucketRange> rebuilding = ConcurrentHashMap.newKeySet();
+
+    public void recordOrderCreated(Order order) {
+        record(order, null, order.getStatus());
+    }
+
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        if (previousStatus != order.getStatus()) {
+            record(order, previousStatus, order.getStatus());
+        }
+    }
+
+    private void record(Order order, OrderStatus fromStatus, OrderStatus toStatus) {
+        Map<Long, RollupDelta> products = new HashMap<>();
+        Map<Long, RollupDelta> categories = new HashMap<>();
+        long units = 0;
+        for (OrderItem item : order.getOrderItems()) {
+            RollupDelta line = new RollupDelta(item.getTotalPrice(), item.getQuantity(), 0);
+            Product product = item.getProduct();
+            products.merge(product.getId(), line, RollupDelta::plus);
+            if (product.getCategory() != null) {
+                categories.merge(product.getCategory().getId(), line, RollupDelta::plus);
+            }
+            units += item.getQuantity();
+        }
+        RollupDelta total = new RollupDelta(order.getTotalAmount(), units, 1);
+
+        LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+        Map<RollupKey, RollupDelta> deltas = new HashMap<>();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime bucket = granularity.bucketStart(createdAt);
+            if (fromStatus != null) {
+                collect(deltas, granularity, bucket, fromStatus, products, categories, total, true);
+            }
+            collect(deltas, granularity, bucket, toStatus, products, categories, total, false);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new BufferOnCommit(deltas));
+        } else {
+            merge(deltas);
+        }
+    }
+
+    private void collect(Map<RollupKey, RollupDelta> deltas, RollupGranularity granularity, LocalDateTime bucket,
+                         OrderStatus status, Map<Long, RollupDelta> products, Map<Long, RollupDelta> categories,
+                         RollupDelta total, boolean negate) {
+        products.forEach((id, delta) -> deltas.merge(
+                new RollupKey(granularity, bucket, RollupDimension.PRODUCT, id, status),
+                delta.withOrder().sign(negate), RollupDelta::plus));
+        categories.forEach((id, delta) -> deltas.merge(
+                new RollupKey(granularity, bucket, RollupDimension.CATEGORY, id, status),
+                delta.withOrder().sign(negate), RollupDelta::plus));
+        deltas.merge(new RollupKey(granularity, bucket, RollupDimension.TOTAL, TOTAL_ID, status),
+                total.sign(negate), RollupDelta::plus);
+    }
+
+    private void merge(Map<RollupKey, RollupDelta> deltas) {
+        deltas.forEach(pendingDeltas::add);
+    }
+
+    /**
+     * Number of rollup rows with changes not yet written to the database.
+     */
+    public int getPendingCount() {
+        return pendingDeltas.size();
+    }
+
+    /**
+     * Run a transaction that rebuilds the rollup rows for buckets in [from, to) from the order
+     * tables. Nothing is merged into the range meanwhile, and orders wait to commit until the
+     * transaction ends, so every order is counted either by the rebuild or by its delta: deltas
+     * buffered before the rebuild read the order tables are dropped once it commits.
+     */
+    public <T> T rebuild(LocalDateTime from, LocalDateTime to, TransactionOperations transactions,
+                         TransactionCallback<T> rebuild) {
+        BucketRange range = new BucketRange(from, to);
+        rebuilding.add(range);
+        try {
+            // Also waits out a flush that took deltas for the range before it was held
+            flush();
+            return transactions.execute(status -> {
+                // Locked only once the transaction holds its connection, so waiting orders cannot starve it of one
+                commitLock.writeLock().lock();
+                AfterTransaction.afterCommit(() -> pendingDeltas.discardIf(key -> range.contains(key.bucketStart())));
+                AfterTransaction.afterCompletion(() -> commitLock.writeLock().unlock());
+                return rebuild.doInTransaction(status);
+            });
+        } finally {
+            rebuilding.remove(range);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval-ms:10000}")
+    public void flush() {
+        pendingDeltas.flush(this::isRebuilding, deltas -> {
+            List<Object[]> batch = new ArrayList<>(deltas.size());
+            deltas.forEach((key, delta) -> batch.add(new Object[]{key.granularity().name(),
+                    Timestamp.valueOf(key.bucketStart()), key.dimension().name(), key.dimensionId(),
+                    key.status().name(), delta.revenue(), delta.units(), delta.orders()}));
+            jdbcTemplate.batchUpdate(MERGE_SQL, batch);
+        });
+    }
+
+    private boolean isRebuilding(RollupKey key) {
+        for (BucketRange range : rebuilding) {
+            if (range.contains(key.bucketStart())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Holds off a rebuild from just before the order commits until its deltas are in the buffer
+    private final class BufferOnCommit implements TransactionSynchronization {
+
+        private final Map<RollupKey, RollupDelta> deltas;
+        private boolean locked;
+
+        BufferOnCommit(Map<RollupKey, RollupDelta> deltas) {
+            this.deltas = deltas;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitLock.readLock().lock();
+            locked = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            merge(deltas);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (locked) {
+                commitLock.readLock().unlock();
+            }
+        }
+    }
+
+    record BucketRange(LocalDateTime from, LocalDateTime to) {
+
+        boolean contains(LocalDateTime bucketStart) {
+            return !bucketStart.isBefore(from) && bucketStart.isBefore(to);
+        }
+    }
+
+    record RollupKey(RollupGranularity granularity, LocalDateTime bucketStart, RollupDimension dimension,
+                     Long dimensionId, OrderStatus status) {
+    }
+
+    record RollupDelta(BigDecimal revenue, long units, long orders) {
+
+        RollupDelta plus(RollupDelta other) {
+            return new RollupDelta(revenue.add(other.revenue), units + other.units, orders + other.orders);
+        }
+
+        RollupDelta withOrder() {
+            return new RollupDelta(revenue, units, 1);
+        }
+
+        RollupDelta sign(boolean negate) {
+            return negate ? new RollupDelta(revenue.negate(), -units, -orders) : this;
+        }
+
+        boolean isZero() {
+            return units == 0 && orders == 0 && revenue.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package works.jayesh.demo.auth.model.entity;
+
+public enum RefreshTokenStatus {
+    ACTIVE,
+    ROTATED,
+    REVOKED
+}
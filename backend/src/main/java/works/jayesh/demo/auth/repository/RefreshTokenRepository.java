@@ -0,0 +1,37 @@
+package works.jayesh.demo.auth.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import works.jayesh.demo.auth.model.entity.RefreshToken;
+import works.jayesh.demo.auth.model.entity.RefreshTokenStatus;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    long countByUserIdAndStatus(Long userId, RefreshTokenStatus status);
+
+    long countByFamilyIdAndStatus(String familyId, RefreshTokenStatus status);
+
+    /**
+     * Retire an active token. Returns 0 when the token was already rotated or revoked,
+     * possibly by another instance, which the caller treats as reuse.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.status = :rotated WHERE t.tokenId = :tokenId AND t.status = :active")
+    int markRotated(@Param("tokenId") String tokenId,
+                    @Param("active") RefreshTokenStatus active,
+                    @Param("rotated") RefreshTokenStatus rotated);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.status = :revoked WHERE t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId, @Param("revoked") RefreshTokenStatus revoked);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
@@ -20,8 +20,8 @@ import works.jayesh.demo.user.model.entity.User;
 import works.jayesh.demo.user.model.entity.UserRole;
 import works.jayesh.demo.user.model.entity.UserStatus;
 import works.jayesh.demo.user.repository.UserRepository;
-
-import java.time.LocalDateTime;
+import works.jayesh.demo.user.service.LoginActivityRecorder;
+import works.jayesh.demo.user.service.UserSearchIndex;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +36,9 @@ public class AuthService {
     private final CustomUserDetailsService userDetailsService;
     private final OtpService otpService;
     private final EmailService emailService;
+    private final UserSearchIndex userSearchIndex;
+    private final LoginActivityRecorder loginActivityRecorder;
+    private final RefreshTokenService refreshTokenService;
 
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
@@ -65,6 +68,7 @@ public class AuthService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        userSearchIndex.indexAfterCommit(savedUser);
         log.info("User registered successfully with ID: {}", savedUser.getId());
 
         emailService.sendWelcomeEmail(savedUser.getEmail(), savedUser.getFirstName());
@@ -105,6 +109,7 @@ public class AuthService {
         existingUser.setRole(UserRole.CUSTOMER);
 
         User savedUser = userRepository.save(existingUser);
+        userSearchIndex.indexAfterCommit(savedUser);
         log.info("User registered with OTP successfully with ID: {}", savedUser.getId());
 
         emailService.sendWelcomeEmail(savedUser.getEmail(), savedUser.getFirstName());
@@ -122,8 +127,7 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + request.getEmail()));
 
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+        loginActivityRecorder.recordLogin(user.getId());
 
         log.info("User logged in successfully: {}", request.getEmail());
 
@@ -141,8 +145,7 @@ public class AuthService {
             throw new IllegalStateException("Invalid or expired OTP");
         }
 
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+        loginActivityRecorder.recordLogin(user.getId());
 
         log.info("User logged in with OTP successfully: {}", request.getEmail());
 
@@ -175,6 +178,7 @@ public class AuthService {
                 .build();
 
         userRepository.save(tempUser);
+        userSearchIndex.indexAfterCommit(tempUser);
         otpService.generateAndSendOtp(email);
         log.info("Registration OTP requested for: {}", email);
     }
@@ -183,32 +187,28 @@ public class AuthService {
     public AuthResponse refreshAccessToken(String refreshToken) {
         log.info("Refreshing access token");
 
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new IllegalStateException("Invalid or expired refresh token");
-        }
-
-        String email = jwtTokenProvider.extractUsername(refreshToken);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + email));
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + rotation.userId()));
 
-        if (!refreshToken.equals(user.getRefreshToken())) {
-            throw new IllegalStateException("Refresh token mismatch");
-        }
+        log.info("Access token refreshed successfully for: {}", user.getEmail());
 
-        log.info("Access token refreshed successfully for: {}", email);
+        return buildAuthResponse(user, rotation.refreshToken());
+    }
 
-        return generateAuthResponse(user);
+    // Logout: ends the session the refresh token belongs to, other devices stay signed in
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
     }
 
+    // Every login or registration starts a new refresh token family (one per device/session)
     private AuthResponse generateAuthResponse(User user) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
+        return buildAuthResponse(user, refreshTokenService.issue(user.getId()));
+    }
 
+    private AuthResponse buildAuthResponse(User user, String refreshToken) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
         String accessToken = jwtTokenProvider.generateAccessToken(userDetails);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
-
-        // Save refresh token
-        user.setRefreshToken(refreshToken);
-        userRepository.save(user);
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
@@ -0,0 +1,208 @@
+package works.jayesh.demo.auth.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import works.jayesh.demo.auth.model.entity.RefreshToken;
+import works.jayesh.demo.auth.model.entity.RefreshTokenStatus;
+import works.jayesh.demo.auth.repository.RefreshTokenRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Issues and rotates opaque refresh tokens of the form {@code <tokenId>.<secret>}. Validation is
+ * a lookup by token id (served from an LRU cache in front of refresh_tokens) plus a constant-time
+ * hash comparison. Every refresh retires the presented token and issues a successor in the same
+ * family; presenting a retired token again is treated as theft and revokes the family.
+ * Each login starts its own family, so sessions on different devices are independent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RefreshTokenService {
+
+    private static final int SECRET_BYTES = 32;
+    private static final String INVALID_TOKEN = "Invalid or expired refresh token";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-token-expiration}")
+    private Long refreshTokenExpiration;
+
+    @Value("${app.auth.refresh-tokens.cache-size:10000}")
+    private int cacheSize;
+
+    private volatile Map<String, CachedToken> cache;
+
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    // Immutable view of a stored token; replaced or evicted rather than updated in place
+    record CachedToken(String familyId, Long userId, String tokenHash, RefreshTokenStatus status,
+                       LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Starts a new session for the user and returns its first refresh token.
+     */
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Retires the presented token and returns its successor.
+     *
+     * @throws IllegalStateException if the token is unknown, expired or revoked, or was already rotated
+     */
+    public Rotation rotate(String presentedToken) {
+        String[] parts = split(presentedToken);
+        String tokenId = parts[0];
+        CachedToken token = lookup(tokenId);
+        if (token == null || !matches(token, parts[1]) || token.status() == RefreshTokenStatus.REVOKED
+                || token.expiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException(INVALID_TOKEN);
+        }
+
+        if (token.status() == RefreshTokenStatus.ROTATED
+                || refreshTokenRepository.markRotated(tokenId, RefreshTokenStatus.ACTIVE, RefreshTokenStatus.ROTATED) == 0) {
+            revokeFamilyAfterReuse(token);
+            throw new IllegalStateException("Refresh token reuse detected; please log in again");
+        }
+        evict(tokenId);
+
+        return new Rotation(token.userId(), issue(token.userId(), token.familyId()));
+    }
+
+    /**
+     * Ends the session the presented token belongs to. Unknown or mismatching tokens are ignored.
+     */
+    public void revoke(String presentedToken) {
+        String[] parts = split(presentedToken);
+        CachedToken token = lookup(parts[0]);
+        if (token != null && matches(token, parts[1])) {
+            refreshTokenRepository.revokeFamily(token.familyId(), RefreshTokenStatus.REVOKED);
+            evictFamily(token.familyId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.refresh-tokens.cleanup-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] secretBytes = new byte[SECRET_BYTES];
+        secureRandom.nextBytes(secretBytes);
+        String secret = Base64.getUrlEncoder().withoutPadding().encodeToString(secretBytes);
+
+        RefreshToken token = RefreshToken.builder()
+                .tokenId(UUID.randomUUID().toString())
+                .familyId(familyId)
+                .userId(userId)
+                .tokenHash(hash(secret))
+                .status(RefreshTokenStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshTokenExpiration)))
+                .build();
+        refreshTokenRepository.save(token);
+
+        return token.getTokenId() + "." + secret;
+    }
+
+    // Committed on its own so the revocation survives the caller's rollback on the thrown exception
+    private void revokeFamilyAfterReuse(CachedToken token) {
+        log.warn("Refresh token reuse detected for user {}; revoking session {}", token.userId(), token.familyId());
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.executeWithoutResult(status ->
+                refreshTokenRepository.revokeFamily(token.familyId(), RefreshTokenStatus.REVOKED));
+        evictFamily(token.familyId());
+    }
+
+    private CachedToken lookup(String tokenId) {
+        Map<String, CachedToken> tokens = cache();
+        CachedToken cached = tokens.get(tokenId);
+        if (cached != null) {
+            return cached;
+        }
+
+        return refreshTokenRepository.findById(tokenId)
+                .map(token -> {
+                    CachedToken loaded = new CachedToken(token.getFamilyId(), token.getUserId(),
+                            token.getTokenHash(), token.getStatus(), token.getExpiresAt());
+                    tokens.put(tokenId, loaded);
+                    return loaded;
+                })
+                .orElse(null);
+    }
+
+    private void evict(String tokenId) {
+        cache().remove(tokenId);
+    }
+
+    private void evictFamily(String familyId) {
+        Map<String, CachedToken> tokens = cache();
+        synchronized (tokens) {
+            tokens.values().removeIf(token -> token.familyId().equals(familyId));
+        }
+    }
+
+    private Map<String, CachedToken> cache() {
+        Map<String, CachedToken> tokens = cache;
+        if (tokens == null) {
+            synchronized (this) {
+                if (cache == null) {
+                    int capacity = Math.max(cacheSize, 1);
+                    cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, CachedToken> eldest) {
+                            return size() > capacity;
+                        }
+                    });
+                }
+                tokens = cache;
+            }
+        }
+        return tokens;
+    }
+
+    private static String[] split(String presentedToken) {
+        int dot = presentedToken != null ? presentedToken.indexOf('.') : -1;
+        if (dot <= 0 || dot == presentedToken.length() - 1) {
+            throw new IllegalStateException(INVALID_TOKEN);
+        }
+        return new String[]{presentedToken.substring(0, dot), presentedToken.substring(dot + 1)};
+    }
+
+    private static boolean matches(CachedToken token, String secret) {
+        return MessageDigest.isEqual(token.tokenHash().getBytes(StandardCharsets.US_ASCII),
+                hash(secret).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String hash(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
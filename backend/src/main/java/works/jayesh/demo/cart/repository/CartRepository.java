@@ -1,6 +1,10 @@
 package works.jayesh.demo.cart.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import works.jayesh.demo.cart.model.entity.Cart;
 
@@ -11,5 +15,10 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
 
     Optional<Cart> findByUserId(Long userId);
 
+    // Item edits don't touch the carts row; bumping its version on commit makes concurrent edits conflict
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT c FROM Cart c WHERE c.user.id = :userId")
+    Optional<Cart> findForUpdateByUserId(@Param("userId") Long userId);
+
     boolean existsByUserId(Long userId);
 }
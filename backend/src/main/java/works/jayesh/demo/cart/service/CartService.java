@@ -13,6 +13,7 @@ import works.jayesh.demo.cart.repository.CartItemRepository;
 import works.jayesh.demo.cart.repository.CartRepository;
 import works.jayesh.demo.common.exception.InsufficientStockException;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
+import works.jayesh.demo.common.retry.RetryOnConflict;
 import works.jayesh.demo.product.model.entity.Product;
 import works.jayesh.demo.product.repository.ProductRepository;
 import works.jayesh.demo.user.model.entity.User;
@@ -31,6 +32,7 @@ public class CartService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
 
+    @RetryOnConflict
     public CartResponse addToCart(Long userId, AddToCartRequest request) {
         log.info("Adding product {} to cart for user {}", request.getProductId(), userId);
 
@@ -71,10 +73,11 @@ public class CartService {
         return mapToResponse(cart);
     }
 
+    @RetryOnConflict
     public CartResponse updateCartItemQuantity(Long userId, Long productId, Integer quantity) {
         log.info("Updating cart item quantity for user {} and product {}", userId, productId);
 
-        Cart cart = getCartByUserId(userId);
+        Cart cart = getCartForUpdate(userId);
 
         CartItem cartItem = cartItemRepository.findByCartIdAndProductId(cart.getId(), productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
@@ -97,10 +100,11 @@ public class CartService {
         return mapToResponse(cart);
     }
 
+    @RetryOnConflict
     public CartResponse removeFromCart(Long userId, Long productId) {
         log.info("Removing product {} from cart for user {}", productId, userId);
 
-        Cart cart = getCartByUserId(userId);
+        Cart cart = getCartForUpdate(userId);
 
         CartItem cartItem = cartItemRepository.findByCartIdAndProductId(cart.getId(), productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
@@ -112,10 +116,11 @@ public class CartService {
         return mapToResponse(cart);
     }
 
+    @RetryOnConflict
     public void clearCart(Long userId) {
         log.info("Clearing cart for user {}", userId);
 
-        Cart cart = getCartByUserId(userId);
+        Cart cart = getCartForUpdate(userId);
         cart.getItems().clear();
         cartItemRepository.deleteAll(cartItemRepository.findByCartId(cart.getId()));
 
@@ -129,7 +134,7 @@ public class CartService {
     }
 
     private Cart getOrCreateCart(Long userId) {
-        return cartRepository.findByUserId(userId)
+        return cartRepository.findForUpdateByUserId(userId)
                 .orElseGet(() -> {
                     User user = userRepository.findById(userId)
                             .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
@@ -147,6 +152,11 @@ public class CartService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found for user: " + userId));
     }
 
+    private Cart getCartForUpdate(Long userId) {
+        return cartRepository.findForUpdateByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart not found for user: " + userId));
+    }
+
     private CartResponse mapToResponse(Cart cart) {
         return CartResponse.builder()
                 .id(cart.getId())
@@ -0,0 +1,114 @@
+package works.jayesh.demo.common.buffer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind buffer that coalesces values per key until a flush writes them out in one batch.
+ * Writers call {@link #add} from any thread; values for the same key are combined, so a burst
+ * of updates to one row costs one write per flush. A flush takes each entry out of the map
+ * atomically, so values added while it runs start a new entry for the next flush, and puts
+ * the batch back if the writer fails so the next flush retries it.
+ * Callers own the schedule: a {@code @Scheduled} method and a {@code @PreDestroy} hook that
+ * both call {@link #flush}.
+ */
+@Slf4j
+public final class CoalescingBuffer<K, V> {
+
+    private final String description;
+    private final BinaryOperator<V> combiner;
+    private final Predicate<V> skip;
+
+    // merge() is atomic per hash bin, so concurrent adds are lock-striped
+    private final ConcurrentHashMap<K, V> pending = new ConcurrentHashMap<>();
+
+    public CoalescingBuffer(String description, BinaryOperator<V> combiner) {
+        this(description, combiner, value -> false);
+    }
+
+    /**
+     * @param skip values that need no write, such as deltas that cancelled out
+     */
+    public CoalescingBuffer(String description, BinaryOperator<V> combiner, Predicate<V> skip) {
+        this.description = description;
+        this.combiner = combiner;
+        this.skip = skip;
+    }
+
+    public void add(K key, V value) {
+        pending.merge(key, value, combiner);
+    }
+
+    /**
+     * The value waiting to be written for the key, or null.
+     */
+    public V get(K key) {
+        return pending.get(key);
+    }
+
+    /**
+     * Drops the key's pending value without writing it.
+     */
+    public void discard(K key) {
+        pending.remove(key);
+    }
+
+    /**
+     * Drops the pending values of every matching key without writing them.
+     */
+    public void discardIf(Predicate<K> filter) {
+        pending.keySet().removeIf(filter);
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Hands every pending entry to the writer as one batch and returns how many it was given.
+     * If the writer throws, the entries are combined back into the buffer and 0 is returned.
+     */
+    public int flush(Consumer<Map<K, V>> writer) {
+        return flush(key -> false, writer);
+    }
+
+    /**
+     * Like {@link #flush(Consumer)}, but entries whose key matches {@code hold} stay pending
+     * for a later flush.
+     */
+    public synchronized int flush(Predicate<K> hold, Consumer<Map<K, V>> writer) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Map<K, V> batch = new LinkedHashMap<>();
+        for (K key : pending.keySet()) {
+            if (hold.test(key)) {
+                continue;
+            }
+            V value = pending.remove(key);
+            if (value != null && !skip.test(value)) {
+                batch.put(key, value);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            writer.accept(batch);
+            log.debug("Flushed {} {}", batch.size(), description);
+            return batch.size();
+        } catch (RuntimeException e) {
+            batch.forEach(this::add);
+            log.error("Failed to flush {} {}", batch.size(), description, e);
+            return 0;
+        }
+    }
+}
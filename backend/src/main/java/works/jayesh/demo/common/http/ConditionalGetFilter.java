@@ -0,0 +1,189 @@
+package works.jayesh.demo.common.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Conditional GETs for read-mostly public routes.
+ * Each route's validator turns the path variables into an entity tag from a narrow query, or
+ * null when there is nothing there, in which case the request passes through untouched.
+ * A matching If-None-Match is answered 304 without running the handler. Anonymous callers are
+ * otherwise served from the shared {@link ResponseCache} while the tag still matches, and
+ * fill it on a miss; authenticated callers always reach the handler.
+ * Every request on a route is timed in {@value #REQUESTS_METRIC} by result (not_modified, hit,
+ * miss, bypass), and the body bytes a 304 did not send are added to {@value #BYTES_SAVED_METRIC},
+ * using the cached body's size or else the last size rendered for the route.
+ */
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    static final String REQUESTS_METRIC = "app.http.cache.requests";
+    static final String BYTES_SAVED_METRIC = "app.http.cache.bytes.saved";
+
+    /**
+     * A cacheable route. Patterns are tried in order, so list literal paths before variables.
+     */
+    public record Route(String pattern, Duration maxAge, Function<Map<String, String>, String> validator) {
+    }
+
+    private record CompiledRoute(Route route, PathPattern pathPattern, String publicCacheControl,
+                                 String privateCacheControl, AtomicLong lastBodyBytes) {
+    }
+
+    private final List<CompiledRoute> routes;
+    private final ResponseCache cache;
+    private final MeterRegistry meterRegistry;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    public ConditionalGetFilter(List<Route> routes, ResponseCache cache, MeterRegistry meterRegistry) {
+        this.routes = routes.stream()
+                .map(route -> new CompiledRoute(route,
+                        PathPatternParser.defaultInstance.parse(route.pattern()),
+                        CacheControl.maxAge(route.maxAge()).cachePublic().getHeaderValue(),
+                        CacheControl.maxAge(route.maxAge()).cachePrivate().getHeaderValue(),
+                        new AtomicLong()))
+                .toList();
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+
+        CompiledRoute route = null;
+        String etag = null;
+        for (CompiledRoute candidate : routes) {
+            PathPattern.PathMatchInfo match = candidate.pathPattern().matchAndExtract(path);
+            if (match != null) {
+                route = candidate;
+                etag = validate(candidate, match.getUriVariables());
+                break;
+            }
+        }
+        if (etag == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean anonymous = isAnonymous();
+        String key = anonymous ? cacheKey(request) : null;
+        ResponseCache.Entry cached = anonymous ? cache.get(key, etag) : null;
+
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            exposePattern(request, route);
+            writeHeaders(response, route, etag, anonymous);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            long saved = cached != null ? cached.body().length : route.lastBodyBytes().get();
+            Counter.builder(BYTES_SAVED_METRIC)
+                    .description("Response body bytes not sent because the client's copy was current")
+                    .baseUnit("bytes")
+                    .tag("route", route.route().pattern())
+                    .register(meterRegistry)
+                    .increment(saved);
+            record(route, "not_modified", start);
+            return;
+        }
+
+        if (cached != null) {
+            exposePattern(request, route);
+            writeHeaders(response, route, etag, true);
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            record(route, "hit", start);
+            return;
+        }
+
+        // Buffered so the tag and cache headers go out only on a successful response
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+            byte[] body = wrapper.getContentAsByteArray();
+            route.lastBodyBytes().set(body.length);
+            writeHeaders(response, route, etag, anonymous);
+            if (anonymous) {
+                cache.put(key, new ResponseCache.Entry(etag, wrapper.getContentType(), body));
+            }
+        }
+        wrapper.copyBodyToResponse();
+        record(route, anonymous ? "miss" : "bypass", start);
+    }
+
+    private static String validate(CompiledRoute route, Map<String, String> variables) {
+        try {
+            return route.route().validator().apply(variables);
+        } catch (IllegalArgumentException e) {
+            // A variable the validator can't parse, e.g. /api/products/search; leave it to the handler
+            return null;
+        }
+    }
+
+    private boolean isAnonymous() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || trustResolver.isAnonymous(authentication);
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query != null ? request.getRequestURI() + "?" + query : request.getRequestURI();
+    }
+
+    private static void writeHeaders(HttpServletResponse response, CompiledRoute route, String etag,
+                                     boolean anonymous) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                anonymous ? route.publicCacheControl() : route.privateCacheControl());
+    }
+
+    // The handler mapping never runs on a 304 or a hit, so tag the request's metrics with the route here
+    private static void exposePattern(HttpServletRequest request, CompiledRoute route) {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route.route().pattern());
+        ServerHttpObservationFilter.findObservationContext(request)
+                .ifPresent(context -> context.setPathPattern(route.route().pattern()));
+    }
+
+    private void record(CompiledRoute route, String result, long startNanos) {
+        Timer.builder(REQUESTS_METRIC)
+                .description("Conditional GET handling on cacheable routes")
+                .tag("route", route.route().pattern())
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,77 @@
+package works.jayesh.demo.common.http;
+
+/**
+ * Builds entity tags from the values a response is rendered from, such as entity versions
+ * and update timestamps, so a validator costs a narrow query instead of rendering the body.
+ * Tags are strong: equal tags mean the same data. The envelope's timestamp is not part of it.
+ */
+public final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    public static String strong(Object... values) {
+        Builder builder = builder();
+        for (Object value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Whether an If-None-Match header matches the tag, using the weak comparison RFC 9110 specifies for it.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || opaque(trimmed).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * 64-bit FNV-1a over the values' string forms, each followed by a separator.
+     */
+    public static final class Builder {
+
+        private long hash = FNV_OFFSET;
+
+        private Builder() {
+        }
+
+        public Builder add(Object value) {
+            String text = String.valueOf(value);
+            for (int i = 0; i < text.length(); i++) {
+                mix(text.charAt(i));
+            }
+            mix('|');
+            return this;
+        }
+
+        public String build() {
+            return "\"" + Long.toHexString(hash) + "\"";
+        }
+
+        private void mix(char c) {
+            hash ^= c;
+            hash *= FNV_PRIME;
+        }
+    }
+}
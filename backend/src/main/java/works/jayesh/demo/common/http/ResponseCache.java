@@ -0,0 +1,77 @@
+package works.jayesh.demo.common.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of rendered response bodies shared by anonymous callers, keyed by URI and query.
+ * Each entry keeps the tag it was rendered under and is only served while the route's
+ * validator still produces that tag, so writes never have to evict anything here.
+ * Bounded by entry count and by total body bytes.
+ */
+public class ResponseCache {
+
+    public record Entry(String etag, String contentType, byte[] body) {
+    }
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public ResponseCache(int maxEntries, long maxBytes, long maxEntryBytes, MeterRegistry meterRegistry) {
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+        Gauge.builder("app.http.cache.entries", this, ResponseCache::size)
+                .description("Response bodies held in the shared catalog cache")
+                .register(meterRegistry);
+        Gauge.builder("app.http.cache.size", this, ResponseCache::bytes)
+                .description("Bytes of response bodies held in the shared catalog cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached body for the key if it was rendered under the given tag.
+     */
+    public synchronized Entry get(String key, String etag) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.etag().equals(etag) ? entry : null;
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        if (entry.body().length > maxEntryBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.body().length;
+        }
+        bytes += entry.body().length;
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,57 @@
+package works.jayesh.demo.common.jdbc;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@code /actuator/queries}: the top offenders by database time, from the JDBC proxy, plus
+ * Hibernate's own statistics for HQL and Criteria queries. DELETE clears the JDBC side.
+ */
+@Endpoint(id = "queries")
+@RequiredArgsConstructor
+public class QueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final QueryStatsCollector collector;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public QueryReport queries(@Nullable Integer limit) {
+        int size = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        QueryReport report = collector.report(size);
+        return new QueryReport(report.statements(), report.routes(), report.nPlusOne(), hqlQueries(size));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        collector.reset();
+    }
+
+    private List<QueryReport.HqlQuery> hqlQueries(int limit) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    QueryStatistics stats = statistics.getQueryStatistics(query);
+                    return new QueryReport.HqlQuery(query, stats.getExecutionCount(),
+                            stats.getExecutionTotalTime(), stats.getExecutionMaxTime(), stats.getExecutionRowCount());
+                })
+                .sorted(Comparator.comparingLong(QueryReport.HqlQuery::totalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+}
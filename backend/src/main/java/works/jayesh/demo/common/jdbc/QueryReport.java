@@ -0,0 +1,52 @@
+package works.jayesh.demo.common.jdbc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Body of {@code /actuator/queries}: the statements, routes and HQL queries that cost the most
+ * database time, and the most recent requests that looked like N+1 selects.
+ */
+public record QueryReport(
+        List<Statement> statements,
+        List<Route> routes,
+        List<NPlusOne> nPlusOne,
+        List<HqlQuery> hqlQueries) {
+
+    public record Statement(
+            String sql,
+            long executions,
+            double totalMs,
+            double meanMs,
+            double maxMs,
+            long nPlusOneRequests,
+            Set<String> nPlusOneRoutes) {
+    }
+
+    public record Route(
+            String route,
+            long requests,
+            double queriesPerRequest,
+            long maxQueries,
+            double rowsPerRequest,
+            double dbMsPerRequest,
+            long nPlusOneRequests) {
+    }
+
+    public record NPlusOne(
+            Instant at,
+            String correlationId,
+            String route,
+            String sql,
+            int executions) {
+    }
+
+    public record HqlQuery(
+            String query,
+            long executions,
+            long totalMs,
+            long maxMs,
+            long rows) {
+    }
+}
@@ -0,0 +1,275 @@
+package works.jayesh.demo.common.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Listens to every statement sent through the proxied DataSource.
+ * Statements are aggregated by SQL text for {@code /actuator/queries}; Hibernate always binds
+ * parameters, so one entry covers every execution of a query whatever its arguments.
+ * Statements run while a request is open on the thread (see {@link QueryStatsFilter}) are also
+ * added to that request, which is published per route when it ends:
+ * {@value #QUERIES_METRIC}, {@value #ROWS_METRIC} and {@value #TIME_METRIC}.
+ * A request that runs the same statement at least the N+1 threshold times is counted in
+ * {@value #N_PLUS_ONE_METRIC} and kept in the report with its correlation id; the first time a
+ * statement does this on a route it is also logged.
+ */
+@Slf4j
+public class QueryStatsCollector implements QueryExecutionListener, MethodExecutionListener {
+
+    static final String QUERIES_METRIC = "app.db.request.queries";
+    static final String ROWS_METRIC = "app.db.request.rows";
+    static final String TIME_METRIC = "app.db.request.time";
+    static final String N_PLUS_ONE_METRIC = "app.db.nplusone";
+    static final String SLOW_METRIC = "app.db.queries.slow";
+
+    private static final String START_NANOS = "startNanos";
+    private static final int RECENT_DETECTIONS = 50;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final int nPlusOneThreshold;
+    private final int maxStatements;
+
+    private final ThreadLocal<RequestQueryStats> currentRequest = new ThreadLocal<>();
+    private final ConcurrentMap<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final Deque<QueryReport.NPlusOne> detections = new ArrayDeque<>();
+
+    public QueryStatsCollector(MeterRegistry meterRegistry, long slowQueryMillis, int nPlusOneThreshold,
+                               int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = Duration.ofMillis(slowQueryMillis).toNanos();
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsedNanos = start != null ? System.nanoTime() - start : 0;
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+
+        StatementStats stats = statementStats(sql);
+        if (stats != null) {
+            stats.record(elapsedNanos);
+        }
+        RequestQueryStats request = currentRequest.get();
+        if (request != null) {
+            request.record(sql, elapsedNanos, execInfo.isBatch());
+        }
+
+        if (elapsedNanos > slowQueryNanos) {
+            meterRegistry.counter(SLOW_METRIC).increment();
+            log.warn("Slow Query | Duration: {}ms | SQL: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        // Rows fetched are counted as the caller steps through each result set
+        RequestQueryStats request = currentRequest.get();
+        if (request != null
+                && executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            request.addRow();
+        }
+    }
+
+    /**
+     * Starts attributing statements on this thread to a new request.
+     */
+    public void begin() {
+        currentRequest.set(new RequestQueryStats());
+    }
+
+    /**
+     * Ends the request opened by {@link #begin()} and publishes what it did.
+     */
+    public void end(String method, String route, String correlationId) {
+        RequestQueryStats request = currentRequest.get();
+        if (request == null) {
+            return;
+        }
+        currentRequest.remove();
+
+        DistributionSummary.builder(QUERIES_METRIC)
+                .description("Statements executed per API request")
+                .tag("method", method)
+                .tag("route", route)
+                .register(meterRegistry)
+                .record(request.queries());
+        DistributionSummary.builder(ROWS_METRIC)
+                .description("Result set rows read per API request")
+                .tag("method", method)
+                .tag("route", route)
+                .register(meterRegistry)
+                .record(request.rows());
+        Timer.builder(TIME_METRIC)
+                .description("Time spent executing statements per API request")
+                .tag("method", method)
+                .tag("route", route)
+                .register(meterRegistry)
+                .record(request.nanos(), TimeUnit.NANOSECONDS);
+
+        String routeKey = method + " " + route;
+        boolean nPlusOne = false;
+        for (Map.Entry<String, Integer> entry : request.executions().entrySet()) {
+            if (entry.getValue() >= nPlusOneThreshold) {
+                nPlusOne = true;
+                recordNPlusOne(routeKey, correlationId, entry.getKey(), entry.getValue());
+            }
+        }
+        if (nPlusOne) {
+            meterRegistry.counter(N_PLUS_ONE_METRIC, "method", method, "route", route).increment();
+        }
+        routes.computeIfAbsent(routeKey, key -> new RouteStats()).record(request, nPlusOne);
+    }
+
+    private void recordNPlusOne(String routeKey, String correlationId, String sql, int executions) {
+        StatementStats stats = statementStats(sql);
+        if (stats != null) {
+            stats.nPlusOneRequests.increment();
+            if (stats.nPlusOneRoutes.add(routeKey)) {
+                log.warn("Possible N+1 | Route: {} | Executions: {} | SQL: {}", routeKey, executions, sql);
+            }
+        }
+        synchronized (detections) {
+            if (detections.size() == RECENT_DETECTIONS) {
+                detections.removeLast();
+            }
+            detections.addFirst(new QueryReport.NPlusOne(Instant.now(), correlationId, routeKey, sql, executions));
+        }
+    }
+
+    // New statements stop being tracked once the map is full, so unbounded ad hoc SQL can't grow it
+    private StatementStats statementStats(String sql) {
+        StatementStats stats = statements.get(sql);
+        if (stats == null && statements.size() < maxStatements) {
+            stats = statements.computeIfAbsent(sql, key -> new StatementStats());
+        }
+        return stats;
+    }
+
+    /**
+     * The {@code limit} statements and routes with the most database time, and the recent N+1 requests.
+     * HQL statistics are added by the endpoint.
+     */
+    public QueryReport report(int limit) {
+        List<QueryReport.Statement> topStatements = statements.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, StatementStats> entry) -> entry.getValue().totalNanos.sum()).reversed())
+                .limit(limit)
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .toList();
+        List<QueryReport.Route> topRoutes = routes.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, RouteStats> entry) -> entry.getValue().nanos.sum()).reversed())
+                .limit(limit)
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .toList();
+        List<QueryReport.NPlusOne> recent;
+        synchronized (detections) {
+            recent = new ArrayList<>(detections);
+        }
+        return new QueryReport(topStatements, topRoutes, recent, List.of());
+    }
+
+    public void reset() {
+        statements.clear();
+        routes.clear();
+        synchronized (detections) {
+            detections.clear();
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class StatementStats {
+
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder nPlusOneRequests = new LongAdder();
+        private final Set<String> nPlusOneRoutes = ConcurrentHashMap.newKeySet();
+
+        void record(long nanos) {
+            executions.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        QueryReport.Statement summary(String sql) {
+            long count = executions.sum();
+            long total = totalNanos.sum();
+            return new QueryReport.Statement(sql, count, millis(total), count > 0 ? millis(total / count) : 0,
+                    millis(maxNanos.get()), nPlusOneRequests.sum(), new TreeSet<>(nPlusOneRoutes));
+        }
+    }
+
+    private static final class RouteStats {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder queries = new LongAdder();
+        private final AtomicLong maxQueries = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder nPlusOneRequests = new LongAdder();
+
+        void record(RequestQueryStats request, boolean nPlusOne) {
+            requests.increment();
+            queries.add(request.queries());
+            maxQueries.accumulateAndGet(request.queries(), Math::max);
+            rows.add(request.rows());
+            nanos.add(request.nanos());
+            if (nPlusOne) {
+                nPlusOneRequests.increment();
+            }
+        }
+
+        QueryReport.Route summary(String route) {
+            long count = Math.max(requests.sum(), 1);
+            return new QueryReport.Route(route, requests.sum(), (double) queries.sum() / count, maxQueries.get(),
+                    (double) rows.sum() / count, millis(nanos.sum()) / count, nPlusOneRequests.sum());
+        }
+    }
+}
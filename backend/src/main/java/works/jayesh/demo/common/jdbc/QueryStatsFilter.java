@@ -0,0 +1,46 @@
+package works.jayesh.demo.common.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import works.jayesh.demo.config.CorrelationIdFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a query scope around each API request.
+ * Ordered just inside {@link CorrelationIdFilter} and ahead of Spring Security, so lookups made
+ * while authenticating count towards the request and the correlation id is already in MDC.
+ * Work handed to other threads, such as streamed exports, is not attributed to the request.
+ */
+@RequiredArgsConstructor
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final QueryStatsCollector collector;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        collector.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            collector.end(request.getMethod(), route(request), MDC.get(CorrelationIdFilter.CORRELATION_ID_MDC_KEY));
+        }
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,44 @@
+package works.jayesh.demo.common.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC work done on one request thread. Only touched by that thread, so nothing is synchronized.
+ */
+final class RequestQueryStats {
+
+    // Executions per statement, batches excluded: a batch is one round trip however many rows it writes
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int queries;
+    private long rows;
+    private long nanos;
+
+    void record(String sql, long elapsedNanos, boolean batch) {
+        queries++;
+        nanos += elapsedNanos;
+        if (!batch) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void addRow() {
+        rows++;
+    }
+
+    int queries() {
+        return queries;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+
+    Map<String, Integer> executions() {
+        return executions;
+    }
+}
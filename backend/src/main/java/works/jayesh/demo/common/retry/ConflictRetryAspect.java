@@ -0,0 +1,98 @@
+package works.jayesh.demo.common.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implements {@link RetryOnConflict}. Ordered ahead of the transaction interceptor, so each
+ * attempt runs in its own transaction and a conflict detected at commit is still retried.
+ * When the method joins a transaction that is already open, the conflict is left to the
+ * outermost caller: the shared persistence context is stale and the transaction is already
+ * marked for rollback, so a retry at this level could not succeed.
+ *
+ * <p>Besides optimistic lock failures, lock timeouts and deadlocks reported by the database
+ * (the rest of {@link ConcurrencyFailureException}) are retried too: they are the same race
+ * surfacing while one writer waits on another's uncommitted row.
+ *
+ * <p>Publishes {@code optimistic.conflict.calls} and {@code optimistic.conflicts} (tagged with
+ * {@code outcome=retried|exhausted}) per method, from which the conflict rate is derived.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class ConflictRetryAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(works.jayesh.demo.common.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        RetryOnConflict retryOnConflict = ((MethodSignature) joinPoint.getSignature()).getMethod()
+                .getAnnotation(RetryOnConflict.class);
+
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        counter("optimistic.conflict.calls", method, null).increment();
+
+        int maxAttempts = Math.max(retryOnConflict.maxAttempts(), 1);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    counter("optimistic.conflicts", method, "exhausted").increment();
+                    log.warn("{} still conflicting after {} attempts", method, attempt);
+                    throw ex;
+                }
+                counter("optimistic.conflicts", method, "retried").increment();
+                long delay = backoff(retryOnConflict, attempt);
+                log.debug("{} lost an optimistic lock on attempt {}; retrying in {} ms", method, attempt, delay);
+                sleep(delay, ex);
+            }
+        }
+    }
+
+    // Full jitter: uniform in [0, min(max, base * 2^(attempt-1))]
+    static long backoff(RetryOnConflict retryOnConflict, int attempt) {
+        long ceiling = Math.min(retryOnConflict.maxBackoffMs(),
+                retryOnConflict.backoffMs() << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long delay, ConcurrencyFailureException conflict) {
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private Counter counter(String name, String method, String outcome) {
+        Counter.Builder builder = Counter.builder(name).tag("method", method);
+        if (outcome != null) {
+            builder.tag("outcome", outcome);
+        }
+        return builder.register(meterRegistry);
+    }
+}
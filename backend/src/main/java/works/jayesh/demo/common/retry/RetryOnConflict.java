@@ -0,0 +1,29 @@
+package works.jayesh.demo.common.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the annotated service method, in a fresh transaction, when it loses an optimistic
+ * locking race or another concurrency failure. Retries back off exponentially with full
+ * jitter so that colliding callers spread out instead of colliding again.
+ *
+ * @see ConflictRetryAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+
+    /** Total attempts, including the first call. */
+    int maxAttempts() default 5;
+
+    /** Backoff ceiling for the first retry; doubled for each further retry. */
+    long backoffMs() default 20;
+
+    /** Upper bound on any single backoff. */
+    long maxBackoffMs() default 500;
+}
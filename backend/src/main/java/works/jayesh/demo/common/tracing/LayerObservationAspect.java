@@ -0,0 +1,86 @@
+package works.jayesh.demo.common.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Observes controller handlers, transactional service methods, repository calls and
+ * {@code @Async} tasks, so each shows up as a span under the request's server span, named
+ * {@code Class.method}, with a matching timer per layer ({@value #CONTROLLER},
+ * {@value #SERVICE}, {@value #REPOSITORY}, {@value #ASYNC}).
+ *
+ * <p>Ordered inside {@code ConflictRetryAspect}, so each retry attempt is its own span, and
+ * outside the transaction interceptor, so a service span includes its commit. Async advice runs
+ * on the executor thread; the task decorator in {@code AsyncConfig} carries the caller's span
+ * across, so the task joins the caller's trace.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class LayerObservationAspect {
+
+    static final String CONTROLLER = "app.controller";
+    static final String SERVICE = "app.service";
+    static final String REPOSITORY = "app.repository";
+    static final String ASYNC = "app.async";
+
+    private final ObservationRegistry observationRegistry;
+
+    // Repository proxies are named after the interface the application declared, not SimpleJpaRepository
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("within(works.jayesh.demo..controller..*) "
+            + "&& @within(org.springframework.web.bind.annotation.RestController)")
+    public Object observeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(CONTROLLER, joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("within(works.jayesh.demo..service..*) "
+            + "&& (@annotation(org.springframework.transaction.annotation.Transactional) "
+            + "|| @within(org.springframework.transaction.annotation.Transactional)) "
+            + "&& !@annotation(org.springframework.scheduling.annotation.Async)")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(SERVICE, joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object observeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(REPOSITORY, repositoryName(joinPoint.getThis()), joinPoint);
+    }
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Async)")
+    public Object observeAsync(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(ASYNC, joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    private Object observe(String name, String type, ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        return Observation.createNotStarted(name, observationRegistry)
+                .contextualName(type + "." + method)
+                .lowCardinalityKeyValue("class", type)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked((Observation.CheckedCallable<Object, Throwable>) joinPoint::proceed);
+    }
+
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> Arrays.stream(AopProxyUtils.proxiedUserInterfaces(proxy))
+                .filter(Repository.class::isAssignableFrom)
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(type.getSimpleName()));
+    }
+}
@@ -1,9 +1,13 @@
 package works.jayesh.demo.config;
 
+import io.micrometer.common.KeyValue;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 import java.io.IOException;
 import java.util.UUID;
@@ -11,12 +15,17 @@ import java.util.UUID;
 /**
  * Filter to add correlation ID to all requests for distributed tracing
  * The correlation ID is propagated through MDC and included in all logs
+ * Runs ahead of Spring Security, so authentication work is tagged too
+ * The ID is also set on the request's server span, to get from a log line to its trace
  */
 @Component
+@Order(CorrelationIdFilter.ORDER)
 public class CorrelationIdFilter implements Filter {
 
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+    public static final String CORRELATION_ID_MDC_KEY = "correlationId";
+
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
-    private static final String CORRELATION_ID_MDC_KEY = "correlationId";
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -33,6 +42,11 @@ public class CorrelationIdFilter implements Filter {
             // Add to MDC for logging
             MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
 
+            // Tag the server span as a span attribute only; it is not a metric tag
+            KeyValue spanTag = KeyValue.of("correlation.id", correlationId);
+            ServerHttpObservationFilter.findObservationContext(httpRequest)
+                    .ifPresent(context -> context.addHighCardinalityKeyValue(spanTag));
+
             chain.doFilter(request, response);
         } finally {
             // Always clean up MDC to prevent memory leaks
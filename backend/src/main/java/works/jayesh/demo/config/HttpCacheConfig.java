@@ -0,0 +1,74 @@
+package works.jayesh.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import works.jayesh.demo.common.http.ConditionalGetFilter;
+import works.jayesh.demo.common.http.ResponseCache;
+import works.jayesh.demo.product.service.CategoryService;
+import works.jayesh.demo.product.service.ProductService;
+import works.jayesh.demo.review.service.ReviewService;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * ETags, Cache-Control and the shared anonymous response cache for the public catalog routes.
+ * Turned off entirely with {@code app.http.cache.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.http.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HttpCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.http.cache.max-entries:10000}") int maxEntries,
+            @Value("${app.http.cache.max-size-mb:64}") long maxSizeMb,
+            @Value("${app.http.cache.max-entry-kb:512}") long maxEntryKb) {
+        return new ResponseCache(maxEntries, maxSizeMb * 1024 * 1024, maxEntryKb * 1024, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConditionalGetFilter> conditionalGetFilter(
+            ResponseCache responseCache,
+            MeterRegistry meterRegistry,
+            ProductService productService,
+            CategoryService categoryService,
+            ReviewService reviewService,
+            @Value("${app.http.cache.max-age-seconds.products:30}") long productsMaxAge,
+            @Value("${app.http.cache.max-age-seconds.featured:60}") long featuredMaxAge,
+            @Value("${app.http.cache.max-age-seconds.categories:300}") long categoriesMaxAge,
+            @Value("${app.http.cache.max-age-seconds.reviews:60}") long reviewsMaxAge) {
+        List<ConditionalGetFilter.Route> routes = List.of(
+                new ConditionalGetFilter.Route("/api/products/featured", Duration.ofSeconds(featuredMaxAge),
+                        variables -> productService.getFeaturedProductsETag(null)),
+                new ConditionalGetFilter.Route("/api/products/top-rated", Duration.ofSeconds(featuredMaxAge),
+                        variables -> productService.getTopRatedProductsETag(null)),
+                new ConditionalGetFilter.Route("/api/products/category/{categoryId}/featured",
+                        Duration.ofSeconds(featuredMaxAge),
+                        variables -> productService.getFeaturedProductsETag(Long.valueOf(variables.get("categoryId")))),
+                new ConditionalGetFilter.Route("/api/products/category/{categoryId}/top-rated",
+                        Duration.ofSeconds(featuredMaxAge),
+                        variables -> productService.getTopRatedProductsETag(Long.valueOf(variables.get("categoryId")))),
+                new ConditionalGetFilter.Route("/api/products/slug/{slug}", Duration.ofSeconds(productsMaxAge),
+                        variables -> productService.getProductETagBySlug(variables.get("slug"))),
+                new ConditionalGetFilter.Route("/api/products/{productId}", Duration.ofSeconds(productsMaxAge),
+                        variables -> productService.getProductETag(Long.valueOf(variables.get("productId")))),
+                new ConditionalGetFilter.Route("/api/categories/top-level", Duration.ofSeconds(categoriesMaxAge),
+                        variables -> categoryService.getTopLevelCategoriesETag()),
+                new ConditionalGetFilter.Route("/api/reviews/product/{productId}", Duration.ofSeconds(reviewsMaxAge),
+                        variables -> reviewService.getProductReviewsETag(Long.valueOf(variables.get("productId")))));
+
+        FilterRegistrationBean<ConditionalGetFilter> registration =
+                new FilterRegistrationBean<>(new ConditionalGetFilter(routes, responseCache, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // After Spring Security, so the filter knows whether the caller is anonymous
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,68 @@
+package works.jayesh.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import works.jayesh.demo.common.jdbc.QueriesEndpoint;
+import works.jayesh.demo.common.jdbc.QueryStatsCollector;
+import works.jayesh.demo.common.jdbc.QueryStatsFilter;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request JDBC instrumentation
+ * Wraps the pool in a datasource-proxy whose listener feeds {@link QueryStatsCollector}.
+ * The proxy unwraps to the Hikari pool, so the hikaricp.* pool meters are unaffected.
+ * Turned off entirely with {@code app.jdbc.instrumentation.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+
+    @Bean
+    public QueryStatsCollector queryStatsCollector(
+            MeterRegistry meterRegistry,
+            @Value("${app.jdbc.instrumentation.slow-query-ms:500}") long slowQueryMillis,
+            @Value("${app.jdbc.instrumentation.n-plus-one-threshold:5}") int nPlusOneThreshold,
+            @Value("${app.jdbc.instrumentation.max-statements:1000}") int maxStatements) {
+        return new QueryStatsCollector(meterRegistry, slowQueryMillis, nPlusOneThreshold, maxStatements);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourceWrapper(ObjectProvider<QueryStatsCollector> collector) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                QueryStatsCollector listener = collector.getObject();
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(QueryStatsCollector collector) {
+        FilterRegistrationBean<QueryStatsFilter> registration = new FilterRegistrationBean<>(new QueryStatsFilter(collector));
+        registration.setOrder(CorrelationIdFilter.ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public QueriesEndpoint queriesEndpoint(QueryStatsCollector collector, EntityManagerFactory entityManagerFactory) {
+        return new QueriesEndpoint(collector, entityManagerFactory);
+    }
+}
@@ -1,31 +1,74 @@
 package works.jayesh.demo.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Interceptor for structured request/response logging
- * Logs incoming requests and outgoing responses with correlation IDs
+ * Interceptor for request timing and logging
+ * Records every request in an {@value #METRIC} timer with a percentile histogram and SLO buckets,
+ * tagged by route template so that path variables don't explode the series count.
+ * Only requests slower than the threshold are logged, at most a few per second; logging every
+ * request is optional.
  */
 @Component
 public class RequestLoggingInterceptor implements HandlerInterceptor {
 
     private static final Logger log = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
 
+    static final String METRIC = "app.http.requests";
+    static final String SLOW_METRIC = "app.http.requests.slow";
+    private static final String SAMPLE_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".sample";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean logEveryRequest;
+    private final long slowThresholdNanos;
+    private final int slowLogsPerSecond;
+    private final Duration[] slos;
+
+    // Budget for slow-request log lines in the current second
+    private final AtomicLong slowLogWindow = new AtomicLong();
+    private final AtomicInteger slowLogsInWindow = new AtomicInteger();
+
+    public RequestLoggingInterceptor(MeterRegistry meterRegistry,
+                                     @Value("${app.http.request-logging:false}") boolean logEveryRequest,
+                                     @Value("${app.http.slow-request-threshold-ms:1000}") long slowThresholdMillis,
+                                     @Value("${app.http.slow-request-logs-per-second:10}") int slowLogsPerSecond,
+                                     @Value("${app.http.slo-ms:100,250,500,1000,2500}") long[] sloMillis) {
+        this.meterRegistry = meterRegistry;
+        this.logEveryRequest = logEveryRequest;
+        this.slowThresholdNanos = Duration.ofMillis(slowThresholdMillis).toNanos();
+        this.slowLogsPerSecond = slowLogsPerSecond;
+        this.slos = Arrays.stream(sloMillis).mapToObj(Duration::ofMillis).toArray(Duration[]::new);
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        long startTime = System.currentTimeMillis();
-        request.setAttribute("startTime", startTime);
+        // An async dispatch passes through again; keep timing from the original request
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) == null) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
 
-        log.info("Incoming Request | Method: {} | URI: {} | RemoteAddr: {}",
-                request.getMethod(),
-                request.getRequestURI(),
-                request.getRemoteAddr());
+            if (logEveryRequest) {
+                log.info("Incoming Request | Method: {} | URI: {} | RemoteAddr: {}",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        request.getRemoteAddr());
+            }
+        }
 
         return true;
     }
@@ -33,24 +76,42 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
             Object handler, Exception ex) {
-        long startTime = (Long) request.getAttribute("startTime");
-        long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
+        Timer.Sample sample = (Timer.Sample) request.getAttribute(SAMPLE_ATTRIBUTE);
+        if (sample == null) {
+            return;
+        }
+        request.removeAttribute(SAMPLE_ATTRIBUTE);
 
-        String logLevel = response.getStatus() >= 400 ? "WARN" : "INFO";
+        String route = route(request);
+        int status = response.getStatus();
+        long durationNanos = sample.stop(Timer.builder(METRIC)
+                .description("Time to handle API requests, by route template")
+                .tag("method", request.getMethod())
+                .tag("route", route)
+                .tag("status", String.valueOf(status))
+                .tag("outcome", Outcome.forStatus(status).name())
+                .tag("exception", ex != null ? ex.getClass().getSimpleName() : "none")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(slos)
+                .register(meterRegistry));
+        long durationMillis = durationNanos / 1_000_000;
 
-        if (response.getStatus() >= 400) {
-            log.warn("Request Completed | Method: {} | URI: {} | Status: {} | Duration: {}ms",
-                    request.getMethod(),
-                    request.getRequestURI(),
-                    response.getStatus(),
-                    duration);
-        } else {
+        if (durationNanos > slowThresholdNanos) {
+            meterRegistry.counter(SLOW_METRIC, "method", request.getMethod(), "route", route).increment();
+            if (tryAcquireSlowLog()) {
+                log.warn("Slow Request | Method: {} | URI: {} | Route: {} | Status: {} | Duration: {}ms",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        route,
+                        status,
+                        durationMillis);
+            }
+        } else if (logEveryRequest) {
             log.info("Request Completed | Method: {} | URI: {} | Status: {} | Duration: {}ms",
                     request.getMethod(),
                     request.getRequestURI(),
-                    response.getStatus(),
-                    duration);
+                    status,
+                    durationMillis);
         }
 
         if (ex != null) {
@@ -60,4 +121,18 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
                     ex.getMessage(), ex);
         }
     }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private boolean tryAcquireSlowLog() {
+        long second = System.currentTimeMillis() / 1000;
+        long window = slowLogWindow.get();
+        if (window != second && slowLogWindow.compareAndSet(window, second)) {
+            slowLogsInWindow.set(0);
+        }
+        return slowLogsInWindow.incrementAndGet() <= slowLogsPerSecond;
+    }
 }
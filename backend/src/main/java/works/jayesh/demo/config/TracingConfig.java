@@ -0,0 +1,23 @@
+package works.jayesh.demo.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Span export without a collector
+ * With {@code app.tracing.file-export.enabled}, each exported batch is written as one line of
+ * OTLP JSON through the exporter's logger, which logback-spring.xml sends to its own file in dev.
+ * Sampling and propagation are Boot's {@code management.tracing.*} settings.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.file-export.enabled", havingValue = "true")
+    public SpanExporter otlpJsonFileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
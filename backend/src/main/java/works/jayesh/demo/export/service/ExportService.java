@@ -0,0 +1,123 @@
+package works.jayesh.demo.export.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import works.jayesh.demo.export.model.dto.ExportFormat;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    static final String[] ORDER_COLUMNS = {
+            "id", "order_number", "user_id", "status", "subtotal", "tax", "shipping_cost", "discount",
+            "total_amount", "created_at", "shipped_at", "delivered_at", "cancelled_at"
+    };
+
+    static final String[] PRODUCT_COLUMNS = {
+            "id", "sku", "name", "brand", "category_id", "seller_id", "price", "discount_price",
+            "stock_quantity", "status", "active", "average_rating", "total_reviews", "total_sold", "created_at"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Streams matching orders to the given stream. Runs inside a read-only transaction so that
+     * drivers which only honour the fetch size with auto-commit off (PostgreSQL) use a server-side cursor.
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(ExportFormat format, LocalDateTime from, LocalDateTime to,
+                             OrderStatus status, OutputStream outputStream) throws IOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(String.join(", ", ORDER_COLUMNS))
+                .append(" FROM orders WHERE 1 = 1");
+        appendDateRange(sql, params, from, to);
+        if (status != null) {
+            sql.append(" AND status = ?");
+            params.add(status.name());
+        }
+        sql.append(" ORDER BY id");
+        return stream(sql.toString(), params, format, ORDER_COLUMNS, outputStream);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportProducts(ExportFormat format, LocalDateTime from, LocalDateTime to,
+                               ProductStatus status, OutputStream outputStream) throws IOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(String.join(", ", PRODUCT_COLUMNS))
+                .append(" FROM products WHERE 1 = 1");
+        appendDateRange(sql, params, from, to);
+        if (status != null) {
+            sql.append(" AND status = ?");
+            params.add(status.name());
+        }
+        sql.append(" ORDER BY id");
+        return stream(sql.toString(), params, format, PRODUCT_COLUMNS, outputStream);
+    }
+
+    private void appendDateRange(StringBuilder sql, List<Object> params, LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+    }
+
+    private long stream(String sql, List<Object> params, ExportFormat format, String[] columns,
+                        OutputStream outputStream) throws IOException {
+        PreparedStatementCreator statementCreator = connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        };
+
+        long[] rows = {0};
+        try (ExportWriter writer = ExportWriter.create(format, outputStream, columns)) {
+            Object[] values = new Object[columns.length];
+            jdbcTemplate.query(statementCreator, rs -> {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                try {
+                    writer.writeRow(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} rows as {}", rows[0], format);
+        return rows[0];
+    }
+}
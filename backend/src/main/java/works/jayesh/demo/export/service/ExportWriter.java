@@ -0,0 +1,158 @@
+package works.jayesh.demo.export.service;
+
+import works.jayesh.demo.export.model.dto.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+/**
+ * Writes export rows straight to an output stream, one row at a time.
+ * Nothing is retained between rows, so memory stays flat regardless of row count.
+ */
+public abstract class ExportWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Writer out;
+    protected final String[] columns;
+
+    protected ExportWriter(OutputStream outputStream, String[] columns) {
+        this.out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.columns = columns;
+    }
+
+    public static ExportWriter create(ExportFormat format, OutputStream outputStream, String[] columns)
+            throws IOException {
+        ExportWriter writer = format == ExportFormat.NDJSON
+                ? new NdjsonWriter(outputStream, columns)
+                : new CsvWriter(outputStream, columns);
+        writer.writeHeader();
+        return writer;
+    }
+
+    protected abstract void writeHeader() throws IOException;
+
+    public abstract void writeRow(Object[] values) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+
+    protected static String format(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+
+    static final class CsvWriter extends ExportWriter {
+
+        CsvWriter(OutputStream outputStream, String[] columns) {
+            super(outputStream, columns);
+        }
+
+        @Override
+        protected void writeHeader() throws IOException {
+            writeRow(columns);
+        }
+
+        @Override
+        public void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(format(values[i]));
+                }
+            }
+            out.write('\n');
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+            out.write('"');
+        }
+    }
+
+    static final class NdjsonWriter extends ExportWriter {
+
+        NdjsonWriter(OutputStream outputStream, String[] columns) {
+            super(outputStream, columns);
+        }
+
+        @Override
+        protected void writeHeader() {
+            // Every NDJSON line is self-describing
+        }
+
+        @Override
+        public void writeRow(Object[] values) throws IOException {
+            out.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeString(columns[i]);
+                out.write(':');
+                Object value = values[i];
+                if (value == null) {
+                    out.write("null");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    out.write(format(value));
+                } else {
+                    writeString(format(value));
+                }
+            }
+            out.write("}\n");
+        }
+
+        private void writeString(String value) throws IOException {
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> out.write("\\\"");
+                    case '\\' -> out.write("\\\\");
+                    case '\n' -> out.write("\\n");
+                    case '\r' -> out.write("\\r");
+                    case '\t' -> out.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            out.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.write(c);
+                        }
+                    }
+                }
+            }
+            out.write('"');
+        }
+    }
+}
@@ -11,10 +11,14 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import works.jayesh.demo.common.model.ApiResponse;
 import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemResponse;
 import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.order.model.dto.OrderSummaryResponse;
 import works.jayesh.demo.order.model.entity.OrderStatus;
 import works.jayesh.demo.order.service.OrderService;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
@@ -37,6 +41,13 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success("Order retrieved successfully", order));
     }
 
+    @GetMapping("/{orderId}/items")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<OrderItemResponse>>> getOrderItems(@PathVariable Long orderId) {
+        List<OrderItemResponse> items = orderService.getOrderItems(orderId);
+        return ResponseEntity.ok(ApiResponse.success("Order items retrieved successfully", items));
+    }
+
     @GetMapping("/number/{orderNumber}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
     public ResponseEntity<ApiResponse<OrderResponse>> getOrderByOrderNumber(@PathVariable String orderNumber) {
@@ -53,6 +64,15 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success("User orders retrieved successfully", orders));
     }
 
+    @GetMapping("/user/{userId}/summary")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<Page<OrderSummaryResponse>>> getUserOrderSummaries(
+            @PathVariable Long userId,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<OrderSummaryResponse> orders = orderService.getUserOrderSummaries(userId, pageable);
+        return ResponseEntity.ok(ApiResponse.success("User order summaries retrieved successfully", orders));
+    }
+
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Page<OrderResponse>>> getOrdersByStatus(
@@ -62,6 +82,15 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", orders));
     }
 
+    @GetMapping("/status/{status}/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Page<OrderSummaryResponse>>> getOrderSummariesByStatus(
+            @PathVariable OrderStatus status,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<OrderSummaryResponse> orders = orderService.getOrderSummariesByStatus(status, pageable);
+        return ResponseEntity.ok(ApiResponse.success("Order summaries retrieved successfully", orders));
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Page<OrderResponse>>> getAllOrders(
@@ -0,0 +1,13 @@
+package works.jayesh.demo.order.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLine {
+    private Long orderId;
+    private Long productId;
+}
@@ -0,0 +1,29 @@
+package works.jayesh.demo.order.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of an order history list. Built directly by a constructor expression in
+ * {@link works.jayesh.demo.order.repository.OrderRepository}, so the field order here is
+ * the argument order of those queries.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummaryResponse {
+    private Long id;
+    private String orderNumber;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private Long itemCount;
+    private String firstItemImage;
+    private LocalDateTime createdAt;
+}
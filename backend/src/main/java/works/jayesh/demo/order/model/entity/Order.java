@@ -12,6 +12,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
 
 @Entity
 @Table(name = "orders", indexes = {
@@ -31,6 +33,9 @@ public class Order {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false, unique = true)
     private String orderNumber;
 
@@ -102,8 +107,10 @@ public class Order {
         }
     }
 
+    // The random suffix keeps orders placed in the same millisecond from sharing a number
     private String generateOrderNumber() {
-        return "ORD-" + System.currentTimeMillis();
+        String suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase(Locale.ROOT);
+        return "ORD-" + System.currentTimeMillis() + "-" + suffix;
     }
 
     public void calculateTotals() {
@@ -7,7 +7,10 @@ import works.jayesh.demo.product.model.entity.Product;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_item_order_id", columnList = "order_id"),
+        @Index(name = "idx_order_item_product_order", columnList = "product_id, order_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,8 +2,11 @@ package works.jayesh.demo.order.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import works.jayesh.demo.order.model.dto.OrderLine;
 import works.jayesh.demo.order.model.entity.OrderItem;
+import works.jayesh.demo.order.model.entity.OrderStatus;
 
 import java.util.List;
 
@@ -12,9 +15,22 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByOrderId(Long orderId);
 
+    List<OrderItem> findByOrderIdOrderByIdAsc(Long orderId);
+
     @Query("SELECT oi FROM OrderItem oi WHERE oi.product.id = :productId")
     List<OrderItem> findByProductId(Long productId);
 
-    @Query("SELECT oi FROM OrderItem oi WHERE oi.order.user.id = :userId AND oi.product.id = :productId")
-    List<OrderItem> findByUserIdAndProductId(Long userId, Long productId);
+    // Stops at the first matching row; used for verified-purchase checks
+    boolean existsByOrderUserIdAndProductIdAndOrderStatusNot(Long userId, Long productId, OrderStatus status);
+
+    // Order id ranges rather than row limits, so an order's lines never span two batches
+    @Query("SELECT new works.jayesh.demo.order.model.dto.OrderLine(oi.order.id, oi.product.id) FROM OrderItem oi " +
+            "WHERE oi.order.id > :afterOrderId AND oi.order.id <= :upToOrderId AND oi.order.status <> :excluded " +
+            "ORDER BY oi.order.id")
+    List<OrderLine> findOrderLines(@Param("afterOrderId") Long afterOrderId,
+            @Param("upToOrderId") Long upToOrderId,
+            @Param("excluded") OrderStatus excluded);
+
+    @Query("SELECT MAX(oi.order.id) FROM OrderItem oi")
+    Long findMaxOrderId();
 }
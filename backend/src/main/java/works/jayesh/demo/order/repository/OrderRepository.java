@@ -4,7 +4,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import works.jayesh.demo.order.model.dto.OrderSummaryResponse;
 import works.jayesh.demo.order.model.entity.Order;
 import works.jayesh.demo.order.model.entity.OrderStatus;
 
@@ -15,12 +17,28 @@ import java.util.Optional;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    // Item count and first image come from correlated subqueries so a page of summaries is one statement
+    String SUMMARY_SELECT = "SELECT new works.jayesh.demo.order.model.dto.OrderSummaryResponse(" +
+            "o.id, o.orderNumber, o.status, o.totalAmount, " +
+            "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o), " +
+            "(SELECT f.productImage FROM OrderItem f WHERE f.id = " +
+            "(SELECT MIN(m.id) FROM OrderItem m WHERE m.order = o)), " +
+            "o.createdAt) FROM Order o ";
+
     Optional<Order> findByOrderNumber(String orderNumber);
 
     Page<Order> findByUserId(Long userId, Pageable pageable);
 
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
 
+    @Query(value = SUMMARY_SELECT + "WHERE o.user.id = :userId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<OrderSummaryResponse> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE o.status = :status",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+    Page<OrderSummaryResponse> findSummariesByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
     Page<Order> findByUserIdAndStatus(Long userId, OrderStatus status, Pageable pageable);
 
     @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
@@ -0,0 +1,79 @@
+package works.jayesh.demo.order.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import works.jayesh.demo.address.model.entity.Address;
+import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.common.exception.ResourceNotFoundException;
+import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves everything checkout reads before any line is priced: the buyer, both addresses,
+ * and every ordered product with its images. This takes three queries however many lines the
+ * order has, instead of one lookup per line plus a lazy image load per product.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckoutContextLoader {
+
+    /** Upper bound on the SELECTs issued by {@link #load}. */
+    public static final int MAX_QUERIES = 3;
+
+    private final UserRepository userRepository;
+    private final AddressRepository addressRepository;
+    private final ProductRepository productRepository;
+
+    public record CheckoutContext(User user, Address shippingAddress, Address billingAddress,
+                                  Map<Long, Product> products) {
+
+        public Product product(Long productId) {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found: " + productId);
+            }
+            return product;
+        }
+    }
+
+    public CheckoutContext load(OrderCreateRequest request) {
+        User user = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + request.getUserId()));
+
+        // Shipping and billing are usually the same address; resolve both in one query
+        Map<Long, Address> addresses = addressRepository
+                .findAllById(new HashSet<>(List.of(request.getShippingAddressId(), request.getBillingAddressId())))
+                .stream()
+                .collect(Collectors.toMap(Address::getId, Function.identity()));
+
+        Address shippingAddress = addresses.get(request.getShippingAddressId());
+        if (shippingAddress == null) {
+            throw new ResourceNotFoundException("Shipping address not found: " + request.getShippingAddressId());
+        }
+
+        Address billingAddress = addresses.get(request.getBillingAddressId());
+        if (billingAddress == null) {
+            throw new ResourceNotFoundException("Billing address not found: " + request.getBillingAddressId());
+        }
+
+        Set<Long> productIds = request.getItems().stream()
+                .map(OrderItemRequest::getProductId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Product> products = productRepository.findAllWithImagesByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return new CheckoutContext(user, shippingAddress, billingAddress, products);
+    }
+}
@@ -6,23 +6,26 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import works.jayesh.demo.address.model.entity.Address;
-import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.analytics.service.SalesRollupRecorder;
 import works.jayesh.demo.common.exception.InsufficientStockException;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
+import works.jayesh.demo.common.retry.RetryOnConflict;
 import works.jayesh.demo.order.model.dto.*;
 import works.jayesh.demo.order.model.entity.Order;
 import works.jayesh.demo.order.model.entity.OrderItem;
 import works.jayesh.demo.order.model.entity.OrderStatus;
+import works.jayesh.demo.order.repository.OrderItemRepository;
 import works.jayesh.demo.order.repository.OrderRepository;
 import works.jayesh.demo.product.model.entity.Product;
 import works.jayesh.demo.product.repository.ProductRepository;
-import works.jayesh.demo.user.model.entity.User;
-import works.jayesh.demo.user.repository.UserRepository;
+import works.jayesh.demo.product.service.ProductLeaderboards;
+import works.jayesh.demo.product.service.RelatedProducts;
+import works.jayesh.demo.product.service.TrendingProducts;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -31,32 +34,28 @@ import java.util.ArrayList;
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final UserRepository userRepository;
+    private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepository;
-    private final AddressRepository addressRepository;
+    private final SalesRollupRecorder salesRollupRecorder;
+    private final ProductLeaderboards productLeaderboards;
+    private final TrendingProducts trendingProducts;
+    private final RelatedProducts relatedProducts;
+    private final CheckoutContextLoader checkoutContextLoader;
 
     private static final BigDecimal TAX_RATE = new BigDecimal("0.10"); // 10% tax
     private static final BigDecimal SHIPPING_COST = new BigDecimal("10.00");
 
+    @RetryOnConflict
     public OrderResponse createOrder(OrderCreateRequest request) {
         log.info("Creating new order for user: {}", request.getUserId());
 
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + request.getUserId()));
-
-        Address shippingAddress = addressRepository.findById(request.getShippingAddressId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Shipping address not found: " + request.getShippingAddressId()));
-
-        Address billingAddress = addressRepository.findById(request.getBillingAddressId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Billing address not found: " + request.getBillingAddressId()));
+        CheckoutContextLoader.CheckoutContext context = checkoutContextLoader.load(request);
 
         Order order = Order.builder()
-                .user(user)
+                .user(context.user())
                 .status(OrderStatus.PENDING)
-                .shippingAddress(shippingAddress)
-                .billingAddress(billingAddress)
+                .shippingAddress(context.shippingAddress())
+                .billingAddress(context.billingAddress())
                 .notes(request.getNotes())
                 .orderItems(new ArrayList<>())
                 .shippingCost(SHIPPING_COST)
@@ -65,9 +64,7 @@ public class OrderService {
 
         // Create order items
         for (OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(
-                            () -> new ResourceNotFoundException("Product not found: " + itemRequest.getProductId()));
+            Product product = context.product(itemRequest.getProductId());
 
             if (product.getStockQuantity() < itemRequest.getQuantity()) {
                 throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
@@ -92,20 +89,15 @@ public class OrderService {
             product.setTotalSold(product.getTotalSold() + itemRequest.getQuantity());
         }
 
-        // Calculate subtotal first
-        order.setSubtotal(order.getOrderItems().stream()
-                .map(OrderItem::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add));
-
-        // Set tax based on subtotal
-        order.setTax(order.getSubtotal().multiply(TAX_RATE));
-
-        // Now calculate final total
-        order.setTotalAmount(order.getSubtotal().add(order.getTax()).add(order.getShippingCost()));
+        applyTotals(order);
 
         // Save order (order number will be generated automatically by @PrePersist)
         Order savedOrder = orderRepository.save(order);
         log.info("Order created successfully with order number: {}", savedOrder.getOrderNumber());
+        salesRollupRecorder.recordOrderCreated(savedOrder);
+        productLeaderboards.productsChanged(productIds(savedOrder));
+        trendingProducts.recordOrderCreated(savedOrder);
+        relatedProducts.recordOrder(savedOrder);
 
         return mapToResponse(savedOrder);
     }
@@ -133,15 +125,40 @@ public class OrderService {
         return orderRepository.findByStatus(status, pageable).map(this::mapToResponse);
     }
 
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryResponse> getUserOrderSummaries(Long userId, Pageable pageable) {
+        return orderRepository.findSummariesByUserId(userId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryResponse> getOrderSummariesByStatus(OrderStatus status, Pageable pageable) {
+        return orderRepository.findSummariesByStatus(status, pageable);
+    }
+
+    /**
+     * Line items of one order, for expanding a row of an order summary list.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderItemResponse> getOrderItems(Long orderId) {
+        if (!orderRepository.existsById(orderId)) {
+            throw new ResourceNotFoundException("Order not found with ID: " + orderId);
+        }
+        return orderItemRepository.findByOrderIdOrderByIdAsc(orderId).stream()
+                .map(this::mapItemToResponse)
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public Page<OrderResponse> getAllOrders(Pageable pageable) {
         return orderRepository.findAll(pageable).map(this::mapToResponse);
     }
 
+    @RetryOnConflict
     public OrderResponse updateOrderStatus(Long orderId, OrderStatus newStatus) {
         log.info("Updating order {} status to {}", orderId, newStatus);
 
         Order order = findOrderById(orderId);
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(newStatus);
 
         switch (newStatus) {
@@ -154,17 +171,20 @@ public class OrderService {
             case CANCELLED:
                 order.setCancelledAt(LocalDateTime.now());
                 restoreStock(order);
+                trendingProducts.recordOrderCancelled(order);
                 break;
             default:
                 break;
         }
 
         Order updatedOrder = orderRepository.save(order);
+        salesRollupRecorder.recordStatusChange(updatedOrder, previousStatus);
         log.info("Order status updated successfully");
 
         return mapToResponse(updatedOrder);
     }
 
+    @RetryOnConflict
     public OrderResponse updateTrackingInfo(Long orderId, String trackingNumber, String shippingCarrier) {
         log.info("Updating tracking info for order: {}", orderId);
 
@@ -178,6 +198,7 @@ public class OrderService {
         return mapToResponse(updatedOrder);
     }
 
+    @RetryOnConflict
     public OrderResponse cancelOrder(Long orderId, String reason) {
         log.info("Cancelling order: {}", orderId);
 
@@ -186,19 +207,35 @@ public class OrderService {
         if (order.getStatus() == OrderStatus.DELIVERED || order.getStatus() == OrderStatus.CANCELLED) {
             throw new IllegalStateException("Cannot cancel order in current status: " + order.getStatus());
         }
+        OrderStatus previousStatus = order.getStatus();
 
         order.setStatus(OrderStatus.CANCELLED);
         order.setCancelledAt(LocalDateTime.now());
         order.setCancellationReason(reason);
 
         restoreStock(order);
+        trendingProducts.recordOrderCancelled(order);
 
         Order cancelledOrder = orderRepository.save(order);
+        salesRollupRecorder.recordStatusChange(cancelledOrder, previousStatus);
         log.info("Order cancelled successfully");
 
         return mapToResponse(cancelledOrder);
     }
 
+    static void applyTotals(Order order) {
+        // Calculate subtotal first
+        order.setSubtotal(order.getOrderItems().stream()
+                .map(OrderItem::getTotalPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        // Set tax based on subtotal
+        order.setTax(order.getSubtotal().multiply(TAX_RATE));
+
+        // Now calculate final total
+        order.setTotalAmount(order.getSubtotal().add(order.getTax()).add(order.getShippingCost()));
+    }
+
     private void restoreStock(Order order) {
         for (OrderItem item : order.getOrderItems()) {
             Product product = item.getProduct();
@@ -206,6 +243,11 @@ public class OrderService {
             product.setTotalSold(product.getTotalSold() - item.getQuantity());
             productRepository.save(product);
         }
+        productLeaderboards.productsChanged(productIds(order));
+    }
+
+    private static List<Long> productIds(Order order) {
+        return order.getOrderItems().stream().map(item -> item.getProduct().getId()).toList();
     }
 
     private Order findOrderById(Long orderId) {
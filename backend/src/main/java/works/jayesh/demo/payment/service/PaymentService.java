@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
+import works.jayesh.demo.common.retry.RetryOnConflict;
 import works.jayesh.demo.order.model.entity.Order;
 import works.jayesh.demo.order.model.entity.OrderStatus;
 import works.jayesh.demo.order.repository.OrderRepository;
@@ -50,6 +51,7 @@ public class PaymentService {
         return mapToResponse(savedPayment);
     }
 
+    @RetryOnConflict
     public PaymentResponse processPayment(Long paymentId) {
         log.info("Processing payment: {}", paymentId);
 
@@ -98,6 +100,7 @@ public class PaymentService {
         return mapToResponse(payment);
     }
 
+    @RetryOnConflict
     public PaymentResponse refundPayment(Long paymentId, String reason) {
         log.info("Refunding payment: {}", paymentId);
 
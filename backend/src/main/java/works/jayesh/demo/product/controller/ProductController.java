@@ -12,6 +12,8 @@ import org.springframework.web.bind.annotation.*;
 import works.jayesh.demo.common.model.ApiResponse;
 import works.jayesh.demo.product.model.dto.ProductCreateRequest;
 import works.jayesh.demo.product.model.dto.ProductResponse;
+import works.jayesh.demo.product.model.dto.RelatedProductResponse;
+import works.jayesh.demo.product.model.dto.TrendingProductResponse;
 import works.jayesh.demo.product.service.ProductService;
 
 import java.math.BigDecimal;
@@ -63,8 +65,11 @@ public class ProductController {
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<ApiResponse<Page<ProductResponse>>> getProductsByCategory(
             @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "false") boolean includeSubcategories,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ProductResponse> products = productService.getProductsByCategory(categoryId, pageable);
+        Page<ProductResponse> products = includeSubcategories
+                ? productService.getProductsByCategoryTree(categoryId, pageable)
+                : productService.getProductsByCategory(categoryId, pageable);
         return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
     }
 
@@ -88,10 +93,46 @@ public class ProductController {
 
     @GetMapping("/featured")
     public ResponseEntity<ApiResponse<List<ProductResponse>>> getFeaturedProducts() {
-        List<ProductResponse> products = productService.getFeaturedProducts();
+        List<ProductResponse> products = productService.getFeaturedProducts(null);
         return ResponseEntity.ok(ApiResponse.success("Featured products retrieved successfully", products));
     }
 
+    @GetMapping("/category/{categoryId}/featured")
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> getFeaturedProductsByCategory(
+            @PathVariable Long categoryId) {
+        List<ProductResponse> products = productService.getFeaturedProducts(categoryId);
+        return ResponseEntity.ok(ApiResponse.success("Featured products retrieved successfully", products));
+    }
+
+    @GetMapping("/top-rated")
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> getTopRatedProducts() {
+        List<ProductResponse> products = productService.getTopRatedProducts(null);
+        return ResponseEntity.ok(ApiResponse.success("Top rated products retrieved successfully", products));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<List<TrendingProductResponse>>> getTrendingProducts(
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TrendingProductResponse> products = productService.getTrendingProducts(window, limit);
+        return ResponseEntity.ok(ApiResponse.success("Trending products retrieved successfully", products));
+    }
+
+    @GetMapping("/{productId}/related")
+    public ResponseEntity<ApiResponse<List<RelatedProductResponse>>> getRelatedProducts(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<RelatedProductResponse> products = productService.getRelatedProducts(productId, limit);
+        return ResponseEntity.ok(ApiResponse.success("Related products retrieved successfully", products));
+    }
+
+    @GetMapping("/category/{categoryId}/top-rated")
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> getTopRatedProductsByCategory(
+            @PathVariable Long categoryId) {
+        List<ProductResponse> products = productService.getTopRatedProducts(categoryId);
+        return ResponseEntity.ok(ApiResponse.success("Top rated products retrieved successfully", products));
+    }
+
     @PatchMapping("/{productId}/stock")
     @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
     public ResponseEntity<ApiResponse<Void>> updateStock(
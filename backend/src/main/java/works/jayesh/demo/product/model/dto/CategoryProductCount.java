@@ -0,0 +1,13 @@
+package works.jayesh.demo.product.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryProductCount {
+    private Long categoryId;
+    private Long productCount;
+}
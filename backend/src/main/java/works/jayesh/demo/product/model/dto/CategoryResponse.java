@@ -22,5 +22,6 @@ public class CategoryResponse {
     private boolean active;
     private Integer displayOrder;
     private Integer productCount;
+    private Integer totalProductCount;
     private LocalDateTime createdAt;
 }
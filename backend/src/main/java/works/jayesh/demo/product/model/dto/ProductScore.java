@@ -0,0 +1,17 @@
+package works.jayesh.demo.product.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductScore {
+    private Long productId;
+    private Long categoryId;
+    private boolean active;
+    private Integer totalSold;
+    private Double averageRating;
+    private Integer totalReviews;
+}
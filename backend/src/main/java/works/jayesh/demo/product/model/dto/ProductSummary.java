@@ -0,0 +1,20 @@
+package works.jayesh.demo.product.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummary {
+    private Long productId;
+    private String name;
+    private String slug;
+    private BigDecimal price;
+    private BigDecimal discountPrice;
+    private Double averageRating;
+    private boolean active;
+}
@@ -0,0 +1,21 @@
+package works.jayesh.demo.product.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The product's version plus the rows outside it that a product response shows:
+ * the category and seller names.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductVersion {
+    private Long productId;
+    private Long version;
+    private LocalDateTime categoryUpdatedAt;
+    private LocalDateTime sellerUpdatedAt;
+}
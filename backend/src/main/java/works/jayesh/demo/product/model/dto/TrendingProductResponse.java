@@ -0,0 +1,22 @@
+package works.jayesh.demo.product.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingProductResponse {
+    private Long productId;
+    private String name;
+    private String slug;
+    private String image;
+    private BigDecimal price;
+    private Long unitsSold;
+    private Double score;
+}
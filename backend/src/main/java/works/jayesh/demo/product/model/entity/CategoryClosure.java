@@ -0,0 +1,36 @@
+package works.jayesh.demo.product.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Closure table for the category hierarchy: one row for every (ancestor, descendant) pair,
+ * including each category paired with itself at depth 0. A subtree is then a single
+ * indexed lookup on ancestor_id instead of a recursive walk.
+ */
+@Entity
+@Table(name = "category_closure", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_category_closure_pair", columnNames = {"ancestor_id", "descendant_id"})
+}, indexes = {
+        @Index(name = "idx_category_closure_descendant", columnList = "descendant_id, ancestor_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryClosure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private Integer depth;
+}
@@ -0,0 +1,69 @@
+package works.jayesh.demo.product.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import works.jayesh.demo.product.model.entity.CategoryClosure;
+
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, Long> {
+
+    // Native writes below touch only category_closure; without this Hibernate evicts every cache region
+    String CLOSURE_SPACE = "category_closure";
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    long countByDepth(Integer depth);
+
+    /**
+     * Link a new category to itself and to every ancestor of its parent.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLOSURE_SPACE))
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT ancestor_id, CAST(:categoryId AS BIGINT), depth + 1 FROM category_closure " +
+            "WHERE descendant_id = :parentId " +
+            "UNION ALL SELECT CAST(:categoryId AS BIGINT), CAST(:categoryId AS BIGINT), 0", nativeQuery = true)
+    int insertWithParent(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLOSURE_SPACE))
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+            "VALUES (:categoryId, :categoryId, 0)", nativeQuery = true)
+    int insertRoot(@Param("categoryId") Long categoryId);
+
+    /**
+     * Detach a subtree from all of its current ancestors, keeping the links inside the subtree.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLOSURE_SPACE))
+    @Query(value = "DELETE FROM category_closure " +
+            "WHERE descendant_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId) " +
+            "AND ancestor_id NOT IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId)",
+            nativeQuery = true)
+    int detachSubtree(@Param("categoryId") Long categoryId);
+
+    /**
+     * Attach a detached subtree under a new parent: every ancestor of the parent becomes an
+     * ancestor of every node in the subtree.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLOSURE_SPACE))
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1 " +
+            "FROM category_closure above CROSS JOIN category_closure below " +
+            "WHERE above.descendant_id = :parentId AND below.ancestor_id = :categoryId", nativeQuery = true)
+    int attachSubtree(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLOSURE_SPACE))
+    @Query(value = "DELETE FROM category_closure " +
+            "WHERE descendant_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId)",
+            nativeQuery = true)
+    int deleteSubtree(@Param("categoryId") Long categoryId);
+}
@@ -1,9 +1,12 @@
 package works.jayesh.demo.product.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import works.jayesh.demo.product.model.entity.Category;
 
@@ -13,6 +16,7 @@ import java.util.Optional;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findBySlug(String slug);
 
     Optional<Category> findByName(String name);
@@ -23,6 +27,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Page<Category> findByActiveTrue(Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Category c WHERE c.parentCategory IS NULL AND c.active = true " +
             "ORDER BY c.displayOrder ASC")
     List<Category> findTopLevelCategories();
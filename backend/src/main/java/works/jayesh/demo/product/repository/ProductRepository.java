@@ -3,13 +3,19 @@ package works.jayesh.demo.product.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import works.jayesh.demo.product.model.dto.CategoryProductCount;
+import works.jayesh.demo.product.model.dto.ProductScore;
+import works.jayesh.demo.product.model.dto.ProductSummary;
+import works.jayesh.demo.product.model.dto.ProductVersion;
 import works.jayesh.demo.product.model.entity.Product;
 import works.jayesh.demo.product.model.entity.ProductStatus;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,8 +26,17 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Optional<Product> findBySlug(String slug);
 
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id IN :ids")
+    List<Product> findAllWithImagesByIdIn(@Param("ids") Collection<Long> ids);
+
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
 
+    @Query(value = "SELECT p FROM Product p JOIN CategoryClosure cc ON cc.descendantId = p.category.id " +
+            "WHERE cc.ancestorId = :categoryId",
+            countQuery = "SELECT COUNT(p) FROM Product p JOIN CategoryClosure cc ON cc.descendantId = p.category.id " +
+                    "WHERE cc.ancestorId = :categoryId")
+    Page<Product> findByCategorySubtree(@Param("categoryId") Long categoryId, Pageable pageable);
+
     Page<Product> findBySellerId(Long sellerId, Pageable pageable);
 
     Page<Product> findByStatus(ProductStatus status, Pageable pageable);
@@ -50,13 +65,50 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             @Param("maxPrice") BigDecimal maxPrice,
             Pageable pageable);
 
-    List<Product> findTop10ByActiveTrueOrderByTotalSoldDesc();
+    // VERSIONED bumps @Version, so a checkout or stock edit that read the product before this
+    // commits fails its version check and retries instead of writing the old rating back
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VERSIONED Product p SET p.averageRating = :averageRating, p.totalReviews = :totalReviews " +
+            "WHERE p.id = :productId")
+    int updateRatingSummary(@Param("productId") Long productId,
+            @Param("averageRating") Double averageRating,
+            @Param("totalReviews") Integer totalReviews);
+
+    @Query("SELECT new works.jayesh.demo.product.model.dto.ProductVersion(p.id, p.version, " +
+            "c.updatedAt, s.updatedAt) " +
+            "FROM Product p LEFT JOIN p.category c LEFT JOIN p.seller s WHERE p.id = :productId")
+    Optional<ProductVersion> findVersionById(@Param("productId") Long productId);
+
+    @Query("SELECT new works.jayesh.demo.product.model.dto.ProductVersion(p.id, p.version, " +
+            "c.updatedAt, s.updatedAt) " +
+            "FROM Product p LEFT JOIN p.category c LEFT JOIN p.seller s WHERE p.slug = :slug")
+    Optional<ProductVersion> findVersionBySlug(@Param("slug") String slug);
+
+    @Query("SELECT new works.jayesh.demo.product.model.dto.ProductScore(p.id, p.category.id, p.active, " +
+            "p.totalSold, p.averageRating, p.totalReviews) FROM Product p WHERE p.id IN :ids")
+    List<ProductScore> findScoresByIdIn(@Param("ids") Collection<Long> ids);
 
-    List<Product> findTop10ByActiveTrueOrderByAverageRatingDesc();
+    @Query("SELECT new works.jayesh.demo.product.model.dto.ProductSummary(p.id, p.name, p.slug, p.price, " +
+            "p.discountPrice, p.averageRating, p.active) FROM Product p WHERE p.id IN :ids")
+    List<ProductSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT p FROM Product p JOIN FETCH p.category JOIN FETCH p.seller " +
+            "LEFT JOIN FETCH p.images WHERE p.id IN :ids")
+    List<Product> findAllForListingByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.tags WHERE p.id IN :ids")
+    List<Product> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
 
     boolean existsBySku(String sku);
 
     long countByCategoryId(Long categoryId);
 
+    long countByCategoryIdAndStatusNot(Long categoryId, ProductStatus status);
+
+    @Query("SELECT new works.jayesh.demo.product.model.dto.CategoryProductCount(p.category.id, COUNT(p)) " +
+            "FROM Product p WHERE p.status <> works.jayesh.demo.product.model.entity.ProductStatus.ARCHIVED " +
+            "GROUP BY p.category.id")
+    List<CategoryProductCount> countListedProductsByCategory();
+
     long countByStatus(ProductStatus status);
 }
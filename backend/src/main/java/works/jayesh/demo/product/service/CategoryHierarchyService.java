@@ -0,0 +1,113 @@
+package works.jayesh.demo.product.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import works.jayesh.demo.product.repository.CategoryClosureRepository;
+import works.jayesh.demo.product.repository.CategoryRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the category_closure table alongside category writes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CategoryHierarchyService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public void categoryCreated(Long categoryId, Long parentId) {
+        if (parentId == null) {
+            categoryClosureRepository.insertRoot(categoryId);
+        } else {
+            categoryClosureRepository.insertWithParent(categoryId, parentId);
+        }
+    }
+
+    /**
+     * Move a category and its whole subtree under a new parent.
+     */
+    public void categoryMoved(Long categoryId, Long newParentId) {
+        if (categoryId.equals(newParentId)
+                || categoryClosureRepository.existsByAncestorIdAndDescendantId(categoryId, newParentId)) {
+            throw new IllegalStateException("Category cannot be moved under itself or one of its subcategories");
+        }
+        categoryClosureRepository.detachSubtree(categoryId);
+        categoryClosureRepository.attachSubtree(categoryId, newParentId);
+    }
+
+    public void categoryDeleted(Long categoryId) {
+        categoryClosureRepository.deleteSubtree(categoryId);
+    }
+
+    /**
+     * Fill the closure table for categories created before it existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        long categories = categoryRepository.count();
+        if (categoryClosureRepository.countByDepth(0) != categories) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute every closure row from categories.parent_category_id.
+     */
+    public int rebuild() {
+        Map<Long, Long> parents = new HashMap<>();
+        jdbcTemplate.query("SELECT id, parent_category_id FROM categories", rs -> {
+            long id = rs.getLong(1);
+            long parentId = rs.getLong(2);
+            parents.put(id, rs.wasNull() ? null : parentId);
+        });
+
+        jdbcTemplate.update("DELETE FROM category_closure");
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int rows = 0;
+        for (Long categoryId : parents.keySet()) {
+            Set<Long> seen = new HashSet<>();
+            Long ancestor = categoryId;
+            int depth = 0;
+            while (ancestor != null && seen.add(ancestor)) {
+                batch.add(new Object[]{ancestor, categoryId, depth++});
+                ancestor = parents.get(ancestor);
+            }
+            if (batch.size() >= BATCH_SIZE) {
+                rows += flush(batch);
+            }
+        }
+        rows += flush(batch);
+
+        log.info("Rebuilt category closure with {} rows for {} categories", rows, parents.size());
+        return rows;
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, ?)", batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+}
@@ -3,18 +3,24 @@ package works.jayesh.demo.product.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import works.jayesh.demo.common.exception.DuplicateResourceException;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
 import works.jayesh.demo.product.model.dto.CategoryRequest;
 import works.jayesh.demo.product.model.dto.CategoryResponse;
 import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.ProductStatus;
 import works.jayesh.demo.product.repository.CategoryRepository;
 import works.jayesh.demo.product.repository.ProductRepository;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +30,19 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final CategoryHierarchyService categoryHierarchyService;
+
+    // Sort properties the in-memory tree can order by; other properties are ignored
+    private static final Map<String, Comparator<CategoryResponse>> SORTABLE = Map.of(
+            "id", Comparator.comparing(CategoryResponse::getId),
+            "name", Comparator.comparing(CategoryResponse::getName),
+            "slug", Comparator.comparing(CategoryResponse::getSlug),
+            "displayOrder", Comparator.comparing(CategoryResponse::getDisplayOrder,
+                    Comparator.nullsLast(Comparator.naturalOrder())),
+            "createdAt", Comparator.comparing(CategoryResponse::getCreatedAt,
+                    Comparator.nullsLast(Comparator.naturalOrder())),
+            "productCount", Comparator.comparing(CategoryResponse::getProductCount));
 
     public CategoryResponse createCategory(CategoryRequest request) {
         log.info("Creating new category: {}", request.getName());
@@ -47,39 +66,54 @@ public class CategoryService {
         }
 
         Category savedCategory = categoryRepository.save(category);
+        categoryHierarchyService.categoryCreated(savedCategory.getId(), request.getParentCategoryId());
+        categoryTreeCache.reloadAfterCommit();
         log.info("Category created successfully with ID: {}", savedCategory.getId());
 
         return mapToResponse(savedCategory);
     }
 
-    @Transactional(readOnly = true)
+    // Reads are served from the category tree snapshot and need no transaction or connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CategoryResponse getCategoryById(Long categoryId) {
-        Category category = findCategoryById(categoryId);
-        return mapToResponse(category);
+        return categoryTreeCache.getTree().findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + categoryId));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CategoryResponse getCategoryBySlug(String slug) {
-        Category category = categoryRepository.findBySlug(slug)
+        return categoryTreeCache.getTree().findBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with slug: " + slug));
-        return mapToResponse(category);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CategoryResponse> getTopLevelCategories() {
-        return categoryRepository.findTopLevelCategories()
-                .stream().map(this::mapToResponse).toList();
+        return categoryTreeCache.getTree().getTopLevel();
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getTopLevelCategoriesETag() {
+        return categoryTreeCache.getTree().getTopLevelETag();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CategoryResponse> getSubCategories(Long parentCategoryId) {
-        return categoryRepository.findByParentCategoryId(parentCategoryId)
-                .stream().map(this::mapToResponse).toList();
+        return categoryTreeCache.getTree().getChildren(parentCategoryId);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<CategoryResponse> getAllCategories(Pageable pageable) {
-        return categoryRepository.findAll(pageable).map(this::mapToResponse);
+        List<CategoryResponse> all = categoryTreeCache.getTree().getAll();
+        Comparator<CategoryResponse> comparator = comparatorFor(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all.stream().sorted(comparator).toList(), pageable, all.size());
+        }
+        List<CategoryResponse> page = all.stream()
+                .sorted(comparator)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(page, pageable, all.size());
     }
 
     public CategoryResponse updateCategory(Long categoryId, CategoryRequest request) {
@@ -98,12 +132,15 @@ public class CategoryService {
         category.setActive(request.isActive());
         category.setDisplayOrder(request.getDisplayOrder());
 
-        if (request.getParentCategoryId() != null) {
+        Long currentParentId = category.getParentCategory() != null ? category.getParentCategory().getId() : null;
+        if (request.getParentCategoryId() != null && !request.getParentCategoryId().equals(currentParentId)) {
             Category parentCategory = findCategoryById(request.getParentCategoryId());
+            categoryHierarchyService.categoryMoved(categoryId, parentCategory.getId());
             category.setParentCategory(parentCategory);
         }
 
         Category updatedCategory = categoryRepository.save(category);
+        categoryTreeCache.reloadAfterCommit();
         log.info("Category updated successfully with ID: {}", categoryId);
 
         return mapToResponse(updatedCategory);
@@ -118,7 +155,9 @@ public class CategoryService {
             throw new IllegalStateException("Cannot delete category with existing products");
         }
 
+        categoryHierarchyService.categoryDeleted(categoryId);
         categoryRepository.delete(category);
+        categoryTreeCache.reloadAfterCommit();
         log.info("Category deleted successfully with ID: {}", categoryId);
     }
 
@@ -127,6 +166,22 @@ public class CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + categoryId));
     }
 
+    private Comparator<CategoryResponse> comparatorFor(Sort sort) {
+        Comparator<CategoryResponse> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<CategoryResponse> next = SORTABLE.get(order.getProperty());
+            if (next == null) {
+                log.debug("Ignoring unsupported category sort property: {}", order.getProperty());
+                continue;
+            }
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        // Stable tie-break so pages never overlap
+        Comparator<CategoryResponse> byId = SORTABLE.get("id");
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
     private String generateSlug(String name) {
         return name.toLowerCase()
                 .replaceAll("[^a-z0-9\\s-]", "")
@@ -134,7 +189,11 @@ public class CategoryService {
                 .replaceAll("-+", "-");
     }
 
+    // Write responses only; reads come from the tree. Counts use a COUNT query, not the product collection
     private CategoryResponse mapToResponse(Category category) {
+        int productCount = category.getId() != null
+                ? (int) productRepository.countByCategoryIdAndStatusNot(category.getId(), ProductStatus.ARCHIVED)
+                : 0;
         return CategoryResponse.builder()
                 .id(category.getId())
                 .name(category.getName())
@@ -146,7 +205,10 @@ public class CategoryService {
                         category.getParentCategory() != null ? category.getParentCategory().getName() : null)
                 .active(category.isActive())
                 .displayOrder(category.getDisplayOrder())
-                .productCount(category.getProducts().size())
+                .productCount(productCount)
+                .totalProductCount(categoryTreeCache.getTree().findById(category.getId())
+                        .map(CategoryResponse::getTotalProductCount)
+                        .orElse(productCount))
                 .createdAt(category.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,194 @@
+package works.jayesh.demo.product.service;
+
+import works.jayesh.demo.common.http.ETags;
+import works.jayesh.demo.product.model.dto.CategoryResponse;
+import works.jayesh.demo.product.model.entity.Category;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Immutable snapshot of the whole category hierarchy with precomputed responses.
+ * Never modified after construction; changes produce a new tree that replaces this one.
+ */
+public final class CategoryTree {
+
+    static final Comparator<CategoryResponse> DISPLAY_ORDER = Comparator
+            .comparing(CategoryResponse::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CategoryResponse::getId);
+
+    private final List<Entry> entries;
+    private final Map<Long, Integer> productCounts;
+
+    private final Map<Long, CategoryResponse> byId;
+    private final Map<String, CategoryResponse> bySlug;
+    private final Map<Long, List<CategoryResponse>> childrenByParent;
+    private final List<CategoryResponse> topLevel;
+    private final List<CategoryResponse> all;
+    private final String topLevelETag;
+
+    private CategoryTree(List<Entry> entries, Map<Long, Integer> productCounts) {
+        this.entries = entries;
+        this.productCounts = productCounts;
+
+        Map<Long, Entry> entryById = new HashMap<>(entries.size() * 2);
+        Map<Long, List<Long>> childIds = new HashMap<>();
+        for (Entry entry : entries) {
+            entryById.put(entry.id(), entry);
+            if (entry.parentId() != null) {
+                childIds.computeIfAbsent(entry.parentId(), id -> new ArrayList<>()).add(entry.id());
+            }
+        }
+
+        Map<Long, Integer> totals = computeTotals(entries, entryById, childIds, productCounts);
+
+        Map<Long, CategoryResponse> responses = new HashMap<>(entries.size() * 2);
+        Map<String, CategoryResponse> slugs = new HashMap<>(entries.size() * 2);
+        List<CategoryResponse> allResponses = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            Entry parent = entry.parentId() != null ? entryById.get(entry.parentId()) : null;
+            CategoryResponse response = CategoryResponse.builder()
+                    .id(entry.id())
+                    .name(entry.name())
+                    .description(entry.description())
+                    .slug(entry.slug())
+                    .imageUrl(entry.imageUrl())
+                    .parentCategoryId(entry.parentId())
+                    .parentCategoryName(parent != null ? parent.name() : null)
+                    .active(entry.active())
+                    .displayOrder(entry.displayOrder())
+                    .productCount(productCounts.getOrDefault(entry.id(), 0))
+                    .totalProductCount(totals.get(entry.id()))
+                    .createdAt(entry.createdAt())
+                    .build();
+            responses.put(entry.id(), response);
+            slugs.put(entry.slug(), response);
+            allResponses.add(response);
+        }
+        allResponses.sort(Comparator.comparing(CategoryResponse::getId));
+
+        Map<Long, List<CategoryResponse>> children = new HashMap<>(childIds.size() * 2);
+        childIds.forEach((parentId, ids) -> children.put(parentId, ids.stream()
+                .map(responses::get)
+                .sorted(DISPLAY_ORDER)
+                .toList()));
+
+        this.byId = Collections.unmodifiableMap(responses);
+        this.bySlug = Collections.unmodifiableMap(slugs);
+        this.childrenByParent = Collections.unmodifiableMap(children);
+        this.all = Collections.unmodifiableList(allResponses);
+        this.topLevel = allResponses.stream()
+                .filter(response -> response.getParentCategoryId() == null && response.isActive())
+                .sorted(DISPLAY_ORDER)
+                .toList();
+
+        ETags.Builder tag = ETags.builder();
+        for (CategoryResponse response : topLevel) {
+            tag.add(response.getId())
+                    .add(entryById.get(response.getId()).updatedAt())
+                    .add(response.getProductCount())
+                    .add(response.getTotalProductCount());
+        }
+        this.topLevelETag = tag.build();
+    }
+
+    public static CategoryTree of(List<Category> categories, Map<Long, Integer> productCounts) {
+        List<Entry> entries = categories.stream().map(Entry::from).toList();
+        return new CategoryTree(entries, Map.copyOf(productCounts));
+    }
+
+    public static CategoryTree empty() {
+        return new CategoryTree(List.of(), Map.of());
+    }
+
+    /**
+     * A copy of this tree with one category's own product count adjusted.
+     * Built entirely in memory, so a product write never triggers a reload.
+     */
+    public CategoryTree withProductCountDelta(Long categoryId, int delta) {
+        if (!byId.containsKey(categoryId)) {
+            return this;
+        }
+        Map<Long, Integer> counts = new HashMap<>(productCounts);
+        counts.merge(categoryId, delta, (current, change) -> Math.max(0, current + change));
+        return new CategoryTree(entries, Collections.unmodifiableMap(counts));
+    }
+
+    public Optional<CategoryResponse> findById(Long categoryId) {
+        return Optional.ofNullable(byId.get(categoryId));
+    }
+
+    public Optional<CategoryResponse> findBySlug(String slug) {
+        return Optional.ofNullable(bySlug.get(slug));
+    }
+
+    public List<CategoryResponse> getTopLevel() {
+        return topLevel;
+    }
+
+    /**
+     * Entity tag for {@link #getTopLevel()}; unchanged by a reload that found nothing new.
+     */
+    public String getTopLevelETag() {
+        return topLevelETag;
+    }
+
+    public List<CategoryResponse> getChildren(Long parentCategoryId) {
+        return childrenByParent.getOrDefault(parentCategoryId, List.of());
+    }
+
+    /**
+     * All categories ordered by id.
+     */
+    public List<CategoryResponse> getAll() {
+        return all;
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    private static Map<Long, Integer> computeTotals(List<Entry> entries, Map<Long, Entry> entryById,
+                                                    Map<Long, List<Long>> childIds,
+                                                    Map<Long, Integer> productCounts) {
+        // Breadth-first from the roots, then accumulate bottom-up in reverse visit order
+        List<Long> order = new ArrayList<>(entries.size());
+        Set<Long> visited = new HashSet<>(entries.size() * 2);
+        Deque<Long> queue = new ArrayDeque<>();
+        for (Entry entry : entries) {
+            if (entry.parentId() == null || !entryById.containsKey(entry.parentId())) {
+                queue.add(entry.id());
+            }
+        }
+        while (!queue.isEmpty()) {
+            Long id = queue.poll();
+            if (visited.add(id)) {
+                order.add(id);
+                queue.addAll(childIds.getOrDefault(id, List.of()));
+            }
+        }
+
+        Map<Long, Integer> totals = new HashMap<>(entries.size() * 2);
+        for (Entry entry : entries) {
+            totals.put(entry.id(), productCounts.getOrDefault(entry.id(), 0));
+        }
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Entry entry = entryById.get(order.get(i));
+            if (entry.parentId() != null && visited.contains(entry.parentId())) {
+                totals.merge(entry.parentId(), totals.get(entry.id()), Integer::sum);
+            }
+        }
+        return totals;
+    }
+
+    private record Entry(Long id, String name, String description, String slug, String imageUrl, Long parentId,
+                         boolean active, Integer displayOrder, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static Entry from(Category category) {
+            return new Entry(category.getId(), category.getName(), category.getDescription(), category.getSlug(),
+                    category.getImageUrl(),
+                    category.getParentCategory() != null ? category.getParentCategory().getId() : null,
+                    category.isActive(), category.getDisplayOrder(), category.getCreatedAt(), category.getUpdatedAt());
+        }
+    }
+}
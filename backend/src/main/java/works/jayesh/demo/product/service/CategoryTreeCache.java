@@ -0,0 +1,72 @@
+package works.jayesh.demo.product.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import works.jayesh.demo.common.transaction.AfterTransaction;
+import works.jayesh.demo.product.model.dto.CategoryProductCount;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the current {@link CategoryTree}. Readers take the reference without locking;
+ * writers build a complete replacement and swap it in once their transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+
+    private volatile CategoryTree tree;
+
+    public CategoryTree getTree() {
+        CategoryTree current = tree;
+        return current != null ? current : reload();
+    }
+
+    public synchronized CategoryTree reload() {
+        Map<Long, Integer> productCounts = new HashMap<>();
+        for (CategoryProductCount count : productRepository.countListedProductsByCategory()) {
+            productCounts.put(count.getCategoryId(), count.getProductCount().intValue());
+        }
+        CategoryTree rebuilt = CategoryTree.of(categoryRepository.findAll(), productCounts);
+        tree = rebuilt;
+        log.debug("Category tree rebuilt with {} categories", rebuilt.size());
+        return rebuilt;
+    }
+
+    /**
+     * Rebuild from the database once the current transaction commits.
+     */
+    public void reloadAfterCommit() {
+        AfterTransaction.afterCommit(this::reload);
+    }
+
+    /**
+     * Adjust one category's product count once the current transaction commits.
+     */
+    public void productCountChanged(Long categoryId, int delta) {
+        AfterTransaction.afterCommit(() -> applyDelta(categoryId, delta));
+    }
+
+    // Picks up writes made by other instances
+    @Scheduled(fixedDelayString = "${app.categories.tree-refresh-ms:300000}")
+    public void refresh() {
+        if (tree != null) {
+            reload();
+        }
+    }
+
+    private synchronized void applyDelta(Long categoryId, int delta) {
+        if (tree != null) {
+            tree = tree.withProductCountDelta(categoryId, delta);
+        }
+    }
+}
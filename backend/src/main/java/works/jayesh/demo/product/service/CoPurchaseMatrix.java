@@ -0,0 +1,174 @@
+package works.jayesh.demo.product.service;
+
+import works.jayesh.demo.common.collection.LongIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Sparse product co-occurrence counts: for every product, how many orders also contained each
+ * other product. Products get dense positions from a primitive id map, and each position holds
+ * its own primitive map of neighbour id to shared orders.
+ * A product's neighbour map is capped: once it reaches twice {@code candidates} entries it is cut
+ * back to the {@code candidates} most frequent, so memory stays linear in the catalog size
+ * however many distinct pairs the order history contains. Pairs seen only a few times can be
+ * dropped and counted again from scratch, which only ever undercounts rare pairs.
+ * Neighbours are ranked by cosine similarity, shared orders / sqrt(orders of each product),
+ * so a product bought in every basket does not top every list.
+ * Not thread-safe; {@link RelatedProducts} only touches it while holding its lock.
+ */
+final class CoPurchaseMatrix {
+
+    private static final int INITIAL_PRODUCTS = 1024;
+
+    /**
+     * The best neighbours of one product, strongest first.
+     */
+    record Neighbours(long[] productIds, float[] scores) {
+
+        static final Neighbours NONE = new Neighbours(new long[0], new float[0]);
+    }
+
+    private final int candidates;
+    private final LongIntHashMap positions = new LongIntHashMap(INITIAL_PRODUCTS);
+    private long[] productIds = new long[INITIAL_PRODUCTS];
+    private int[] orderCounts = new int[INITIAL_PRODUCTS];
+    private LongIntHashMap[] pairs = new LongIntHashMap[INITIAL_PRODUCTS];
+    private int size;
+
+    CoPurchaseMatrix(int candidates) {
+        this.candidates = Math.max(candidates, 1);
+    }
+
+    /**
+     * Counts one order. Repeated lines for the same product count once.
+     */
+    void addOrder(long[] orderProductIds) {
+        // Sort and compact; LongStream.distinct() would box every id through a HashSet
+        long[] distinct = orderProductIds.clone();
+        Arrays.sort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[count++] = distinct[i];
+            }
+        }
+
+        int[] orderPositions = new int[count];
+        for (int i = 0; i < count; i++) {
+            orderPositions[i] = positionOf(distinct[i]);
+            orderCounts[orderPositions[i]]++;
+        }
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                count(orderPositions[i], distinct[j]);
+                count(orderPositions[j], distinct[i]);
+            }
+        }
+    }
+
+    /**
+     * The {@code limit} products most often bought with this one.
+     */
+    Neighbours neighbours(long productId, int limit) {
+        int position = positions.get(productId, -1);
+        if (position < 0 || pairs[position] == null) {
+            return Neighbours.NONE;
+        }
+
+        // Insertion into a short sorted array; limit is small and most products have few neighbours
+        long[] ids = new long[limit];
+        float[] scores = new float[limit];
+        int[] found = {0};
+        double orders = orderCounts[position];
+        pairs[position].forEach((neighbourId, shared) -> {
+            double neighbourOrders = orderCounts[positions.get(neighbourId, -1)];
+            float score = (float) (shared / Math.sqrt(orders * neighbourOrders));
+            int at = found[0];
+            while (at > 0 && (scores[at - 1] < score || (scores[at - 1] == score && ids[at - 1] > neighbourId))) {
+                at--;
+            }
+            if (at >= limit) {
+                return;
+            }
+            int moved = Math.min(found[0], limit - 1) - at;
+            System.arraycopy(ids, at, ids, at + 1, moved);
+            System.arraycopy(scores, at, scores, at + 1, moved);
+            ids[at] = neighbourId;
+            scores[at] = score;
+            found[0] = Math.min(found[0] + 1, limit);
+        });
+        return new Neighbours(Arrays.copyOf(ids, found[0]), Arrays.copyOf(scores, found[0]));
+    }
+
+    boolean contains(long productId) {
+        return positions.containsKey(productId);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long productId(int position) {
+        return productIds[position];
+    }
+
+    private void count(int position, long neighbourId) {
+        LongIntHashMap neighbours = pairs[position];
+        if (neighbours == null) {
+            neighbours = new LongIntHashMap();
+            pairs[position] = neighbours;
+        }
+        neighbours.addTo(neighbourId, 1);
+        if (neighbours.size() >= 2 * candidates) {
+            pairs[position] = strongest(neighbours);
+        }
+    }
+
+    // The candidates most frequent entries, ties to the lower id so pruning is deterministic
+    private LongIntHashMap strongest(LongIntHashMap neighbours) {
+        long[] ids = new long[neighbours.size()];
+        int[] shared = new int[neighbours.size()];
+        int[] next = {0};
+        neighbours.forEach((id, count) -> {
+            ids[next[0]] = id;
+            shared[next[0]++] = count;
+        });
+        // The count of the weakest survivor; everything above it stays, ties at it go by id
+        int[] sorted = shared.clone();
+        Arrays.sort(sorted);
+        int threshold = sorted[sorted.length - candidates];
+
+        LongIntHashMap kept = new LongIntHashMap(2 * candidates);
+        long[] tied = new long[ids.length];
+        int ties = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (shared[i] > threshold) {
+                kept.put(ids[i], shared[i]);
+            } else if (shared[i] == threshold) {
+                tied[ties++] = ids[i];
+            }
+        }
+        Arrays.sort(tied, 0, ties);
+        for (int i = 0; kept.size() < candidates; i++) {
+            kept.put(tied[i], threshold);
+        }
+        return kept;
+    }
+
+    private int positionOf(long productId) {
+        int position = positions.get(productId, -1);
+        if (position >= 0) {
+            return position;
+        }
+        if (size == productIds.length) {
+            int capacity = size << 1;
+            productIds = Arrays.copyOf(productIds, capacity);
+            orderCounts = Arrays.copyOf(orderCounts, capacity);
+            pairs = Arrays.copyOf(pairs, capacity);
+        }
+        position = size++;
+        productIds[position] = productId;
+        positions.put(productId, position);
+        return position;
+    }
+}
@@ -0,0 +1,51 @@
+package works.jayesh.demo.product.service;
+
+import java.util.Arrays;
+
+/**
+ * Approximate per-product counts in fixed memory. Each row hashes a product to one counter and
+ * the estimate is the smallest of its counters, so it never undercounts and only overcounts by
+ * the sales of products sharing all of its counters. Counts may be decremented as long as no
+ * product's true count goes negative.
+ * Not thread-safe; {@link TrendingProducts} only touches it while holding its lock.
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final int[] counters;
+
+    CountMinSketch(int width, int depth) {
+        this.depth = Math.max(depth, 1);
+        int rowWidth = Integer.highestOneBit(Math.max(width, 2) - 1) << 1;
+        this.mask = rowWidth - 1;
+        this.counters = new int[this.depth * rowWidth];
+    }
+
+    void add(long key, int delta) {
+        for (int row = 0; row < depth; row++) {
+            counters[index(key, row)] += delta;
+        }
+    }
+
+    int estimate(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(key, row)]);
+        }
+        return Math.max(estimate, 0);
+    }
+
+    void clear() {
+        Arrays.fill(counters, 0);
+    }
+
+    // A different 64-bit mix per row so colliding products in one row rarely collide in another
+    private int index(long key, int row) {
+        long hash = (key + (row + 1) * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 31;
+        hash *= 0x94D049BB133111EBL;
+        hash ^= hash >>> 29;
+        return row * (mask + 1) + (int) (hash & mask);
+    }
+}
@@ -0,0 +1,269 @@
+package works.jayesh.demo.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import works.jayesh.demo.common.http.ETags;
+import works.jayesh.demo.common.transaction.AfterTransaction;
+import works.jayesh.demo.product.model.dto.ProductResponse;
+import works.jayesh.demo.product.model.dto.ProductScore;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.repository.ProductRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Best-seller and top-rated product lists, overall and per category, served from memory.
+ * Each list is a {@link ProductRanking} that tracks more products than it shows, so a leader
+ * losing sales or rating is replaced from the tracked runners-up.
+ * Order, review and product writes report the products they touched once they commit; a
+ * scheduled refresh reloads just those products' scores in one query, applies them to the
+ * rankings and re-renders the products that changed. A periodic full scan rebuilds every
+ * ranking from the database, which corrects drift and picks up other instances' writes.
+ * Readers take the published {@link Snapshot} without locking.
+ */
+@Component
+@Slf4j
+public class ProductLeaderboards {
+
+    private static final String SCAN_SQL = "SELECT id, category_id, total_sold, average_rating, total_reviews " +
+            "FROM products WHERE active = true AND id > ? ORDER BY id LIMIT ?";
+    private static final int SCAN_BATCH_SIZE = 10_000;
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final long ALL_CATEGORIES = 0L;
+
+    public enum Kind {
+        BEST_SELLERS, TOP_RATED
+    }
+
+    record BoardKey(Kind kind, long categoryId) {
+    }
+
+    record Board(List<ProductResponse> products, String etag) {
+
+        static final Board EMPTY = new Board(List.of(), ETags.strong());
+    }
+
+    record Snapshot(Map<BoardKey, Board> boards, Map<Long, ProductResponse> products) {
+    }
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int size;
+    private final int tracked;
+
+    // Products written since the last refresh; the refresh reads their committed state
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this
+    private Map<BoardKey, ProductRanking> rankings = new HashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    public ProductLeaderboards(ProductRepository productRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.products.leaderboards.size:10}") int size,
+                               @Value("${app.products.leaderboards.tracked:50}") int tracked) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.size = Math.max(size, 1);
+        this.tracked = Math.max(tracked, this.size);
+    }
+
+    public List<ProductResponse> getProducts(Kind kind, Long categoryId) {
+        return board(kind, categoryId).products();
+    }
+
+    public String getETag(Kind kind, Long categoryId) {
+        return board(kind, categoryId).etag();
+    }
+
+    private Board board(Kind kind, Long categoryId) {
+        BoardKey key = new BoardKey(kind, categoryId != null ? categoryId : ALL_CATEGORIES);
+        return getSnapshot().boards().getOrDefault(key, Board.EMPTY);
+    }
+
+    Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    /**
+     * Queue the products for the next refresh once the current transaction commits.
+     */
+    public void productsChanged(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        AfterTransaction.afterCommit(() -> changed.addAll(ids));
+    }
+
+    /**
+     * Rebuilds every ranking from a keyset scan of the active products and re-renders every list.
+     */
+    public synchronized Snapshot reload() {
+        Map<BoardKey, ProductRanking> rebuilt = new HashMap<>();
+        long lastId = 0;
+        int scanned = 0;
+        while (true) {
+            long[] cursor = {lastId};
+            int rows = jdbcTemplate.query(SCAN_SQL, rs -> {
+                int count = 0;
+                while (rs.next()) {
+                    cursor[0] = rs.getLong("id");
+                    score(rebuilt, cursor[0], rs.getLong("category_id"), rs.getInt("total_sold"),
+                            rs.getDouble("average_rating"), rs.getInt("total_reviews"));
+                    count++;
+                }
+                return count;
+            }, lastId, SCAN_BATCH_SIZE);
+            scanned += rows;
+            lastId = cursor[0];
+            if (rows < SCAN_BATCH_SIZE) {
+                break;
+            }
+        }
+        rankings = rebuilt;
+        Snapshot published = publish(null);
+        log.debug("Product leaderboards rebuilt from {} products into {} lists", scanned, rebuilt.size());
+        return published;
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.leaderboards.refresh-ms:2000}")
+    public synchronized void refresh() {
+        if (snapshot == null || changed.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Long id : changed) {
+            if (changed.remove(id)) {
+                ids.add(id);
+            }
+        }
+
+        Map<Long, ProductScore> scores = new HashMap<>();
+        for (List<Long> batch : batches(ids)) {
+            for (ProductScore score : productRepository.findScoresByIdIn(batch)) {
+                scores.put(score.getProductId(), score);
+            }
+        }
+        for (Long id : ids) {
+            // Drop it everywhere first so a product that moved category leaves its old lists
+            rankings.values().forEach(ranking -> ranking.remove(id));
+            ProductScore score = scores.get(id);
+            if (score != null && score.isActive()) {
+                score(rankings, id, score.getCategoryId(), valueOf(score.getTotalSold()),
+                        score.getAverageRating() != null ? score.getAverageRating() : 0.0,
+                        valueOf(score.getTotalReviews()));
+            }
+        }
+        publish(ids);
+    }
+
+    // Corrects drift from missed events and picks up writes made by other instances
+    @Scheduled(fixedDelayString = "${app.products.leaderboards.reconcile-ms:600000}")
+    public void reconcile() {
+        if (snapshot != null) {
+            reload();
+        }
+    }
+
+    private void score(Map<BoardKey, ProductRanking> target, long productId, long categoryId, int totalSold,
+                       double averageRating, int totalReviews) {
+        ranking(target, Kind.BEST_SELLERS, ALL_CATEGORIES).offer(productId, totalSold, 0);
+        ranking(target, Kind.BEST_SELLERS, categoryId).offer(productId, totalSold, 0);
+        // Unreviewed products have no rating to rank by
+        if (totalReviews > 0) {
+            ranking(target, Kind.TOP_RATED, ALL_CATEGORIES).offer(productId, averageRating, totalReviews);
+            ranking(target, Kind.TOP_RATED, categoryId).offer(productId, averageRating, totalReviews);
+        }
+    }
+
+    private ProductRanking ranking(Map<BoardKey, ProductRanking> target, Kind kind, long categoryId) {
+        return target.computeIfAbsent(new BoardKey(kind, categoryId), key -> new ProductRanking(tracked));
+    }
+
+    /**
+     * Publishes the current leaders, rendering those that are new or changed; null re-renders all.
+     */
+    private Snapshot publish(Set<Long> changedIds) {
+        Map<BoardKey, List<Long>> leaders = new HashMap<>();
+        Set<Long> shown = new HashSet<>();
+        rankings.forEach((key, ranking) -> {
+            List<Long> top = ranking.top(size);
+            leaders.put(key, top);
+            shown.addAll(top);
+        });
+
+        Snapshot previous = snapshot;
+        Map<Long, ProductResponse> products = new HashMap<>(shown.size() * 2);
+        List<Long> toRender = new ArrayList<>();
+        for (Long id : shown) {
+            ProductResponse rendered = previous != null ? previous.products().get(id) : null;
+            if (rendered == null || changedIds == null || changedIds.contains(id)) {
+                toRender.add(id);
+            } else {
+                products.put(id, rendered);
+            }
+        }
+        products.putAll(render(toRender));
+
+        Map<BoardKey, Board> boards = new HashMap<>(leaders.size() * 2);
+        leaders.forEach((key, ids) -> {
+            List<ProductResponse> listed = ids.stream().map(products::get).filter(Objects::nonNull).toList();
+            ETags.Builder tag = ETags.builder();
+            for (ProductResponse product : listed) {
+                tag.add(product.getId())
+                        .add(product.getUpdatedAt())
+                        .add(product.getAverageRating())
+                        .add(product.getTotalReviews())
+                        .add(product.getCategoryName())
+                        .add(product.getSellerName());
+            }
+            boards.put(key, new Board(listed, tag.build()));
+        });
+
+        Snapshot published = new Snapshot(Map.copyOf(boards), Map.copyOf(products));
+        snapshot = published;
+        return published;
+    }
+
+    private Map<Long, ProductResponse> render(List<Long> ids) {
+        Map<Long, ProductResponse> rendered = new HashMap<>(ids.size() * 2);
+        for (List<Long> batch : batches(ids)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                // Two fetches in one session: joining both collections at once would multiply the rows
+                List<Product> products = productRepository.findAllForListingByIdIn(batch);
+                productRepository.findAllWithTagsByIdIn(batch);
+                for (Product product : products) {
+                    ProductResponse response = ProductService.mapToResponse(product);
+                    // Detach from the session's collections; these responses outlive it
+                    response.setImages(List.copyOf(product.getImages()));
+                    response.setTags(List.copyOf(product.getTags()));
+                    rendered.put(product.getId(), response);
+                }
+            });
+        }
+        return rendered;
+    }
+
+    private static List<List<Long>> batches(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += LOAD_BATCH_SIZE) {
+            batches.add(all.subList(from, Math.min(from + LOAD_BATCH_SIZE, all.size())));
+        }
+        return batches;
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
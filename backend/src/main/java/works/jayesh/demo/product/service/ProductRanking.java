@@ -0,0 +1,75 @@
+package works.jayesh.demo.product.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The best {@code capacity} products by score, ties broken by a second score and then by id.
+ * A sorted set serves as a bounded double-ended heap: the leaders are read from the head and
+ * the weakest entry is evicted from the tail once the ranking is full.
+ * Not thread-safe; {@link ProductLeaderboards} only touches it while holding its lock.
+ */
+final class ProductRanking {
+
+    record Entry(long productId, double score, long tiebreak) {
+    }
+
+    static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::tiebreak).reversed())
+            .thenComparingLong(Entry::productId);
+
+    private final int capacity;
+    private final TreeSet<Entry> ranked = new TreeSet<>(ORDER);
+    private final Map<Long, Entry> byProduct = new HashMap<>();
+
+    ProductRanking(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+    }
+
+    /**
+     * Records a product's current score. A product not yet ranked only gets in if it beats the weakest entry.
+     */
+    void offer(long productId, double score, long tiebreak) {
+        Entry entry = new Entry(productId, score, tiebreak);
+        Entry previous = byProduct.get(productId);
+        if (entry.equals(previous)) {
+            return;
+        }
+        if (previous == null && ranked.size() >= capacity && ORDER.compare(entry, ranked.last()) > 0) {
+            return;
+        }
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        ranked.add(entry);
+        byProduct.put(productId, entry);
+        if (ranked.size() > capacity) {
+            byProduct.remove(ranked.pollLast().productId());
+        }
+    }
+
+    void remove(long productId) {
+        Entry previous = byProduct.remove(productId);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+    }
+
+    List<Long> top(int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        Iterator<Entry> iterator = ranked.iterator();
+        while (ids.size() < limit && iterator.hasNext()) {
+            ids.add(iterator.next().productId());
+        }
+        return ids;
+    }
+
+    int size() {
+        return ranked.size();
+    }
+}
@@ -2,21 +2,30 @@ package works.jayesh.demo.product.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import works.jayesh.demo.common.exception.DuplicateResourceException;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
+import works.jayesh.demo.common.http.ETags;
+import works.jayesh.demo.common.retry.RetryOnConflict;
 import works.jayesh.demo.product.model.dto.ProductCreateRequest;
 import works.jayesh.demo.product.model.dto.ProductResponse;
+import works.jayesh.demo.product.model.dto.ProductVersion;
+import works.jayesh.demo.product.model.dto.RelatedProductResponse;
+import works.jayesh.demo.product.model.dto.TrendingProductResponse;
 import works.jayesh.demo.product.model.entity.*;
 import works.jayesh.demo.product.repository.CategoryRepository;
 import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.ProductLeaderboards.Kind;
 import works.jayesh.demo.user.model.entity.User;
 import works.jayesh.demo.user.repository.UserRepository;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 @Service
@@ -25,9 +34,15 @@ import java.util.List;
 @Transactional
 public class ProductService {
 
+    private static final int MAX_TRENDING_LIMIT = 50;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ProductLeaderboards productLeaderboards;
+    private final TrendingProducts trendingProducts;
+    private final RelatedProducts relatedProducts;
 
     public ProductResponse createProduct(ProductCreateRequest request) {
         log.info("Creating new product with SKU: {}", request.getSku());
@@ -73,6 +88,8 @@ public class ProductService {
                 .build();
 
         Product savedProduct = productRepository.save(product);
+        categoryTreeCache.productCountChanged(category.getId(), 1);
+        productLeaderboards.productsChanged(List.of(savedProduct.getId()));
         log.info("Product created successfully with ID: {}", savedProduct.getId());
 
         return mapToResponse(savedProduct);
@@ -93,35 +110,103 @@ public class ProductService {
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
-        return productRepository.findByActiveTrue(pageable).map(this::mapToResponse);
+        return productRepository.findByActiveTrue(pageable).map(ProductService::mapToResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(String keyword, Pageable pageable) {
-        return productRepository.searchProducts(keyword, pageable).map(this::mapToResponse);
+        return productRepository.searchProducts(keyword, pageable).map(ProductService::mapToResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsByCategory(Long categoryId, Pageable pageable) {
-        return productRepository.findByCategoryId(categoryId, pageable).map(this::mapToResponse);
+        return productRepository.findByCategoryId(categoryId, pageable).map(ProductService::mapToResponse);
+    }
+
+    /**
+     * Products in the category or any of its subcategories, via the closure table.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> getProductsByCategoryTree(Long categoryId, Pageable pageable) {
+        return productRepository.findByCategorySubtree(categoryId, pageable).map(ProductService::mapToResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsBySeller(Long sellerId, Pageable pageable) {
-        return productRepository.findBySellerId(sellerId, pageable).map(this::mapToResponse);
+        return productRepository.findBySellerId(sellerId, pageable).map(ProductService::mapToResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
-        return productRepository.findByPriceRange(minPrice, maxPrice, pageable).map(this::mapToResponse);
+        return productRepository.findByPriceRange(minPrice, maxPrice, pageable).map(ProductService::mapToResponse);
+    }
+
+    /**
+     * Best sellers, overall or within one category, served from memory by {@link ProductLeaderboards}.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductResponse> getFeaturedProducts(Long categoryId) {
+        return productLeaderboards.getProducts(Kind.BEST_SELLERS, categoryId);
+    }
+
+    /**
+     * Highest rated reviewed products, overall or within one category.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductResponse> getTopRatedProducts(Long categoryId) {
+        return productLeaderboards.getProducts(Kind.TOP_RATED, categoryId);
+    }
+
+    /**
+     * Products selling fastest over the last {@code window} (e.g. "15m", "1h", "24h"), from memory.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<TrendingProductResponse> getTrendingProducts(String window, int limit) {
+        Duration duration;
+        try {
+            duration = DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid trending window: " + window);
+        }
+        return trendingProducts.getTrending(duration, Math.clamp(limit, 1, MAX_TRENDING_LIMIT));
+    }
+
+    /**
+     * Products most often bought together with this one, from memory.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RelatedProductResponse> getRelatedProducts(Long productId, int limit) {
+        return relatedProducts.getRelated(productId, limit);
+    }
+
+    /**
+     * Entity tag for {@link #getProductById}, or null when the product doesn't exist.
+     */
+    @Transactional(readOnly = true)
+    public String getProductETag(Long productId) {
+        return productRepository.findVersionById(productId)
+                .map(version -> addTo(ETags.builder(), version).build())
+                .orElse(null);
     }
 
     @Transactional(readOnly = true)
-    public List<ProductResponse> getFeaturedProducts() {
-        return productRepository.findTop10ByActiveTrueOrderByTotalSoldDesc()
-                .stream().map(this::mapToResponse).toList();
+    public String getProductETagBySlug(String slug) {
+        return productRepository.findVersionBySlug(slug)
+                .map(version -> addTo(ETags.builder(), version).build())
+                .orElse(null);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getFeaturedProductsETag(Long categoryId) {
+        return productLeaderboards.getETag(Kind.BEST_SELLERS, categoryId);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getTopRatedProductsETag(Long categoryId) {
+        return productLeaderboards.getETag(Kind.TOP_RATED, categoryId);
+    }
+
+    @RetryOnConflict
     public void updateStock(Long productId, Integer quantity) {
         Product product = findProductById(productId);
         product.setStockQuantity(product.getStockQuantity() + quantity);
@@ -133,23 +218,39 @@ public class ProductService {
         }
 
         productRepository.save(product);
+        productLeaderboards.productsChanged(List.of(productId));
     }
 
+    @RetryOnConflict
     public void deleteProduct(Long productId) {
         log.info("Deleting product with ID: {}", productId);
         Product product = findProductById(productId);
+        boolean wasListed = product.getStatus() != ProductStatus.ARCHIVED;
         product.setActive(false);
         product.setStatus(ProductStatus.ARCHIVED);
         productRepository.save(product);
+        if (wasListed) {
+            categoryTreeCache.productCountChanged(product.getCategory().getId(), -1);
+        }
+        productLeaderboards.productsChanged(List.of(productId));
+        trendingProducts.productRemoved(productId);
+        relatedProducts.productsChanged(List.of(productId));
         log.info("Product deleted successfully with ID: {}", productId);
     }
 
+    private static ETags.Builder addTo(ETags.Builder builder, ProductVersion version) {
+        return builder.add(version.getProductId())
+                .add(version.getVersion())
+                .add(version.getCategoryUpdatedAt())
+                .add(version.getSellerUpdatedAt());
+    }
+
     private Product findProductById(Long productId) {
         return productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
     }
 
-    private String generateSlug(String name) {
+    String generateSlug(String name) {
         return name.toLowerCase()
                 .replaceAll("[^a-z0-9\\s-]", "")
                 .replaceAll("\\s+", "-")
@@ -157,7 +258,7 @@ public class ProductService {
                 + "-" + System.currentTimeMillis();
     }
 
-    private ProductResponse mapToResponse(Product product) {
+    static ProductResponse mapToResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
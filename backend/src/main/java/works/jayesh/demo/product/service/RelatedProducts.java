@@ -0,0 +1,342 @@
+package works.jayesh.demo.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import works.jayesh.demo.common.collection.LongIntHashMap;
+import works.jayesh.demo.common.transaction.AfterTransaction;
+import works.jayesh.demo.order.model.dto.OrderLine;
+import works.jayesh.demo.order.model.entity.Order;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+import works.jayesh.demo.order.repository.OrderItemRepository;
+import works.jayesh.demo.product.model.dto.ProductSummary;
+import works.jayesh.demo.product.model.dto.RelatedProductResponse;
+import works.jayesh.demo.product.repository.ProductRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * "Frequently bought together" products, served from memory.
+ * A full build scans every non-cancelled order's lines into a {@link CoPurchaseMatrix} and
+ * precomputes each product's strongest neighbours. Orders placed afterwards are queued once
+ * they commit and a scheduled refresh adds them to the matrix, recomputing just the rows of the
+ * products they contained. A periodic rebuild drops cancelled orders and corrects the scores
+ * of rows the refreshes left alone.
+ * Readers take the published {@link Snapshot} without locking.
+ */
+@Component
+@Slf4j
+public class RelatedProducts {
+
+    private static final int ORDER_BATCH_SIZE = 10_000;
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    record PlacedOrder(long orderId, long[] productIds) {
+    }
+
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final int neighbours;
+    private final int candidates;
+
+    // Orders and product edits committed since the last refresh
+    private final Queue<PlacedOrder> placed = new ConcurrentLinkedQueue<>();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this; null until the first build completes
+    private CoPurchaseMatrix matrix;
+    // Highest order id the current matrix was scanned up to; later orders come from the queue
+    private long scannedUpTo;
+    // Orders seen while a rebuild is scanning, replayed onto the new matrix before it is published
+    private List<PlacedOrder> placedDuringRebuild;
+
+    private volatile Snapshot snapshot;
+
+    public RelatedProducts(OrderItemRepository orderItemRepository,
+                           ProductRepository productRepository,
+                           @Value("${app.products.related.neighbours:20}") int neighbours,
+                           @Value("${app.products.related.candidates:64}") int candidates) {
+        this.orderItemRepository = orderItemRepository;
+        this.productRepository = productRepository;
+        this.neighbours = Math.max(neighbours, 1);
+        this.candidates = Math.max(candidates, this.neighbours);
+    }
+
+    /**
+     * Up to {@code limit} products most often bought with this one, strongest first.
+     * Empty until the first build completes and for products never ordered with another.
+     */
+    public List<RelatedProductResponse> getRelated(Long productId, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || productId == null) {
+            return List.of();
+        }
+        return current.related(productId, Math.min(Math.max(limit, 1), neighbours));
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Queue the order for the next refresh once the current transaction commits.
+     */
+    public void recordOrder(Order order) {
+        long[] productIds = order.getOrderItems().stream()
+                .mapToLong(item -> item.getProduct().getId())
+                .toArray();
+        PlacedOrder placedOrder = new PlacedOrder(order.getId(), productIds);
+        AfterTransaction.afterCommit(() -> placed.add(placedOrder));
+    }
+
+    /**
+     * Reload the products' names, prices and active flags on the next refresh once the current
+     * transaction commits.
+     */
+    public void productsChanged(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        AfterTransaction.afterCommit(() -> changed.addAll(ids));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.related.rebuild-ms:21600000}",
+            initialDelayString = "${app.products.related.rebuild-ms:21600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        synchronized (this) {
+            if (placedDuringRebuild != null) {
+                return;
+            }
+            placedDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            Long maxOrderId = orderItemRepository.findMaxOrderId();
+            long upTo = maxOrderId != null ? maxOrderId : 0;
+            CoPurchaseMatrix fresh = new CoPurchaseMatrix(candidates);
+            long lines = 0;
+            for (long after = 0; after < upTo; after += ORDER_BATCH_SIZE) {
+                List<OrderLine> batch = orderItemRepository.findOrderLines(after,
+                        Math.min(after + ORDER_BATCH_SIZE, upTo), OrderStatus.CANCELLED);
+                addOrders(fresh, batch);
+                lines += batch.size();
+            }
+
+            Snapshot built = Snapshot.of(fresh, neighbours);
+            Set<Long> all = new HashSet<>(fresh.size() * 2);
+            for (int position = 0; position < fresh.size(); position++) {
+                all.add(fresh.productId(position));
+            }
+            built.summarize(all, loadSummaries(all));
+
+            synchronized (this) {
+                Set<Long> touched = new HashSet<>();
+                for (PlacedOrder order : placedDuringRebuild) {
+                    if (order.orderId() > upTo) {
+                        fresh.addOrder(order.productIds());
+                        Arrays.stream(order.productIds()).forEach(touched::add);
+                    }
+                }
+                matrix = fresh;
+                scannedUpTo = upTo;
+                snapshot = built;
+                publish(touched, Set.of());
+            }
+            log.info("Related products built from {} order lines for {} products", lines, fresh.size());
+        } finally {
+            synchronized (this) {
+                placedDuringRebuild = null;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.related.refresh-ms:5000}")
+    public synchronized void refresh() {
+        if (matrix == null || (placed.isEmpty() && changed.isEmpty())) {
+            return;
+        }
+        Set<Long> touched = new HashSet<>();
+        for (PlacedOrder order = placed.poll(); order != null; order = placed.poll()) {
+            if (placedDuringRebuild != null) {
+                placedDuringRebuild.add(order);
+            }
+            if (order.orderId() > scannedUpTo) {
+                matrix.addOrder(order.productIds());
+                Arrays.stream(order.productIds()).forEach(touched::add);
+            }
+        }
+        Set<Long> edited = new HashSet<>();
+        for (Long id : changed) {
+            if (changed.remove(id)) {
+                edited.add(id);
+            }
+        }
+        publish(touched, edited);
+    }
+
+    /**
+     * Publishes a copy of the snapshot with the touched products' neighbours recomputed and the
+     * summaries of new and edited products loaded.
+     */
+    private void publish(Set<Long> touched, Set<Long> edited) {
+        if (touched.isEmpty() && edited.isEmpty()) {
+            return;
+        }
+        Snapshot previous = snapshot;
+        Snapshot next = previous.update(matrix, neighbours, touched);
+        Set<Long> load = new HashSet<>(edited);
+        for (int position = previous.size(); position < matrix.size(); position++) {
+            load.add(matrix.productId(position));
+        }
+        next.summarize(load, loadSummaries(load));
+        snapshot = next;
+    }
+
+    private List<ProductSummary> loadSummaries(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<ProductSummary> summaries = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += LOAD_BATCH_SIZE) {
+            summaries.addAll(productRepository.findSummariesByIdIn(
+                    all.subList(from, Math.min(from + LOAD_BATCH_SIZE, all.size()))));
+        }
+        return summaries;
+    }
+
+    // Lines arrive ordered by order id, so each order is a run of consecutive lines
+    private static void addOrders(CoPurchaseMatrix target, List<OrderLine> lines) {
+        long[] basket = new long[16];
+        int size = 0;
+        long current = 0;
+        for (OrderLine line : lines) {
+            if (line.getOrderId() != current && size > 0) {
+                target.addOrder(Arrays.copyOf(basket, size));
+                size = 0;
+            }
+            current = line.getOrderId();
+            if (size == basket.length) {
+                basket = Arrays.copyOf(basket, size << 1);
+            }
+            basket[size++] = line.getProductId();
+        }
+        if (size > 0) {
+            target.addOrder(Arrays.copyOf(basket, size));
+        }
+    }
+
+    /**
+     * Precomputed neighbour lists and the product details to render them, indexed by the
+     * matrix's product positions. Never modified once published; a refresh publishes a copy that
+     * shares the rows it did not recompute.
+     */
+    static final class Snapshot {
+
+        private final LongIntHashMap positions;
+        private final long[][] neighbourIds;
+        private final float[][] scores;
+        private final ProductSummary[] summaries;
+
+        private Snapshot(LongIntHashMap positions, long[][] neighbourIds, float[][] scores,
+                         ProductSummary[] summaries) {
+            this.positions = positions;
+            this.neighbourIds = neighbourIds;
+            this.scores = scores;
+            this.summaries = summaries;
+        }
+
+        static Snapshot of(CoPurchaseMatrix matrix, int neighbours) {
+            int size = matrix.size();
+            Snapshot built = new Snapshot(new LongIntHashMap(size), new long[size][], new float[size][],
+                    new ProductSummary[size]);
+            for (int position = 0; position < size; position++) {
+                built.positions.put(matrix.productId(position), position);
+                built.compute(matrix, neighbours, position);
+            }
+            return built;
+        }
+
+        Snapshot update(CoPurchaseMatrix matrix, int neighbours, Collection<Long> touched) {
+            int size = matrix.size();
+            Snapshot next = new Snapshot(positions.copy(), Arrays.copyOf(neighbourIds, size),
+                    Arrays.copyOf(scores, size), Arrays.copyOf(summaries, size));
+            for (int position = size(); position < size; position++) {
+                next.positions.put(matrix.productId(position), position);
+            }
+            for (Long productId : touched) {
+                int position = next.positions.get(productId, -1);
+                if (position >= 0) {
+                    next.compute(matrix, neighbours, position);
+                }
+            }
+            return next;
+        }
+
+        /**
+         * Sets the products' summaries before publication; requested ids missing from
+         * {@code loaded} were deleted and are no longer shown.
+         */
+        void summarize(Collection<Long> ids, List<ProductSummary> loaded) {
+            for (Long productId : ids) {
+                int position = positions.get(productId, -1);
+                if (position >= 0) {
+                    summaries[position] = null;
+                }
+            }
+            for (ProductSummary summary : loaded) {
+                int position = positions.get(summary.getProductId(), -1);
+                if (position >= 0) {
+                    summaries[position] = summary;
+                }
+            }
+        }
+
+        List<RelatedProductResponse> related(long productId, int limit) {
+            int position = positions.get(productId, -1);
+            if (position < 0 || neighbourIds[position] == null) {
+                return List.of();
+            }
+            long[] ids = neighbourIds[position];
+            List<RelatedProductResponse> related = new ArrayList<>(Math.min(limit, ids.length));
+            for (int i = 0; i < ids.length && related.size() < limit; i++) {
+                int neighbour = positions.get(ids[i], -1);
+                ProductSummary summary = neighbour >= 0 ? summaries[neighbour] : null;
+                if (summary == null || !summary.isActive()) {
+                    continue;
+                }
+                related.add(RelatedProductResponse.builder()
+                        .productId(summary.getProductId())
+                        .name(summary.getName())
+                        .slug(summary.getSlug())
+                        .price(summary.getPrice())
+                        .discountPrice(summary.getDiscountPrice())
+                        .averageRating(summary.getAverageRating())
+                        .score((double) scores[position][i])
+                        .build());
+            }
+            return related;
+        }
+
+        int size() {
+            return neighbourIds.length;
+        }
+
+        private void compute(CoPurchaseMatrix matrix, int neighbours, int position) {
+            CoPurchaseMatrix.Neighbours strongest = matrix.neighbours(matrix.productId(position), neighbours);
+            neighbourIds[position] = strongest.productIds();
+            scores[position] = strongest.scores();
+        }
+    }
+}
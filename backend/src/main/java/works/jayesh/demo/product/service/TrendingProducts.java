@@ -0,0 +1,252 @@
+package works.jayesh.demo.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import works.jayesh.demo.common.transaction.AfterTransaction;
+import works.jayesh.demo.order.model.entity.Order;
+import works.jayesh.demo.order.model.entity.OrderItem;
+import works.jayesh.demo.product.model.dto.TrendingProductResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Units sold per product over a sliding window, fed by order creation and cancellation.
+ * Time is cut into buckets held in a ring spanning the longest window served. Every sale is
+ * added to its bucket's {@link CountMinSketch}, and the {@code tracked} products selling most
+ * across the ring are also counted exactly, per bucket. A product outside that set is admitted,
+ * with its history estimated from the sketches, once it outsells the weakest tracked product.
+ * Memory is fixed by the ring length, the sketch size and {@code tracked}, whatever the
+ * catalog size.
+ * Trending scores weight each bucket's sales by age, halving every quarter of the requested
+ * window, so products selling now rank above products that sold as much earlier in the window.
+ * Sales are recorded once the order commits. The counts are per instance and start empty.
+ */
+@Component
+@Slf4j
+public class TrendingProducts {
+
+    private static final int HALF_LIVES_PER_WINDOW = 4;
+
+    record Sale(long productId, int quantity, String name, String slug, String image, BigDecimal price) {
+    }
+
+    private static final class Candidate {
+
+        private final long productId;
+        private final int[] counts;
+        private long total;
+        private String name;
+        private String slug;
+        private String image;
+        private BigDecimal price;
+
+        Candidate(long productId, int[] counts, long total) {
+            this.productId = productId;
+            this.counts = counts;
+            this.total = total;
+        }
+
+        void describe(Sale sale) {
+            name = sale.name();
+            if (sale.slug() != null) {
+                slug = sale.slug();
+            }
+            image = sale.image();
+            price = sale.price();
+        }
+    }
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final int tracked;
+    private final CountMinSketch[] sketches;
+
+    // Guarded by this
+    private final Map<Long, Candidate> candidates = new HashMap<>();
+    private long currentBucket;
+
+    public TrendingProducts(@Value("${app.products.trending.bucket-seconds:300}") long bucketSeconds,
+                            @Value("${app.products.trending.max-window-hours:24}") long maxWindowHours,
+                            @Value("${app.products.trending.tracked:1000}") int tracked,
+                            @Value("${app.products.trending.sketch-width:1024}") int sketchWidth,
+                            @Value("${app.products.trending.sketch-depth:4}") int sketchDepth) {
+        this.bucketMillis = Duration.ofSeconds(Math.max(bucketSeconds, 1)).toMillis();
+        this.buckets = (int) Math.max(1, (Duration.ofHours(maxWindowHours).toMillis() + bucketMillis - 1) / bucketMillis);
+        this.tracked = Math.max(tracked, 1);
+        this.sketches = new CountMinSketch[buckets];
+        for (int i = 0; i < buckets; i++) {
+            sketches[i] = new CountMinSketch(sketchWidth, sketchDepth);
+        }
+        this.currentBucket = System.currentTimeMillis() / bucketMillis;
+    }
+
+    public void recordOrderCreated(Order order) {
+        List<Sale> sales = sales(order);
+        AfterTransaction.afterCommit(() ->
+                record(sales, 1, System.currentTimeMillis(), System.currentTimeMillis()));
+    }
+
+    /**
+     * Takes a cancelled order's units back out of the bucket it was sold in.
+     */
+    public void recordOrderCancelled(Order order) {
+        List<Sale> sales = sales(order);
+        LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+        long soldAt = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        AfterTransaction.afterCommit(() -> record(sales, -1, soldAt, System.currentTimeMillis()));
+    }
+
+    /**
+     * Stops listing a product that is no longer for sale.
+     */
+    public void productRemoved(Long productId) {
+        AfterTransaction.afterCommit(() -> {
+            synchronized (this) {
+                candidates.remove(productId);
+            }
+        });
+    }
+
+    public List<TrendingProductResponse> getTrending(Duration window, int limit) {
+        return getTrending(window, limit, System.currentTimeMillis());
+    }
+
+    synchronized List<TrendingProductResponse> getTrending(Duration window, int limit, long now) {
+        if (window.isNegative() || window.isZero() || window.toMillis() > buckets * bucketMillis) {
+            throw new IllegalStateException("Trending window must be between " + Duration.ofMillis(bucketMillis)
+                    + " and " + Duration.ofMillis(buckets * bucketMillis));
+        }
+        advance(now / bucketMillis);
+
+        int windowBuckets = (int) ((window.toMillis() + bucketMillis - 1) / bucketMillis);
+        double[] weights = new double[windowBuckets];
+        double halfLifeBuckets = (double) windowBuckets / HALF_LIVES_PER_WINDOW;
+        for (int age = 0; age < windowBuckets; age++) {
+            weights[age] = Math.pow(0.5, age / halfLifeBuckets);
+        }
+
+        // Weakest first, so the heap holds the best limit seen so far
+        Comparator<TrendingProductResponse> ascending = Comparator
+                .comparingDouble(TrendingProductResponse::getScore)
+                .thenComparing(TrendingProductResponse::getProductId, Comparator.reverseOrder());
+        PriorityQueue<TrendingProductResponse> top = new PriorityQueue<>(ascending);
+        for (Candidate candidate : candidates.values()) {
+            long units = 0;
+            double score = 0;
+            for (int age = 0; age < windowBuckets; age++) {
+                int count = candidate.counts[slot(currentBucket - age)];
+                units += count;
+                score += count * weights[age];
+            }
+            if (units == 0) {
+                continue;
+            }
+            top.offer(TrendingProductResponse.builder()
+                    .productId(candidate.productId)
+                    .name(candidate.name)
+                    .slug(candidate.slug)
+                    .image(candidate.image)
+                    .price(candidate.price)
+                    .unitsSold(units)
+                    .score(score)
+                    .build());
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<TrendingProductResponse> trending = new ArrayList<>(top);
+        trending.sort(ascending.reversed());
+        return trending;
+    }
+
+    synchronized void record(List<Sale> sales, int sign, long soldAt, long now) {
+        advance(now / bucketMillis);
+        long bucket = soldAt / bucketMillis;
+        if (bucket > currentBucket || bucket <= currentBucket - buckets) {
+            return;
+        }
+        int slot = slot(bucket);
+        for (Sale sale : sales) {
+            int delta = sign * sale.quantity();
+            sketches[slot].add(sale.productId(), delta);
+
+            Candidate candidate = candidates.get(sale.productId());
+            if (candidate != null) {
+                int updated = Math.max(candidate.counts[slot] + delta, 0);
+                candidate.total += updated - candidate.counts[slot];
+                candidate.counts[slot] = updated;
+                if (candidate.total == 0) {
+                    candidates.remove(candidate.productId);
+                } else if (delta > 0) {
+                    candidate.describe(sale);
+                }
+            } else if (delta > 0) {
+                admit(sale);
+            }
+        }
+    }
+
+    // Seeds the product's history from the sketches, which already include this sale
+    private void admit(Sale sale) {
+        int[] counts = new int[buckets];
+        long total = 0;
+        for (int age = 0; age < buckets; age++) {
+            int slot = slot(currentBucket - age);
+            counts[slot] = sketches[slot].estimate(sale.productId());
+            total += counts[slot];
+        }
+
+        if (candidates.size() >= tracked) {
+            Candidate weakest = null;
+            for (Candidate candidate : candidates.values()) {
+                if (weakest == null || candidate.total < weakest.total) {
+                    weakest = candidate;
+                }
+            }
+            if (weakest.total >= total) {
+                return;
+            }
+            candidates.remove(weakest.productId);
+        }
+        Candidate candidate = new Candidate(sale.productId(), counts, total);
+        candidate.describe(sale);
+        candidates.put(sale.productId(), candidate);
+    }
+
+    // Clears the buckets that have rolled out of the ring since the last call
+    private void advance(long bucket) {
+        if (bucket <= currentBucket) {
+            return;
+        }
+        long expired = Math.min(bucket - currentBucket, buckets);
+        for (long i = 1; i <= expired; i++) {
+            int slot = slot(currentBucket + i);
+            sketches[slot].clear();
+            for (Candidate candidate : candidates.values()) {
+                candidate.total -= candidate.counts[slot];
+                candidate.counts[slot] = 0;
+            }
+        }
+        candidates.values().removeIf(candidate -> candidate.total <= 0);
+        currentBucket = bucket;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets);
+    }
+
+    private static List<Sale> sales(Order order) {
+        List<Sale> sales = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem item : order.getOrderItems()) {
+            sales.add(new Sale(item.getProduct().getId(), item.getQuantity(), item.getProductName(),
+                    item.getProduct().getSlug(), item.getProductImage(), item.getUnitPrice()));
+        }
+        return sales;
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import works.jayesh.demo.common.model.ApiResponse;
 import works.jayesh.demo.review.model.dto.ReviewRequest;
@@ -40,8 +42,11 @@ public class ReviewController {
     @GetMapping("/product/{productId}")
     public ResponseEntity<ApiResponse<Page<ReviewResponse>>> getProductReviews(
             @PathVariable Long productId,
+            @RequestParam(defaultValue = "false") boolean mostHelpful,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ReviewResponse> reviews = reviewService.getProductReviews(productId, pageable);
+        Page<ReviewResponse> reviews = mostHelpful
+                ? reviewService.getMostHelpfulProductReviews(productId, pageable)
+                : reviewService.getProductReviews(productId, pageable);
         return ResponseEntity.ok(ApiResponse.success("Product reviews retrieved successfully", reviews));
     }
 
@@ -71,8 +76,11 @@ public class ReviewController {
     }
 
     @PatchMapping("/{reviewId}/helpful")
-    public ResponseEntity<ApiResponse<Void>> markHelpful(@PathVariable Long reviewId) {
-        reviewService.markHelpful(reviewId);
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> markHelpful(
+            @PathVariable Long reviewId,
+            @AuthenticationPrincipal UserDetails principal) {
+        reviewService.markHelpful(reviewId, principal.getUsername());
         return ResponseEntity.ok(ApiResponse.success("Review marked as helpful", null));
     }
 
@@ -0,0 +1,36 @@
+package works.jayesh.demo.review.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import works.jayesh.demo.common.model.ApiResponse;
+import works.jayesh.demo.review.model.dto.BulkModerationRequest;
+import works.jayesh.demo.review.model.dto.BulkModerationResponse;
+import works.jayesh.demo.review.model.dto.ModerationQueueResponse;
+import works.jayesh.demo.review.service.ReviewModerationService;
+
+@RestController
+@RequestMapping("/api/reviews/moderation")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ReviewModerationController {
+
+    private final ReviewModerationService reviewModerationService;
+
+    @GetMapping("/pending")
+    public ResponseEntity<ApiResponse<ModerationQueueResponse>> getPendingReviews(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        ModerationQueueResponse queue = reviewModerationService.getPendingReviews(afterId, size);
+        return ResponseEntity.ok(ApiResponse.success("Pending reviews retrieved successfully", queue));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkModerationResponse>> moderate(
+            @Valid @RequestBody BulkModerationRequest request) {
+        BulkModerationResponse result = reviewModerationService.moderate(request);
+        return ResponseEntity.ok(ApiResponse.success("Reviews moderated successfully", result));
+    }
+}
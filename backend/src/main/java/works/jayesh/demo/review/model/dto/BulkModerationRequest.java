@@ -0,0 +1,23 @@
+package works.jayesh.demo.review.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationRequest {
+
+    @NotEmpty(message = "Review IDs are required")
+    @Size(max = 1000, message = "At most 1000 reviews can be moderated per request")
+    private List<Long> reviewIds;
+
+    @NotNull(message = "Moderation action is required")
+    private ModerationAction action;
+}
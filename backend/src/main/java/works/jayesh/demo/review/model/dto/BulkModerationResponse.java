@@ -0,0 +1,19 @@
+package works.jayesh.demo.review.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkModerationResponse {
+    private ModerationAction action;
+    private int requested;
+    private int processed;
+    private int skipped; // Unknown or already moderated reviews
+    private int productsUpdated;
+    private long durationMs;
+}
@@ -0,0 +1,6 @@
+package works.jayesh.demo.review.model.dto;
+
+public enum ModerationAction {
+    APPROVE,
+    REJECT
+}
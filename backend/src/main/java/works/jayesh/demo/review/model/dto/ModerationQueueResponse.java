@@ -0,0 +1,23 @@
+package works.jayesh.demo.review.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of the pending review queue.
+ * Pass nextAfterId back as afterId to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ModerationQueueResponse {
+    private List<ReviewResponse> reviews;
+    private Long nextAfterId;
+    private boolean hasMore;
+    private Long pendingTotal; // Only populated on the first page
+}
@@ -0,0 +1,14 @@
+package works.jayesh.demo.review.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRatingSummary {
+    private Long productId;
+    private Double averageRating;
+    private Long totalReviews;
+}
@@ -0,0 +1,18 @@
+package works.jayesh.demo.review.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductReviewsVersion {
+    private Long approvedReviews;
+    private Long lastReviewId;
+    private LocalDateTime lastUpdatedAt;
+    private LocalDateTime lastReviewerUpdatedAt;
+    private Long helpfulVotes;
+}
@@ -10,11 +10,14 @@ import works.jayesh.demo.user.model.entity.User;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews", indexes = {
+@Table(name = "reviews", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_review_product_user", columnNames = {"product_id", "user_id"})
+}, indexes = {
         @Index(name = "idx_review_product_id", columnList = "product_id"),
         @Index(name = "idx_review_user_id", columnList = "user_id"),
         @Index(name = "idx_review_approved", columnList = "approved"),
-        @Index(name = "idx_review_created_at", columnList = "created_at")
+        @Index(name = "idx_review_created_at", columnList = "created_at"),
+        @Index(name = "idx_review_product_helpful", columnList = "product_id, approved, helpful_count")
 })
 @Getter
 @Setter
@@ -28,11 +31,11 @@ public class Review {
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "product_id", nullable = false)
+    @JoinColumn(name = "product_id", nullable = false, foreignKey = @ForeignKey(name = "fk_review_product"))
     private Product product;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_review_user"))
     private User user;
 
     @Column(nullable = false)
@@ -48,6 +51,8 @@ public class Review {
 
     private boolean approved = false;
 
+    // Only ever incremented in SQL by HelpfulVoteService, never rewritten from a loaded entity
+    @Column(updatable = false)
     private Integer helpfulCount = 0;
 
     @CreationTimestamp
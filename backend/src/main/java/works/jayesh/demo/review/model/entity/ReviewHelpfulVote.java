@@ -0,0 +1,38 @@
+package works.jayesh.demo.review.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per user who marked a review helpful. The unique key is what rejects a second vote,
+ * so the dedupe survives restarts and holds across instances. Plain id columns rather than
+ * associations, so deleting a review or user is never blocked by its votes.
+ */
+@Entity
+@Table(name = "review_helpful_votes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_review_helpful_vote", columnNames = {"review_id", "user_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewHelpfulVote {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "review_id", nullable = false)
+    private Long reviewId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,38 @@
+package works.jayesh.demo.review.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import works.jayesh.demo.review.model.entity.ReviewHelpfulVote;
+
+import java.util.Collection;
+
+@Repository
+public interface ReviewHelpfulVoteRepository extends JpaRepository<ReviewHelpfulVote, Long> {
+
+    // Native writes below touch only review_helpful_votes; without this Hibernate evicts every cache region
+    String VOTES_SPACE = "review_helpful_votes";
+
+    /**
+     * Record the user's vote unless it is already there. Returns 0 for a repeat vote, including
+     * one that commits concurrently: the unique key makes the later insert a no-op, not an error.
+     * No conflict target because H2 does not accept one; uk_review_helpful_vote is the only key
+     * an insert can hit.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VOTES_SPACE))
+    @Query(value = "INSERT INTO review_helpful_votes (review_id, user_id, created_at) " +
+            "VALUES (:reviewId, :userId, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("reviewId") Long reviewId, @Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VOTES_SPACE))
+    @Query(value = "DELETE FROM review_helpful_votes WHERE review_id IN (:reviewIds)", nativeQuery = true)
+    int deleteByReviewIdIn(@Param("reviewIds") Collection<Long> reviewIds);
+}
@@ -3,10 +3,15 @@ package works.jayesh.demo.review.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import works.jayesh.demo.review.model.dto.ProductRatingSummary;
+import works.jayesh.demo.review.model.dto.ProductReviewsVersion;
 import works.jayesh.demo.review.model.entity.Review;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +22,8 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     Page<Review> findByProductIdAndApprovedTrue(Long productId, Pageable pageable);
 
+    Page<Review> findByProductIdAndApprovedTrueOrderByHelpfulCountDescIdDesc(Long productId, Pageable pageable);
+
     Page<Review> findByUserId(Long userId, Pageable pageable);
 
     Optional<Review> findByProductIdAndUserId(Long productId, Long userId);
@@ -28,5 +35,37 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     long countByProductIdAndApprovedTrue(Long productId);
 
-    List<Review> findByApprovedFalse();
+    long countByApprovedFalse();
+
+    // Reviewers' updatedAt covers the names shown on each review
+    @Query("SELECT new works.jayesh.demo.review.model.dto.ProductReviewsVersion(COUNT(r), MAX(r.id), " +
+            "MAX(r.updatedAt), MAX(u.updatedAt), SUM(r.helpfulCount)) " +
+            "FROM Review r JOIN r.user u WHERE r.product.id = :productId AND r.approved = true")
+    ProductReviewsVersion findApprovedVersion(@Param("productId") Long productId);
+
+    @Query("SELECT r FROM Review r JOIN FETCH r.product JOIN FETCH r.user " +
+            "WHERE r.approved = false AND r.id > :afterId ORDER BY r.id ASC")
+    List<Review> findPendingAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT r.product.id FROM Review r WHERE r.id IN :reviewIds AND r.approved = false")
+    List<Long> findPendingProductIds(@Param("reviewIds") Collection<Long> reviewIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Review r SET r.approved = true, r.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE r.id IN :reviewIds AND r.approved = false")
+    int approvePending(@Param("reviewIds") Collection<Long> reviewIds);
+
+    @Query("SELECT r.id FROM Review r WHERE r.id IN :reviewIds AND r.approved = false")
+    List<Long> findPendingIds(@Param("reviewIds") Collection<Long> reviewIds);
+
+    @Query("SELECT r.id FROM Review r WHERE r.id IN :reviewIds")
+    List<Long> findExistingIds(@Param("reviewIds") Collection<Long> reviewIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Review r WHERE r.id IN :reviewIds AND r.approved = false")
+    int deletePending(@Param("reviewIds") Collection<Long> reviewIds);
+
+    @Query("SELECT new works.jayesh.demo.review.model.dto.ProductRatingSummary(r.product.id, AVG(r.rating), COUNT(r)) " +
+            "FROM Review r WHERE r.product.id IN :productIds AND r.approved = true GROUP BY r.product.id")
+    List<ProductRatingSummary> summarizeApprovedRatings(@Param("productIds") Collection<Long> productIds);
 }
@@ -0,0 +1,82 @@
+package works.jayesh.demo.review.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import works.jayesh.demo.common.buffer.CoalescingBuffer;
+import works.jayesh.demo.common.transaction.AfterTransaction;
+import works.jayesh.demo.review.repository.ReviewHelpfulVoteRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records "helpful" votes. Each vote is a row in review_helpful_votes, whose unique key rejects
+ * a second vote from the same user on every instance and across restarts. The counter itself is
+ * buffered in memory and flushed to reviews.helpful_count as relative increments, so concurrent
+ * votes never overwrite each other and never contend on the review row.
+ */
+@Service
+@RequiredArgsConstructor
+public class HelpfulVoteService {
+
+    private static final String INCREMENT_SQL =
+            "UPDATE reviews SET helpful_count = helpful_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReviewHelpfulVoteRepository voteRepository;
+
+    private final CoalescingBuffer<Long, Long> pendingVotes =
+            new CoalescingBuffer<>("helpful votes", Long::sum, delta -> delta <= 0);
+
+    /**
+     * Record a vote. Returns false when the user has already voted for this review.
+     * The vote is counted once the current transaction commits.
+     */
+    @Transactional
+    public boolean recordVote(Long reviewId, Long userId) {
+        if (voteRepository.insertIfAbsent(reviewId, userId) == 0) {
+            return false;
+        }
+        AfterTransaction.afterCommit(() -> pendingVotes.add(reviewId, 1L));
+        return true;
+    }
+
+    /**
+     * Votes recorded for a review but not yet written to the database.
+     */
+    public long getPendingVotes(Long reviewId) {
+        Long pending = pendingVotes.get(reviewId);
+        return pending != null ? pending : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reviews.helpful.flush-interval-ms:5000}")
+    public void flush() {
+        pendingVotes.flush(votes -> {
+            List<Object[]> batch = new ArrayList<>(votes.size());
+            votes.forEach((reviewId, delta) -> batch.add(new Object[]{delta, reviewId}));
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+        });
+    }
+
+    /**
+     * Drop the pending counts and the recorded voters of reviews that no longer exist.
+     */
+    @Transactional
+    public void discard(Collection<Long> reviewIds) {
+        if (reviewIds.isEmpty()) {
+            return;
+        }
+        reviewIds.forEach(pendingVotes::discard);
+        voteRepository.deleteByReviewIdIn(reviewIds);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,124 @@
+package works.jayesh.demo.review.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over (productId, userId) pairs that already have a review.
+ * A negative answer is definitive and lets review creation skip the duplicate lookup;
+ * a positive answer may be false and must be confirmed against the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewDuplicateFilter {
+
+    private static final String SEED_SQL =
+            "SELECT id, product_id, user_id FROM reviews WHERE id > ? ORDER BY id LIMIT ?";
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.reviews.duplicate-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${app.reviews.duplicate-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile AtomicLongArray bits;
+    private volatile long bitCount;
+    private volatile int hashCount;
+
+    // Until seeding finishes every lookup is treated as a possible duplicate
+    private volatile boolean ready;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        allocate();
+
+        long lastId = 0;
+        long loaded = 0;
+        while (true) {
+            long[] cursor = {lastId};
+            int rows = jdbcTemplate.query(SEED_SQL, rs -> {
+                int count = 0;
+                while (rs.next()) {
+                    cursor[0] = rs.getLong("id");
+                    put(rs.getLong("product_id"), rs.getLong("user_id"));
+                    count++;
+                }
+                return count;
+            }, lastId, SEED_BATCH_SIZE);
+
+            loaded += rows;
+            lastId = cursor[0];
+            if (rows < SEED_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        ready = true;
+        log.info("Review duplicate filter seeded with {} reviews ({} bits, {} hashes)", loaded, bitCount, hashCount);
+    }
+
+    public boolean mightContain(Long productId, Long userId) {
+        if (!ready) {
+            return true;
+        }
+
+        long h1 = mix(productId);
+        long h2 = mix(userId ^ h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(Long productId, Long userId) {
+        AtomicLongArray target = bits;
+        if (target == null) {
+            return;
+        }
+
+        long h1 = mix(productId);
+        long h2 = mix(userId ^ h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = target.get(word);
+            } while ((current & mask) == 0 && !target.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    private void allocate() {
+        long n = Math.max(expectedInsertions, 1);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        bitCount = Math.max(64, (m + 63) / 64 * 64);
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+        bits = new AtomicLongArray((int) (bitCount / 64));
+    }
+
+    // Stafford variant 13 of the MurmurHash3 64-bit finalizer
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
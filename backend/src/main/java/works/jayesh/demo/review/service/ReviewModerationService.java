@@ -0,0 +1,129 @@
+package works.jayesh.demo.review.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.ProductLeaderboards;
+import works.jayesh.demo.review.model.dto.*;
+import works.jayesh.demo.review.model.entity.Review;
+import works.jayesh.demo.review.repository.ReviewRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admin moderation of pending reviews: a keyset-paged queue and bulk approve/reject
+ * that recomputes each affected product's rating once per batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ReviewModerationService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final ReviewRepository reviewRepository;
+    private final ProductRepository productRepository;
+    private final ProductLeaderboards productLeaderboards;
+    private final ReviewService reviewService;
+    private final HelpfulVoteService helpfulVoteService;
+    private final MeterRegistry meterRegistry;
+
+    @Transactional(readOnly = true)
+    public ModerationQueueResponse getPendingReviews(Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long cursor = afterId != null ? afterId : 0L;
+
+        // Fetch one extra row to learn whether another page exists
+        List<Review> rows = reviewRepository.findPendingAfter(cursor, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Review> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return ModerationQueueResponse.builder()
+                .reviews(page.stream().map(reviewService::mapToResponse).toList())
+                .nextAfterId(page.isEmpty() ? null : page.get(page.size() - 1).getId())
+                .hasMore(hasMore)
+                .pendingTotal(afterId == null ? reviewRepository.countByApprovedFalse() : null)
+                .build();
+    }
+
+    public BulkModerationResponse moderate(BulkModerationRequest request) {
+        Set<Long> reviewIds = new LinkedHashSet<>(request.getReviewIds());
+        ModerationAction action = request.getAction();
+        log.info("Bulk moderation: {} of {} reviews", action, reviewIds.size());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        int processed;
+        int productsUpdated = 0;
+        if (action == ModerationAction.APPROVE) {
+            List<Long> productIds = reviewRepository.findPendingProductIds(reviewIds);
+            processed = reviewRepository.approvePending(reviewIds);
+            productsUpdated = recomputeProductRatings(productIds);
+        } else {
+            // Pending reviews never count towards a product rating, so rejecting needs no recompute
+            List<Long> pendingIds = reviewRepository.findPendingIds(reviewIds);
+            processed = pendingIds.isEmpty() ? 0 : reviewRepository.deletePending(pendingIds);
+            if (processed < pendingIds.size()) {
+                // Some were approved in between and survived the delete; their votes stay
+                pendingIds = new ArrayList<>(pendingIds);
+                pendingIds.removeAll(reviewRepository.findExistingIds(pendingIds));
+            }
+            helpfulVoteService.discard(pendingIds);
+        }
+
+        long durationNanos = sample.stop(Timer.builder("reviews.moderation.batch")
+                .description("Time spent moderating one bulk request")
+                .tag("action", action.name())
+                .register(meterRegistry));
+        Counter.builder("reviews.moderation.processed")
+                .description("Reviews approved or rejected through bulk moderation")
+                .tag("action", action.name())
+                .register(meterRegistry)
+                .increment(processed);
+
+        log.info("Bulk moderation completed: {} {} reviews, {} products updated",
+                action, processed, productsUpdated);
+
+        return BulkModerationResponse.builder()
+                .action(action)
+                .requested(reviewIds.size())
+                .processed(processed)
+                .skipped(reviewIds.size() - processed)
+                .productsUpdated(productsUpdated)
+                .durationMs(durationNanos / 1_000_000)
+                .build();
+    }
+
+    private int recomputeProductRatings(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, ProductRatingSummary> summaries = new HashMap<>();
+        for (ProductRatingSummary summary : reviewRepository.summarizeApprovedRatings(productIds)) {
+            summaries.put(summary.getProductId(), summary);
+        }
+
+        for (Long productId : productIds) {
+            ProductRatingSummary summary = summaries.get(productId);
+            double averageRating = summary != null && summary.getAverageRating() != null
+                    ? summary.getAverageRating() : 0.0;
+            int totalReviews = summary != null ? summary.getTotalReviews().intValue() : 0;
+            productRepository.updateRatingSummary(productId, averageRating, totalReviews);
+        }
+        productLeaderboards.productsChanged(productIds);
+        return productIds.size();
+    }
+}
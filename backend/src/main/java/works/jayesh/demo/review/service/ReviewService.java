@@ -2,16 +2,23 @@ package works.jayesh.demo.review.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import works.jayesh.demo.common.exception.DuplicateResourceException;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
-import works.jayesh.demo.order.model.entity.OrderItem;
+import works.jayesh.demo.common.http.ETags;
+import works.jayesh.demo.common.retry.RetryOnConflict;
+import works.jayesh.demo.order.model.entity.OrderStatus;
 import works.jayesh.demo.order.repository.OrderItemRepository;
 import works.jayesh.demo.product.model.entity.Product;
 import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.ProductLeaderboards;
+import works.jayesh.demo.review.model.dto.ProductReviewsVersion;
 import works.jayesh.demo.review.model.dto.ReviewRequest;
 import works.jayesh.demo.review.model.dto.ReviewResponse;
 import works.jayesh.demo.review.model.entity.Review;
@@ -20,6 +27,7 @@ import works.jayesh.demo.user.model.entity.User;
 import works.jayesh.demo.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -29,25 +37,28 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final ProductRepository productRepository;
+    private final ProductLeaderboards productLeaderboards;
     private final UserRepository userRepository;
     private final OrderItemRepository orderItemRepository;
+    private final HelpfulVoteService helpfulVoteService;
+    private final ReviewDuplicateFilter reviewDuplicateFilter;
 
     public ReviewResponse createReview(Long userId, ReviewRequest request) {
         log.info("Creating review for product {} by user {}", request.getProductId(), userId);
 
-        if (reviewRepository.existsByProductIdAndUserId(request.getProductId(), userId)) {
+        // Only hit the database when the filter cannot rule out an existing review
+        if (reviewDuplicateFilter.mightContain(request.getProductId(), userId)
+                && reviewRepository.existsByProductIdAndUserId(request.getProductId(), userId)) {
             throw new DuplicateResourceException("You have already reviewed this product");
         }
 
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + request.getProductId()));
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
+        // References only; the insert's foreign keys reject a missing product or user
+        Product product = productRepository.getReferenceById(request.getProductId());
+        User user = userRepository.getReferenceById(userId);
 
         // Check if user has purchased this product
-        List<OrderItem> purchasedItems = orderItemRepository.findByUserIdAndProductId(userId, request.getProductId());
-        boolean verified = !purchasedItems.isEmpty();
+        boolean verified = orderItemRepository.existsByOrderUserIdAndProductIdAndOrderStatusNot(
+                userId, request.getProductId(), OrderStatus.CANCELLED);
 
         Review review = Review.builder()
                 .product(product)
@@ -59,10 +70,16 @@ public class ReviewService {
                 .approved(false) // Requires admin approval
                 .build();
 
-        Review savedReview = reviewRepository.save(review);
+        Review savedReview;
+        try {
+            savedReview = reviewRepository.save(review);
+        } catch (DataIntegrityViolationException e) {
+            throw insertFailure(e, request.getProductId(), userId);
+        }
+        reviewDuplicateFilter.put(request.getProductId(), userId);
         log.info("Review created successfully with ID: {}", savedReview.getId());
 
-        return mapToResponse(savedReview);
+        return mapToCreatedResponse(savedReview);
     }
 
     @Transactional(readOnly = true)
@@ -77,6 +94,25 @@ public class ReviewService {
                 .map(this::mapToResponse);
     }
 
+    @Transactional(readOnly = true)
+    public Page<ReviewResponse> getMostHelpfulProductReviews(Long productId, Pageable pageable) {
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return reviewRepository.findByProductIdAndApprovedTrueOrderByHelpfulCountDescIdDesc(productId, unsorted)
+                .map(this::mapToResponse);
+    }
+
+    /**
+     * Entity tag for a product's approved reviews, covering every page and ordering.
+     * Helpful votes still buffered in {@link HelpfulVoteService} reach it on the next flush, and
+     * renaming the product only shows once one of the reviews changes.
+     */
+    @Transactional(readOnly = true)
+    public String getProductReviewsETag(Long productId) {
+        ProductReviewsVersion version = reviewRepository.findApprovedVersion(productId);
+        return ETags.strong(productId, version.getApprovedReviews(), version.getLastReviewId(),
+                version.getLastUpdatedAt(), version.getLastReviewerUpdatedAt(), version.getHelpfulVotes());
+    }
+
     @Transactional(readOnly = true)
     public Page<ReviewResponse> getUserReviews(Long userId, Pageable pageable) {
         return reviewRepository.findByUserId(userId, pageable).map(this::mapToResponse);
@@ -98,6 +134,7 @@ public class ReviewService {
         return mapToResponse(updatedReview);
     }
 
+    @RetryOnConflict
     public ReviewResponse approveReview(Long reviewId) {
         log.info("Approving review: {}", reviewId);
 
@@ -113,6 +150,7 @@ public class ReviewService {
         return mapToResponse(approvedReview);
     }
 
+    @RetryOnConflict
     public void deleteReview(Long reviewId) {
         log.info("Deleting review with ID: {}", reviewId);
 
@@ -120,6 +158,7 @@ public class ReviewService {
         Long productId = review.getProduct().getId();
 
         reviewRepository.delete(review);
+        helpfulVoteService.discard(List.of(reviewId));
 
         // Update product rating after deletion
         updateProductRating(productId);
@@ -127,10 +166,17 @@ public class ReviewService {
         log.info("Review deleted successfully");
     }
 
-    public void markHelpful(Long reviewId) {
-        Review review = findReviewById(reviewId);
-        review.setHelpfulCount(review.getHelpfulCount() + 1);
-        reviewRepository.save(review);
+    public void markHelpful(Long reviewId, String voterEmail) {
+        if (!reviewRepository.existsById(reviewId)) {
+            throw new ResourceNotFoundException("Review not found with ID: " + reviewId);
+        }
+
+        Long userId = userRepository.findIdByEmail(voterEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + voterEmail));
+
+        if (!helpfulVoteService.recordVote(reviewId, userId)) {
+            throw new DuplicateResourceException("You have already marked this review as helpful");
+        }
     }
 
     private void updateProductRating(Long productId) {
@@ -144,6 +190,23 @@ public class ReviewService {
         product.setTotalReviews((int) totalReviews);
 
         productRepository.save(product);
+        productLeaderboards.productsChanged(List.of(productId));
+    }
+
+    private RuntimeException insertFailure(DataIntegrityViolationException e, Long productId, Long userId) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.FOREIGN_KEY) {
+            String constraint = String.valueOf(violation.getConstraintName()).toLowerCase(Locale.ROOT);
+            if (constraint.contains("fk_review_product")) {
+                return new ResourceNotFoundException("Product not found: " + productId);
+            }
+            if (constraint.contains("fk_review_user")) {
+                return new ResourceNotFoundException("User not found: " + userId);
+            }
+            return new ResourceNotFoundException("Product or user not found");
+        }
+        // Unique (product_id, user_id) constraint caught a duplicate the filter could not see
+        return new DuplicateResourceException("You have already reviewed this product");
     }
 
     private Review findReviewById(Long reviewId) {
@@ -151,7 +214,29 @@ public class ReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with ID: " + reviewId));
     }
 
-    private ReviewResponse mapToResponse(Review review) {
+    private Integer currentHelpfulCount(Review review) {
+        long stored = review.getHelpfulCount() != null ? review.getHelpfulCount() : 0;
+        return (int) (stored + helpfulVoteService.getPendingVotes(review.getId()));
+    }
+
+    // The product and user are unloaded references here, so their names are left out rather
+    // than read back just for the response
+    private ReviewResponse mapToCreatedResponse(Review review) {
+        return ReviewResponse.builder()
+                .id(review.getId())
+                .productId(review.getProduct().getId())
+                .userId(review.getUser().getId())
+                .rating(review.getRating())
+                .title(review.getTitle())
+                .comment(review.getComment())
+                .verified(review.isVerified())
+                .approved(review.isApproved())
+                .helpfulCount(0)
+                .createdAt(review.getCreatedAt())
+                .build();
+    }
+
+    ReviewResponse mapToResponse(Review review) {
         return ReviewResponse.builder()
                 .id(review.getId())
                 .productId(review.getProduct().getId())
@@ -163,7 +248,7 @@ public class ReviewService {
                 .comment(review.getComment())
                 .verified(review.isVerified())
                 .approved(review.isApproved())
-                .helpfulCount(review.getHelpfulCount())
+                .helpfulCount(currentHelpfulCount(review))
                 .createdAt(review.getCreatedAt())
                 .build();
     }
@@ -13,6 +13,7 @@ import works.jayesh.demo.common.model.ApiResponse;
 import works.jayesh.demo.user.model.dto.UserRegistrationRequest;
 import works.jayesh.demo.user.model.dto.UserResponse;
 import works.jayesh.demo.user.model.dto.UserUpdateRequest;
+import works.jayesh.demo.user.model.entity.UserRole;
 import works.jayesh.demo.user.service.UserService;
 
 @RestController
@@ -71,8 +72,9 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Page<UserResponse>>> searchUsers(
             @RequestParam String keyword,
+            @RequestParam(required = false) UserRole role,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<UserResponse> users = userService.searchUsers(keyword, pageable);
+        Page<UserResponse> users = userService.searchUsers(keyword, role, pageable);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", users));
     }
 }
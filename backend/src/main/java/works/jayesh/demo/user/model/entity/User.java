@@ -2,6 +2,8 @@ package works.jayesh.demo.user.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import works.jayesh.demo.address.model.entity.Address;
@@ -13,6 +15,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "users")
 @Table(name = "users")
 @Getter
 @Setter
@@ -72,15 +76,14 @@ public class User {
 
     private LocalDateTime otpExpiryTime;
 
-    @Column(length = 500)
-    private String refreshToken;
-
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Written only by LoginActivityRecorder's batched flush
+    @Column(updatable = false)
     private LocalDateTime lastLoginAt;
 
     @PrePersist
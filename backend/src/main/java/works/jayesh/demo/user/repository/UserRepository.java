@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
 import works.jayesh.demo.user.model.entity.UserStatus;
 
 import java.util.Optional;
@@ -15,6 +16,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(String email);
+
     Optional<User> findByPhoneNumber(String phoneNumber);
 
     boolean existsByEmail(String email);
@@ -23,9 +27,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Page<User> findByStatus(UserStatus status, Pageable pageable);
 
-    @Query("SELECT u FROM User u WHERE u.email LIKE %:keyword% OR " +
-            "u.firstName LIKE %:keyword% OR u.lastName LIKE %:keyword%")
-    Page<User> searchUsers(String keyword, Pageable pageable);
+    // Fallback used while the in-memory search index is still being built
+    @Query("SELECT u FROM User u WHERE (:role IS NULL OR u.role = :role) AND (" +
+            "LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    Page<User> searchUsers(String keyword, UserRole role, Pageable pageable);
 
     long countByStatus(UserStatus status);
 }
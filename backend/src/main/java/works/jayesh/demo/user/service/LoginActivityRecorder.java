@@ -0,0 +1,85 @@
+package works.jayesh.demo.user.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import works.jayesh.demo.common.buffer.CoalescingBuffer;
+import works.jayesh.demo.user.model.entity.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers last-login timestamps and writes them to users in periodic batches. Repeated logins
+ * by the same user between flushes collapse into one entry holding the latest time, so a login
+ * burst costs at most one UPDATE per user per interval instead of a synchronous row write each.
+ * last_login_at is not updatable through JPA, so entity saves never overwrite a flushed value.
+ * The batch bypasses Hibernate, so flushed users are evicted from the second-level cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginActivityRecorder {
+
+    // Never moves the timestamp backwards if an older flush is retried after a newer one
+    static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CoalescingBuffer<Long, LocalDateTime> pendingLogins =
+            new CoalescingBuffer<>("last logins", LoginActivityRecorder::latest);
+
+    public void recordLogin(Long userId) {
+        recordLogin(userId, LocalDateTime.now());
+    }
+
+    public void recordLogin(Long userId, LocalDateTime loginAt) {
+        pendingLogins.add(userId, loginAt);
+    }
+
+    /**
+     * Last login for the user including logins not yet flushed.
+     */
+    public LocalDateTime getLastLoginAt(User user) {
+        LocalDateTime pending = user.getId() != null ? pendingLogins.get(user.getId()) : null;
+        if (pending == null) {
+            return user.getLastLoginAt();
+        }
+        return user.getLastLoginAt() == null ? pending : latest(user.getLastLoginAt(), pending);
+    }
+
+    /**
+     * Number of users with a login not yet written to the database.
+     */
+    public int getPendingCount() {
+        return pendingLogins.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.last-login.flush-interval-ms:30000}")
+    public void flush() {
+        pendingLogins.flush(logins -> {
+            List<Object[]> batch = new ArrayList<>(logins.size());
+            logins.forEach((userId, loginAt) -> {
+                Timestamp timestamp = Timestamp.valueOf(loginAt);
+                batch.add(new Object[]{timestamp, userId, timestamp});
+            });
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            logins.keySet().forEach(userId -> entityManagerFactory.getCache().evict(User.class, userId));
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
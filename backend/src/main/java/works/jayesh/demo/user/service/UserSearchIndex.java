@@ -0,0 +1,369 @@
+package works.jayesh.demo.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import works.jayesh.demo.common.transaction.AfterTransaction;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process trigram index over user email and full name for the admin directory search.
+ * Each user is a slot in an append-only document table; a trigram maps to the ascending list
+ * of slots containing it, so candidates are found by intersecting the shortest lists first.
+ * Updates append a new slot and leave the old one stale until the next rebuild compacts them.
+ * Queries of three or more characters match anywhere in a field, shorter ones match word prefixes;
+ * hits are ranked by trigram similarity (as pg_trgm computes it) with a boost for prefix matches.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndex {
+
+    private static final String LOAD_SQL =
+            "SELECT id, email, first_name, last_name, role FROM users WHERE id > ? ORDER BY id LIMIT ?";
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Null until the first build completes; callers fall back to the database meanwhile
+    private volatile Segment segment;
+
+    // Writes seen while a rebuild is scanning, replayed onto the new segment before it is published
+    private Map<Long, Document> changedDuringRebuild;
+
+    public record Result(List<Long> userIds, long total) {
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.search-index.rebuild-ms:3600000}",
+            initialDelayString = "${app.users.search-index.rebuild-ms:3600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                return;
+            }
+            changedDuringRebuild = new HashMap<>();
+        }
+
+        try {
+            Segment fresh = new Segment();
+            long lastId = 0;
+            while (true) {
+                long[] cursor = {lastId};
+                int rows = jdbcTemplate.query(LOAD_SQL, rs -> {
+                    int count = 0;
+                    while (rs.next()) {
+                        cursor[0] = rs.getLong("id");
+                        String role = rs.getString("role");
+                        fresh.add(Document.of(cursor[0], rs.getString("email"), rs.getString("first_name"),
+                                rs.getString("last_name"), role != null ? UserRole.valueOf(role) : null));
+                        count++;
+                    }
+                    return count;
+                }, lastId, LOAD_BATCH_SIZE);
+
+                lastId = cursor[0];
+                if (rows < LOAD_BATCH_SIZE) {
+                    break;
+                }
+            }
+
+            synchronized (this) {
+                changedDuringRebuild.values().forEach(fresh::add);
+                segment = fresh;
+            }
+            log.info("User search index built with {} users and {} trigrams", fresh.userCount(), fresh.trigramCount());
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return segment != null;
+    }
+
+    /**
+     * Re-indexes the user once the surrounding transaction commits, so rolled back
+     * registrations never become searchable.
+     */
+    public void indexAfterCommit(User user) {
+        Document document = Document.of(user.getId(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getRole());
+        AfterTransaction.afterCommit(() -> index(document));
+    }
+
+    private synchronized void index(Document document) {
+        if (segment != null) {
+            segment.add(document);
+        }
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(document.userId(), document);
+        }
+    }
+
+    /**
+     * Returns the user ids ranked best-first for the requested window, plus the total hit count.
+     */
+    public Result search(String keyword, UserRole role, int offset, int limit) {
+        Segment current = segment;
+        String query = normalize(keyword);
+        if (current == null || query.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+
+        Set<String> required = query.length() >= 3 ? slidingTrigrams(query) : Set.of(prefixTrigram(query));
+        List<Posting> postings = new ArrayList<>(required.size());
+        for (String trigram : required) {
+            Posting posting = current.postings.get(trigram);
+            if (posting == null) {
+                return new Result(List.of(), 0);
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Posting::size));
+
+        Set<String> queryTrigrams = wordTrigrams(query);
+        int window = Math.max(offset + limit, 1);
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score)
+                .thenComparing(Hit::userId, Comparator.reverseOrder()));
+        long total = 0;
+
+        Posting driver = postings.get(0);
+        int size = driver.size();
+        int[] slots = driver.slots;
+        for (int i = 0; i < size; i++) {
+            int slot = slots[i];
+            if (!containsAll(postings, slot)) {
+                continue;
+            }
+            Document document = current.live(slot);
+            if (document == null || (role != null && document.role() != role) || !document.matches(query)) {
+                continue;
+            }
+
+            total++;
+            top.add(new Hit(document.userId(), document.score(query, queryTrigrams)));
+            if (top.size() > window) {
+                top.poll();
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(top.comparator().reversed());
+        List<Long> userIds = ranked.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(Hit::userId)
+                .toList();
+        return new Result(userIds, total);
+    }
+
+    private static boolean containsAll(List<Posting> postings, int slot) {
+        for (int i = 1; i < postings.size(); i++) {
+            if (!postings.get(i).contains(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    static String[] words(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    // Trigrams of every word padded the way pg_trgm does, so word starts produce "  a" and " ab"
+    static Set<String> wordTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : words(text)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    // Unpadded trigrams of the raw text, covering substrings that cross word separators
+    static Set<String> slidingTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static String prefixTrigram(String query) {
+        return query.length() == 1 ? "  " + query : " " + query;
+    }
+
+    private record Hit(Long userId, double score) {
+    }
+
+    record Document(Long userId, String email, String fullName, UserRole role) {
+
+        static Document of(Long userId, String email, String firstName, String lastName, UserRole role) {
+            String fullName = normalize((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : ""));
+            return new Document(userId, normalize(email), fullName, role);
+        }
+
+        Set<String> trigrams() {
+            Set<String> trigrams = wordTrigrams(email);
+            trigrams.addAll(wordTrigrams(fullName));
+            trigrams.addAll(slidingTrigrams(email));
+            trigrams.addAll(slidingTrigrams(fullName));
+            return trigrams;
+        }
+
+        boolean matches(String query) {
+            if (query.length() >= 3) {
+                return email.contains(query) || fullName.contains(query);
+            }
+            return startsAnyWord(email, query) || startsAnyWord(fullName, query);
+        }
+
+        double score(String query, Set<String> queryTrigrams) {
+            double similarity = Math.max(similarity(queryTrigrams, wordTrigrams(email)),
+                    similarity(queryTrigrams, wordTrigrams(fullName)));
+            if (email.startsWith(query) || fullName.startsWith(query)) {
+                return similarity + 0.5;
+            }
+            if (startsAnyWord(email, query) || startsAnyWord(fullName, query)) {
+                return similarity + 0.25;
+            }
+            return similarity;
+        }
+
+        private static boolean startsAnyWord(String field, String query) {
+            for (String word : words(field)) {
+                if (word.startsWith(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static double similarity(Set<String> a, Set<String> b) {
+            if (a.isEmpty() || b.isEmpty()) {
+                return 0;
+            }
+            int shared = 0;
+            for (String trigram : a) {
+                if (b.contains(trigram)) {
+                    shared++;
+                }
+            }
+            return (double) shared / (a.size() + b.size() - shared);
+        }
+    }
+
+    /**
+     * Ascending slot list for one trigram. Slots are only ever appended in increasing order,
+     * which keeps the list sorted for binary search. The array is published before the size so
+     * readers never see a size larger than the array they read.
+     */
+    static final class Posting {
+
+        private volatile int[] slots = new int[4];
+        private volatile int size;
+
+        void append(int slot) {
+            int[] current = slots;
+            int count = size;
+            if (count > 0 && current[count - 1] == slot) {
+                return;
+            }
+            if (count == current.length) {
+                current = Arrays.copyOf(current, count * 2);
+                slots = current;
+            }
+            current[count] = slot;
+            size = count + 1;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int slot) {
+            int count = size;
+            int[] current = slots;
+            return Arrays.binarySearch(current, 0, Math.min(count, current.length), slot) >= 0;
+        }
+    }
+
+    static final class Segment {
+
+        private final Map<String, Posting> postings = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> slotByUser = new ConcurrentHashMap<>();
+        private volatile Document[] documents = new Document[1024];
+        private volatile int documentCount;
+
+        // Mutations are serialized by the owning index; reads may run concurrently
+        void add(Document document) {
+            Document[] current = documents;
+            int slot = documentCount;
+            if (slot == current.length) {
+                current = Arrays.copyOf(current, slot * 2);
+                documents = current;
+            }
+            current[slot] = document;
+            documentCount = slot + 1;
+
+            for (String trigram : document.trigrams()) {
+                postings.computeIfAbsent(trigram, key -> new Posting()).append(slot);
+            }
+            slotByUser.put(document.userId(), slot);
+        }
+
+        // A slot is live while it is still the latest one recorded for its user
+        Document live(int slot) {
+            Document[] current = documents;
+            if (slot >= current.length) {
+                return null;
+            }
+            Document document = current[slot];
+            if (document == null) {
+                return null;
+            }
+            Integer latest = slotByUser.get(document.userId());
+            return latest != null && latest == slot ? document : null;
+        }
+
+        int userCount() {
+            return slotByUser.size();
+        }
+
+        int trigramCount() {
+            return postings.size();
+        }
+    }
+}
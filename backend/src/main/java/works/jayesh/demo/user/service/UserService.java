@@ -3,6 +3,7 @@ package works.jayesh.demo.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,7 +18,11 @@ import works.jayesh.demo.user.model.entity.UserRole;
 import works.jayesh.demo.user.model.entity.UserStatus;
 import works.jayesh.demo.user.repository.UserRepository;
 
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +32,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSearchIndex userSearchIndex;
+    private final LoginActivityRecorder loginActivityRecorder;
 
     public UserResponse registerUser(UserRegistrationRequest request) {
         log.info("Registering new user with email: {}", request.getEmail());
@@ -52,6 +59,7 @@ public class UserService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        userSearchIndex.indexAfterCommit(savedUser);
         log.info("User registered successfully with ID: {}", savedUser.getId());
 
         return mapToResponse(savedUser);
@@ -94,6 +102,7 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userSearchIndex.indexAfterCommit(updatedUser);
         log.info("User updated successfully with ID: {}", userId);
 
         return mapToResponse(updatedUser);
@@ -108,9 +117,10 @@ public class UserService {
     }
 
     public void updateLastLogin(Long userId) {
-        User user = findUserById(userId);
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with ID: " + userId);
+        }
+        loginActivityRecorder.recordLogin(userId);
     }
 
     @Transactional(readOnly = true)
@@ -119,8 +129,23 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
-    public Page<UserResponse> searchUsers(String keyword, Pageable pageable) {
-        return userRepository.searchUsers(keyword, pageable).map(this::mapToResponse);
+    public Page<UserResponse> searchUsers(String keyword, UserRole role, Pageable pageable) {
+        if (!userSearchIndex.isReady()) {
+            return userRepository.searchUsers(keyword.trim(), role, pageable).map(this::mapToResponse);
+        }
+
+        UserSearchIndex.Result result = userSearchIndex.search(keyword, role,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        Map<Long, User> users = userRepository.findAllById(result.userIds()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Keep the index ranking; users removed since indexing are skipped
+        List<UserResponse> content = result.userIds().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .toList();
+        return new PageImpl<>(content, pageable, result.total());
     }
 
     public User findUserById(Long userId) {
@@ -140,7 +165,7 @@ public class UserService {
                 .emailVerified(user.isEmailVerified())
                 .phoneVerified(user.isPhoneVerified())
                 .createdAt(user.getCreatedAt())
-                .lastLoginAt(user.getLastLoginAt())
+                .lastLoginAt(loginActivityRecorder.getLastLoginAt(user))
                 .build();
     }
 }
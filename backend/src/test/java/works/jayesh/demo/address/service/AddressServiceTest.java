@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import works.jayesh.demo.address.model.dto.AddressRequest;
 import works.jayesh.demo.address.model.dto.AddressResponse;
@@ -34,6 +35,9 @@ class AddressServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private AddressBookCache addressBookCache = new AddressBookCache(100, 60_000);
+
     @InjectMocks
     private AddressService addressService;
 
@@ -82,8 +86,9 @@ class AddressServiceTest {
     @DisplayName("Should create address successfully")
     void createAddress_Success() {
         // Given
+        addressRequest.setIsDefault(false);
+        testAddress.setDefault(false);
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(addressRepository.findByUserIdAndIsDefaultTrue(1L)).thenReturn(Optional.empty());
         when(addressRepository.save(any(Address.class))).thenReturn(testAddress);
 
         // When
@@ -94,6 +99,7 @@ class AddressServiceTest {
         assertEquals("John Doe", response.getFullName());
         assertEquals("123 Main St", response.getAddressLine1());
         verify(addressRepository, times(1)).save(any(Address.class));
+        verify(addressRepository, never()).setDefaultAddress(anyLong(), anyLong());
     }
 
     @Test
@@ -111,17 +117,10 @@ class AddressServiceTest {
     }
 
     @Test
-    @DisplayName("Should unset other default addresses when creating new default")
+    @DisplayName("Should move the default flag in one statement when creating new default")
     void createAddress_UnsetOtherDefaults() {
         // Given
-        Address existingDefault = Address.builder()
-                .id(2L)
-                .user(testUser)
-                .isDefault(true)
-                .build();
-
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(addressRepository.findByUserIdAndIsDefaultTrue(1L)).thenReturn(Optional.of(existingDefault));
         when(addressRepository.save(any(Address.class))).thenReturn(testAddress);
 
         // When
@@ -129,7 +128,9 @@ class AddressServiceTest {
 
         // Then
         assertNotNull(response);
-        verify(addressRepository, times(2)).save(any(Address.class)); // Once for unset, once for new
+        verify(addressRepository, times(1)).save(any(Address.class));
+        verify(addressRepository, times(1)).setDefaultAddress(1L, 1L);
+        verify(addressRepository, never()).findByUserIdAndIsDefaultTrue(anyLong());
     }
 
     // ==================== GET ADDRESS TESTS ====================
@@ -177,6 +178,25 @@ class AddressServiceTest {
         verify(addressRepository, times(1)).findByUserIdOrderByIsDefaultDescCreatedAtDesc(1L);
     }
 
+    @Test
+    @DisplayName("Should serve the address book from cache until the user writes")
+    void getUserAddresses_CachedUntilWrite() {
+        // Given
+        when(addressRepository.findByUserIdOrderByIsDefaultDescCreatedAtDesc(1L)).thenReturn(List.of(testAddress));
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
+        when(addressRepository.save(any(Address.class))).thenReturn(testAddress);
+
+        // When
+        addressService.getUserAddresses(1L);
+        addressService.getUserAddresses(1L);
+        addressService.updateAddress(1L, addressRequest);
+        addressService.getUserAddresses(1L);
+
+        // Then
+        verify(addressRepository, times(2)).findByUserIdOrderByIsDefaultDescCreatedAtDesc(1L);
+        verify(addressBookCache).evict(1L);
+    }
+
     // ==================== UPDATE ADDRESS TESTS ====================
 
     @Test
@@ -193,6 +213,7 @@ class AddressServiceTest {
         // Then
         assertNotNull(response);
         verify(addressRepository, times(1)).save(any(Address.class));
+        verify(addressRepository, times(1)).setDefaultAddress(1L, 1L);
     }
 
     @Test
@@ -208,18 +229,12 @@ class AddressServiceTest {
     }
 
     @Test
-    @DisplayName("Should unset other defaults when updating to default")
+    @DisplayName("Should move the default flag in one statement when updating to default")
     void updateAddress_UnsetOtherDefaults() {
         // Given
         testAddress.setDefault(false);
-        Address existingDefault = Address.builder()
-                .id(2L)
-                .user(testUser)
-                .isDefault(true)
-                .build();
 
         when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
-        when(addressRepository.findByUserIdAndIsDefaultTrue(1L)).thenReturn(Optional.of(existingDefault));
         when(addressRepository.save(any(Address.class))).thenReturn(testAddress);
 
         // When
@@ -227,7 +242,9 @@ class AddressServiceTest {
 
         // Then
         assertNotNull(response);
-        verify(addressRepository, times(2)).save(any(Address.class));
+        verify(addressRepository, times(1)).save(any(Address.class));
+        verify(addressRepository, times(1)).setDefaultAddress(1L, 1L);
+        verify(addressRepository, never()).findByUserIdAndIsDefaultTrue(anyLong());
     }
 
     // ==================== DELETE ADDRESS TESTS ====================
@@ -0,0 +1,128 @@
+package works.jayesh.demo.analytics.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import works.jayesh.demo.analytics.model.dto.BackfillResponse;
+import works.jayesh.demo.analytics.model.dto.ProductSalesResponse;
+import works.jayesh.demo.analytics.model.dto.SalesBucketResponse;
+import works.jayesh.demo.analytics.model.entity.RollupGranularity;
+import works.jayesh.demo.analytics.service.AnalyticsService;
+import works.jayesh.demo.common.exception.GlobalExceptionHandler;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalyticsController API Tests")
+class AnalyticsControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @InjectMocks
+    private AnalyticsController analyticsController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(analyticsController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should get hourly sales series")
+    void getSalesSeries_Success() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 3, 2, 0, 0);
+        when(analyticsService.getSalesSeries(RollupGranularity.HOUR, from, to, OrderStatus.DELIVERED))
+                .thenReturn(List.of(SalesBucketResponse.builder()
+                        .bucketStart(from)
+                        .revenue(new BigDecimal("250.00"))
+                        .units(5L)
+                        .orderCount(2L)
+                        .build()));
+
+        mockMvc.perform(get("/api/analytics/sales")
+                        .param("granularity", "HOUR")
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-03-02T00:00:00")
+                        .param("status", "DELIVERED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].revenue").value(250.00))
+                .andExpect(jsonPath("$.data[0].orderCount").value(2));
+    }
+
+    @Test
+    @DisplayName("Should get top products with default day granularity")
+    void getTopProducts_Success() throws Exception {
+        when(analyticsService.getTopProducts(eq(RollupGranularity.DAY), eq(LocalDateTime.of(2026, 3, 1, 0, 0)),
+                eq(LocalDateTime.of(2026, 4, 1, 0, 0)), eq(null), eq(5)))
+                .thenReturn(List.of(ProductSalesResponse.builder()
+                        .productId(1L)
+                        .productName("Smartphone X")
+                        .revenue(new BigDecimal("999.99"))
+                        .units(1L)
+                        .orderCount(1L)
+                        .build()));
+
+        mockMvc.perform(get("/api/analytics/products/top")
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-04-01T00:00:00")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].productName").value("Smartphone X"));
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted range")
+    void getStatusBreakdown_InvalidRange() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 2, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 3, 1, 0, 0);
+        when(analyticsService.getStatusBreakdown(RollupGranularity.DAY, from, to))
+                .thenThrow(new IllegalStateException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/api/analytics/status")
+                        .param("from", "2026-03-02T00:00:00")
+                        .param("to", "2026-03-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should backfill rollups for a date range")
+    void backfill_Success() throws Exception {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 2, 1);
+        when(analyticsService.backfill(from, to)).thenReturn(BackfillResponse.builder()
+                .from(from)
+                .to(to)
+                .days(31)
+                .rollupRows(420L)
+                .build());
+
+        mockMvc.perform(post("/api/analytics/backfill")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-02-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.days").value(31))
+                .andExpect(jsonPath("$.data.rollupRows").value(420));
+    }
+}
@@ -0,0 +1,191 @@
+package works.jayesh.demo.analytics.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import works.jayesh.demo.order.model.entity.Order;
+import works.jayesh.demo.order.model.entity.OrderItem;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesRollupRecorder Unit Tests")
+class SalesRollupRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SalesRollupRecorder salesRollupRecorder;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        Category category = Category.builder().id(7L).build();
+        Product phone = Product.builder().id(1L).category(category).build();
+        Product case_ = Product.builder().id(2L).category(category).build();
+
+        order = Order.builder()
+                .id(100L)
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal("120.00"))
+                .createdAt(LocalDateTime.of(2026, 3, 1, 14, 35))
+                .orderItems(new ArrayList<>())
+                .build();
+        order.getOrderItems().add(item(phone, 1, "90.00"));
+        order.getOrderItems().add(item(case_, 2, "10.00"));
+    }
+
+    @Test
+    @DisplayName("Should record product, category and total deltas for hour and day buckets")
+    void recordOrderCreated_BuildsDeltas() {
+        salesRollupRecorder.recordOrderCreated(order);
+
+        // 2 products + 1 category + 1 total, for each of HOUR and DAY
+        assertEquals(8, salesRollupRecorder.getPendingCount());
+
+        List<Object[]> batch = flushAndCapture();
+        Object[] hourTotal = find(batch, "HOUR", "TOTAL", 0L, "PENDING");
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2026, 3, 1, 14, 0)), hourTotal[1]);
+        assertEquals(0, new BigDecimal("120.00").compareTo((BigDecimal) hourTotal[5]));
+        assertEquals(3L, hourTotal[6]);
+        assertEquals(1L, hourTotal[7]);
+
+        Object[] dayCategory = find(batch, "DAY", "CATEGORY", 7L, "PENDING");
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2026, 3, 1, 0, 0)), dayCategory[1]);
+        assertEquals(0, new BigDecimal("110.00").compareTo((BigDecimal) dayCategory[5]));
+        assertEquals(3L, dayCategory[6]);
+        assertEquals(1L, dayCategory[7]);
+        assertEquals(0, salesRollupRecorder.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should move an order's contribution between statuses")
+    void recordStatusChange_MovesContribution() {
+        order.setStatus(OrderStatus.CANCELLED);
+
+        salesRollupRecorder.recordStatusChange(order, OrderStatus.PENDING);
+
+        List<Object[]> batch = flushAndCapture();
+        Object[] removed = find(batch, "DAY", "PRODUCT", 2L, "PENDING");
+        assertEquals(0, new BigDecimal("-20.00").compareTo((BigDecimal) removed[5]));
+        assertEquals(-2L, removed[6]);
+        assertEquals(-1L, removed[7]);
+
+        Object[] added = find(batch, "DAY", "PRODUCT", 2L, "CANCELLED");
+        assertEquals(2L, added[6]);
+        assertEquals(1L, added[7]);
+    }
+
+    @Test
+    @DisplayName("Should skip unchanged status and net-zero deltas")
+    void recordStatusChange_NoChange() {
+        salesRollupRecorder.recordStatusChange(order, OrderStatus.PENDING);
+        assertEquals(0, salesRollupRecorder.getPendingCount());
+
+        salesRollupRecorder.recordOrderCreated(order);
+        order.setStatus(OrderStatus.CONFIRMED);
+        salesRollupRecorder.recordStatusChange(order, OrderStatus.PENDING);
+        order.setStatus(OrderStatus.PENDING);
+        salesRollupRecorder.recordStatusChange(order, OrderStatus.CONFIRMED);
+
+        List<Object[]> batch = flushAndCapture();
+        assertTrue(batch.stream().allMatch(row -> "PENDING".equals(row[4])));
+        assertEquals(8, batch.size());
+    }
+
+    @Test
+    @DisplayName("Should keep deltas when the flush fails")
+    void flush_FailureRetainsDeltas() {
+        salesRollupRecorder.recordOrderCreated(order);
+        when(jdbcTemplate.batchUpdate(eq(SalesRollupRecorder.MERGE_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        salesRollupRecorder.flush();
+
+        assertEquals(8, salesRollupRecorder.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing is pending")
+    void flush_NothingPending() {
+        salesRollupRecorder.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should drop the deltas a rebuild counted and hold back merges into its range")
+    @SuppressWarnings("unchecked")
+    void rebuild_HoldsRange() {
+        LocalDateTime day = LocalDate.of(2026, 3, 1).atStartOfDay();
+        salesRollupRecorder.recordOrderCreated(order);
+        order.setCreatedAt(day.plusDays(1).plusHours(9));
+        salesRollupRecorder.recordOrderCreated(order);
+
+        Long rows = salesRollupRecorder.rebuild(day, day.plusDays(1), TransactionOperations.withoutTransaction(),
+                status -> {
+                    // An order committed while the day is rebuilt merges only after the rebuild
+                    order.setCreatedAt(day.plusHours(9));
+                    salesRollupRecorder.recordOrderCreated(order);
+                    salesRollupRecorder.flush();
+                    return 42L;
+                });
+
+        assertEquals(42L, rows);
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(SalesRollupRecorder.MERGE_SQL), captor.capture());
+        assertEquals(8, captor.getValue().size());
+        assertTrue(captor.getValue().stream()
+                .noneMatch(row -> ((Timestamp) row[1]).toLocalDateTime().isBefore(day.plusDays(1))));
+        assertEquals(8, salesRollupRecorder.getPendingCount());
+    }
+
+    private OrderItem item(Product product, int quantity, String unitPrice) {
+        BigDecimal price = new BigDecimal(unitPrice);
+        return OrderItem.builder()
+                .order(order)
+                .product(product)
+                .quantity(quantity)
+                .unitPrice(price)
+                .totalPrice(price.multiply(BigDecimal.valueOf(quantity)))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> flushAndCapture() {
+        salesRollupRecorder.flush();
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(SalesRollupRecorder.MERGE_SQL), captor.capture());
+        return captor.getValue();
+    }
+
+    private Object[] find(List<Object[]> batch, String granularity, String dimension, Long id, String status) {
+        return batch.stream()
+                .filter(row -> granularity.equals(row[0]) && dimension.equals(row[2])
+                        && id.equals(row[3]) && status.equals(row[4]))
+                .findFirst()
+                .orElseThrow();
+    }
+}
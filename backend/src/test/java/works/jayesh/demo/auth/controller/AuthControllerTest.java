@@ -315,6 +315,24 @@ class AuthControllerTest {
         verify(authService, never()).refreshAccessToken(any());
     }
 
+    @Test
+    @DisplayName("POST /api/auth/logout - Should revoke the session and return 200")
+    void logout_Success() throws Exception {
+        // Given
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("session-refresh-token");
+
+        // When & Then
+        mockMvc.perform(post("/api/auth/logout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Logged out successfully"));
+
+        verify(authService, times(1)).logout("session-refresh-token");
+    }
+
     @Test
     @DisplayName("POST /api/auth/register/password - Should handle malformed JSON")
     void registerWithPassword_MalformedJson() throws Exception {
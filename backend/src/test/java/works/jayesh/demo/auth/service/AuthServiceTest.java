@@ -23,6 +23,8 @@ import works.jayesh.demo.user.model.entity.User;
 import works.jayesh.demo.user.model.entity.UserRole;
 import works.jayesh.demo.user.model.entity.UserStatus;
 import works.jayesh.demo.user.repository.UserRepository;
+import works.jayesh.demo.user.service.LoginActivityRecorder;
+import works.jayesh.demo.user.service.UserSearchIndex;
 
 import java.util.Optional;
 
@@ -55,6 +57,15 @@ class AuthServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private LoginActivityRecorder loginActivityRecorder;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -99,7 +110,7 @@ class AuthServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(userDetailsService.loadUserByUsername(anyString())).thenReturn(userDetails);
         when(jwtTokenProvider.generateAccessToken(any(UserDetails.class))).thenReturn("accessToken");
-        when(jwtTokenProvider.generateRefreshToken(any(UserDetails.class))).thenReturn("refreshToken");
+        when(refreshTokenService.issue(1L)).thenReturn("refreshToken");
         doNothing().when(emailService).sendWelcomeEmail(anyString(), anyString());
 
         // When
@@ -109,7 +120,7 @@ class AuthServiceTest {
         assertNotNull(response);
         assertEquals("accessToken", response.getAccessToken());
         assertEquals("refreshToken", response.getRefreshToken());
-        verify(userRepository, times(2)).save(any(User.class)); // Called once in register, once in generateAuthResponse
+        verify(userRepository, times(1)).save(any(User.class)); // Refresh tokens live in their own table
         verify(emailService, times(1)).sendWelcomeEmail("test@example.com", "John");
     }
 
@@ -167,7 +178,7 @@ class AuthServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(userDetailsService.loadUserByUsername(anyString())).thenReturn(userDetails);
         when(jwtTokenProvider.generateAccessToken(any(UserDetails.class))).thenReturn("accessToken");
-        when(jwtTokenProvider.generateRefreshToken(any(UserDetails.class))).thenReturn("refreshToken");
+        when(refreshTokenService.issue(1L)).thenReturn("refreshToken");
 
         // When
         AuthResponse response = authService.registerWithOtp(otpRequest);
@@ -231,10 +242,9 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(userDetailsService.loadUserByUsername(anyString())).thenReturn(userDetails);
         when(jwtTokenProvider.generateAccessToken(any(UserDetails.class))).thenReturn("accessToken");
-        when(jwtTokenProvider.generateRefreshToken(any(UserDetails.class))).thenReturn("refreshToken");
+        when(refreshTokenService.issue(1L)).thenReturn("refreshToken");
 
         // When
         AuthResponse response = authService.loginWithPassword(loginRequest);
@@ -244,6 +254,8 @@ class AuthServiceTest {
         assertEquals("accessToken", response.getAccessToken());
         assertEquals("refreshToken", response.getRefreshToken());
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(loginActivityRecorder).recordLogin(testUser.getId());
+        verify(userRepository, never()).save(any(User.class)); // Last login is deferred, refresh token stored separately
     }
 
     @Test
@@ -280,10 +292,9 @@ class AuthServiceTest {
 
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
         when(otpService.verifyOtp(anyString(), anyString())).thenReturn(true);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(userDetailsService.loadUserByUsername(anyString())).thenReturn(userDetails);
         when(jwtTokenProvider.generateAccessToken(any(UserDetails.class))).thenReturn("accessToken");
-        when(jwtTokenProvider.generateRefreshToken(any(UserDetails.class))).thenReturn("refreshToken");
+        when(refreshTokenService.issue(1L)).thenReturn("refreshToken");
 
         // When
         AuthResponse response = authService.loginWithOtp(otpLoginRequest);
@@ -292,6 +303,7 @@ class AuthServiceTest {
         assertNotNull(response);
         assertEquals("accessToken", response.getAccessToken());
         verify(otpService, times(1)).verifyOtp("test@example.com", "123456");
+        verify(loginActivityRecorder).recordLogin(testUser.getId());
     }
 
     @Test
@@ -330,22 +342,16 @@ class AuthServiceTest {
     // ==================== REFRESH TOKEN TESTS ====================
 
     @Test
-    @DisplayName("Should refresh access token successfully")
+    @DisplayName("Should rotate the refresh token without writing the user")
     void refreshAccessToken_Success() {
         // Given
-        RefreshTokenRequest refreshRequest = new RefreshTokenRequest();
-        refreshRequest.setRefreshToken("validRefreshToken");
-
         UserDetails userDetails = mock(UserDetails.class);
-        testUser.setRefreshToken("validRefreshToken");
 
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(true);
-        when(jwtTokenProvider.extractUsername(anyString())).thenReturn("test@example.com");
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
+        when(refreshTokenService.rotate("validRefreshToken"))
+                .thenReturn(new RefreshTokenService.Rotation(1L, "newRefreshToken"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(userDetailsService.loadUserByUsername(anyString())).thenReturn(userDetails);
         when(jwtTokenProvider.generateAccessToken(any(UserDetails.class))).thenReturn("newAccessToken");
-        when(jwtTokenProvider.generateRefreshToken(any(UserDetails.class))).thenReturn("newRefreshToken");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // When
         AuthResponse response = authService.refreshAccessToken("validRefreshToken");
@@ -353,20 +359,30 @@ class AuthServiceTest {
         // Then
         assertNotNull(response);
         assertEquals("newAccessToken", response.getAccessToken());
+        assertEquals("newRefreshToken", response.getRefreshToken());
+        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
     @DisplayName("Should throw exception when refresh token is invalid")
     void refreshAccessToken_InvalidToken() {
         // Given
-        RefreshTokenRequest refreshRequest = new RefreshTokenRequest();
-        refreshRequest.setRefreshToken("invalidToken");
-
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(false);
+        when(refreshTokenService.rotate("invalidToken"))
+                .thenThrow(new IllegalStateException("Invalid or expired refresh token"));
 
         // When & Then
         assertThrows(IllegalStateException.class, () -> {
             authService.refreshAccessToken("invalidToken");
         });
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should revoke the session on logout")
+    void logout_RevokesSession() {
+        authService.logout("someRefreshToken");
+
+        verify(refreshTokenService).revoke("someRefreshToken");
     }
 }
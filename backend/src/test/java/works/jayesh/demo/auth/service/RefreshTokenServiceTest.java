@@ -0,0 +1,188 @@
+package works.jayesh.demo.auth.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import works.jayesh.demo.auth.model.entity.RefreshToken;
+import works.jayesh.demo.auth.model.entity.RefreshTokenStatus;
+import works.jayesh.demo.auth.repository.RefreshTokenRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    // Stands in for the refresh_tokens table
+    private final Map<String, RefreshToken> rows = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpiration", 604800000L);
+        ReflectionTestUtils.setField(refreshTokenService, "cacheSize", 100);
+
+        lenient().when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            rows.put(token.getTokenId(), token);
+            return token;
+        });
+        lenient().when(refreshTokenRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        lenient().when(refreshTokenRepository.markRotated(anyString(), eq(RefreshTokenStatus.ACTIVE), eq(RefreshTokenStatus.ROTATED)))
+                .thenAnswer(invocation -> {
+                    RefreshToken token = rows.get(invocation.<String>getArgument(0));
+                    if (token == null || token.getStatus() != RefreshTokenStatus.ACTIVE) {
+                        return 0;
+                    }
+                    token.setStatus(RefreshTokenStatus.ROTATED);
+                    return 1;
+                });
+        lenient().when(refreshTokenRepository.revokeFamily(anyString(), eq(RefreshTokenStatus.REVOKED)))
+                .thenAnswer(invocation -> {
+                    String familyId = invocation.getArgument(0);
+                    rows.values().stream()
+                            .filter(token -> token.getFamilyId().equals(familyId))
+                            .forEach(token -> token.setStatus(RefreshTokenStatus.REVOKED));
+                    return 1;
+                });
+    }
+
+    private RefreshToken row(String presentedToken) {
+        return rows.get(presentedToken.substring(0, presentedToken.indexOf('.')));
+    }
+
+    @Test
+    @DisplayName("Should store only a hash of the issued secret")
+    void issue_StoresHash() {
+        String token = refreshTokenService.issue(1L);
+
+        RefreshToken stored = row(token);
+        String secret = token.substring(token.indexOf('.') + 1);
+        assertEquals(1L, stored.getUserId());
+        assertEquals(RefreshTokenStatus.ACTIVE, stored.getStatus());
+        assertEquals(64, stored.getTokenHash().length());
+        assertNotEquals(secret, stored.getTokenHash());
+        assertTrue(stored.getExpiresAt().isAfter(LocalDateTime.now().plusDays(6)));
+    }
+
+    @Test
+    @DisplayName("Should give every login its own family so devices are independent")
+    void issue_SeparateFamilies() {
+        String phone = refreshTokenService.issue(1L);
+        String laptop = refreshTokenService.issue(1L);
+
+        assertNotEquals(row(phone).getFamilyId(), row(laptop).getFamilyId());
+
+        refreshTokenService.rotate(phone);
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(laptop);
+        assertEquals(1L, rotation.userId());
+    }
+
+    @Test
+    @DisplayName("Should rotate a token into a successor in the same family")
+    void rotate_Success() {
+        String token = refreshTokenService.issue(1L);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+
+        assertEquals(1L, rotation.userId());
+        assertNotEquals(token, rotation.refreshToken());
+        assertEquals(RefreshTokenStatus.ROTATED, row(token).getStatus());
+        assertEquals(RefreshTokenStatus.ACTIVE, row(rotation.refreshToken()).getStatus());
+        assertEquals(row(token).getFamilyId(), row(rotation.refreshToken()).getFamilyId());
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a rotated token is presented again")
+    void rotate_ReuseRevokesFamily() {
+        String stolen = refreshTokenService.issue(1L);
+        String current = refreshTokenService.rotate(stolen).refreshToken();
+
+        IllegalStateException reuse = assertThrows(IllegalStateException.class,
+                () -> refreshTokenService.rotate(stolen));
+        assertTrue(reuse.getMessage().contains("reuse"));
+        assertEquals(RefreshTokenStatus.REVOKED, row(current).getStatus());
+        verify(transactionManager).commit(any());
+
+        assertThrows(IllegalStateException.class, () -> refreshTokenService.rotate(current));
+    }
+
+    @Test
+    @DisplayName("Should treat a token rotated elsewhere as reuse even when cached as active")
+    void rotate_ConcurrentRotationIsReuse() {
+        String token = refreshTokenService.issue(1L);
+        String otherSession = refreshTokenService.issue(2L);
+        refreshTokenService.revoke(token + "x"); // caches the token as active
+        row(token).setStatus(RefreshTokenStatus.ROTATED);
+
+        assertThrows(IllegalStateException.class, () -> refreshTokenService.rotate(token));
+        verify(refreshTokenRepository).revokeFamily(row(token).getFamilyId(), RefreshTokenStatus.REVOKED);
+        assertEquals(RefreshTokenStatus.ACTIVE, row(otherSession).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed, unknown, tampered and expired tokens")
+    void rotate_InvalidTokens() {
+        String token = refreshTokenService.issue(1L);
+        String tokenId = token.substring(0, token.indexOf('.'));
+
+        assertThrows(IllegalStateException.class, () -> refreshTokenService.rotate("not-a-token"));
+        assertThrows(IllegalStateException.class, () -> refreshTokenService.rotate("missing.secret"));
+        assertThrows(IllegalStateException.class, () -> refreshTokenService.rotate(tokenId + ".tampered"));
+
+        String expired = refreshTokenService.issue(1L);
+        row(expired).setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        assertThrows(IllegalStateException.class, () -> refreshTokenService.rotate(expired));
+
+        verify(refreshTokenRepository, never()).markRotated(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated validations from the cache")
+    void lookup_Cached() {
+        String token = refreshTokenService.issue(1L);
+        String tokenId = token.substring(0, token.indexOf('.'));
+
+        for (int i = 0; i < 10; i++) {
+            refreshTokenService.revoke(tokenId + ".wrong-secret");
+        }
+
+        verify(refreshTokenRepository, times(1)).findById(tokenId);
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should end only the presented session on revoke")
+    void revoke_EndsSession() {
+        String phone = refreshTokenService.issue(1L);
+        String laptop = refreshTokenService.issue(1L);
+
+        refreshTokenService.revoke(phone);
+
+        assertEquals(RefreshTokenStatus.REVOKED, row(phone).getStatus());
+        assertEquals(RefreshTokenStatus.ACTIVE, row(laptop).getStatus());
+        assertThrows(IllegalStateException.class, () -> refreshTokenService.rotate(phone));
+    }
+}
@@ -97,7 +97,7 @@ class CartServiceTest {
     @DisplayName("Should add product to cart successfully")
     void addToCart_Success() {
         // Given
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
         when(cartItemRepository.findByCartIdAndProductId(anyLong(), anyLong())).thenReturn(Optional.empty());
         when(cartItemRepository.save(any(CartItem.class))).thenReturn(testCartItem);
@@ -115,7 +115,7 @@ class CartServiceTest {
     void addToCart_UpdateExistingItem() {
         // Given
         testCart.getItems().add(testCartItem);
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
         when(cartItemRepository.findByCartIdAndProductId(anyLong(), anyLong())).thenReturn(Optional.of(testCartItem));
         when(cartItemRepository.save(any(CartItem.class))).thenReturn(testCartItem);
@@ -132,7 +132,7 @@ class CartServiceTest {
     @DisplayName("Should throw exception when product not found")
     void addToCart_ProductNotFound() {
         // Given
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(productRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // When & Then
@@ -148,7 +148,7 @@ class CartServiceTest {
     void addToCart_InsufficientStock() {
         // Given
         testProduct.setStockQuantity(1); // Not enough for 2 items
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
 
         // When & Then
@@ -164,7 +164,7 @@ class CartServiceTest {
     void addToCart_CreateNewCart() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.empty());
         when(cartRepository.save(any(Cart.class))).thenReturn(testCart);
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
         when(cartItemRepository.findByCartIdAndProductId(anyLong(), anyLong())).thenReturn(Optional.empty());
@@ -184,7 +184,7 @@ class CartServiceTest {
     @DisplayName("Should update cart item quantity successfully")
     void updateCartItemQuantity_Success() {
         // Given
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(cartItemRepository.findByCartIdAndProductId(anyLong(), anyLong()))
                 .thenReturn(Optional.of(testCartItem));
         when(cartItemRepository.save(any(CartItem.class))).thenReturn(testCartItem);
@@ -202,7 +202,7 @@ class CartServiceTest {
     void updateCartItemQuantity_RemoveWhenZero() {
         // Given
         testCart.getItems().add(testCartItem);
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(cartItemRepository.findByCartIdAndProductId(anyLong(), anyLong()))
                 .thenReturn(Optional.of(testCartItem));
         doNothing().when(cartItemRepository).delete(any(CartItem.class));
@@ -219,7 +219,7 @@ class CartServiceTest {
     @DisplayName("Should throw exception when cart item not found")
     void updateCartItemQuantity_NotFound() {
         // Given
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(cartItemRepository.findByCartIdAndProductId(anyLong(), anyLong())).thenReturn(Optional.empty());
 
         // When & Then
@@ -233,7 +233,7 @@ class CartServiceTest {
     void updateCartItemQuantity_InsufficientStock() {
         // Given
         testProduct.setStockQuantity(3); // Not enough for 5 items
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(cartItemRepository.findByCartIdAndProductId(anyLong(), anyLong()))
                 .thenReturn(Optional.of(testCartItem));
 
@@ -250,7 +250,7 @@ class CartServiceTest {
     void removeFromCart_Success() {
         // Given
         testCart.getItems().add(testCartItem);
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(cartItemRepository.findByCartIdAndProductId(anyLong(), anyLong()))
                 .thenReturn(Optional.of(testCartItem));
         doNothing().when(cartItemRepository).delete(any(CartItem.class));
@@ -267,7 +267,7 @@ class CartServiceTest {
     @DisplayName("Should throw exception when removing non-existent item")
     void removeFromCart_NotFound() {
         // Given
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         when(cartItemRepository.findByCartIdAndProductId(anyLong(), anyLong())).thenReturn(Optional.empty());
 
         // When & Then
@@ -313,7 +313,7 @@ class CartServiceTest {
     void clearCart_Success() {
         // Given
         testCart.getItems().add(testCartItem);
-        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.findForUpdateByUserId(1L)).thenReturn(Optional.of(testCart));
         doNothing().when(cartItemRepository).deleteAll(anyList());
 
         // When
@@ -327,7 +327,7 @@ class CartServiceTest {
     @DisplayName("Should throw exception when clearing non-existent cart")
     void clearCart_NotFound() {
         // Given
-        when(cartRepository.findByUserId(anyLong())).thenReturn(Optional.empty());
+        when(cartRepository.findForUpdateByUserId(anyLong())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -0,0 +1,77 @@
+package works.jayesh.demo.common.buffer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CoalescingBuffer Unit Tests")
+class CoalescingBufferTest {
+
+    private CoalescingBuffer<Long, Long> buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new CoalescingBuffer<>("test deltas", Long::sum, delta -> delta == 0);
+    }
+
+    @Test
+    @DisplayName("Should combine values per key and hand them over in one batch")
+    void flush_CoalescesPerKey() {
+        buffer.add(1L, 2L);
+        buffer.add(1L, 3L);
+        buffer.add(2L, 1L);
+
+        Map<Long, Long> written = new HashMap<>();
+        assertEquals(2, buffer.flush(written::putAll));
+
+        assertEquals(Map.of(1L, 5L, 2L, 1L), written);
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.flush(batch -> fail("Nothing left to write")));
+    }
+
+    @Test
+    @DisplayName("Should put the batch back when the writer fails")
+    void flush_RequeuesOnFailure() {
+        buffer.add(1L, 2L);
+
+        assertEquals(0, buffer.flush(batch -> {
+            buffer.add(1L, 4L);
+            throw new IllegalStateException("database down");
+        }));
+
+        assertEquals(6L, buffer.get(1L));
+    }
+
+    @Test
+    @DisplayName("Should skip values that need no write and drop discarded keys")
+    void flush_SkipsAndDiscards() {
+        buffer.add(1L, 2L);
+        buffer.add(1L, -2L);
+        buffer.add(2L, 1L);
+        buffer.discard(2L);
+
+        assertEquals(0, buffer.flush(batch -> fail("Nothing to write")));
+        assertNull(buffer.get(1L));
+    }
+
+    @Test
+    @DisplayName("Should leave held keys pending and drop keys discarded by predicate")
+    void flush_HoldsAndDiscardsIf() {
+        buffer.add(1L, 2L);
+        buffer.add(2L, 3L);
+        buffer.add(3L, 4L);
+
+        Map<Long, Long> written = new HashMap<>();
+        assertEquals(1, buffer.flush(key -> key >= 2, written::putAll));
+        assertEquals(Map.of(1L, 2L), written);
+
+        buffer.discardIf(key -> key == 2);
+        assertNull(buffer.get(2L));
+        assertEquals(4L, buffer.get(3L));
+    }
+}
@@ -0,0 +1,83 @@
+package works.jayesh.demo.common.collection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LongIntHashMap Unit Tests")
+class LongIntHashMapTest {
+
+    @Test
+    @DisplayName("Should store, overwrite and look up entries")
+    void put_AndGet() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(7L, 1);
+        map.put(7L, 3);
+        map.put(Long.MAX_VALUE, 5);
+
+        assertEquals(3, map.get(7L, -1));
+        assertEquals(5, map.get(Long.MAX_VALUE, -1));
+        assertEquals(-1, map.get(8L, -1));
+        assertTrue(map.containsKey(7L));
+        assertFalse(map.containsKey(0L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    @DisplayName("Should count from zero and return the running total")
+    void addTo_Accumulates() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertEquals(2, map.addTo(42L, 2));
+        assertEquals(5, map.addTo(42L, 3));
+        assertEquals(5, map.get(42L, 0));
+    }
+
+    @Test
+    @DisplayName("Should agree with a HashMap across many resizes")
+    void addTo_MatchesHashMap() {
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(20_000);
+            map.addTo(key, 1);
+            expected.merge(key, 1, Integer::sum);
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should leave the original untouched when a copy changes")
+    void copy_IsIndependent() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(1L, 1);
+
+        LongIntHashMap copy = map.copy();
+        copy.put(1L, 2);
+        copy.put(2L, 2);
+
+        assertEquals(1, map.get(1L, 0));
+        assertFalse(map.containsKey(2L));
+        assertEquals(2, copy.size());
+    }
+
+    @Test
+    @DisplayName("Should reject the reserved zero key")
+    void put_ZeroKey() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, 1));
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+}
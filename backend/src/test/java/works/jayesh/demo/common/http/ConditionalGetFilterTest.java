@@ -0,0 +1,157 @@
+package works.jayesh.demo.common.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConditionalGetFilter Unit Tests")
+class ConditionalGetFilterTest {
+
+    private static final String BODY = "{\"success\":true,\"data\":{\"id\":1,\"name\":\"Widget\"}}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCache cache;
+    private ConditionalGetFilter filter;
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final AtomicInteger handlerCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ResponseCache(100, 1024 * 1024, 64 * 1024, meterRegistry);
+        versions.put(1L, 0L);
+        filter = new ConditionalGetFilter(List.of(
+                new ConditionalGetFilter.Route("/api/products/{productId}", Duration.ofSeconds(30), variables -> {
+                    Long version = versions.get(Long.valueOf(variables.get("productId")));
+                    return version != null ? ETags.strong("product", version) : null;
+                })), cache, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private final FilterChain handler = (request, response) -> {
+        handlerCalls.incrementAndGet();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    };
+
+    private MockHttpServletResponse get(String uri, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, handler);
+        return response;
+    }
+
+    private double timerCount(String result) {
+        return meterRegistry.get(ConditionalGetFilter.REQUESTS_METRIC).tag("result", result).timer().count();
+    }
+
+    @Test
+    @DisplayName("Should render once and serve later anonymous requests from the shared cache")
+    void doFilter_ServesAnonymousHitsFromCache() throws Exception {
+        MockHttpServletResponse first = get("/api/products/1", null);
+        MockHttpServletResponse second = get("/api/products/1", null);
+
+        assertEquals(1, handlerCalls.get());
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, second.getContentType());
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals("max-age=30, public", second.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(1, timerCount("miss"));
+        assertEquals(1, timerCount("hit"));
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 and count the bytes saved")
+    void doFilter_NotModified() throws Exception {
+        String etag = get("/api/products/1", null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = get("/api/products/1", "\"other\", W/" + etag);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, handlerCalls.get());
+        assertEquals(BODY.length(), meterRegistry.get(ConditionalGetFilter.BYTES_SAVED_METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("Should render again once the validator's tag changes")
+    void doFilter_TagChanged() throws Exception {
+        String before = get("/api/products/1", null).getHeader(HttpHeaders.ETAG);
+        versions.put(1L, 1L);
+
+        MockHttpServletResponse response = get("/api/products/1", before);
+
+        assertEquals(200, response.getStatus());
+        assertNotEquals(before, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, handlerCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should send authenticated callers to the handler with private caching")
+    void doFilter_AuthenticatedBypassesCache() throws Exception {
+        get("/api/products/1", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("customer", null, List.of()));
+
+        MockHttpServletResponse response = get("/api/products/1", null);
+
+        assertEquals(2, handlerCalls.get());
+        assertEquals("max-age=30, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(1, timerCount("bypass"));
+    }
+
+    @Test
+    @DisplayName("Should pass through untouched when the validator finds nothing or can't parse the path")
+    void doFilter_PassesThroughWithoutTag() throws Exception {
+        MockHttpServletResponse missing = get("/api/products/99", null);
+        MockHttpServletResponse literal = get("/api/products/search", null);
+
+        assertEquals(2, handlerCalls.get());
+        assertNull(missing.getHeader(HttpHeaders.ETAG));
+        assertNull(literal.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used bodies beyond the byte limit")
+    void responseCache_EvictsBySize() {
+        ResponseCache small = new ResponseCache(100, 10, 10, meterRegistry);
+        small.put("a", new ResponseCache.Entry("\"1\"", "application/json", new byte[4]));
+        small.put("b", new ResponseCache.Entry("\"1\"", "application/json", new byte[4]));
+        small.get("a", "\"1\"");
+        small.put("c", new ResponseCache.Entry("\"1\"", "application/json", new byte[4]));
+        small.put("d", new ResponseCache.Entry("\"1\"", "application/json", new byte[11]));
+
+        assertNotNull(small.get("a", "\"1\""));
+        assertNull(small.get("b", "\"1\""));
+        assertNull(small.get("d", "\"1\""));
+        assertNull(small.get("a", "\"2\""));
+        assertEquals(8, small.bytes());
+    }
+}
@@ -0,0 +1,151 @@
+package works.jayesh.demo.common.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("QueryStatsCollector Unit Tests")
+class QueryStatsCollectorTest {
+
+    private static final String SELECT_PRODUCT = "select p.id, p.name from products p where p.id=?";
+    private static final String SELECT_IMAGES = "select i.url from product_images i where i.product_id=?";
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryStatsCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new QueryStatsCollector(meterRegistry, 500, 3, 100);
+    }
+
+    private void execute(String sql, boolean batch) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setBatch(batch);
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        collector.beforeQuery(info, queries);
+        collector.afterQuery(info, queries);
+    }
+
+    private void fetchRows(int rows) throws NoSuchMethodException {
+        ResultSet resultSet = mock(ResultSet.class);
+        for (int i = 0; i <= rows; i++) {
+            MethodExecutionContext context = new MethodExecutionContext();
+            context.setTarget(resultSet);
+            context.setMethod(ResultSet.class.getMethod("next"));
+            context.setResult(i < rows);
+            collector.afterMethod(context);
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish statements and rows per request by route")
+    void end_PublishesRequestMeters() throws NoSuchMethodException {
+        collector.begin();
+        execute(SELECT_PRODUCT, false);
+        fetchRows(1);
+        execute(SELECT_IMAGES, false);
+        fetchRows(4);
+        collector.end("GET", "/api/products/{productId}", "corr-1");
+
+        assertEquals(2.0, meterRegistry.get(QueryStatsCollector.QUERIES_METRIC)
+                .tags("method", "GET", "route", "/api/products/{productId}").summary().totalAmount());
+        assertEquals(5.0, meterRegistry.get(QueryStatsCollector.ROWS_METRIC).summary().totalAmount());
+        assertEquals(1, meterRegistry.get(QueryStatsCollector.TIME_METRIC).timer().count());
+        assertNull(meterRegistry.find(QueryStatsCollector.N_PLUS_ONE_METRIC).counter());
+
+        QueryReport.Route route = collector.report(10).routes().get(0);
+        assertEquals("GET /api/products/{productId}", route.route());
+        assertEquals(2.0, route.queriesPerRequest());
+        assertEquals(5.0, route.rowsPerRequest());
+    }
+
+    @Test
+    @DisplayName("Should report a statement repeated within one request as N+1")
+    void end_DetectsRepeatedStatement() {
+        collector.begin();
+        execute(SELECT_PRODUCT, false);
+        for (int i = 0; i < 3; i++) {
+            execute(SELECT_IMAGES, false);
+        }
+        collector.end("GET", "/api/products", "corr-2");
+
+        assertEquals(1.0, meterRegistry.get(QueryStatsCollector.N_PLUS_ONE_METRIC)
+                .tags("route", "/api/products").counter().count());
+        QueryReport report = collector.report(10);
+        QueryReport.NPlusOne detection = report.nPlusOne().get(0);
+        assertEquals("corr-2", detection.correlationId());
+        assertEquals(SELECT_IMAGES, detection.sql());
+        assertEquals(3, detection.executions());
+        QueryReport.Statement images = report.statements().stream()
+                .filter(statement -> statement.sql().equals(SELECT_IMAGES))
+                .findFirst().orElseThrow();
+        assertEquals(3, images.executions());
+        assertEquals(1, images.nPlusOneRequests());
+        assertTrue(images.nPlusOneRoutes().contains("GET /api/products"));
+    }
+
+    @Test
+    @DisplayName("Should not treat batched writes as N+1")
+    void end_IgnoresBatches() {
+        collector.begin();
+        for (int i = 0; i < 5; i++) {
+            execute("insert into order_items (order_id, product_id) values (?, ?)", true);
+        }
+        collector.end("POST", "/api/orders", "corr-3");
+
+        assertNull(meterRegistry.find(QueryStatsCollector.N_PLUS_ONE_METRIC).counter());
+        assertTrue(collector.report(10).nPlusOne().isEmpty());
+        assertEquals(5.0, meterRegistry.get(QueryStatsCollector.QUERIES_METRIC).summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should aggregate statements outside a request without request meters")
+    void afterQuery_OutsideRequest() throws NoSuchMethodException {
+        execute(SELECT_PRODUCT, false);
+        fetchRows(2);
+        collector.end("GET", "/api/products", null);
+
+        assertEquals(1, collector.report(10).statements().get(0).executions());
+        assertTrue(collector.report(10).routes().isEmpty());
+        assertNull(meterRegistry.find(QueryStatsCollector.QUERIES_METRIC).summary());
+    }
+
+    @Test
+    @DisplayName("Should stop tracking new statements once the limit is reached")
+    void afterQuery_BoundsStatements() {
+        collector = new QueryStatsCollector(meterRegistry, 500, 3, 2);
+        for (int i = 0; i < 5; i++) {
+            execute("select * from products where id in (" + i + ")", false);
+        }
+
+        assertEquals(2, collector.report(10).statements().size());
+    }
+
+    @Test
+    @DisplayName("Should clear the report on reset")
+    void reset_ClearsReport() {
+        collector.begin();
+        for (int i = 0; i < 3; i++) {
+            execute(SELECT_IMAGES, false);
+        }
+        collector.end("GET", "/api/products", "corr-4");
+
+        collector.reset();
+
+        QueryReport report = collector.report(10);
+        assertTrue(report.statements().isEmpty());
+        assertTrue(report.routes().isEmpty());
+        assertTrue(report.nPlusOne().isEmpty());
+    }
+}
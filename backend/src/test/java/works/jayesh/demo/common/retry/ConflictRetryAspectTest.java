@@ -0,0 +1,131 @@
+package works.jayesh.demo.common.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConflictRetryAspect Unit Tests")
+class ConflictRetryAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContendedService service;
+    private ContendedService target;
+
+    static class ContendedService {
+        final AtomicInteger calls = new AtomicInteger();
+        int conflictsBeforeSuccess;
+
+        @RetryOnConflict(maxAttempts = 3, backoffMs = 1)
+        public String update() {
+            if (calls.incrementAndGet() <= conflictsBeforeSuccess) {
+                throw new ObjectOptimisticLockingFailureException("Product", 1L);
+            }
+            return "ok";
+        }
+
+        @RetryOnConflict(backoffMs = 1)
+        public void failWith(RuntimeException ex) {
+            calls.incrementAndGet();
+            throw ex;
+        }
+
+        @RetryOnConflict
+        public void withDefaults() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new ContendedService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ConflictRetryAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.counter("optimistic.conflicts",
+                "method", "ContendedService.update", "outcome", outcome).count();
+    }
+
+    @Test
+    @DisplayName("Should retry until the update wins and count each lost race")
+    void retry_SucceedsAfterConflicts() {
+        target.conflictsBeforeSuccess = 2;
+
+        assertEquals("ok", service.update());
+
+        assertEquals(3, target.calls.get());
+        assertEquals(2, conflicts("retried"));
+        assertEquals(0, conflicts("exhausted"));
+        assertEquals(1, meterRegistry.counter("optimistic.conflict.calls",
+                "method", "ContendedService.update").count());
+    }
+
+    @Test
+    @DisplayName("Should give up after maxAttempts and rethrow the conflict")
+    void retry_Exhausted() {
+        target.conflictsBeforeSuccess = 10;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.update());
+
+        assertEquals(3, target.calls.get());
+        assertEquals(2, conflicts("retried"));
+        assertEquals(1, conflicts("exhausted"));
+    }
+
+    @Test
+    @DisplayName("Should retry lock timeouts like optimistic conflicts")
+    void retry_LockTimeout() {
+        assertThrows(CannotAcquireLockException.class, () -> service.failWith(new CannotAcquireLockException("timeout")));
+
+        assertEquals(5, target.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry other failures")
+    void retry_IgnoresOtherExceptions() {
+        assertThrows(IllegalStateException.class, () -> service.failWith(new IllegalStateException("no")));
+
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should leave conflicts to the outer caller inside an open transaction")
+    void retry_SkippedInsideTransaction() {
+        target.conflictsBeforeSuccess = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.update());
+
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should keep jittered backoff within the doubling ceiling")
+    void backoff_BoundedByCeiling() throws NoSuchMethodException {
+        RetryOnConflict defaults = ContendedService.class.getMethod("withDefaults")
+                .getAnnotation(RetryOnConflict.class);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(ConflictRetryAspect.backoff(defaults, 1) <= 20);
+            assertTrue(ConflictRetryAspect.backoff(defaults, 3) <= 80);
+            assertTrue(ConflictRetryAspect.backoff(defaults, 30) <= 500);
+        }
+    }
+}
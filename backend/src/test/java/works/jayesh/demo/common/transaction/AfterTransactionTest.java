@@ -0,0 +1,67 @@
+package works.jayesh.demo.common.transaction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AfterTransaction Unit Tests")
+class AfterTransactionTest {
+
+    private final List<String> ran = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    @Test
+    @DisplayName("Should run immediately outside a transaction")
+    void afterCommit_NoTransaction() {
+        AfterTransaction.afterCommit(() -> ran.add("commit"));
+        AfterTransaction.afterCompletion(() -> ran.add("completion"));
+
+        assertEquals(List.of("commit", "completion"), ran);
+    }
+
+    @Test
+    @DisplayName("Should defer until the transaction commits")
+    void afterCommit_DeferredUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        AfterTransaction.afterCommit(() -> ran.add("commit"));
+        AfterTransaction.afterCompletion(() -> ran.add("completion"));
+        assertTrue(ran.isEmpty());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of("commit", "completion"), ran);
+    }
+
+    @Test
+    @DisplayName("Should drop commit actions on rollback but still run completion actions")
+    void afterCommit_DroppedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        AfterTransaction.afterCommit(() -> ran.add("commit"));
+        AfterTransaction.afterCompletion(() -> ran.add("completion"));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(List.of("completion"), ran);
+    }
+}
@@ -0,0 +1,128 @@
+package works.jayesh.demo.config;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestLoggingInterceptor Unit Tests")
+class RequestLoggingInterceptorTest {
+
+    // Request timings come from the registry clock, so the tests advance it by hand
+    private final MockClock clock = new MockClock();
+    private SimpleMeterRegistry meterRegistry;
+    private RequestLoggingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        interceptor = new RequestLoggingInterceptor(meterRegistry, false, 1000, 10, new long[]{100, 500});
+    }
+
+    private MockHttpServletRequest request(String uri, String route) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        return request;
+    }
+
+    private void handle(RequestLoggingInterceptor interceptor, MockHttpServletRequest request, int status,
+                        Exception ex, long millis) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+        interceptor.preHandle(request, response, new Object());
+        clock.add(Duration.ofMillis(millis));
+        interceptor.afterCompletion(request, response, new Object(), ex);
+    }
+
+    @Test
+    @DisplayName("Should time requests by route template rather than raw URI")
+    void afterCompletion_TagsRouteTemplate() {
+        handle(interceptor, request("/api/products/1", "/api/products/{productId}"), 200, null, 20);
+        handle(interceptor, request("/api/products/2", "/api/products/{productId}"), 200, null, 20);
+        handle(interceptor, request("/api/products/3", "/api/products/{productId}"), 404, null, 20);
+
+        Timer ok = meterRegistry.get(RequestLoggingInterceptor.METRIC)
+                .tags("method", "GET", "route", "/api/products/{productId}", "status", "200",
+                        "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        Timer notFound = meterRegistry.get(RequestLoggingInterceptor.METRIC)
+                .tags("status", "404", "outcome", "CLIENT_ERROR")
+                .timer();
+        assertEquals(2, ok.count());
+        assertEquals(1, notFound.count());
+        assertEquals(2, meterRegistry.get(RequestLoggingInterceptor.METRIC).timers().size());
+    }
+
+    @Test
+    @DisplayName("Should publish the configured SLO buckets")
+    void afterCompletion_PublishesSloBuckets() {
+        handle(interceptor, request("/api/cart/user/1", "/api/cart/user/{userId}"), 200, null, 80);
+        handle(interceptor, request("/api/cart/user/1", "/api/cart/user/{userId}"), 200, null, 300);
+
+        Timer timer = meterRegistry.get(RequestLoggingInterceptor.METRIC).timer();
+        double[] buckets = Arrays.stream(timer.takeSnapshot().histogramCounts())
+                .mapToDouble(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+                .toArray();
+        assertTrue(Arrays.stream(buckets).anyMatch(bucket -> bucket == 100.0));
+        assertTrue(Arrays.stream(buckets).anyMatch(bucket -> bucket == 500.0));
+        CountAtBucket within100 = Arrays.stream(timer.takeSnapshot().histogramCounts())
+                .filter(bucket -> bucket.bucket(TimeUnit.MILLISECONDS) == 100.0)
+                .findFirst().orElseThrow();
+        assertEquals(1.0, within100.count());
+    }
+
+    @Test
+    @DisplayName("Should tag the exception and fall back to UNKNOWN without a route")
+    void afterCompletion_TagsException() {
+        handle(interceptor, new MockHttpServletRequest("POST", "/api/orders"), 500, new IllegalStateException("boom"), 20);
+
+        Timer timer = meterRegistry.get(RequestLoggingInterceptor.METRIC).timer();
+        assertEquals("UNKNOWN", timer.getId().getTag("route"));
+        assertEquals("IllegalStateException", timer.getId().getTag("exception"));
+        assertEquals("SERVER_ERROR", timer.getId().getTag("outcome"));
+    }
+
+    @Test
+    @DisplayName("Should count requests over the slow threshold")
+    void afterCompletion_CountsSlowRequests() {
+        for (int i = 0; i < 5; i++) {
+            handle(interceptor, request("/api/orders", "/api/orders"), 201, null, 1500);
+        }
+        handle(interceptor, request("/api/orders", "/api/orders"), 201, null, 900);
+
+        assertEquals(5.0, meterRegistry.get(RequestLoggingInterceptor.SLOW_METRIC)
+                .tags("method", "GET", "route", "/api/orders").counter().count());
+        assertNull(meterRegistry.find(RequestLoggingInterceptor.SLOW_METRIC).tags("route", "/api/cart").counter());
+    }
+
+    @Test
+    @DisplayName("Should time an async request once, from its first dispatch")
+    void preHandle_AsyncDispatchKeepsStart() {
+        MockHttpServletRequest request = request("/api/exports/orders", "/api/exports/orders");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        clock.add(Duration.ofMillis(200));
+        interceptor.preHandle(request, response, new Object());
+        clock.add(Duration.ofMillis(100));
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        Timer timer = meterRegistry.get(RequestLoggingInterceptor.METRIC).timer();
+        assertEquals(1, timer.count());
+        assertEquals(300.0, timer.totalTime(TimeUnit.MILLISECONDS));
+    }
+}
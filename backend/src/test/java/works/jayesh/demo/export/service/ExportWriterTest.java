@@ -0,0 +1,97 @@
+package works.jayesh.demo.export.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import works.jayesh.demo.export.model.dto.ExportFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExportWriter Tests")
+class ExportWriterTest {
+
+    private static final String[] COLUMNS = {"id", "name", "price", "created_at", "active"};
+
+    @Test
+    @DisplayName("Should write CSV header and quote fields that need it")
+    void csv_EscapesFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = ExportWriter.create(ExportFormat.CSV, out, COLUMNS)) {
+            writer.writeRow(new Object[]{1L, "Mouse, \"wireless\"", new BigDecimal("1E+2"),
+                    Timestamp.valueOf(LocalDateTime.of(2026, 1, 2, 3, 4, 5)), true});
+            writer.writeRow(new Object[]{2L, null, new BigDecimal("9.99"), null, false});
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,price,created_at,active\n"
+                        + "1,\"Mouse, \"\"wireless\"\"\",100,2026-01-02T03:04:05,true\n"
+                        + "2,,9.99,,false\n");
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void ndjson_WritesTypedValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = ExportWriter.create(ExportFormat.NDJSON, out, COLUMNS)) {
+            writer.writeRow(new Object[]{1L, "Line\n\"two\"", new BigDecimal("19.90"), null, true});
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"name\":\"Line\\n\\\"two\\\"\",\"price\":19.90,\"created_at\":null,\"active\":true}\n");
+    }
+
+    @Test
+    @DisplayName("Should hand rows to the sink while the source is still producing them")
+    void streamsRowsBeforeSourceIsExhausted() throws Exception {
+        LineCountingOutputStream sink = new LineCountingOutputStream();
+        Object[] row = new Object[COLUMNS.length];
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2026, 1, 1, 0, 0));
+        int rows = 20_000;
+        long firstFlushAfter = -1;
+
+        try (ExportWriter writer = ExportWriter.create(ExportFormat.CSV, sink, COLUMNS)) {
+            for (int i = 1; i <= rows; i++) {
+                row[0] = (long) i;
+                row[1] = "Product " + i;
+                row[2] = BigDecimal.valueOf(i, 2);
+                row[3] = createdAt;
+                row[4] = Boolean.TRUE;
+                writer.writeRow(row);
+                if (firstFlushAfter < 0 && sink.lines > 0) {
+                    firstFlushAfter = i;
+                }
+                // Only the writer's buffer is ever held back, never the rows written so far
+                assertThat(i + 1 - sink.lines).isLessThan(3_000);
+            }
+        }
+
+        assertThat(firstFlushAfter).isBetween(1L, rows / 4L);
+        assertThat(sink.lines).isEqualTo(rows + 1L);
+    }
+
+    private static final class LineCountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
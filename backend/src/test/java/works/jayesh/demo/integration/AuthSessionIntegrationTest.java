@@ -0,0 +1,128 @@
+package works.jayesh.demo.integration;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import works.jayesh.demo.auth.model.dto.AuthResponse;
+import works.jayesh.demo.auth.model.dto.LoginWithPasswordRequest;
+import works.jayesh.demo.auth.model.entity.RefreshTokenStatus;
+import works.jayesh.demo.auth.repository.RefreshTokenRepository;
+import works.jayesh.demo.auth.service.AuthService;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Auth Session Integration Tests
+ * Runs without a test transaction so that the reuse-triggered revocation, which commits
+ * in its own transaction, sees committed token rows exactly as in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Auth Session Integration Tests")
+class AuthSessionIntegrationTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .firstName("Sam")
+                .lastName("Session")
+                .email("session" + System.nanoTime() + "@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+
+    private AuthResponse login() {
+        LoginWithPasswordRequest request = new LoginWithPasswordRequest();
+        request.setEmail(user.getEmail());
+        request.setPassword("password123");
+        return authService.loginWithPassword(request);
+    }
+
+    private LocalDateTime usersRowUpdatedAt() {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM users WHERE id = ?",
+                LocalDateTime.class, user.getId());
+    }
+
+    @Test
+    @DisplayName("Flow 1: Logins and refreshes never write the users row")
+    void testRefreshDoesNotWriteUsers() {
+        LocalDateTime before = usersRowUpdatedAt();
+
+        AuthResponse session = login();
+        AuthResponse refreshed = authService.refreshAccessToken(session.getRefreshToken());
+        authService.refreshAccessToken(refreshed.getRefreshToken());
+
+        assertThat(usersRowUpdatedAt()).isEqualTo(before);
+        assertThat(refreshed.getUser().getId()).isEqualTo(user.getId());
+        assertThat(refreshTokenRepository.countByUserIdAndStatus(user.getId(), RefreshTokenStatus.ACTIVE)).isEqualTo(1);
+        assertThat(refreshTokenRepository.countByUserIdAndStatus(user.getId(), RefreshTokenStatus.ROTATED)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Flow 2: A second device's login leaves the first session valid")
+    void testMultiDeviceSessions() {
+        AuthResponse phone = login();
+        AuthResponse laptop = login();
+
+        assertThatCode(() -> authService.refreshAccessToken(phone.getRefreshToken())).doesNotThrowAnyException();
+        assertThatCode(() -> authService.refreshAccessToken(laptop.getRefreshToken())).doesNotThrowAnyException();
+        assertThat(refreshTokenRepository.countByUserIdAndStatus(user.getId(), RefreshTokenStatus.ACTIVE)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Flow 3: Replaying a rotated token revokes only that session")
+    void testReuseDetection() {
+        AuthResponse phone = login();
+        AuthResponse laptop = login();
+        AuthResponse rotated = authService.refreshAccessToken(phone.getRefreshToken());
+
+        assertThatThrownBy(() -> authService.refreshAccessToken(phone.getRefreshToken()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("reuse");
+
+        // The legitimate holder of the rotated token is signed out too; the laptop is not
+        assertThatThrownBy(() -> authService.refreshAccessToken(rotated.getRefreshToken()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatCode(() -> authService.refreshAccessToken(laptop.getRefreshToken())).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Flow 4: Logout ends the session")
+    void testLogout() {
+        AuthResponse session = login();
+
+        authService.logout(session.getRefreshToken());
+
+        assertThatThrownBy(() -> authService.refreshAccessToken(session.getRefreshToken()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Invalid or expired");
+    }
+}
@@ -0,0 +1,222 @@
+package works.jayesh.demo.integration;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import works.jayesh.demo.product.model.dto.CategoryRequest;
+import works.jayesh.demo.product.model.dto.CategoryResponse;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.CategoryHierarchyService;
+import works.jayesh.demo.product.service.CategoryService;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Category Hierarchy Integration Tests
+ * Tests closure table maintenance and descendant-aware product listing
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Category Hierarchy Integration Tests")
+class CategoryHierarchyIntegrationTest {
+
+    private static final String CLOSURE_SQL =
+            "SELECT ancestor_id, descendant_id, depth FROM category_closure WHERE descendant_id IN (%s)";
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryHierarchyService categoryHierarchyService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User seller;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "h" + System.nanoTime();
+        seller = userRepository.save(User.builder()
+                .firstName("Tree")
+                .lastName("Seller")
+                .email(prefix + "@test.com")
+                .password("secret")
+                .role(UserRole.SELLER)
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Flow 1: Subtree listing follows category creates and moves")
+    void testSubtreeMaintenance() {
+        CategoryResponse electronics = create("Electronics", null);
+        CategoryResponse computers = create("Computers", electronics.getId());
+        CategoryResponse laptops = create("Laptops", computers.getId());
+        CategoryResponse office = create("Office", null);
+        addProduct("Ultrabook", laptops.getId());
+        addProduct("Monitor", computers.getId());
+
+        assertThat(subtreeNames(electronics.getId())).containsExactlyInAnyOrder("Ultrabook", "Monitor");
+        assertThat(subtreeNames(laptops.getId())).containsExactly("Ultrabook");
+        assertThat(subtreeNames(office.getId())).isEmpty();
+
+        // Move Computers (with Laptops) from Electronics to Office
+        categoryService.updateCategory(computers.getId(), request("Computers", office.getId()));
+
+        assertThat(subtreeNames(electronics.getId())).isEmpty();
+        assertThat(subtreeNames(office.getId())).containsExactlyInAnyOrder("Ultrabook", "Monitor");
+
+        // Office cannot go under its own grandchild
+        assertThatThrownBy(() -> categoryService.updateCategory(office.getId(), request("Office", laptops.getId())))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Incremental maintenance matches a full rebuild
+        List<Long> ids = List.of(electronics.getId(), computers.getId(), laptops.getId(), office.getId());
+        Set<List<Long>> incremental = closureRows(ids);
+        categoryRepository.flush();
+        categoryHierarchyService.rebuild();
+        assertThat(closureRows(ids)).isEqualTo(incremental).hasSize(7);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Flow 2: Benchmark subtree listing on a 5-level tree of ~10k categories")
+    void testSubtreeBenchmark() {
+        // 2 roots with 8 children per node: 2 + 16 + 128 + 1024 + 8192 = 9362 categories
+        List<List<Long>> levels = new ArrayList<>();
+        levels.add(insertLevel(0, Arrays.asList(null, null)));
+        for (int level = 1; level < 5; level++) {
+            List<Long> parents = new ArrayList<>();
+            for (Long parent : levels.get(level - 1)) {
+                for (int i = 0; i < 8; i++) {
+                    parents.add(parent);
+                }
+            }
+            levels.add(insertLevel(level, parents));
+        }
+
+        // One product on every fourth leaf: 2048 products, 1024 under each root
+        List<Object[]> products = new ArrayList<>();
+        List<Long> leaves = levels.get(4);
+        for (int i = 0; i < leaves.size(); i += 4) {
+            products.add(new Object[]{"Bench " + i, prefix + "-sku-" + i, prefix + "-p-" + i, leaves.get(i),
+                    seller.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, sku, slug, category_id, seller_id, price, " +
+                "stock_quantity, brand, active, featured, status) VALUES (?, ?, ?, ?, ?, 10.00, 1, 'Bench', " +
+                "true, false, 'ACTIVE')", products);
+
+        int closureRows = categoryHierarchyService.rebuild();
+        assertThat(closureRows).isGreaterThanOrEqualTo(2 + 16 * 2 + 128 * 3 + 1024 * 4 + 8192 * 5);
+
+        Long root = levels.get(0).get(0);
+        Long midLevel = levels.get(2).get(0);
+        productRepository.findByCategorySubtree(root, PageRequest.of(0, 20)); // warm up
+
+        long start = System.nanoTime();
+        Page<Product> rootPage = productRepository.findByCategorySubtree(root, PageRequest.of(0, 20));
+        Page<Product> midPage = productRepository.findByCategorySubtree(midLevel, PageRequest.of(0, 20));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(rootPage.getTotalElements()).isEqualTo(1024);
+        assertThat(rootPage.getContent()).hasSize(20);
+        // A level-3 node has 64 leaves below it, a quarter of which carry a product
+        assertThat(midPage.getTotalElements()).isEqualTo(16);
+        assertThat(elapsedMs).isLessThan(5_000);
+    }
+
+    private List<Long> insertLevel(int level, List<Long> parents) {
+        List<Object[]> rows = new ArrayList<>(parents.size());
+        for (int i = 0; i < parents.size(); i++) {
+            String name = prefix + "-L" + level + "-" + i;
+            rows.add(new Object[]{name, name, parents.get(i), i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (name, slug, parent_category_id, display_order, active) " +
+                "VALUES (?, ?, ?, ?, true)", rows);
+
+        Map<String, Long> ids = jdbcTemplate.query("SELECT id, slug FROM categories WHERE slug LIKE ?",
+                        (rs, n) -> Map.entry(rs.getString(2), rs.getLong(1)), prefix + "-L" + level + "-%")
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        List<Long> ordered = new ArrayList<>(parents.size());
+        for (int i = 0; i < parents.size(); i++) {
+            ordered.add(ids.get(prefix + "-L" + level + "-" + i));
+        }
+        return ordered;
+    }
+
+    private CategoryResponse create(String name, Long parentId) {
+        return categoryService.createCategory(request(name, parentId));
+    }
+
+    private CategoryRequest request(String name, Long parentId) {
+        CategoryRequest request = new CategoryRequest();
+        request.setName(name + " " + prefix);
+        request.setActive(true);
+        request.setParentCategoryId(parentId);
+        return request;
+    }
+
+    private void addProduct(String name, Long categoryId) {
+        Category category = categoryRepository.findById(categoryId).orElseThrow();
+        productRepository.save(Product.builder()
+                .name(name)
+                .sku(prefix + "-" + name)
+                .price(new BigDecimal("100.00"))
+                .stockQuantity(5)
+                .slug(prefix + "-" + name.toLowerCase())
+                .category(category)
+                .seller(seller)
+                .brand("TestBrand")
+                .status(ProductStatus.ACTIVE)
+                .build());
+    }
+
+    private List<String> subtreeNames(Long categoryId) {
+        return productRepository.findByCategorySubtree(categoryId, PageRequest.of(0, 50))
+                .map(Product::getName)
+                .getContent();
+    }
+
+    private Set<List<Long>> closureRows(List<Long> ids) {
+        String in = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return new HashSet<>(jdbcTemplate.query(String.format(CLOSURE_SQL, in),
+                (rs, n) -> List.of(rs.getLong(1), rs.getLong(2), rs.getLong(3))));
+    }
+}
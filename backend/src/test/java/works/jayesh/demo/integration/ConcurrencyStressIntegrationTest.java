@@ -0,0 +1,377 @@
+package works.jayesh.demo.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import works.jayesh.demo.address.model.entity.Address;
+import works.jayesh.demo.address.model.entity.AddressType;
+import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.cart.model.dto.AddToCartRequest;
+import works.jayesh.demo.cart.model.entity.Cart;
+import works.jayesh.demo.cart.repository.CartItemRepository;
+import works.jayesh.demo.cart.repository.CartRepository;
+import works.jayesh.demo.cart.service.CartService;
+import works.jayesh.demo.common.exception.DuplicateResourceException;
+import works.jayesh.demo.common.exception.InsufficientStockException;
+import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+import works.jayesh.demo.order.repository.OrderRepository;
+import works.jayesh.demo.order.service.OrderService;
+import works.jayesh.demo.payment.model.dto.PaymentRequest;
+import works.jayesh.demo.payment.model.entity.PaymentMethod;
+import works.jayesh.demo.payment.model.entity.PaymentStatus;
+import works.jayesh.demo.payment.repository.PaymentRepository;
+import works.jayesh.demo.payment.service.PaymentService;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.review.model.dto.BulkModerationRequest;
+import works.jayesh.demo.review.model.dto.ModerationAction;
+import works.jayesh.demo.review.model.entity.Review;
+import works.jayesh.demo.review.repository.ReviewRepository;
+import works.jayesh.demo.review.service.HelpfulVoteService;
+import works.jayesh.demo.review.service.ReviewModerationService;
+import works.jayesh.demo.review.service.ReviewService;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Concurrency Stress Integration Tests
+ * Races real transactions against the same rows. Nothing takes a row lock up front; the
+ * versioned aggregates detect lost updates at commit and @RetryOnConflict re-runs the loser.
+ * Runs without a test transaction so that every worker commits on its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Concurrency Stress Integration Tests")
+class ConcurrencyStressIntegrationTest {
+
+    private static final int THREADS = 12;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ReviewModerationService reviewModerationService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private HelpfulVoteService helpfulVoteService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User customer;
+    private Address address;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        customer = userRepository.save(User.builder()
+                .firstName("Connie")
+                .lastName("Current")
+                .email("concurrency" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+
+        category = categoryRepository.save(Category.builder()
+                .name("Concurrency " + suffix)
+                .slug("concurrency-" + suffix)
+                .active(true)
+                .build());
+
+        address = addressRepository.save(Address.builder()
+                .user(customer)
+                .fullName("Connie Current")
+                .phoneNumber("1234567890")
+                .addressLine1("1 Race Street")
+                .city("Pune")
+                .state("MH")
+                .country("India")
+                .postalCode("411001")
+                .type(AddressType.HOME)
+                .isDefault(true)
+                .build());
+    }
+
+    private Product product(int stock) {
+        String suffix = String.valueOf(System.nanoTime());
+        return productRepository.save(Product.builder()
+                .name("Contended Widget")
+                .sku("RACE-" + suffix)
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(stock)
+                .slug("contended-widget-" + suffix)
+                .category(category)
+                .seller(customer)
+                .brand("TestBrand")
+                .status(ProductStatus.ACTIVE)
+                .totalSold(0)
+                .build());
+    }
+
+    private OrderCreateRequest orderFor(Long productId, int quantity) {
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setUserId(customer.getId());
+        request.setShippingAddressId(address.getId());
+        request.setBillingAddressId(address.getId());
+        request.setItems(List.of(new OrderItemRequest(productId, quantity)));
+        return request;
+    }
+
+    // Releases all workers at once and collects each one's result or exception
+    private List<Object> race(Callable<Object> task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    return e;
+                }
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            try {
+                outcomes.add(future.get());
+            } catch (ExecutionException e) {
+                outcomes.add(e.getCause());
+            }
+        }
+        return outcomes;
+    }
+
+    private static long count(List<Object> outcomes, Class<?> type) {
+        return outcomes.stream().filter(type::isInstance).count();
+    }
+
+    @Test
+    @DisplayName("Flow 1: Concurrent checkouts never oversell the last units")
+    void testCheckoutDoesNotOversell() throws InterruptedException {
+        Product product = product(8);
+        double callsBefore = calls("OrderService.createOrder");
+
+        List<Object> outcomes = race(() -> orderService.createOrder(orderFor(product.getId(), 1)));
+
+        long sold = count(outcomes, OrderResponse.class);
+        long outOfStock = count(outcomes, InsufficientStockException.class);
+        long exhausted = count(outcomes, ConcurrencyFailureException.class);
+        assertThat(outcomes).allMatch(outcome -> outcome instanceof OrderResponse
+                || outcome instanceof InsufficientStockException
+                || outcome instanceof ConcurrencyFailureException);
+        assertThat(sold + outOfStock + exhausted).isEqualTo(THREADS);
+        assertThat(sold).isPositive();
+        assertThat(outcomes.stream().filter(OrderResponse.class::isInstance)
+                .map(outcome -> ((OrderResponse) outcome).getOrderNumber()))
+                .doesNotHaveDuplicates();
+
+        Product after = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(after.getStockQuantity()).isEqualTo(8 - sold).isNotNegative();
+        assertThat(after.getTotalSold()).isEqualTo((int) sold);
+        assertThat(after.getVersion()).isEqualTo(product.getVersion() + sold);
+        assertThat(calls("OrderService.createOrder") - callsBefore).isEqualTo(THREADS);
+    }
+
+    @Test
+    @DisplayName("Flow 2: Concurrent cart adds keep one line with every unit counted")
+    void testConcurrentCartAdds() throws InterruptedException {
+        Product product = product(100);
+        Cart cart = cartRepository.save(Cart.builder().user(customer).build());
+
+        List<Object> outcomes = race(() -> cartService.addToCart(customer.getId(),
+                new AddToCartRequest(product.getId(), 1)));
+
+        long added = THREADS - count(outcomes, Exception.class);
+        assertThat(outcomes).allMatch(outcome -> !(outcome instanceof Exception)
+                || outcome instanceof ConcurrencyFailureException);
+        assertThat(added).isPositive();
+        assertThat(cartItemRepository.findByCartId(cart.getId()))
+                .singleElement()
+                .satisfies(item -> assertThat(item.getQuantity()).isEqualTo((int) added));
+    }
+
+    @Test
+    @DisplayName("Flow 3: A payment is captured exactly once under concurrent submits")
+    void testPaymentProcessedOnce() throws InterruptedException {
+        Product product = product(10);
+        OrderResponse order = orderService.createOrder(orderFor(product.getId(), 2));
+        Long paymentId = paymentService.createPayment(
+                new PaymentRequest(order.getId(), PaymentMethod.CREDIT_CARD, "stripe", null, null)).getId();
+
+        List<Object> outcomes = race(() -> paymentService.processPayment(paymentId));
+
+        assertThat(count(outcomes, works.jayesh.demo.payment.model.dto.PaymentResponse.class)).isEqualTo(1);
+        assertThat(outcomes).allMatch(outcome -> !(outcome instanceof Exception)
+                || outcome instanceof IllegalStateException
+                || outcome instanceof ConcurrencyFailureException);
+        assertThat(paymentRepository.findById(paymentId).orElseThrow().getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Flow 4: Checkouts racing bulk moderation keep both the stock and the rating summary")
+    void testModerationDoesNotLoseToCheckout() throws InterruptedException {
+        Product product = product(10_000);
+        List<Long> reviewIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String suffix = String.valueOf(System.nanoTime());
+            User reviewer = userRepository.save(User.builder()
+                    .firstName("Rita")
+                    .lastName("Reviewer")
+                    .email("moderated" + suffix + "@test.com")
+                    .password("secret")
+                    .role(UserRole.CUSTOMER)
+                    .status(UserStatus.ACTIVE)
+                    .build());
+            reviewIds.add(reviewRepository.save(Review.builder()
+                    .product(product)
+                    .user(reviewer)
+                    .rating(1 + i % 5)
+                    .title("Pending review " + i)
+                    .approved(false)
+                    .helpfulCount(0)
+                    .build()).getId());
+        }
+
+        // One worker approves the reviews one batch at a time, so each recompute sees the
+        // previous approvals, while the rest keep checking out until it is done
+        AtomicInteger workers = new AtomicInteger();
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch moderated = new CountDownLatch(1);
+        List<Object> outcomes = race(() -> {
+            if (workers.getAndIncrement() > 0) {
+                while (moderated.getCount() > 0) {
+                    try {
+                        orderService.createOrder(orderFor(product.getId(), 1));
+                        sold.incrementAndGet();
+                    } catch (ConcurrencyFailureException e) {
+                        // Exhausted retries leave the product untouched; keep racing
+                    }
+                }
+                return null;
+            }
+            try {
+                int approved = 0;
+                for (Long reviewId : reviewIds) {
+                    approved += reviewModerationService.moderate(
+                            new BulkModerationRequest(List.of(reviewId), ModerationAction.APPROVE)).getProcessed();
+                }
+                return approved;
+            } finally {
+                moderated.countDown();
+            }
+        });
+
+        assertThat(outcomes).noneMatch(Exception.class::isInstance);
+        assertThat(outcomes).contains(reviewIds.size());
+        assertThat(sold.get()).isPositive();
+
+        Product after = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(after.getStockQuantity()).isEqualTo(10_000 - sold.get());
+        assertThat(after.getTotalSold()).isEqualTo(sold.get());
+        assertThat(after.getTotalReviews()).isEqualTo(reviewIds.size());
+        assertThat(after.getAverageRating())
+                .isEqualTo(reviewRepository.getAverageRatingByProductId(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Flow 5: Concurrent helpful votes from one user are counted once")
+    void testHelpfulVoteCountedOnce() throws InterruptedException {
+        Product product = product(10);
+        Long reviewId = reviewRepository.save(Review.builder()
+                .product(product)
+                .user(customer)
+                .rating(4)
+                .title("Voted review")
+                .approved(true)
+                .helpfulCount(0)
+                .build()).getId();
+
+        List<Object> outcomes = race(() -> {
+            reviewService.markHelpful(reviewId, customer.getEmail());
+            return reviewId;
+        });
+
+        assertThat(count(outcomes, Long.class)).isEqualTo(1);
+        assertThat(count(outcomes, DuplicateResourceException.class)).isEqualTo(THREADS - 1);
+
+        // The dedupe lives in the table, not in this instance, so it outlasts a restart
+        helpfulVoteService.flush();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM review_helpful_votes WHERE review_id = ?", Long.class, reviewId)).isEqualTo(1);
+        assertThat(reviewRepository.findById(reviewId).orElseThrow().getHelpfulCount()).isEqualTo(1);
+        assertThatThrownBy(() -> reviewService.markHelpful(reviewId, customer.getEmail()))
+                .isInstanceOf(DuplicateResourceException.class);
+    }
+
+    private double calls(String method) {
+        return meterRegistry.counter("optimistic.conflict.calls", "method", method).count();
+    }
+}
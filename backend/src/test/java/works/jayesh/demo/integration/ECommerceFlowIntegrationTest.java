@@ -1,24 +1,38 @@
 package works.jayesh.demo.integration;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
 import works.jayesh.demo.address.model.entity.Address;
 import works.jayesh.demo.address.model.entity.AddressType;
+import works.jayesh.demo.address.model.dto.AddressRequest;
+import works.jayesh.demo.address.model.dto.AddressResponse;
 import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.address.service.AddressService;
 import works.jayesh.demo.cart.model.entity.Cart;
 import works.jayesh.demo.cart.model.entity.CartItem;
 import works.jayesh.demo.cart.repository.CartItemRepository;
 import works.jayesh.demo.cart.repository.CartRepository;
 import works.jayesh.demo.cart.service.CartService;
+import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.order.model.dto.OrderSummaryResponse;
 import works.jayesh.demo.order.model.entity.OrderStatus;
 import works.jayesh.demo.order.repository.OrderRepository;
+import works.jayesh.demo.order.service.CheckoutContextLoader;
+import works.jayesh.demo.order.service.OrderService;
 import works.jayesh.demo.product.model.entity.Category;
 import works.jayesh.demo.product.model.entity.Product;
 import works.jayesh.demo.product.model.entity.ProductStatus;
@@ -28,8 +42,11 @@ import works.jayesh.demo.user.model.entity.User;
 import works.jayesh.demo.user.model.entity.UserRole;
 import works.jayesh.demo.user.model.entity.UserStatus;
 import works.jayesh.demo.user.repository.UserRepository;
+import works.jayesh.demo.user.service.LoginActivityRecorder;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -73,6 +90,24 @@ class ECommerceFlowIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private LoginActivityRecorder loginActivityRecorder;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private User testCustomer;
     private User testSeller;
     private Product testProduct;
@@ -538,4 +573,183 @@ class ECommerceFlowIntegrationTest {
         List<CartItem> emptyCart = cartItemRepository.findByCartId(cart.getId());
         assertThat(emptyCart).isEmpty();
     }
+
+    @Test
+    @org.junit.jupiter.api.Order(13)
+    @DisplayName("Flow 13: Login burst is coalesced into one last-login write per user")
+    void testLoginActivityFlow() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 9, 0);
+        for (int i = 0; i < 500; i++) {
+            loginActivityRecorder.recordLogin(testCustomer.getId(), start.plusSeconds(i));
+            loginActivityRecorder.recordLogin(testSeller.getId(), start.plusSeconds(i));
+        }
+        userRepository.flush();
+
+        loginActivityRecorder.flush();
+
+        String sql = "SELECT last_login_at FROM users WHERE id = ?";
+        assertThat(jdbcTemplate.queryForObject(sql, LocalDateTime.class, testCustomer.getId()))
+                .isEqualTo(start.plusSeconds(499));
+        assertThat(jdbcTemplate.queryForObject(sql, LocalDateTime.class, testSeller.getId()))
+                .isEqualTo(start.plusSeconds(499));
+
+        // An older buffered login must not move the timestamp backwards
+        loginActivityRecorder.recordLogin(testCustomer.getId(), start);
+        loginActivityRecorder.flush();
+        assertThat(jdbcTemplate.queryForObject(sql, LocalDateTime.class, testCustomer.getId()))
+                .isEqualTo(start.plusSeconds(499));
+
+        // Entity saves leave the flushed value alone
+        testCustomer.setFirstName("Johnny");
+        userRepository.saveAndFlush(testCustomer);
+        assertThat(jdbcTemplate.queryForObject(sql, LocalDateTime.class, testCustomer.getId()))
+                .isEqualTo(start.plusSeconds(499));
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(14)
+    @DisplayName("Flow 14: Default address moves with a single toggle statement")
+    void testDefaultAddressToggleFlow() {
+        AddressRequest request = new AddressRequest();
+        request.setType(AddressType.WORK);
+        request.setFullName("John Customer");
+        request.setPhoneNumber("5551234567");
+        request.setAddressLine1("456 Office Park");
+        request.setCity("Los Angeles");
+        request.setState("CA");
+        request.setCountry("USA");
+        request.setPostalCode("90001");
+        request.setIsDefault(true);
+
+        assertThat(addressService.getUserAddresses(testCustomer.getId())).hasSize(1);
+
+        AddressResponse work = addressService.createAddress(testCustomer.getId(), request);
+
+        String defaults = "SELECT id FROM addresses WHERE user_id = ? AND is_default = TRUE";
+        assertThat(jdbcTemplate.queryForList(defaults, Long.class, testCustomer.getId()))
+                .containsExactly(work.getId());
+
+        // Move the default back to the original address
+        request.setType(AddressType.HOME);
+        request.setAddressLine1("123 Main Street");
+        request.setCity("New York");
+        addressService.updateAddress(shippingAddress.getId(), request);
+        assertThat(jdbcTemplate.queryForList(defaults, Long.class, testCustomer.getId()))
+                .containsExactly(shippingAddress.getId());
+
+        // The cached address book was evicted by the writes
+        assertThat(addressService.getUserAddresses(testCustomer.getId())).hasSize(2);
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(15)
+    @DisplayName("Flow 15: Checkout reads a fixed number of rows regardless of line count")
+    void testCheckoutQueryBound() {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Accessory " + i)
+                    .sku("ACC-" + i + "-" + System.nanoTime())
+                    .slug("accessory-" + i + "-" + System.nanoTime())
+                    .brand("TechBrand")
+                    .price(new BigDecimal("19.99"))
+                    .stockQuantity(20)
+                    .category(testCategory)
+                    .seller(testSeller)
+                    .active(true)
+                    .status(ProductStatus.ACTIVE)
+                    .images(new ArrayList<>(List.of("accessory-" + i + "-front.jpg", "accessory-" + i + "-side.jpg")))
+                    .tags(new ArrayList<>())
+                    .totalReviews(0)
+                    .totalSold(0)
+                    .build());
+            items.add(new OrderItemRequest(product.getId(), 1));
+        }
+        // The same product twice must not cost an extra lookup
+        items.add(new OrderItemRequest(items.get(0).getProductId(), 2));
+
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setUserId(testCustomer.getId());
+        request.setShippingAddressId(shippingAddress.getId());
+        request.setBillingAddressId(shippingAddress.getId());
+        request.setItems(items);
+
+        // Start from an empty persistence context so every read has to reach the database
+        entityManager.flush();
+        entityManager.clear();
+        SelectStatementCounter.reset();
+        OrderResponse response = orderService.createOrder(request);
+        entityManager.flush();
+        assertThat(SelectStatementCounter.count()).isLessThanOrEqualTo(CheckoutContextLoader.MAX_QUERIES);
+
+        assertThat(response.getItems()).hasSize(9);
+        assertThat(response.getItems().get(0).getProductImage()).isEqualTo("accessory-0-front.jpg");
+        assertThat(productRepository.findById(items.get(0).getProductId()).orElseThrow().getStockQuantity())
+                .isEqualTo(17);
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(16)
+    @DisplayName("Flow 16: Order history summaries cost one query per page")
+    void testOrderSummaryProjection() {
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            productIds.add(productRepository.save(Product.builder()
+                    .name("Gadget " + i)
+                    .sku("GAD-" + i + "-" + System.nanoTime())
+                    .slug("gadget-" + i + "-" + System.nanoTime())
+                    .brand("TechBrand")
+                    .price(new BigDecimal("49.99"))
+                    .stockQuantity(100)
+                    .category(testCategory)
+                    .seller(testSeller)
+                    .active(true)
+                    .status(ProductStatus.ACTIVE)
+                    .images(new ArrayList<>(List.of("gadget-" + i + ".jpg")))
+                    .tags(new ArrayList<>())
+                    .totalReviews(0)
+                    .totalSold(0)
+                    .build()).getId());
+        }
+        for (int i = 0; i < 10; i++) {
+            OrderCreateRequest request = new OrderCreateRequest();
+            request.setUserId(testCustomer.getId());
+            request.setShippingAddressId(shippingAddress.getId());
+            request.setBillingAddressId(shippingAddress.getId());
+            request.setItems(List.of(new OrderItemRequest(productIds.get(i % 3), 1),
+                    new OrderItemRequest(productIds.get((i + 1) % 3), 2),
+                    new OrderItemRequest(productIds.get((i + 2) % 3), 1)));
+            orderService.createOrder(request);
+        }
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+
+        entityManager.flush();
+        entityManager.clear();
+        SelectStatementCounter.reset();
+        Page<OrderResponse> full = orderService.getUserOrders(testCustomer.getId(), pageable);
+        long fullQueries = SelectStatementCounter.count();
+        int fullBytes = jsonMapper.writeValueAsBytes(full.getContent()).length;
+
+        entityManager.clear();
+        SelectStatementCounter.reset();
+        Page<OrderSummaryResponse> summaries = orderService.getUserOrderSummaries(testCustomer.getId(), pageable);
+        long summaryQueries = SelectStatementCounter.count();
+        int summaryBytes = jsonMapper.writeValueAsBytes(summaries.getContent()).length;
+
+        // Page query plus count query, independent of how many orders are on the page
+        assertThat(summaryQueries).isLessThanOrEqualTo(2);
+        assertThat(fullQueries).isGreaterThan(10);
+        assertThat(summaryBytes * 3).isLessThan(fullBytes);
+
+        assertThat(summaries.getTotalElements()).isEqualTo(10);
+        OrderSummaryResponse first = summaries.getContent().get(0);
+        assertThat(first.getItemCount()).isEqualTo(3);
+        assertThat(first.getFirstItemImage()).isEqualTo("gadget-0.jpg");
+        assertThat(first.getTotalAmount()).isEqualByComparingTo(full.getContent().get(0).getTotalAmount());
+
+        // Expanding a row returns the same lines as the full response
+        assertThat(orderService.getOrderItems(first.getId()))
+                .extracting(item -> item.getProductId())
+                .containsExactly(productIds.get(0), productIds.get(1), productIds.get(2));
+    }
 }
@@ -0,0 +1,153 @@
+package works.jayesh.demo.integration;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import works.jayesh.demo.export.model.dto.ExportFormat;
+import works.jayesh.demo.export.service.ExportService;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Export Streaming Integration Tests
+ * Runs the export queries against the database. Other tests share the products table, so each
+ * export is limited to rows created since this test started.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Export Streaming Integration Tests")
+class ExportStreamingIntegrationTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String suffix;
+    private User seller;
+    private Category category;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now();
+        suffix = String.valueOf(System.nanoTime());
+        seller = userRepository.save(User.builder()
+                .firstName("Ezra")
+                .lastName("Export")
+                .email("export" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.SELLER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        category = categoryRepository.save(Category.builder()
+                .name("Exports " + suffix)
+                .slug("exports-" + suffix)
+                .active(true)
+                .build());
+    }
+
+    private List<Product> products(int count, ProductStatus status) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .name("Exported Widget " + i)
+                    .sku("EXP-" + status + "-" + suffix + "-" + i)
+                    .price(new BigDecimal("10.00"))
+                    .stockQuantity(5)
+                    .slug("exported-widget-" + status.name().toLowerCase() + "-" + suffix + "-" + i)
+                    .category(category)
+                    .seller(seller)
+                    .brand("TestBrand")
+                    .status(status)
+                    .totalSold(0)
+                    .build());
+        }
+        return productRepository.saveAll(products);
+    }
+
+    @Test
+    @DisplayName("Flow 1: The export query returns only matching rows in id order")
+    void testExportQueryFiltersAndOrders() throws Exception {
+        List<Product> active = products(3, ProductStatus.ACTIVE);
+        products(1, ProductStatus.DRAFT);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportProducts(ExportFormat.CSV, start, null, ProductStatus.ACTIVE, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines).hasSize(4);
+        assertThat(lines.getFirst()).startsWith("id,sku,name,");
+        assertThat(lines.subList(1, 4))
+                .extracting(line -> Long.valueOf(line.substring(0, line.indexOf(','))))
+                .containsExactly(active.stream().map(Product::getId).sorted().toArray(Long[]::new));
+    }
+
+    @Test
+    @DisplayName("Flow 2: Rows reach the client while the query is still reading, and a disconnect stops it")
+    void testExportStreamsFromOpenQuery() {
+        int seeded = 2_000;
+        products(seeded, ProductStatus.ACTIVE);
+        DisconnectingOutputStream client = new DisconnectingOutputStream();
+
+        assertThatThrownBy(() -> exportService.exportProducts(ExportFormat.CSV, start, null,
+                ProductStatus.ACTIVE, client))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+
+        // The first write arrived mid-query with only a buffer's worth of the rows
+        assertThat(client.chunks).isEqualTo(1);
+        assertThat(client.lines).isPositive().isLessThan(seeded);
+    }
+
+    // Accepts one chunk, then fails like a client that went away
+    private static final class DisconnectingOutputStream extends OutputStream {
+        private int chunks;
+        private long lines;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (chunks > 0) {
+                throw new IOException("Broken pipe");
+            }
+            chunks++;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
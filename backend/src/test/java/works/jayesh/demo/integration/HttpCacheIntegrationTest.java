@@ -0,0 +1,250 @@
+package works.jayesh.demo.integration;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+import works.jayesh.demo.common.http.ConditionalGetFilter;
+import works.jayesh.demo.common.http.ResponseCache;
+import works.jayesh.demo.product.controller.ProductController;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.CategoryService;
+import works.jayesh.demo.product.service.CategoryTreeCache;
+import works.jayesh.demo.product.service.ProductService;
+import works.jayesh.demo.review.model.entity.Review;
+import works.jayesh.demo.review.repository.ReviewRepository;
+import works.jayesh.demo.review.service.ReviewService;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * HTTP Cache Integration Tests
+ * Checks that catalog entity tags follow the writes that change a response, and sends requests
+ * through the registered conditional GET filter with a chain that renders the real controller.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("HTTP Cache Integration Tests")
+class HttpCacheIntegrationTest {
+
+    @Autowired
+    private FilterRegistrationBean<ConditionalGetFilter> conditionalGetFilter;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ProductController productController;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private String suffix;
+    private User seller;
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        suffix = String.valueOf(System.nanoTime());
+        seller = userRepository.save(User.builder()
+                .firstName("Etta")
+                .lastName("Tag")
+                .email("etags" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.SELLER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        category = categoryRepository.save(Category.builder()
+                .name("ETags " + suffix)
+                .slug("etags-" + suffix)
+                .active(true)
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Tagged Widget")
+                .sku("ETG-" + suffix)
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(10)
+                .slug("tagged-widget-" + suffix)
+                .category(category)
+                .seller(seller)
+                .brand("TestBrand")
+                .status(ProductStatus.ACTIVE)
+                .totalSold(0)
+                .build());
+        responseCache.clear();
+    }
+
+    private MockHttpServletResponse get(String uri, String ifNoneMatch, AtomicInteger renders) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            renders.incrementAndGet();
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            // Rendered inside a transaction as open-in-view would, so lazy collections serialize
+            byte[] body = transactionTemplate.execute(status -> jsonMapper.writeValueAsBytes(
+                    productController.getProductById(product.getId()).getBody()));
+            res.getOutputStream().write(body);
+        };
+        conditionalGetFilter.getFilter().doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Flow 1: A product's tag changes with entity updates and with the bulk rating update")
+    void testProductETag() {
+        String initial = productService.getProductETag(product.getId());
+        assertThat(productService.getProductETag(product.getId())).isEqualTo(initial);
+        assertThat(productService.getProductETagBySlug(product.getSlug())).isEqualTo(initial);
+        assertThat(productService.getProductETag(-1L)).isNull();
+
+        productService.updateStock(product.getId(), 5);
+        String restocked = productService.getProductETag(product.getId());
+        assertThat(restocked).isNotEqualTo(initial);
+
+        transactionTemplate.executeWithoutResult(status ->
+                productRepository.updateRatingSummary(product.getId(), 4.5, 2));
+        assertThat(productService.getProductETag(product.getId())).isNotEqualTo(restocked);
+    }
+
+    @Test
+    @DisplayName("Flow 2: Renaming the category or seller changes the product's tag")
+    void testProductETagFollowsRelations() {
+        String initial = productService.getProductETag(product.getId());
+
+        category.setName("Renamed " + suffix);
+        categoryRepository.save(category);
+        String renamedCategory = productService.getProductETag(product.getId());
+        assertThat(renamedCategory).isNotEqualTo(initial);
+
+        seller.setLastName("Renamed");
+        userRepository.save(seller);
+        assertThat(productService.getProductETag(product.getId())).isNotEqualTo(renamedCategory);
+    }
+
+    @Test
+    @DisplayName("Flow 3: Top-level categories keep their tag across an idle reload and change with the tree")
+    void testTopLevelCategoriesETag() {
+        categoryTreeCache.reload();
+        String initial = categoryService.getTopLevelCategoriesETag();
+        categoryTreeCache.reload();
+        assertThat(categoryService.getTopLevelCategoriesETag()).isEqualTo(initial);
+
+        categoryRepository.save(Category.builder()
+                .name("ETags New " + suffix)
+                .slug("etags-new-" + suffix)
+                .active(true)
+                .build());
+        categoryTreeCache.reload();
+        assertThat(categoryService.getTopLevelCategoriesETag()).isNotEqualTo(initial);
+    }
+
+    @Test
+    @DisplayName("Flow 4: A product's review tag changes when a review is approved")
+    void testProductReviewsETag() {
+        String initial = reviewService.getProductReviewsETag(product.getId());
+        Review review = reviewRepository.save(Review.builder()
+                .product(product)
+                .user(seller)
+                .rating(4)
+                .title("Solid")
+                .approved(false)
+                .build());
+        assertThat(reviewService.getProductReviewsETag(product.getId())).isEqualTo(initial);
+
+        reviewService.approveReview(review.getId());
+        assertThat(reviewService.getProductReviewsETag(product.getId())).isNotEqualTo(initial);
+    }
+
+    @Test
+    @DisplayName("Flow 5: A product's review tag changes when a reviewer is renamed")
+    void testProductReviewsETagCoversReviewerName() {
+        reviewRepository.save(Review.builder()
+                .product(product)
+                .user(seller)
+                .rating(5)
+                .title("Named")
+                .approved(true)
+                .build());
+        String initial = reviewService.getProductReviewsETag(product.getId());
+
+        User reviewer = userRepository.findById(seller.getId()).orElseThrow();
+        reviewer.setLastName("Renamed");
+        userRepository.save(reviewer);
+
+        assertThat(reviewService.getProductReviewsETag(product.getId())).isNotEqualTo(initial);
+    }
+
+    @Test
+    @DisplayName("Flow 6: Anonymous requests are served from the cache, revalidated, and re-rendered after a write")
+    void testConditionalGetFlow() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        String uri = "/api/products/" + product.getId();
+
+        MockHttpServletResponse first = get(uri, null, renders);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo(productService.getProductETag(product.getId()));
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=30, public");
+
+        MockHttpServletResponse hit = get(uri, null, renders);
+        assertThat(hit.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(get(uri, etag, renders).getStatus()).isEqualTo(304);
+        assertThat(renders).hasValue(1);
+
+        productService.updateStock(product.getId(), 1);
+        MockHttpServletResponse changed = get(uri, etag, renders);
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(changed.getContentAsString()).contains("\"stockQuantity\":11");
+        assertThat(renders).hasValue(2);
+    }
+}
@@ -0,0 +1,223 @@
+package works.jayesh.demo.integration;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import works.jayesh.demo.address.model.entity.Address;
+import works.jayesh.demo.address.model.entity.AddressType;
+import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.order.service.OrderService;
+import works.jayesh.demo.product.model.dto.ProductResponse;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.ProductLeaderboards;
+import works.jayesh.demo.product.service.ProductService;
+import works.jayesh.demo.review.model.entity.Review;
+import works.jayesh.demo.review.repository.ReviewRepository;
+import works.jayesh.demo.review.service.ReviewService;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Product Leaderboards Integration Tests
+ * Each test works in its own category so the per-category lists are unaffected by other tests.
+ * The scheduled refresh is called directly instead of waiting for it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Product Leaderboards Integration Tests")
+class ProductLeaderboardsIntegrationTest {
+
+    @Autowired
+    private ProductLeaderboards productLeaderboards;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    private String suffix;
+    private User customer;
+    private Address address;
+    private Category category;
+    private Product steady;
+    private Product rising;
+    private Product unsold;
+
+    @BeforeEach
+    void setUp() {
+        suffix = String.valueOf(System.nanoTime());
+        customer = userRepository.save(User.builder()
+                .firstName("Lee")
+                .lastName("Board")
+                .email("leaderboards" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        address = addressRepository.save(Address.builder()
+                .user(customer)
+                .fullName("Lee Board")
+                .phoneNumber("1234567890")
+                .addressLine1("1 Ranking Road")
+                .city("Pune")
+                .state("MH")
+                .country("India")
+                .postalCode("411001")
+                .type(AddressType.HOME)
+                .isDefault(true)
+                .build());
+        category = categoryRepository.save(Category.builder()
+                .name("Leaderboards " + suffix)
+                .slug("leaderboards-" + suffix)
+                .active(true)
+                .build());
+        steady = product("steady", 50, 4.0, 3);
+        rising = product("rising", 20, 0.0, 0);
+        unsold = product("unsold", 0, 3.0, 1);
+
+        productLeaderboards.reload();
+    }
+
+    private Product product(String name, int totalSold, double averageRating, int totalReviews) {
+        return productRepository.save(Product.builder()
+                .name("Ranked " + name)
+                .sku("LDB-" + name + "-" + suffix)
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(100)
+                .slug("ranked-" + name + "-" + suffix)
+                .category(category)
+                .seller(customer)
+                .brand("TestBrand")
+                .active(true)
+                .status(ProductStatus.ACTIVE)
+                .totalSold(totalSold)
+                .averageRating(averageRating)
+                .totalReviews(totalReviews)
+                .build());
+    }
+
+    private List<Long> ids(List<ProductResponse> products) {
+        return products.stream().map(ProductResponse::getId).toList();
+    }
+
+    private OrderResponse order(Product product, int quantity) {
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setUserId(customer.getId());
+        request.setShippingAddressId(address.getId());
+        request.setBillingAddressId(address.getId());
+        request.setItems(List.of(new OrderItemRequest(product.getId(), quantity)));
+        return orderService.createOrder(request);
+    }
+
+    @Test
+    @DisplayName("Flow 1: A rebuild ranks a category's products and lists only reviewed products as top rated")
+    void testReloadRanksCategory() {
+        List<ProductResponse> bestSellers = productService.getFeaturedProducts(category.getId());
+        assertThat(ids(bestSellers)).containsExactly(steady.getId(), rising.getId(), unsold.getId());
+        assertThat(bestSellers.get(0).getCategoryName()).isEqualTo(category.getName());
+        assertThat(bestSellers.get(0).getSellerName()).isEqualTo("Lee Board");
+
+        assertThat(ids(productService.getTopRatedProducts(category.getId())))
+                .containsExactly(steady.getId(), unsold.getId());
+        assertThat(productService.getFeaturedProducts(-1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Flow 2: Orders and cancellations re-rank best sellers on the next refresh")
+    void testOrdersUpdateBestSellers() {
+        String initial = productService.getFeaturedProductsETag(category.getId());
+
+        OrderResponse placed = order(rising, 40);
+        productLeaderboards.refresh();
+
+        assertThat(ids(productService.getFeaturedProducts(category.getId())))
+                .containsExactly(rising.getId(), steady.getId(), unsold.getId());
+        assertThat(productService.getFeaturedProducts(category.getId()).get(0).getTotalSold()).isEqualTo(60);
+        assertThat(productService.getFeaturedProductsETag(category.getId())).isNotEqualTo(initial);
+
+        orderService.cancelOrder(placed.getId(), "Changed my mind");
+        productLeaderboards.refresh();
+
+        assertThat(ids(productService.getFeaturedProducts(category.getId())))
+                .containsExactly(steady.getId(), rising.getId(), unsold.getId());
+    }
+
+    @Test
+    @DisplayName("Flow 3: An approved review brings a product into the top-rated list")
+    void testReviewsUpdateTopRated() {
+        String initial = productService.getTopRatedProductsETag(category.getId());
+        Review review = reviewRepository.save(Review.builder()
+                .product(rising)
+                .user(customer)
+                .rating(5)
+                .title("Excellent")
+                .approved(false)
+                .build());
+
+        reviewService.approveReview(review.getId());
+        productLeaderboards.refresh();
+
+        List<ProductResponse> topRated = productService.getTopRatedProducts(category.getId());
+        assertThat(ids(topRated)).containsExactly(rising.getId(), steady.getId(), unsold.getId());
+        assertThat(topRated.get(0).getAverageRating()).isEqualTo(5.0);
+        assertThat(productService.getTopRatedProductsETag(category.getId())).isNotEqualTo(initial);
+    }
+
+    @Test
+    @DisplayName("Flow 4: A deleted product leaves every list it was on")
+    void testDeletedProductLeavesLists() {
+        productService.deleteProduct(steady.getId());
+        productLeaderboards.refresh();
+
+        assertThat(ids(productService.getFeaturedProducts(category.getId())))
+                .containsExactly(rising.getId(), unsold.getId());
+        assertThat(ids(productService.getTopRatedProducts(category.getId()))).containsExactly(unsold.getId());
+        assertThat(ids(productService.getFeaturedProducts(null))).doesNotContain(steady.getId());
+    }
+
+    @Test
+    @DisplayName("Flow 5: Lists and their tags are served without touching the database")
+    void testServedFromMemory() {
+        SelectStatementCounter.reset();
+
+        productService.getFeaturedProducts(null);
+        productService.getTopRatedProducts(category.getId());
+        productService.getFeaturedProductsETag(category.getId());
+
+        assertThat(SelectStatementCounter.count()).isZero();
+    }
+}
@@ -8,20 +8,35 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
 import org.springframework.transaction.annotation.Transactional;
+import works.jayesh.demo.export.model.dto.ExportFormat;
+import works.jayesh.demo.export.service.ExportService;
+import works.jayesh.demo.product.model.dto.CategoryResponse;
 import works.jayesh.demo.product.model.entity.Category;
 import works.jayesh.demo.product.model.entity.Product;
 import works.jayesh.demo.product.model.entity.ProductStatus;
 import works.jayesh.demo.product.repository.CategoryRepository;
 import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.CategoryService;
+import works.jayesh.demo.product.service.CategoryTreeCache;
+import works.jayesh.demo.review.model.dto.BulkModerationRequest;
+import works.jayesh.demo.review.model.dto.BulkModerationResponse;
+import works.jayesh.demo.review.model.dto.ModerationAction;
+import works.jayesh.demo.review.model.dto.ModerationQueueResponse;
 import works.jayesh.demo.review.model.entity.Review;
+import works.jayesh.demo.review.model.entity.ReviewHelpfulVote;
+import works.jayesh.demo.review.repository.ReviewHelpfulVoteRepository;
 import works.jayesh.demo.review.repository.ReviewRepository;
+import works.jayesh.demo.review.service.ReviewModerationService;
 import works.jayesh.demo.user.model.entity.User;
 import works.jayesh.demo.user.model.entity.UserRole;
 import works.jayesh.demo.user.model.entity.UserStatus;
 import works.jayesh.demo.user.repository.UserRepository;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -46,9 +61,24 @@ class ProductManagementFlowIntegrationTest {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private ReviewHelpfulVoteRepository helpfulVoteRepository;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReviewModerationService reviewModerationService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -119,6 +149,12 @@ class ProductManagementFlowIntegrationTest {
         testProduct = productRepository.save(testProduct);
     }
 
+    @AfterTransaction
+    void refreshCategoryTree() {
+        // Test transactions roll back without commit callbacks; drop anything the tree saw inside them
+        categoryTreeCache.reload();
+    }
+
     @Test
     @Order(1)
     @DisplayName("Flow 1: Category can be created and retrieved")
@@ -483,4 +519,151 @@ class ProductManagementFlowIntegrationTest {
         Product restocked = productRepository.findById(testProduct.getId()).orElse(null);
         assertThat(restocked.getStockQuantity()).isEqualTo(originalStock - soldQuantity + restockQuantity);
     }
+
+    @Test
+    @Order(15)
+    @DisplayName("Flow 15: Bulk review moderation recomputes each product rating once")
+    void testBulkReviewModerationFlow() {
+        User customer2 = userRepository.save(User.builder()
+                .firstName("Alice")
+                .lastName("Smith")
+                .email("alice" + System.currentTimeMillis() + "@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .phoneNumber("5551234567")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+
+        Review pending1 = reviewRepository.save(Review.builder()
+                .product(testProduct)
+                .user(testCustomer)
+                .rating(5)
+                .title("Excellent")
+                .approved(false)
+                .build());
+        Review pending2 = reviewRepository.save(Review.builder()
+                .product(testProduct)
+                .user(customer2)
+                .rating(3)
+                .title("Okay")
+                .approved(false)
+                .build());
+
+        // Pending queue is keyset paged in ID order
+        ModerationQueueResponse firstPage = reviewModerationService.getPendingReviews(null, 1);
+        assertThat(firstPage.isHasMore()).isTrue();
+        assertThat(firstPage.getPendingTotal()).isGreaterThanOrEqualTo(2);
+        ModerationQueueResponse secondPage = reviewModerationService.getPendingReviews(firstPage.getNextAfterId(), 1);
+        assertThat(secondPage.getReviews().get(0).getId()).isGreaterThan(firstPage.getNextAfterId());
+
+        // Approve both plus an unknown ID
+        BulkModerationResponse result = reviewModerationService.moderate(new BulkModerationRequest(
+                List.of(pending1.getId(), pending2.getId(), 999999L), ModerationAction.APPROVE));
+
+        assertThat(result.getProcessed()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getProductsUpdated()).isEqualTo(1);
+
+        Product updated = productRepository.findById(testProduct.getId()).orElse(null);
+        assertThat(updated).isNotNull();
+        assertThat(updated.getAverageRating()).isEqualTo(4.0);
+        assertThat(updated.getTotalReviews()).isEqualTo(2);
+        assertThat(reviewRepository.findById(pending1.getId()).orElseThrow().isApproved()).isTrue();
+
+        // Approved reviews are no longer pending, so a reject skips them and keeps their votes
+        User customer3 = userRepository.save(User.builder()
+                .firstName("Bob")
+                .lastName("Jones")
+                .email("bob" + System.currentTimeMillis() + "@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .phoneNumber("5557654321")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        Review pending3 = reviewRepository.save(Review.builder()
+                .product(testProduct)
+                .user(customer3)
+                .rating(1)
+                .title("Spam")
+                .approved(false)
+                .build());
+        helpfulVoteRepository.saveAll(List.of(
+                ReviewHelpfulVote.builder().reviewId(pending1.getId()).userId(customer2.getId()).build(),
+                ReviewHelpfulVote.builder().reviewId(pending3.getId()).userId(testCustomer.getId()).build()));
+
+        BulkModerationResponse reject = reviewModerationService.moderate(new BulkModerationRequest(
+                List.of(pending1.getId(), pending3.getId()), ModerationAction.REJECT));
+        assertThat(reject.getProcessed()).isEqualTo(1);
+        assertThat(reviewRepository.existsById(pending1.getId())).isTrue();
+        assertThat(reviewRepository.existsById(pending3.getId())).isFalse();
+        assertThat(helpfulVoteRepository.findAll())
+                .extracting(ReviewHelpfulVote::getReviewId)
+                .contains(pending1.getId())
+                .doesNotContain(pending3.getId());
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("Flow 16: Product export streams filtered rows from the database")
+    void testProductExportFlow() throws Exception {
+        Product draft = productRepository.save(Product.builder()
+                .name("Draft Product")
+                .sku("DRAFT-" + System.currentTimeMillis())
+                .price(new BigDecimal("5.00"))
+                .stockQuantity(1)
+                .slug("draft-product-" + System.currentTimeMillis())
+                .category(testCategory)
+                .seller(testSeller)
+                .brand("TestBrand")
+                .active(false)
+                .status(ProductStatus.DRAFT)
+                .build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportProducts(ExportFormat.CSV, null, null, ProductStatus.DRAFT, out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertThat(rows).isPositive();
+        assertThat(csv).startsWith("id,sku,name,brand,");
+        assertThat(csv).contains(draft.getSku());
+        assertThat(csv).doesNotContain(testProduct.getSku());
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Flow 17: Category reads come from the tree with descendant product counts")
+    void testCategoryTreeFlow() {
+        Category laptops = categoryRepository.save(Category.builder()
+                .name("Laptops " + System.currentTimeMillis())
+                .slug("laptops-" + System.currentTimeMillis())
+                .parentCategory(testCategory)
+                .active(true)
+                .displayOrder(1)
+                .build());
+        productRepository.save(Product.builder()
+                .name("Ultrabook")
+                .sku("ULTRA-" + System.currentTimeMillis())
+                .price(new BigDecimal("1299.00"))
+                .stockQuantity(5)
+                .slug("ultrabook-" + System.currentTimeMillis())
+                .category(laptops)
+                .seller(testSeller)
+                .brand("TestBrand")
+                .status(ProductStatus.ACTIVE)
+                .build());
+        categoryTreeCache.reload();
+
+        CategoryResponse parent = categoryService.getCategoryById(testCategory.getId());
+        assertThat(parent.getProductCount()).isEqualTo(1);
+        assertThat(parent.getTotalProductCount()).isEqualTo(2);
+
+        List<CategoryResponse> children = categoryService.getSubCategories(testCategory.getId());
+        assertThat(children).extracting(CategoryResponse::getId).containsExactly(laptops.getId());
+        assertThat(children.get(0).getParentCategoryName()).isEqualTo(testCategory.getName());
+        assertThat(categoryService.getCategoryBySlug(laptops.getSlug()).getProductCount()).isEqualTo(1);
+        assertThat(categoryService.getTopLevelCategories())
+                .extracting(CategoryResponse::getId)
+                .contains(testCategory.getId())
+                .doesNotContain(laptops.getId());
+    }
 }
@@ -0,0 +1,219 @@
+package works.jayesh.demo.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.*;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.HandlerMapping;
+import works.jayesh.demo.common.exception.ResourceNotFoundException;
+import works.jayesh.demo.common.jdbc.QueriesEndpoint;
+import works.jayesh.demo.common.jdbc.QueryReport;
+import works.jayesh.demo.common.jdbc.QueryStatsFilter;
+import works.jayesh.demo.config.CorrelationIdFilter;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.review.model.dto.ReviewRequest;
+import works.jayesh.demo.review.model.dto.ReviewResponse;
+import works.jayesh.demo.review.service.ReviewService;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Query Instrumentation Integration Tests
+ * Sends requests through the query stats filter with a chain that does real repository work,
+ * so statements go through the proxied DataSource exactly as they do behind a controller.
+ * Runs without a test transaction so that every lookup reaches the database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Query Instrumentation Integration Tests")
+class QueryInstrumentationIntegrationTest {
+
+    @Autowired
+    private FilterRegistrationBean<QueryStatsFilter> queryStatsFilter;
+
+    @Autowired
+    private QueriesEndpoint queriesEndpoint;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        User seller = userRepository.save(User.builder()
+                .firstName("Quinn")
+                .lastName("Query")
+                .email("queries" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.SELLER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        Category category = categoryRepository.save(Category.builder()
+                .name("Queries " + suffix)
+                .slug("queries-" + suffix)
+                .active(true)
+                .build());
+
+        productIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            productIds.add(productRepository.save(Product.builder()
+                    .name("Counted Widget " + i)
+                    .sku("QRY-" + suffix + "-" + i)
+                    .price(new BigDecimal("10.00"))
+                    .stockQuantity(10)
+                    .slug("counted-widget-" + suffix + "-" + i)
+                    .category(category)
+                    .seller(seller)
+                    .brand("TestBrand")
+                    .status(ProductStatus.ACTIVE)
+                    .totalSold(0)
+                    .build()).getId());
+        }
+        queriesEndpoint.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(CorrelationIdFilter.CORRELATION_ID_MDC_KEY);
+    }
+
+    // Runs the work as the handler for route, the way the dispatcher would behind the filter
+    private void request(String route, String correlationId, Runnable handler) throws Exception {
+        MDC.put(CorrelationIdFilter.CORRELATION_ID_MDC_KEY, correlationId);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", route);
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+            handler.run();
+        };
+        queryStatsFilter.getFilter().doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    @Test
+    @DisplayName("Flow 1: Statements and rows are recorded against the request's route")
+    void testRequestMeters() throws Exception {
+        request("/api/test/products", "corr-flow-1",
+                () -> assertThat(productRepository.findAllById(productIds)).hasSize(6));
+
+        DistributionSummary queries = meterRegistry.get("app.db.request.queries")
+                .tags("method", "GET", "route", "/api/test/products").summary();
+        DistributionSummary rows = meterRegistry.get("app.db.request.rows")
+                .tags("method", "GET", "route", "/api/test/products").summary();
+        assertThat(queries.count()).isEqualTo(1);
+        assertThat(queries.totalAmount()).isEqualTo(1.0);
+        assertThat(rows.totalAmount()).isGreaterThanOrEqualTo(6.0);
+        assertThat(meterRegistry.find("app.db.nplusone").tags("route", "/api/test/products").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Flow 2: One lookup per product in a request is reported as N+1 with its correlation id")
+    void testNPlusOneDetected() throws Exception {
+        request("/api/test/products/each", "corr-flow-2",
+                () -> productIds.forEach(id -> productRepository.findById(id).orElseThrow()));
+
+        QueryReport report = queriesEndpoint.queries(null);
+        assertThat(report.nPlusOne()).anySatisfy(detection -> {
+            assertThat(detection.correlationId()).isEqualTo("corr-flow-2");
+            assertThat(detection.route()).isEqualTo("GET /api/test/products/each");
+            assertThat(detection.executions()).isEqualTo(6);
+            assertThat(detection.sql()).containsIgnoringCase("products");
+        });
+        assertThat(report.routes()).anySatisfy(route -> {
+            assertThat(route.route()).isEqualTo("GET /api/test/products/each");
+            assertThat(route.nPlusOneRequests()).isEqualTo(1);
+            assertThat(route.maxQueries()).isEqualTo(6);
+        });
+        assertThat(meterRegistry.get("app.db.nplusone").tags("route", "/api/test/products/each").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Flow 3: The report lists statements and Hibernate query statistics")
+    void testReportContents() throws Exception {
+        request("/api/test/products/top", "corr-flow-3",
+                () -> productRepository.findAll());
+
+        QueryReport report = queriesEndpoint.queries(5);
+        assertThat(report.statements()).isNotEmpty().hasSizeLessThanOrEqualTo(5);
+        assertThat(report.statements().get(0).executions()).isPositive();
+        assertThat(report.hqlQueries()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Flow 4: The proxied DataSource still exposes the Hikari pool and its meters")
+    void testHikariMeters() throws SQLException {
+        assertThat(dataSource.isWrapperFor(HikariDataSource.class)).isTrue();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.usage").timer()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Flow 5: Creating a review runs the purchase check and the insert, nothing else")
+    void testCreateReviewStatements() throws Exception {
+        User reviewer = userRepository.save(User.builder()
+                .firstName("Rhea")
+                .lastName("Review")
+                .email("review-queries" + System.nanoTime() + "@test.com")
+                .password("secret")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        ReviewRequest review = new ReviewRequest();
+        review.setProductId(productIds.getFirst());
+        review.setRating(4);
+        review.setTitle("Counted");
+
+        ReviewResponse[] created = new ReviewResponse[1];
+        request("/api/test/reviews", "corr-flow-5",
+                () -> created[0] = reviewService.createReview(reviewer.getId(), review));
+
+        assertThat(created[0].getId()).isNotNull();
+        assertThat(meterRegistry.get("app.db.request.queries")
+                .tags("method", "GET", "route", "/api/test/reviews").summary().totalAmount())
+                .isEqualTo(2.0);
+
+        review.setProductId(-1L);
+        assertThatThrownBy(() -> reviewService.createReview(reviewer.getId(), review))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Product not found: -1");
+    }
+}
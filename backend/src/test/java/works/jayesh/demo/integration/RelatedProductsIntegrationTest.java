@@ -0,0 +1,208 @@
+package works.jayesh.demo.integration;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import works.jayesh.demo.address.model.entity.Address;
+import works.jayesh.demo.address.model.entity.AddressType;
+import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.order.service.OrderService;
+import works.jayesh.demo.product.controller.ProductController;
+import works.jayesh.demo.product.model.dto.RelatedProductResponse;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.ProductService;
+import works.jayesh.demo.product.service.RelatedProducts;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Related Products Integration Tests
+ * Waits for the startup build, then places orders through the service and drives the refresh
+ * and rebuild directly instead of waiting for their schedules. Each test orders only its own
+ * products, so other tests' orders never show up in its lists.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Related Products Integration Tests")
+class RelatedProductsIntegrationTest {
+
+    @Autowired
+    private ProductController productController;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RelatedProducts relatedProducts;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    private String suffix;
+    private User customer;
+    private Address address;
+    private Category category;
+    private Product camera;
+    private Product lens;
+    private Product tripod;
+    private Product bag;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!relatedProducts.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(relatedProducts.isReady()).isTrue();
+
+        suffix = String.valueOf(System.nanoTime());
+        customer = userRepository.save(User.builder()
+                .firstName("Remy")
+                .lastName("Related")
+                .email("related" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        address = addressRepository.save(Address.builder()
+                .user(customer)
+                .fullName("Remy Related")
+                .phoneNumber("1234567890")
+                .addressLine1("1 Basket Street")
+                .city("Pune")
+                .state("MH")
+                .country("India")
+                .postalCode("411001")
+                .type(AddressType.HOME)
+                .isDefault(true)
+                .build());
+        category = categoryRepository.save(Category.builder()
+                .name("Related " + suffix)
+                .slug("related-" + suffix)
+                .active(true)
+                .build());
+        camera = product("camera");
+        lens = product("lens");
+        tripod = product("tripod");
+        bag = product("bag");
+    }
+
+    private Product product(String name) {
+        return productRepository.save(Product.builder()
+                .name("Related " + name)
+                .sku("REL-" + name + "-" + suffix)
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(100)
+                .slug("related-" + name + "-" + suffix)
+                .category(category)
+                .seller(customer)
+                .brand("TestBrand")
+                .active(true)
+                .status(ProductStatus.ACTIVE)
+                .totalSold(0)
+                .build());
+    }
+
+    private OrderResponse order(Product... products) {
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setUserId(customer.getId());
+        request.setShippingAddressId(address.getId());
+        request.setBillingAddressId(address.getId());
+        request.setItems(Arrays.stream(products)
+                .map(product -> new OrderItemRequest(product.getId(), 1))
+                .toList());
+        return orderService.createOrder(request);
+    }
+
+    private List<Long> related(Product product) {
+        return productService.getRelatedProducts(product.getId(), 10).stream()
+                .map(RelatedProductResponse::getProductId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Flow 1: Orders placed after the build show up once the refresh runs")
+    void testRefreshAddsOrders() {
+        order(camera, lens);
+        order(camera, lens);
+        order(camera, tripod);
+
+        relatedProducts.refresh();
+
+        assertThat(related(camera)).containsExactly(lens.getId(), tripod.getId());
+        assertThat(related(lens)).containsExactly(camera.getId());
+        assertThat(related(bag)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Flow 2: The endpoint renders related products with their details and scores")
+    void testRelatedEndpoint() {
+        order(camera, lens, bag);
+        order(camera, lens);
+        relatedProducts.refresh();
+
+        List<RelatedProductResponse> related = productController.getRelatedProducts(camera.getId(), 1)
+                .getBody().getData();
+        assertThat(related).hasSize(1);
+        assertThat(related.get(0).getProductId()).isEqualTo(lens.getId());
+        assertThat(related.get(0).getName()).isEqualTo(lens.getName());
+        assertThat(related.get(0).getSlug()).isEqualTo(lens.getSlug());
+        assertThat(related.get(0).getPrice()).isEqualByComparingTo("10.00");
+        assertThat(related.get(0).getScore()).isEqualTo(1.0, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("Flow 3: A rebuild reads the order history and leaves out cancelled orders")
+    void testRebuildSkipsCancelledOrders() {
+        order(camera, lens);
+        OrderResponse cancelled = order(camera, bag);
+        orderService.cancelOrder(cancelled.getId(), "Changed my mind");
+
+        relatedProducts.rebuild();
+
+        assertThat(related(camera)).containsExactly(lens.getId());
+        assertThat(related(bag)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Flow 4: A deleted product is no longer recommended")
+    void testDeletedProductHidden() {
+        order(camera, lens);
+        order(camera, tripod);
+        relatedProducts.refresh();
+
+        productService.deleteProduct(lens.getId());
+        relatedProducts.refresh();
+
+        assertThat(related(camera)).containsExactly(tripod.getId());
+    }
+}
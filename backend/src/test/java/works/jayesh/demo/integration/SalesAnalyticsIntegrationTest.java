@@ -0,0 +1,239 @@
+package works.jayesh.demo.integration;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import works.jayesh.demo.address.model.entity.Address;
+import works.jayesh.demo.address.model.entity.AddressType;
+import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.analytics.model.dto.CategorySalesResponse;
+import works.jayesh.demo.analytics.model.dto.ProductSalesResponse;
+import works.jayesh.demo.analytics.model.entity.RollupGranularity;
+import works.jayesh.demo.analytics.service.AnalyticsService;
+import works.jayesh.demo.analytics.service.SalesRollupRecorder;
+import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.order.model.entity.OrderStatus;
+import works.jayesh.demo.order.service.OrderService;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Sales Analytics Integration Tests
+ * Orders are committed (no test transaction) so rollup deltas are recorded after commit,
+ * exactly as in production. Assertions are scoped to this test's own product and category.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Sales Analytics Integration Tests")
+class SalesAnalyticsIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private SalesRollupRecorder salesRollupRecorder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    private static Long orderId;
+    private static Long customerId;
+    private static Long addressId;
+    private static Long productId;
+    private static Long categoryId;
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @BeforeEach
+    void setUp() {
+        from = LocalDate.now().atStartOfDay();
+        to = from.plusDays(1);
+        if (orderId != null) {
+            return;
+        }
+
+        String suffix = String.valueOf(System.nanoTime());
+        User customer = userRepository.save(User.builder()
+                .firstName("Ana")
+                .lastName("Lytics")
+                .email("analytics" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+
+        Category category = categoryRepository.save(Category.builder()
+                .name("Analytics " + suffix)
+                .slug("analytics-" + suffix)
+                .active(true)
+                .build());
+        categoryId = category.getId();
+
+        Product product = productRepository.save(Product.builder()
+                .name("Rollup Widget")
+                .sku("ROLLUP-" + suffix)
+                .price(new BigDecimal("25.00"))
+                .stockQuantity(1_000)
+                .slug("rollup-widget-" + suffix)
+                .category(category)
+                .seller(customer)
+                .brand("TestBrand")
+                .status(ProductStatus.ACTIVE)
+                .totalSold(0)
+                .build());
+        productId = product.getId();
+
+        Address address = addressRepository.save(Address.builder()
+                .user(customer)
+                .fullName("Ana Lytics")
+                .phoneNumber("1234567890")
+                .addressLine1("1 Metrics Way")
+                .city("Pune")
+                .state("MH")
+                .country("India")
+                .postalCode("411001")
+                .type(AddressType.HOME)
+                .isDefault(true)
+                .build());
+
+        customerId = customer.getId();
+        addressId = address.getId();
+        orderId = placeOrder(3).getId();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Flow 1: Committed order is merged into product and category rollups")
+    void testIncrementalRollup() {
+        salesRollupRecorder.flush();
+
+        ProductSalesResponse product = productSales(null);
+        assertThat(product.getProductName()).isEqualTo("Rollup Widget");
+        assertThat(product.getRevenue()).isEqualByComparingTo("75.00");
+        assertThat(product.getUnits()).isEqualTo(3L);
+        assertThat(product.getOrderCount()).isEqualTo(1L);
+
+        CategorySalesResponse category = analyticsService
+                .getCategorySales(RollupGranularity.HOUR, from, to, null).stream()
+                .filter(c -> c.getCategoryId().equals(categoryId))
+                .findFirst()
+                .orElseThrow();
+        assertThat(category.getRevenue()).isEqualByComparingTo("75.00");
+
+        assertThat(analyticsService.getSalesSeries(RollupGranularity.DAY, from, to, null))
+                .singleElement()
+                .satisfies(bucket -> assertThat(bucket.getOrderCount()).isPositive());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Flow 2: Cancelling an order moves its sales to the cancelled status")
+    void testStatusChangeRollup() {
+        orderService.cancelOrder(orderId, "Changed mind");
+        salesRollupRecorder.flush();
+
+        assertThat(productSales(OrderStatus.CANCELLED).getUnits()).isEqualTo(3L);
+        assertThat(productSales(OrderStatus.PENDING).getUnits()).isZero();
+        assertThat(productSales(null).getRevenue()).isEqualByComparingTo("75.00");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Flow 3: Backfill rebuilds the same rollups from raw orders")
+    void testBackfill() {
+        var result = analyticsService.backfill(from.toLocalDate(), to.toLocalDate());
+
+        assertThat(result.getDays()).isEqualTo(1);
+        assertThat(result.getRollupRows()).isPositive();
+        assertThat(productSales(OrderStatus.CANCELLED).getRevenue()).isEqualByComparingTo("75.00");
+        assertThat(productSales(OrderStatus.CANCELLED).getOrderCount()).isEqualTo(1L);
+        assertThat(analyticsService.getTopProducts(RollupGranularity.DAY, from, to, OrderStatus.PENDING, 100))
+                .noneMatch(p -> p.getProductId().equals(productId));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Flow 4: Orders placed while a backfill runs are counted once")
+    void testOrdersDuringBackfill() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        int placed = 0;
+        try {
+            // Today is rebuilt last, so the last orders commit just before its rebuild, long before
+            // the next scheduled flush
+            Future<?> backfill = executor.submit(() ->
+                    analyticsService.backfill(from.toLocalDate().minusDays(1000), to.toLocalDate()));
+            while (!backfill.isDone()) {
+                placeOrder(1);
+                placed++;
+                Thread.sleep(10);
+            }
+            assertThat(placed).isGreaterThan(1);
+            backfill.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        salesRollupRecorder.flush();
+        assertThat(productSales(OrderStatus.PENDING).getUnits()).isEqualTo(placed);
+        assertThat(productSales(OrderStatus.PENDING).getOrderCount()).isEqualTo(placed);
+        assertThat(productSales(OrderStatus.CANCELLED).getUnits()).isEqualTo(3L);
+
+        // A quiet rebuild agrees with what the live deltas produced
+        analyticsService.backfill(from.toLocalDate(), to.toLocalDate());
+        assertThat(productSales(OrderStatus.PENDING).getUnits()).isEqualTo(placed);
+    }
+
+    private OrderResponse placeOrder(int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setUserId(customerId);
+        request.setShippingAddressId(addressId);
+        request.setBillingAddressId(addressId);
+        request.setItems(List.of(item));
+        return orderService.createOrder(request);
+    }
+
+    private ProductSalesResponse productSales(OrderStatus status) {
+        return analyticsService.getTopProducts(RollupGranularity.HOUR, from, to, status, 100).stream()
+                .filter(p -> p.getProductId().equals(productId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
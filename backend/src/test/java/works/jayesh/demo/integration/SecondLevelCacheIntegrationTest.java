@@ -0,0 +1,212 @@
+package works.jayesh.demo.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import works.jayesh.demo.address.model.entity.Address;
+import works.jayesh.demo.address.model.entity.AddressType;
+import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.product.model.dto.CategoryRequest;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.service.CategoryService;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+import works.jayesh.demo.user.service.LoginActivityRecorder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Second-Level Cache Integration Tests
+ * Checks that repeat reads of categories, sellers and addresses are served from the
+ * second-level cache, and that writes which bypass the entity manager still invalidate it.
+ * Runs without a test transaction so that each read starts a fresh session.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Second-Level Cache Integration Tests")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private LoginActivityRecorder loginActivityRecorder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String suffix;
+    private Category category;
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        suffix = String.valueOf(System.nanoTime());
+        category = categoryRepository.save(Category.builder()
+                .name("Cached " + suffix)
+                .slug("cached-" + suffix)
+                .active(true)
+                .build());
+
+        seller = userRepository.save(User.builder()
+                .firstName("Cass")
+                .lastName("Cache")
+                .email("cache" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.SELLER)
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getDomainDataRegionStatistics(name);
+    }
+
+    private Address address(boolean isDefault) {
+        return addressRepository.save(Address.builder()
+                .user(seller)
+                .fullName("Cass Cache")
+                .phoneNumber("1234567890")
+                .addressLine1("1 Region Road")
+                .city("Pune")
+                .state("MH")
+                .country("India")
+                .postalCode("411001")
+                .type(AddressType.HOME)
+                .isDefault(isDefault)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Flow 1: Repeat loads of a category, seller and address skip the database")
+    void testRepeatLoadsHitCache() {
+        Address address = address(true);
+        categoryRepository.findById(category.getId()).orElseThrow();
+        userRepository.findById(seller.getId()).orElseThrow();
+        addressRepository.findById(address.getId()).orElseThrow();
+        long categoryHits = region("categories").getHitCount();
+        long userHits = region("users").getHitCount();
+        long addressHits = region("addresses").getHitCount();
+
+        SelectStatementCounter.reset();
+        assertThat(categoryRepository.findById(category.getId()).orElseThrow().getName()).isEqualTo(category.getName());
+        assertThat(userRepository.findById(seller.getId()).orElseThrow().getEmail()).isEqualTo(seller.getEmail());
+        assertThat(addressRepository.findById(address.getId()).orElseThrow().getCity()).isEqualTo("Pune");
+
+        assertThat(SelectStatementCounter.count()).isZero();
+        assertThat(region("categories").getHitCount()).isGreaterThan(categoryHits);
+        assertThat(region("users").getHitCount()).isGreaterThan(userHits);
+        assertThat(region("addresses").getHitCount()).isGreaterThan(addressHits);
+    }
+
+    @Test
+    @DisplayName("Flow 2: Repeat slug lookups are answered from the query cache until the table changes")
+    void testQueryCache() {
+        categoryRepository.findBySlug(category.getSlug()).orElseThrow();
+
+        SelectStatementCounter.reset();
+        categoryRepository.findBySlug(category.getSlug()).orElseThrow();
+        assertThat(SelectStatementCounter.count()).isZero();
+
+        categoryRepository.save(Category.builder()
+                .name("Sibling " + suffix)
+                .slug("sibling-" + suffix)
+                .active(true)
+                .build());
+
+        SelectStatementCounter.reset();
+        categoryRepository.findBySlug(category.getSlug()).orElseThrow();
+        assertThat(SelectStatementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Flow 3: A category rename is visible on the next cached read")
+    void testCategoryUpdateInvalidates() {
+        categoryRepository.findById(category.getId()).orElseThrow();
+
+        CategoryRequest request = new CategoryRequest();
+        request.setName("Renamed " + suffix);
+        request.setActive(true);
+        categoryService.updateCategory(category.getId(), request);
+
+        assertThat(categoryRepository.findById(category.getId()).orElseThrow().getName()).isEqualTo("Renamed " + suffix);
+    }
+
+    @Test
+    @DisplayName("Flow 4: A batched last-login flush evicts the cached user")
+    void testLoginFlushInvalidates() {
+        assertThat(userRepository.findById(seller.getId()).orElseThrow().getLastLoginAt()).isNull();
+        LocalDateTime loginAt = LocalDateTime.now().withNano(0);
+
+        loginActivityRecorder.recordLogin(seller.getId(), loginAt);
+        loginActivityRecorder.flush();
+
+        assertThat(userRepository.findById(seller.getId()).orElseThrow().getLastLoginAt()).isEqualTo(loginAt);
+    }
+
+    @Test
+    @DisplayName("Flow 5: Moving the default address is visible on both cached addresses")
+    void testDefaultToggleInvalidates() {
+        Address home = address(true);
+        Address work = address(false);
+        addressRepository.findById(home.getId()).orElseThrow();
+        addressRepository.findById(work.getId()).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status ->
+                addressRepository.setDefaultAddress(seller.getId(), work.getId()));
+
+        assertThat(addressRepository.findById(home.getId()).orElseThrow().isDefault()).isFalse();
+        assertThat(addressRepository.findById(work.getId()).orElseThrow().isDefault()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Flow 6: Native closure-table writes leave unrelated regions cached")
+    void testNativeWritesKeepRegions() {
+        userRepository.findById(seller.getId()).orElseThrow();
+
+        CategoryRequest request = new CategoryRequest();
+        request.setName("Child " + suffix);
+        request.setParentCategoryId(category.getId());
+        categoryService.createCategory(request);
+
+        SelectStatementCounter.reset();
+        userRepository.findById(seller.getId()).orElseThrow();
+        assertThat(SelectStatementCounter.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Flow 7: Region statistics are published as meters")
+    void testRegionMeters() {
+        categoryRepository.findById(category.getId()).orElseThrow();
+
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", "categories", "result", "hit")
+                .functionCounter()).isNotNull();
+    }
+}
@@ -0,0 +1,31 @@
+package works.jayesh.demo.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+
+/**
+ * Counts the SELECT statements Hibernate prepares on the current thread.
+ * Registered for the test profile in application-test.yml so integration tests can put an
+ * upper bound on the reads a service call makes.
+ */
+public class SelectStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> SELECTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            SELECTS.get()[0]++;
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        SELECTS.get()[0] = 0;
+    }
+
+    public static long count() {
+        return SELECTS.get()[0];
+    }
+}
@@ -0,0 +1,213 @@
+package works.jayesh.demo.integration;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.micrometer.tracing.test.autoconfigure.AutoConfigureTracing;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import works.jayesh.demo.address.model.entity.Address;
+import works.jayesh.demo.address.model.entity.AddressType;
+import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.auth.service.EmailService;
+import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.product.controller.ProductController;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.order.service.OrderService;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tracing Integration Tests
+ * Runs real calls under a root observation and checks the spans the layer aspect adds, as
+ * they reach an in-memory exporter through the same OpenTelemetry pipeline the app exports with.
+ */
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@ActiveProfiles("test")
+@AutoConfigureTracing
+@DisplayName("Tracing Integration Tests")
+class TracingIntegrationTest {
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductController productController;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    private User customer;
+    private Address address;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        customer = userRepository.save(User.builder()
+                .firstName("Tracy")
+                .lastName("Trace")
+                .email("tracing" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        Category category = categoryRepository.save(Category.builder()
+                .name("Tracing " + suffix)
+                .slug("tracing-" + suffix)
+                .active(true)
+                .build());
+        address = addressRepository.save(Address.builder()
+                .user(customer)
+                .fullName("Tracy Trace")
+                .phoneNumber("1234567890")
+                .addressLine1("1 Span Street")
+                .city("Pune")
+                .state("MH")
+                .country("India")
+                .postalCode("411001")
+                .type(AddressType.HOME)
+                .isDefault(true)
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Traced Widget")
+                .sku("TRC-" + suffix)
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(10)
+                .slug("traced-widget-" + suffix)
+                .category(category)
+                .seller(customer)
+                .brand("TestBrand")
+                .status(ProductStatus.ACTIVE)
+                .totalSold(0)
+                .build());
+
+        flush();
+        exporter.reset();
+    }
+
+    private void flush() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    }
+
+    private SpanData root(String name) {
+        return exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst().orElseThrow();
+    }
+
+    private Optional<SpanData> span(String name) {
+        return exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst();
+    }
+
+    @Test
+    @DisplayName("Flow 1: A checkout produces a service span with its repository calls nested inside")
+    void testCheckoutSpans() {
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setUserId(customer.getId());
+        request.setShippingAddressId(address.getId());
+        request.setBillingAddressId(address.getId());
+        request.setItems(List.of(new OrderItemRequest(product.getId(), 1)));
+
+        Observation.createNotStarted("test.checkout", observationRegistry)
+                .observe(() -> orderService.createOrder(request));
+        flush();
+
+        SpanData root = root("test.checkout");
+        SpanData service = span("OrderService.createOrder").orElseThrow();
+        assertThat(service.getParentSpanId()).isEqualTo(root.getSpanId());
+        assertThat(service.getTraceId()).isEqualTo(root.getTraceId());
+        assertThat(service.getAttributes().get(AttributeKey.stringKey("class"))).isEqualTo("OrderService");
+
+        SpanData save = span("OrderRepository.save").orElseThrow();
+        assertThat(save.getParentSpanId()).isEqualTo(service.getSpanId());
+        assertThat(save.getTraceId()).isEqualTo(root.getTraceId());
+    }
+
+    @Test
+    @DisplayName("Flow 2: A controller call wraps the service span")
+    void testControllerSpan() {
+        Observation.createNotStarted("test.controller", observationRegistry)
+                .observe(() -> productController.getProductById(product.getId()));
+        flush();
+
+        SpanData controller = span("ProductController.getProductById").orElseThrow();
+        assertThat(controller.getParentSpanId()).isEqualTo(root("test.controller").getSpanId());
+        assertThat(span("ProductService.getProductById")).hasValueSatisfying(service ->
+                assertThat(service.getParentSpanId()).isEqualTo(controller.getSpanId()));
+    }
+
+    @Test
+    @DisplayName("Flow 3: An @Async email task joins the caller's trace on its executor thread")
+    void testAsyncSpanJoinsTrace() throws InterruptedException {
+        Observation.createNotStarted("test.signup", observationRegistry)
+                .observe(() -> emailService.sendWelcomeEmail(customer.getEmail(), "Tracy"));
+
+        Optional<SpanData> async = Optional.empty();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (async.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            flush();
+            async = span("EmailService.sendWelcomeEmail");
+        }
+
+        SpanData root = root("test.signup");
+        assertThat(async).hasValueSatisfying(span -> {
+            assertThat(span.getTraceId()).isEqualTo(root.getTraceId());
+            assertThat(span.getParentSpanId()).isEqualTo(root.getSpanId());
+        });
+    }
+}
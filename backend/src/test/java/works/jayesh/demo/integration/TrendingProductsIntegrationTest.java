@@ -0,0 +1,180 @@
+package works.jayesh.demo.integration;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import works.jayesh.demo.address.model.entity.Address;
+import works.jayesh.demo.address.model.entity.AddressType;
+import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.order.model.dto.OrderCreateRequest;
+import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.order.service.OrderService;
+import works.jayesh.demo.product.controller.ProductController;
+import works.jayesh.demo.product.model.dto.TrendingProductResponse;
+import works.jayesh.demo.product.model.entity.Category;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.model.entity.ProductStatus;
+import works.jayesh.demo.product.repository.CategoryRepository;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.ProductService;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+import works.jayesh.demo.user.model.entity.UserStatus;
+import works.jayesh.demo.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Trending Products Integration Tests
+ * Orders placed through the service reach the trending counters once they commit. Other tests
+ * share the counters, so assertions only look at this test's products.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Trending Products Integration Tests")
+class TrendingProductsIntegrationTest {
+
+    @Autowired
+    private ProductController productController;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    private String suffix;
+    private User customer;
+    private Address address;
+    private Category category;
+    private Product popular;
+    private Product niche;
+
+    @BeforeEach
+    void setUp() {
+        suffix = String.valueOf(System.nanoTime());
+        customer = userRepository.save(User.builder()
+                .firstName("Trudy")
+                .lastName("Trend")
+                .email("trending" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build());
+        address = addressRepository.save(Address.builder()
+                .user(customer)
+                .fullName("Trudy Trend")
+                .phoneNumber("1234567890")
+                .addressLine1("1 Trend Street")
+                .city("Pune")
+                .state("MH")
+                .country("India")
+                .postalCode("411001")
+                .type(AddressType.HOME)
+                .isDefault(true)
+                .build());
+        category = categoryRepository.save(Category.builder()
+                .name("Trending " + suffix)
+                .slug("trending-" + suffix)
+                .active(true)
+                .build());
+        popular = product("popular");
+        niche = product("niche");
+    }
+
+    private Product product(String name) {
+        return productRepository.save(Product.builder()
+                .name("Trending " + name)
+                .sku("TRD-" + name + "-" + suffix)
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(100)
+                .slug("trending-" + name + "-" + suffix)
+                .category(category)
+                .seller(customer)
+                .brand("TestBrand")
+                .active(true)
+                .status(ProductStatus.ACTIVE)
+                .totalSold(0)
+                .build());
+    }
+
+    private List<TrendingProductResponse> trending(String window) {
+        return productController.getTrendingProducts(window, 50).getBody().getData().stream()
+                .filter(product -> product.getProductId().equals(popular.getId())
+                        || product.getProductId().equals(niche.getId()))
+                .toList();
+    }
+
+    private OrderResponse order(Product product, int quantity) {
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setUserId(customer.getId());
+        request.setShippingAddressId(address.getId());
+        request.setBillingAddressId(address.getId());
+        request.setItems(List.of(new OrderItemRequest(product.getId(), quantity)));
+        return orderService.createOrder(request);
+    }
+
+    @Test
+    @DisplayName("Flow 1: Committed orders rank products by units sold in the window")
+    void testOrdersRankTrending() {
+        order(popular, 30);
+        order(niche, 2);
+
+        List<TrendingProductResponse> trending = trending("1h");
+        assertThat(trending).extracting(TrendingProductResponse::getProductId)
+                .containsExactly(popular.getId(), niche.getId());
+        assertThat(trending.get(0).getUnitsSold()).isEqualTo(30L);
+        assertThat(trending.get(0).getName()).isEqualTo(popular.getName());
+        assertThat(trending.get(0).getSlug()).isEqualTo(popular.getSlug());
+        assertThat(trending.get(0).getPrice()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    @DisplayName("Flow 2: A cancelled order no longer counts towards trending")
+    void testCancellationRemovesUnits() {
+        OrderResponse placed = order(popular, 30);
+        order(niche, 2);
+
+        orderService.cancelOrder(placed.getId(), "Changed my mind");
+
+        assertThat(trending("1h")).extracting(TrendingProductResponse::getProductId)
+                .containsExactly(niche.getId());
+    }
+
+    @Test
+    @DisplayName("Flow 3: A deleted product leaves the trending list")
+    void testDeletedProductLeavesTrending() {
+        order(popular, 30);
+
+        productService.deleteProduct(popular.getId());
+
+        assertThat(trending("1h")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Flow 4: Unparseable or out-of-range windows are rejected")
+    void testInvalidWindow() {
+        assertThatThrownBy(() -> productService.getTrendingProducts("soon", 10))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> productService.getTrendingProducts("7d", 10))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(productService.getTrendingProducts("15m", 10)).isNotNull();
+    }
+}
@@ -19,7 +19,9 @@ import works.jayesh.demo.common.exception.GlobalExceptionHandler;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
 import works.jayesh.demo.order.model.dto.OrderCreateRequest;
 import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.order.model.dto.OrderItemResponse;
 import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.order.model.dto.OrderSummaryResponse;
 import works.jayesh.demo.order.model.entity.OrderStatus;
 import works.jayesh.demo.order.service.OrderService;
 
@@ -173,6 +175,58 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data.content[0].userId").value(1));
     }
 
+    @Test
+    @DisplayName("Should get user order summaries with pagination")
+    void getUserOrderSummaries_Success() throws Exception {
+        OrderSummaryResponse summary = OrderSummaryResponse.builder()
+                .id(1L)
+                .orderNumber("ORD-123456")
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal("299.99"))
+                .itemCount(3L)
+                .firstItemImage("phone.jpg")
+                .build();
+        Page<OrderSummaryResponse> page = new PageImpl<>(List.of(summary), PageRequest.of(0, 20), 1);
+
+        when(orderService.getUserOrderSummaries(eq(1L), any())).thenReturn(page);
+
+        mockMvc.perform(get("/api/orders/user/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].itemCount").value(3))
+                .andExpect(jsonPath("$.data.content[0].firstItemImage").value("phone.jpg"))
+                .andExpect(jsonPath("$.data.content[0].userId").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should expand an order into its line items")
+    void getOrderItems_Success() throws Exception {
+        OrderItemResponse item = OrderItemResponse.builder()
+                .id(5L)
+                .productId(2L)
+                .productName("Phone")
+                .quantity(2)
+                .build();
+
+        when(orderService.getOrderItems(1L)).thenReturn(List.of(item));
+
+        mockMvc.perform(get("/api/orders/1/items"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].productName").value("Phone"))
+                .andExpect(jsonPath("$.data[0].quantity").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when expanding an unknown order")
+    void getOrderItems_NotFound() throws Exception {
+        when(orderService.getOrderItems(999L))
+                .thenThrow(new ResourceNotFoundException("Order not found with ID: 999"));
+
+        mockMvc.perform(get("/api/orders/999/items"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
     @Test
     @DisplayName("Should get orders by status with pagination")
     void getOrdersByStatus_Success() throws Exception {
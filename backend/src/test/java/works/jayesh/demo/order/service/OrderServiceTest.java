@@ -11,26 +11,37 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 import works.jayesh.demo.address.model.entity.Address;
 import works.jayesh.demo.address.repository.AddressRepository;
+import works.jayesh.demo.analytics.service.SalesRollupRecorder;
 import works.jayesh.demo.common.exception.InsufficientStockException;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
 import works.jayesh.demo.order.model.dto.OrderCreateRequest;
 import works.jayesh.demo.order.model.dto.OrderItemRequest;
+import works.jayesh.demo.order.model.dto.OrderItemResponse;
 import works.jayesh.demo.order.model.dto.OrderResponse;
+import works.jayesh.demo.order.model.dto.OrderSummaryResponse;
 import works.jayesh.demo.order.model.entity.Order;
+import works.jayesh.demo.order.model.entity.OrderItem;
 import works.jayesh.demo.order.model.entity.OrderStatus;
+import works.jayesh.demo.order.repository.OrderItemRepository;
 import works.jayesh.demo.order.repository.OrderRepository;
 import works.jayesh.demo.product.model.entity.Product;
 import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.ProductLeaderboards;
+import works.jayesh.demo.product.service.RelatedProducts;
+import works.jayesh.demo.product.service.TrendingProducts;
 import works.jayesh.demo.user.model.entity.User;
 import works.jayesh.demo.user.repository.UserRepository;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -43,6 +54,9 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
     @Mock
     private UserRepository userRepository;
 
@@ -52,6 +66,18 @@ class OrderServiceTest {
     @Mock
     private AddressRepository addressRepository;
 
+    @Mock
+    private SalesRollupRecorder salesRollupRecorder;
+
+    @Mock
+    private ProductLeaderboards productLeaderboards;
+
+    @Mock
+    private TrendingProducts trendingProducts;
+
+    @Mock
+    private RelatedProducts relatedProducts;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -63,6 +89,9 @@ class OrderServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(orderService, "checkoutContextLoader",
+                new CheckoutContextLoader(userRepository, addressRepository, productRepository));
+
         testUser = User.builder()
                 .id(1L)
                 .email("user@example.com")
@@ -118,8 +147,8 @@ class OrderServiceTest {
     void createOrder_Success() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(addressRepository.findAllById(new HashSet<>(List.of(1L)))).thenReturn(List.of(testAddress));
+        when(productRepository.findAllWithImagesByIdIn(Set.of(1L))).thenReturn(List.of(testProduct));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
         // When
@@ -128,11 +157,52 @@ class OrderServiceTest {
         // Then
         assertNotNull(response);
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, times(1)).findAllWithImagesByIdIn(Set.of(1L));
+        verify(productRepository, never()).findById(anyLong());
+        verify(addressRepository, times(1)).findAllById(new HashSet<>(List.of(1L)));
+        verify(addressRepository, never()).findById(anyLong());
+        verify(salesRollupRecorder).recordOrderCreated(testOrder);
+        verify(trendingProducts).recordOrderCreated(testOrder);
+        verify(relatedProducts).recordOrder(testOrder);
         // Note: productRepository.save is called to update stock, but we verify the
         // behavior not the implementation
     }
 
+    @Test
+    @DisplayName("Should load every product of a multi-line order in one query")
+    void createOrder_BatchesProductLookups() {
+        // Given: three lines over two products, one with images
+        Product second = Product.builder()
+                .id(2L)
+                .name("Second Product")
+                .sku("TEST-002")
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(5)
+                .totalSold(0)
+                .images(new ArrayList<>(List.of("second-front.jpg", "second-back.jpg")))
+                .tags(new ArrayList<>())
+                .build();
+        createRequest.setItems(Arrays.asList(
+                new OrderItemRequest(1L, 2), new OrderItemRequest(2L, 1), new OrderItemRequest(1L, 3)));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(addressRepository.findAllById(new HashSet<>(List.of(1L)))).thenReturn(List.of(testAddress));
+        when(productRepository.findAllWithImagesByIdIn(Set.of(1L, 2L))).thenReturn(List.of(testProduct, second));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        OrderResponse response = orderService.createOrder(createRequest);
+
+        // Then
+        assertEquals(3, response.getItems().size());
+        assertEquals("second-front.jpg", response.getItems().get(1).getProductImage());
+        assertNull(response.getItems().get(0).getProductImage());
+        assertEquals(95, testProduct.getStockQuantity());
+        assertEquals(5, testProduct.getTotalSold());
+        verify(productRepository, times(1)).findAllWithImagesByIdIn(anyCollection());
+        verify(productRepository, never()).findById(anyLong());
+    }
+
     @Test
     @DisplayName("Should throw exception when user not found")
     void createOrder_UserNotFound() {
@@ -152,7 +222,7 @@ class OrderServiceTest {
     void createOrder_ShippingAddressNotFound() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(addressRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(addressRepository.findAllById(anyIterable())).thenReturn(List.of());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -162,13 +232,30 @@ class OrderServiceTest {
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    @DisplayName("Should throw exception when billing address not found")
+    void createOrder_BillingAddressNotFound() {
+        // Given
+        createRequest.setBillingAddressId(2L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(addressRepository.findAllById(new HashSet<>(List.of(1L, 2L)))).thenReturn(List.of(testAddress));
+
+        // When & Then
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+            orderService.createOrder(createRequest);
+        });
+
+        assertTrue(exception.getMessage().contains("Billing address"));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     @DisplayName("Should throw exception when product not found")
     void createOrder_ProductNotFound() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
-        when(productRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(addressRepository.findAllById(new HashSet<>(List.of(1L)))).thenReturn(List.of(testAddress));
+        when(productRepository.findAllWithImagesByIdIn(anyCollection())).thenReturn(List.of());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -185,8 +272,8 @@ class OrderServiceTest {
         testProduct.setStockQuantity(1); // Not enough for 2 items
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(addressRepository.findAllById(new HashSet<>(List.of(1L)))).thenReturn(List.of(testAddress));
+        when(productRepository.findAllWithImagesByIdIn(Set.of(1L))).thenReturn(List.of(testProduct));
 
         // When & Then
         assertThrows(InsufficientStockException.class, () -> {
@@ -244,6 +331,61 @@ class OrderServiceTest {
         verify(orderRepository, times(1)).findByUserId(1L, pageable);
     }
 
+    @Test
+    @DisplayName("Should page order summaries without loading order entities")
+    void getUserOrderSummaries_Success() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        OrderSummaryResponse summary = OrderSummaryResponse.builder()
+                .id(1L)
+                .status(OrderStatus.PENDING)
+                .itemCount(2L)
+                .build();
+        when(orderRepository.findSummariesByUserId(1L, pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        // When
+        Page<OrderSummaryResponse> response = orderService.getUserOrderSummaries(1L, pageable);
+
+        // Then
+        assertEquals(2L, response.getContent().get(0).getItemCount());
+        verify(orderRepository, never()).findByUserId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should expand an order into its line items")
+    void getOrderItems_Success() {
+        // Given
+        OrderItem item = OrderItem.builder()
+                .id(3L)
+                .order(testOrder)
+                .product(testProduct)
+                .productName("Test Product")
+                .quantity(2)
+                .unitPrice(new BigDecimal("99.99"))
+                .totalPrice(new BigDecimal("199.98"))
+                .build();
+        when(orderRepository.existsById(1L)).thenReturn(true);
+        when(orderItemRepository.findByOrderIdOrderByIdAsc(1L)).thenReturn(List.of(item));
+
+        // When
+        List<OrderItemResponse> items = orderService.getOrderItems(1L);
+
+        // Then
+        assertEquals(1, items.size());
+        assertEquals(1L, items.get(0).getProductId());
+        assertEquals(2, items.get(0).getQuantity());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when expanding a missing order")
+    void getOrderItems_NotFound() {
+        when(orderRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderItems(99L));
+        verify(orderItemRepository, never()).findByOrderIdOrderByIdAsc(anyLong());
+    }
+
     // ==================== UPDATE ORDER STATUS TESTS ====================
 
     @Test
@@ -259,6 +401,8 @@ class OrderServiceTest {
         // Then
         assertNotNull(response);
         verify(orderRepository, times(1)).save(testOrder);
+        verify(salesRollupRecorder).recordStatusChange(testOrder, OrderStatus.PENDING);
+        verify(trendingProducts, never()).recordOrderCancelled(any());
     }
 
     @Test
@@ -288,6 +432,8 @@ class OrderServiceTest {
 
         // Then
         verify(orderRepository, times(1)).save(testOrder);
+        verify(salesRollupRecorder).recordStatusChange(testOrder, OrderStatus.PENDING);
+        verify(trendingProducts).recordOrderCancelled(testOrder);
     }
 
     @Test
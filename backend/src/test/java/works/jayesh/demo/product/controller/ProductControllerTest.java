@@ -264,6 +264,23 @@ class ProductControllerTest {
         verify(productService, times(1)).searchProducts(eq("Test"), any());
     }
 
+    @Test
+    @DisplayName("GET /api/products/category/{categoryId} - Should include subcategories when requested")
+    void getProductsByCategory_IncludeSubcategories() throws Exception {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<ProductResponse> page = new PageImpl<>(Collections.singletonList(testProduct), pageable, 1);
+        when(productService.getProductsByCategoryTree(eq(1L), any())).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/products/category/1")
+                .param("includeSubcategories", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name").value("Test Product"));
+
+        verify(productService, never()).getProductsByCategory(anyLong(), any());
+    }
+
     // ==================== UPDATE STOCK TESTS ====================
 
     @Test
@@ -16,8 +16,13 @@ import works.jayesh.demo.product.model.entity.Category;
 import works.jayesh.demo.product.repository.CategoryRepository;
 import works.jayesh.demo.product.repository.ProductRepository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ArrayList;
 
@@ -35,6 +40,12 @@ class CategoryServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CategoryTreeCache categoryTreeCache;
+
+    @Mock
+    private CategoryHierarchyService categoryHierarchyService;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -68,6 +79,7 @@ class CategoryServiceTest {
         // Given
         when(categoryRepository.existsByName(anyString())).thenReturn(false);
         when(categoryRepository.save(any(Category.class))).thenReturn(testCategory);
+        when(categoryTreeCache.getTree()).thenReturn(CategoryTree.empty());
 
         // When
         CategoryResponse response = categoryService.createCategory(categoryRequest);
@@ -76,6 +88,8 @@ class CategoryServiceTest {
         assertNotNull(response);
         assertEquals("Electronics", response.getName());
         verify(categoryRepository, times(1)).save(any(Category.class));
+        verify(categoryHierarchyService).categoryCreated(1L, null);
+        verify(categoryTreeCache).reloadAfterCommit();
     }
 
     @Test
@@ -106,6 +120,7 @@ class CategoryServiceTest {
         when(categoryRepository.existsByName(anyString())).thenReturn(false);
         when(categoryRepository.findById(2L)).thenReturn(Optional.of(parentCategory));
         when(categoryRepository.save(any(Category.class))).thenReturn(testCategory);
+        when(categoryTreeCache.getTree()).thenReturn(CategoryTree.empty());
 
         // When
         CategoryResponse response = categoryService.createCategory(categoryRequest);
@@ -114,6 +129,7 @@ class CategoryServiceTest {
         assertNotNull(response);
         verify(categoryRepository, times(1)).findById(2L);
         verify(categoryRepository, times(1)).save(any(Category.class));
+        verify(categoryHierarchyService).categoryCreated(1L, 2L);
     }
 
     @Test
@@ -133,10 +149,10 @@ class CategoryServiceTest {
     // ==================== GET CATEGORY TESTS ====================
 
     @Test
-    @DisplayName("Should get category by ID successfully")
+    @DisplayName("Should get category by ID from the tree without queries")
     void getCategoryById_Success() {
         // Given
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryTreeCache.getTree()).thenReturn(sampleTree());
 
         // When
         CategoryResponse response = categoryService.getCategoryById(1L);
@@ -144,14 +160,16 @@ class CategoryServiceTest {
         // Then
         assertNotNull(response);
         assertEquals(1L, response.getId());
-        verify(categoryRepository, times(1)).findById(1L);
+        assertEquals(3, response.getProductCount());
+        assertEquals(7, response.getTotalProductCount());
+        verifyNoInteractions(categoryRepository, productRepository);
     }
 
     @Test
     @DisplayName("Should throw exception when category not found by ID")
     void getCategoryById_NotFound() {
         // Given
-        when(categoryRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(categoryTreeCache.getTree()).thenReturn(sampleTree());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -163,23 +181,23 @@ class CategoryServiceTest {
     @DisplayName("Should get category by slug successfully")
     void getCategoryBySlug_Success() {
         // Given
-        when(categoryRepository.findBySlug("electronics")).thenReturn(Optional.of(testCategory));
+        when(categoryTreeCache.getTree()).thenReturn(sampleTree());
 
         // When
-        CategoryResponse response = categoryService.getCategoryBySlug("electronics");
+        CategoryResponse response = categoryService.getCategoryBySlug("laptops");
 
         // Then
         assertNotNull(response);
-        assertEquals("electronics", response.getSlug());
-        verify(categoryRepository, times(1)).findBySlug("electronics");
+        assertEquals(2L, response.getId());
+        assertEquals("Electronics", response.getParentCategoryName());
+        verifyNoInteractions(categoryRepository, productRepository);
     }
 
     @Test
     @DisplayName("Should get top level categories")
     void getTopLevelCategories_Success() {
         // Given
-        List<Category> categories = Arrays.asList(testCategory);
-        when(categoryRepository.findTopLevelCategories()).thenReturn(categories);
+        when(categoryTreeCache.getTree()).thenReturn(sampleTree());
 
         // When
         List<CategoryResponse> response = categoryService.getTopLevelCategories();
@@ -187,22 +205,15 @@ class CategoryServiceTest {
         // Then
         assertNotNull(response);
         assertEquals(1, response.size());
-        verify(categoryRepository, times(1)).findTopLevelCategories();
+        assertEquals("electronics", response.get(0).getSlug());
+        verifyNoInteractions(categoryRepository, productRepository);
     }
 
     @Test
     @DisplayName("Should get subcategories")
     void getSubCategories_Success() {
         // Given
-        Category subCategory = Category.builder()
-                .id(2L)
-                .name("Laptops")
-                .parentCategory(testCategory)
-                .products(new ArrayList<>())
-                .build();
-
-        List<Category> subCategories = Arrays.asList(subCategory);
-        when(categoryRepository.findByParentCategoryId(1L)).thenReturn(subCategories);
+        when(categoryTreeCache.getTree()).thenReturn(sampleTree());
 
         // When
         List<CategoryResponse> response = categoryService.getSubCategories(1L);
@@ -210,7 +221,24 @@ class CategoryServiceTest {
         // Then
         assertNotNull(response);
         assertEquals(1, response.size());
-        verify(categoryRepository, times(1)).findByParentCategoryId(1L);
+        assertEquals("Laptops", response.get(0).getName());
+        verifyNoInteractions(categoryRepository, productRepository);
+    }
+
+    @Test
+    @DisplayName("Should page and sort all categories in memory")
+    void getAllCategories_SortedPage() {
+        // Given
+        when(categoryTreeCache.getTree()).thenReturn(sampleTree());
+
+        // When
+        Page<CategoryResponse> page = categoryService.getAllCategories(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name")));
+
+        // Then
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("Phones", "Laptops"), page.getContent().stream().map(CategoryResponse::getName).toList());
+        verifyNoInteractions(categoryRepository, productRepository);
     }
 
     // ==================== UPDATE CATEGORY TESTS ====================
@@ -222,13 +250,50 @@ class CategoryServiceTest {
         categoryRequest.setName("Updated Electronics");
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
         when(categoryRepository.save(any(Category.class))).thenReturn(testCategory);
+        when(categoryTreeCache.getTree()).thenReturn(sampleTree());
 
         // When
         CategoryResponse response = categoryService.updateCategory(1L, categoryRequest);
 
         // Then
         assertNotNull(response);
+        assertEquals(7, response.getTotalProductCount());
         verify(categoryRepository, times(1)).save(any(Category.class));
+        verify(categoryTreeCache).reloadAfterCommit();
+    }
+
+    @Test
+    @DisplayName("Should move the subtree when the parent changes")
+    void updateCategory_MovesSubtree() {
+        // Given
+        Category newParent = Category.builder().id(5L).name("Computers").build();
+        categoryRequest.setParentCategoryId(5L);
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findById(5L)).thenReturn(Optional.of(newParent));
+        when(categoryRepository.save(any(Category.class))).thenReturn(testCategory);
+        when(categoryTreeCache.getTree()).thenReturn(CategoryTree.empty());
+
+        // When
+        CategoryResponse response = categoryService.updateCategory(1L, categoryRequest);
+
+        // Then
+        assertEquals(5L, response.getParentCategoryId());
+        verify(categoryHierarchyService).categoryMoved(1L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should reject moving a category under its own subtree")
+    void updateCategory_CycleRejected() {
+        // Given
+        Category child = Category.builder().id(2L).name("Laptops").parentCategory(testCategory).build();
+        categoryRequest.setParentCategoryId(2L);
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(child));
+        doThrow(new IllegalStateException("cycle")).when(categoryHierarchyService).categoryMoved(1L, 2L);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> categoryService.updateCategory(1L, categoryRequest));
+        verify(categoryRepository, never()).save(any(Category.class));
     }
 
     @Test
@@ -258,6 +323,7 @@ class CategoryServiceTest {
 
         // Then
         verify(categoryRepository, times(1)).delete(testCategory);
+        verify(categoryHierarchyService).categoryDeleted(1L);
     }
 
     @Test
@@ -288,4 +354,22 @@ class CategoryServiceTest {
 
         verify(categoryRepository, never()).delete(any(Category.class));
     }
+
+    private CategoryTree sampleTree() {
+        Category laptops = Category.builder()
+                .id(2L)
+                .name("Laptops")
+                .slug("laptops")
+                .parentCategory(testCategory)
+                .active(true)
+                .build();
+        Category phones = Category.builder()
+                .id(3L)
+                .name("Phones")
+                .slug("phones")
+                .parentCategory(laptops)
+                .active(true)
+                .build();
+        return CategoryTree.of(List.of(testCategory, laptops, phones), Map.of(1L, 3, 2L, 1, 3L, 3));
+    }
 }
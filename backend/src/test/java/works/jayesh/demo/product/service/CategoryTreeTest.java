@@ -0,0 +1,91 @@
+package works.jayesh.demo.product.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import works.jayesh.demo.product.model.dto.CategoryResponse;
+import works.jayesh.demo.product.model.entity.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CategoryTree Unit Tests")
+class CategoryTreeTest {
+
+    @Test
+    @DisplayName("Should roll product counts up through every ancestor")
+    void totals_IncludeDescendants() {
+        Category root = category(1L, "root", null, 2);
+        Category child = category(2L, "child", root, 1);
+        Category grandChild = category(3L, "grand-child", child, 1);
+        Category sibling = category(4L, "sibling", root, 2);
+
+        CategoryTree tree = CategoryTree.of(List.of(grandChild, sibling, child, root),
+                Map.of(1L, 1, 2L, 2, 3L, 4, 4L, 8));
+
+        assertEquals(15, tree.findById(1L).orElseThrow().getTotalProductCount());
+        assertEquals(6, tree.findById(2L).orElseThrow().getTotalProductCount());
+        assertEquals(4, tree.findById(3L).orElseThrow().getTotalProductCount());
+        assertEquals(List.of(2L, 4L), tree.getChildren(1L).stream().map(CategoryResponse::getId).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L), tree.getAll().stream().map(CategoryResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should list only active roots in display order")
+    void topLevel_ActiveInDisplayOrder() {
+        Category second = category(1L, "second", null, 2);
+        Category first = category(2L, "first", null, 1);
+        Category hidden = category(3L, "hidden", null, 0);
+        hidden.setActive(false);
+        Category unordered = category(4L, "unordered", null, null);
+
+        CategoryTree tree = CategoryTree.of(List.of(second, first, hidden, unordered), Map.of());
+
+        assertEquals(List.of("first", "second", "unordered"),
+                tree.getTopLevel().stream().map(CategoryResponse::getSlug).toList());
+        assertTrue(tree.findBySlug("hidden").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should produce a new tree for count changes and leave the original untouched")
+    void withProductCountDelta_CopyOnWrite() {
+        Category root = category(1L, "root", null, 1);
+        Category child = category(2L, "child", root, 1);
+        CategoryTree tree = CategoryTree.of(List.of(root, child), Map.of(2L, 1));
+
+        CategoryTree updated = tree.withProductCountDelta(2L, 1);
+
+        assertEquals(1, tree.findById(1L).orElseThrow().getTotalProductCount());
+        assertEquals(2, updated.findById(1L).orElseThrow().getTotalProductCount());
+        assertEquals(2, updated.findById(2L).orElseThrow().getProductCount());
+        assertSame(tree, tree.withProductCountDelta(99L, 1));
+    }
+
+    @Test
+    @DisplayName("Should terminate on a parent cycle")
+    void totals_CycleSafe() {
+        Category a = category(1L, "a", null, 1);
+        Category b = category(2L, "b", a, 1);
+        a.setParentCategory(b);
+
+        CategoryTree tree = CategoryTree.of(List.of(a, b), Map.of(1L, 1, 2L, 1));
+
+        assertEquals(1, tree.findById(1L).orElseThrow().getTotalProductCount());
+        assertTrue(tree.getTopLevel().isEmpty());
+    }
+
+    private Category category(Long id, String slug, Category parent, Integer displayOrder) {
+        return Category.builder()
+                .id(id)
+                .name(slug)
+                .slug(slug)
+                .parentCategory(parent)
+                .active(true)
+                .displayOrder(displayOrder)
+                .subCategories(new ArrayList<>())
+                .products(new ArrayList<>())
+                .build();
+    }
+}
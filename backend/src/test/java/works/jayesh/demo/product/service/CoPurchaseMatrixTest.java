@@ -0,0 +1,72 @@
+package works.jayesh.demo.product.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CoPurchaseMatrix Unit Tests")
+class CoPurchaseMatrixTest {
+
+    @Test
+    @DisplayName("Should rank neighbours by cosine similarity of their orders")
+    void neighbours_RankedByCosine() {
+        CoPurchaseMatrix matrix = new CoPurchaseMatrix(8);
+        matrix.addOrder(new long[]{1L, 2L});
+        matrix.addOrder(new long[]{1L, 2L});
+        matrix.addOrder(new long[]{1L, 3L});
+        // Product 4 is in many baskets; raw counts would rank it first
+        for (int i = 0; i < 10; i++) {
+            matrix.addOrder(new long[]{4L, 100L + i});
+        }
+        matrix.addOrder(new long[]{1L, 4L});
+        matrix.addOrder(new long[]{1L, 4L});
+
+        CoPurchaseMatrix.Neighbours neighbours = matrix.neighbours(1L, 10);
+        assertArrayEquals(new long[]{2L, 3L, 4L}, neighbours.productIds());
+        assertEquals(2 / Math.sqrt(5 * 2), neighbours.scores()[0], 1e-6);
+        assertEquals(1 / Math.sqrt(5 * 1), neighbours.scores()[1], 1e-6);
+        assertEquals(2 / Math.sqrt(5 * 12), neighbours.scores()[2], 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should count a product repeated within one order once")
+    void addOrder_DeduplicatesLines() {
+        CoPurchaseMatrix matrix = new CoPurchaseMatrix(8);
+        matrix.addOrder(new long[]{1L, 2L, 2L});
+
+        CoPurchaseMatrix.Neighbours neighbours = matrix.neighbours(1L, 10);
+        assertArrayEquals(new long[]{2L}, neighbours.productIds());
+        assertEquals(1.0, neighbours.scores()[0], 1e-6);
+        assertEquals(2, matrix.size());
+    }
+
+    @Test
+    @DisplayName("Should honour the limit and break ties by lower product id")
+    void neighbours_LimitAndTies() {
+        CoPurchaseMatrix matrix = new CoPurchaseMatrix(8);
+        matrix.addOrder(new long[]{1L, 5L, 3L, 4L});
+
+        assertArrayEquals(new long[]{3L, 4L}, matrix.neighbours(1L, 2).productIds());
+        assertEquals(0, matrix.neighbours(99L, 2).productIds().length);
+    }
+
+    @Test
+    @DisplayName("Should keep the strongest neighbours when pruning the long tail")
+    void addOrder_PrunesToCandidates() {
+        CoPurchaseMatrix matrix = new CoPurchaseMatrix(2);
+        matrix.addOrder(new long[]{1L, 2L});
+        matrix.addOrder(new long[]{1L, 2L});
+        matrix.addOrder(new long[]{1L, 3L});
+        matrix.addOrder(new long[]{1L, 3L});
+        for (long id = 10; id < 20; id++) {
+            matrix.addOrder(new long[]{1L, id});
+        }
+
+        long[] kept = matrix.neighbours(1L, 10).productIds();
+        assertTrue(kept.length <= 3);
+        assertEquals(2L, kept[0]);
+        assertEquals(3L, kept[1]);
+        assertTrue(matrix.contains(19L));
+    }
+}
@@ -0,0 +1,72 @@
+package works.jayesh.demo.product.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProductRanking Unit Tests")
+class ProductRankingTest {
+
+    @Test
+    @DisplayName("Should order by score, then tiebreak, then lowest id")
+    void top_OrdersByScoreTiebreakAndId() {
+        ProductRanking ranking = new ProductRanking(10);
+        ranking.offer(1L, 4.5, 10);
+        ranking.offer(2L, 4.5, 30);
+        ranking.offer(3L, 5.0, 1);
+        ranking.offer(4L, 4.5, 10);
+
+        assertEquals(List.of(3L, 2L, 1L, 4L), ranking.top(10));
+        assertEquals(List.of(3L, 2L), ranking.top(2));
+    }
+
+    @Test
+    @DisplayName("Should keep only the best entries once full")
+    void offer_EvictsWeakestWhenFull() {
+        ProductRanking ranking = new ProductRanking(3);
+        ranking.offer(1L, 10, 0);
+        ranking.offer(2L, 20, 0);
+        ranking.offer(3L, 30, 0);
+
+        ranking.offer(4L, 5, 0);
+        assertEquals(List.of(3L, 2L, 1L), ranking.top(5));
+
+        ranking.offer(5L, 25, 0);
+        assertEquals(List.of(3L, 5L, 2L), ranking.top(5));
+        assertEquals(3, ranking.size());
+    }
+
+    @Test
+    @DisplayName("Should move a ranked product when its score changes")
+    void offer_UpdatesExistingEntry() {
+        ProductRanking ranking = new ProductRanking(3);
+        ranking.offer(1L, 10, 0);
+        ranking.offer(2L, 20, 0);
+        ranking.offer(3L, 30, 0);
+
+        ranking.offer(1L, 40, 0);
+        assertEquals(List.of(1L, 3L, 2L), ranking.top(3));
+
+        // A ranked product that drops stays ranked rather than being treated as a newcomer
+        ranking.offer(3L, 1, 0);
+        assertEquals(List.of(1L, 2L, 3L), ranking.top(3));
+        assertEquals(3, ranking.size());
+    }
+
+    @Test
+    @DisplayName("Should free a slot when a product is removed")
+    void remove_FreesSlot() {
+        ProductRanking ranking = new ProductRanking(2);
+        ranking.offer(1L, 10, 0);
+        ranking.offer(2L, 20, 0);
+
+        ranking.remove(2L);
+        ranking.remove(99L);
+        ranking.offer(3L, 5, 0);
+
+        assertEquals(List.of(1L, 3L), ranking.top(2));
+    }
+}
@@ -46,6 +46,18 @@ class ProductServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CategoryTreeCache categoryTreeCache;
+
+    @Mock
+    private ProductLeaderboards productLeaderboards;
+
+    @Mock
+    private TrendingProducts trendingProducts;
+
+    @Mock
+    private RelatedProducts relatedProducts;
+
     @InjectMocks
     private ProductService productService;
 
@@ -116,6 +128,7 @@ class ProductServiceTest {
         assertEquals("Test Product", response.getName());
         assertEquals("TEST-SKU-001", response.getSku());
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(categoryTreeCache).productCountChanged(1L, 1);
     }
 
     @Test
@@ -240,6 +253,8 @@ class ProductServiceTest {
 
         // Then
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(categoryTreeCache).productCountChanged(1L, -1);
+        verify(productLeaderboards).productsChanged(List.of(1L));
     }
 
     @Test
@@ -291,5 +306,6 @@ class ProductServiceTest {
 
         // Then
         verify(productRepository, times(1)).save(testProduct);
+        verify(productLeaderboards).productsChanged(List.of(1L));
     }
 }
@@ -0,0 +1,102 @@
+package works.jayesh.demo.product.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import works.jayesh.demo.product.model.dto.TrendingProductResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TrendingProducts Unit Tests")
+class TrendingProductsTest {
+
+    private static final long MINUTE = 60_000;
+
+    private TrendingProducts trending;
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        // One-minute buckets over a one-hour ring, two products counted exactly
+        trending = new TrendingProducts(60, 1, 2, 256, 4);
+        start = (System.currentTimeMillis() / MINUTE + 1) * MINUTE;
+    }
+
+    private void sell(long productId, int quantity, long at) {
+        trending.record(List.of(sale(productId, quantity)), 1, at, at);
+    }
+
+    private static TrendingProducts.Sale sale(long productId, int quantity) {
+        return new TrendingProducts.Sale(productId, quantity, "Product " + productId, "product-" + productId,
+                null, new BigDecimal("10.00"));
+    }
+
+    private List<Long> ids(List<TrendingProductResponse> products) {
+        return products.stream().map(TrendingProductResponse::getProductId).toList();
+    }
+
+    @Test
+    @DisplayName("Should rank recent sales above larger but older sales")
+    void getTrending_DecaysOlderSales() {
+        sell(1L, 10, start);
+        sell(2L, 6, start + 50 * MINUTE);
+
+        List<TrendingProductResponse> hour = trending.getTrending(Duration.ofHours(1), 10, start + 50 * MINUTE);
+        assertEquals(List.of(2L, 1L), ids(hour));
+        assertEquals(6L, hour.get(0).getUnitsSold());
+        assertEquals(10L, hour.get(1).getUnitsSold());
+        assertEquals("product-2", hour.get(0).getSlug());
+
+        List<TrendingProductResponse> recent = trending.getTrending(Duration.ofMinutes(15), 10, start + 50 * MINUTE);
+        assertEquals(List.of(2L), ids(recent));
+    }
+
+    @Test
+    @DisplayName("Should take cancelled units out of the bucket they were sold in")
+    void record_CancellationRemovesSale() {
+        sell(1L, 5, start);
+        sell(2L, 1, start);
+
+        trending.record(List.of(sale(1L, 5)), -1, start, start + 10 * MINUTE);
+
+        assertEquals(List.of(2L), ids(trending.getTrending(Duration.ofHours(1), 10, start + 10 * MINUTE)));
+    }
+
+    @Test
+    @DisplayName("Should forget sales once they leave the window")
+    void getTrending_ExpiresOldBuckets() {
+        sell(1L, 5, start);
+
+        assertEquals(List.of(1L), ids(trending.getTrending(Duration.ofHours(1), 10, start + 59 * MINUTE)));
+        assertTrue(trending.getTrending(Duration.ofHours(1), 10, start + 61 * MINUTE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should admit an untracked product only once it outsells the weakest tracked one")
+    void record_AdmitsFromSketch() {
+        sell(1L, 5, start);
+        sell(2L, 3, start);
+
+        sell(3L, 1, start + MINUTE);
+        assertEquals(List.of(1L, 2L), ids(trending.getTrending(Duration.ofHours(1), 10, start + MINUTE)));
+
+        // The sketch remembers the first unit, so four more make five and displace product 2
+        sell(3L, 4, start + 2 * MINUTE);
+        List<TrendingProductResponse> top = trending.getTrending(Duration.ofHours(1), 10, start + 2 * MINUTE);
+        assertEquals(List.of(3L, 1L), ids(top));
+        assertEquals(5L, top.get(0).getUnitsSold());
+    }
+
+    @Test
+    @DisplayName("Should reject windows longer than the ring")
+    void getTrending_RejectsWindowBeyondRing() {
+        assertThrows(IllegalStateException.class,
+                () -> trending.getTrending(Duration.ofHours(2), 10, start));
+        assertThrows(IllegalStateException.class,
+                () -> trending.getTrending(Duration.ZERO, 10, start));
+    }
+}
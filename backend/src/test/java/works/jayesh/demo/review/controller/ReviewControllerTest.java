@@ -1,6 +1,7 @@
 package works.jayesh.demo.review.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,11 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import works.jayesh.demo.common.exception.GlobalExceptionHandler;
@@ -26,6 +32,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,7 +57,8 @@ class ReviewControllerTest {
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(reviewController)
                 .setControllerAdvice(new GlobalExceptionHandler())
-                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver(),
+                        new AuthenticationPrincipalArgumentResolver())
                 .build();
         objectMapper = new ObjectMapper();
 
@@ -73,6 +81,17 @@ class ReviewControllerTest {
         reviewRequest.setComment("Great quality and fast shipping!");
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void signIn(String email) {
+        UserDetails principal = User.withUsername(email).password("").roles("CUSTOMER").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
     @Test
     @DisplayName("Should create review successfully")
     void createReview_Success() throws Exception {
@@ -161,6 +180,19 @@ class ReviewControllerTest {
                 .andExpect(jsonPath("$.data.content[0].productId").value(1));
     }
 
+    @Test
+    @DisplayName("Should get most helpful product reviews")
+    void getProductReviews_MostHelpful() throws Exception {
+        Page<ReviewResponse> page = new PageImpl<>(Arrays.asList(reviewResponse), PageRequest.of(0, 20), 1);
+
+        when(reviewService.getMostHelpfulProductReviews(eq(1L), any())).thenReturn(page);
+
+        mockMvc.perform(get("/api/reviews/product/1").param("mostHelpful", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].productId").value(1));
+    }
+
     @Test
     @DisplayName("Should get user reviews with pagination")
     void getUserReviews_Success() throws Exception {
@@ -228,16 +260,22 @@ class ReviewControllerTest {
     @Test
     @DisplayName("Should mark review as helpful successfully")
     void markHelpful_Success() throws Exception {
-        mockMvc.perform(patch("/api/reviews/1/helpful"))
+        signIn("john@example.com");
+
+        mockMvc.perform(patch("/api/reviews/1/helpful").param("userId", "99"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
+
+        // The voter is the signed-in user, whatever the request claims
+        verify(reviewService).markHelpful(1L, "john@example.com");
     }
 
     @Test
     @DisplayName("Should return 404 when marking non-existent review as helpful")
     void markHelpful_NotFound() throws Exception {
         doThrow(new ResourceNotFoundException("Review not found with id: 999"))
-                .when(reviewService).markHelpful(999L);
+                .when(reviewService).markHelpful(999L, "john@example.com");
+        signIn("john@example.com");
 
         mockMvc.perform(patch("/api/reviews/999/helpful"))
                 .andExpect(status().isNotFound())
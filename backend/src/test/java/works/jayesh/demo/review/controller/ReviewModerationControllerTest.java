@@ -0,0 +1,96 @@
+package works.jayesh.demo.review.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import works.jayesh.demo.common.exception.GlobalExceptionHandler;
+import works.jayesh.demo.review.model.dto.*;
+import works.jayesh.demo.review.service.ReviewModerationService;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReviewModerationController API Tests")
+class ReviewModerationControllerTest {
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private ReviewModerationService reviewModerationService;
+
+    @InjectMocks
+    private ReviewModerationController reviewModerationController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reviewModerationController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    @DisplayName("Should get pending review queue")
+    void getPendingReviews_Success() throws Exception {
+        ModerationQueueResponse queue = ModerationQueueResponse.builder()
+                .reviews(List.of(ReviewResponse.builder().id(5L).build()))
+                .nextAfterId(5L)
+                .hasMore(true)
+                .pendingTotal(50000L)
+                .build();
+        when(reviewModerationService.getPendingReviews(eq(null), eq(100))).thenReturn(queue);
+
+        mockMvc.perform(get("/api/reviews/moderation/pending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.nextAfterId").value(5))
+                .andExpect(jsonPath("$.data.pendingTotal").value(50000));
+    }
+
+    @Test
+    @DisplayName("Should bulk approve reviews")
+    void moderate_Success() throws Exception {
+        BulkModerationRequest request = new BulkModerationRequest(List.of(1L, 2L), ModerationAction.APPROVE);
+        BulkModerationResponse result = BulkModerationResponse.builder()
+                .action(ModerationAction.APPROVE)
+                .requested(2)
+                .processed(2)
+                .productsUpdated(1)
+                .build();
+        when(reviewModerationService.moderate(any(BulkModerationRequest.class))).thenReturn(result);
+
+        mockMvc.perform(post("/api/reviews/moderation/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.processed").value(2))
+                .andExpect(jsonPath("$.data.productsUpdated").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when no review IDs are given")
+    void moderate_EmptyIds() throws Exception {
+        BulkModerationRequest request = new BulkModerationRequest(List.of(), ModerationAction.REJECT);
+
+        mockMvc.perform(post("/api/reviews/moderation/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
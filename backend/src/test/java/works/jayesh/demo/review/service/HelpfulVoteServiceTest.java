@@ -0,0 +1,156 @@
+package works.jayesh.demo.review.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import works.jayesh.demo.review.repository.ReviewHelpfulVoteRepository;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HelpfulVoteService Unit Tests")
+class HelpfulVoteServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ReviewHelpfulVoteRepository voteRepository;
+
+    @InjectMocks
+    private HelpfulVoteService helpfulVoteService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count a vote once its row is inserted")
+    void recordVote_CountsNewVote() {
+        when(voteRepository.insertIfAbsent(1L, 10L)).thenReturn(1);
+
+        assertTrue(helpfulVoteService.recordVote(1L, 10L));
+
+        assertEquals(1, helpfulVoteService.getPendingVotes(1L));
+    }
+
+    @Test
+    @DisplayName("Should reject a repeat vote already stored for the user")
+    void recordVote_RejectsStoredVote() {
+        when(voteRepository.insertIfAbsent(1L, 10L)).thenReturn(0);
+
+        assertFalse(helpfulVoteService.recordVote(1L, 10L));
+
+        assertEquals(0, helpfulVoteService.getPendingVotes(1L));
+    }
+
+    @Test
+    @DisplayName("Should count the vote only when the transaction commits")
+    void recordVote_CountedAfterCommit() {
+        when(voteRepository.insertIfAbsent(anyLong(), anyLong())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        helpfulVoteService.recordVote(1L, 10L);
+        assertEquals(0, helpfulVoteService.getPendingVotes(1L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, helpfulVoteService.getPendingVotes(1L));
+    }
+
+    @Test
+    @DisplayName("Should not lose votes recorded concurrently")
+    void recordVote_Concurrent() throws Exception {
+        when(voteRepository.insertIfAbsent(anyLong(), anyLong())).thenReturn(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < 8; t++) {
+            long base = t * 1000L;
+            executor.submit(() -> {
+                start.await();
+                for (long user = 0; user < 1000; user++) {
+                    helpfulVoteService.recordVote(1L, base + user);
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8000, helpfulVoteService.getPendingVotes(1L));
+    }
+
+    @Test
+    @DisplayName("Should flush pending votes as one batched increment per review")
+    @SuppressWarnings("unchecked")
+    void flush_BatchesIncrements() {
+        when(voteRepository.insertIfAbsent(anyLong(), anyLong())).thenReturn(1);
+        helpfulVoteService.recordVote(1L, 10L);
+        helpfulVoteService.recordVote(1L, 11L);
+        helpfulVoteService.recordVote(2L, 10L);
+
+        helpfulVoteService.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(contains("helpful_count = helpful_count + ?"), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertEquals(0, helpfulVoteService.getPendingVotes(1L));
+        assertEquals(0, helpfulVoteService.getPendingVotes(2L));
+    }
+
+    @Test
+    @DisplayName("Should skip the database when there is nothing to flush")
+    void flush_NothingPending() {
+        helpfulVoteService.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep votes pending when the flush fails")
+    void flush_FailureRetainsVotes() {
+        when(voteRepository.insertIfAbsent(anyLong(), anyLong())).thenReturn(1);
+        helpfulVoteService.recordVote(1L, 10L);
+        helpfulVoteService.recordVote(1L, 11L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        helpfulVoteService.flush();
+
+        assertEquals(2, helpfulVoteService.getPendingVotes(1L));
+    }
+
+    @Test
+    @DisplayName("Should drop pending votes and stored voters for a deleted review")
+    void discard_RemovesReviewState() {
+        when(voteRepository.insertIfAbsent(1L, 10L)).thenReturn(1);
+        helpfulVoteService.recordVote(1L, 10L);
+
+        helpfulVoteService.discard(List.of(1L));
+
+        assertEquals(0, helpfulVoteService.getPendingVotes(1L));
+        verify(voteRepository).deleteByReviewIdIn(List.of(1L));
+    }
+}
@@ -0,0 +1,76 @@
+package works.jayesh.demo.review.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReviewDuplicateFilter Unit Tests")
+class ReviewDuplicateFilterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ReviewDuplicateFilter reviewDuplicateFilter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reviewDuplicateFilter, "expectedInsertions", 10_000L);
+        ReflectionTestUtils.setField(reviewDuplicateFilter, "falsePositiveRate", 0.01);
+    }
+
+    @Test
+    @DisplayName("Should report every pair as a possible duplicate before seeding")
+    void mightContain_BeforeSeed() {
+        assertTrue(reviewDuplicateFilter.mightContain(1L, 1L));
+    }
+
+    @Test
+    @DisplayName("Should never give a false negative for added pairs")
+    @SuppressWarnings("unchecked")
+    void mightContain_NoFalseNegatives() {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any(), any())).thenReturn(0);
+        reviewDuplicateFilter.seed();
+
+        for (long user = 1; user <= 5_000; user++) {
+            reviewDuplicateFilter.put(user % 97, user);
+        }
+
+        for (long user = 1; user <= 5_000; user++) {
+            assertTrue(reviewDuplicateFilter.mightContain(user % 97, user));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate near the configured bound")
+    @SuppressWarnings("unchecked")
+    void mightContain_FalsePositiveRate() {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any(), any())).thenReturn(0);
+        reviewDuplicateFilter.seed();
+
+        for (long user = 1; user <= 10_000; user++) {
+            reviewDuplicateFilter.put(1L, user);
+        }
+
+        int falsePositives = 0;
+        for (long user = 1; user <= 10_000; user++) {
+            if (reviewDuplicateFilter.mightContain(2L, user)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
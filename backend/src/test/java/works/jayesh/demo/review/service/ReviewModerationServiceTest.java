@@ -0,0 +1,199 @@
+package works.jayesh.demo.review.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import works.jayesh.demo.product.model.entity.Product;
+import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.ProductLeaderboards;
+import works.jayesh.demo.review.model.dto.*;
+import works.jayesh.demo.review.model.entity.Review;
+import works.jayesh.demo.review.repository.ReviewRepository;
+import works.jayesh.demo.user.model.entity.User;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReviewModerationService Unit Tests")
+class ReviewModerationServiceTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ReviewService reviewService;
+
+    @Mock
+    private HelpfulVoteService helpfulVoteService;
+
+    @Mock
+    private ProductLeaderboards productLeaderboards;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ReviewModerationService reviewModerationService;
+
+    private Review review1;
+    private Review review2;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().id(1L).firstName("John").lastName("Doe").build();
+        Product product = Product.builder().id(1L).name("Test Product").build();
+
+        review1 = Review.builder().id(10L).product(product).user(user).rating(5).title("Great").build();
+        review2 = Review.builder().id(11L).product(product).user(user).rating(3).title("Okay").build();
+    }
+
+    // ==================== PENDING QUEUE TESTS ====================
+
+    @Test
+    @DisplayName("Should return a keyset page with a cursor when more reviews are pending")
+    void getPendingReviews_HasMore() {
+        // Given
+        when(reviewRepository.findPendingAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(review1, review2));
+        when(reviewRepository.countByApprovedFalse()).thenReturn(2L);
+        when(reviewService.mapToResponse(any(Review.class)))
+                .thenAnswer(inv -> ReviewResponse.builder().id(((Review) inv.getArgument(0)).getId()).build());
+
+        // When
+        ModerationQueueResponse queue = reviewModerationService.getPendingReviews(null, 1);
+
+        // Then
+        assertEquals(1, queue.getReviews().size());
+        assertEquals(10L, queue.getNextAfterId());
+        assertTrue(queue.isHasMore());
+        assertEquals(2L, queue.getPendingTotal());
+    }
+
+    @Test
+    @DisplayName("Should skip the pending count after the first page")
+    void getPendingReviews_LastPage() {
+        // Given
+        when(reviewRepository.findPendingAfter(eq(10L), any(Pageable.class))).thenReturn(List.of(review2));
+        when(reviewService.mapToResponse(any(Review.class))).thenReturn(new ReviewResponse());
+
+        // When
+        ModerationQueueResponse queue = reviewModerationService.getPendingReviews(10L, 50);
+
+        // Then
+        assertFalse(queue.isHasMore());
+        assertEquals(11L, queue.getNextAfterId());
+        assertNull(queue.getPendingTotal());
+        verify(reviewRepository, never()).countByApprovedFalse();
+    }
+
+    // ==================== BULK MODERATION TESTS ====================
+
+    @Test
+    @DisplayName("Should approve in one statement and recompute each product rating once")
+    void moderate_Approve() {
+        // Given
+        List<Long> ids = List.of(10L, 11L, 12L);
+        when(reviewRepository.findPendingProductIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(reviewRepository.approvePending(anyCollection())).thenReturn(3);
+        when(reviewRepository.summarizeApprovedRatings(List.of(1L, 2L)))
+                .thenReturn(List.of(new ProductRatingSummary(1L, 4.0, 2L)));
+
+        // When
+        BulkModerationResponse response = reviewModerationService.moderate(
+                new BulkModerationRequest(ids, ModerationAction.APPROVE));
+
+        // Then
+        assertEquals(3, response.getProcessed());
+        assertEquals(0, response.getSkipped());
+        assertEquals(2, response.getProductsUpdated());
+        verify(reviewRepository, times(1)).approvePending(anyCollection());
+        verify(productRepository, times(1)).updateRatingSummary(1L, 4.0, 2);
+        verify(productRepository, times(1)).updateRatingSummary(2L, 0.0, 0);
+        assertEquals(3.0, meterRegistry.get("reviews.moderation.processed").tag("action", "APPROVE")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject pending reviews without touching product ratings")
+    void moderate_Reject() {
+        // Given: 11 is already approved, so only 10 is pending
+        when(reviewRepository.findPendingIds(anyCollection())).thenReturn(List.of(10L));
+        when(reviewRepository.deletePending(List.of(10L))).thenReturn(1);
+
+        // When
+        BulkModerationResponse response = reviewModerationService.moderate(
+                new BulkModerationRequest(List.of(10L, 11L), ModerationAction.REJECT));
+
+        // Then
+        assertEquals(1, response.getProcessed());
+        assertEquals(1, response.getSkipped());
+        verify(helpfulVoteService, times(1)).discard(List.of(10L));
+        verify(reviewRepository, never()).findExistingIds(anyCollection());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep the votes of a review approved while the reject ran")
+    void moderate_RejectRacingApproval() {
+        // Given: 11 was approved between the select and the delete
+        when(reviewRepository.findPendingIds(anyCollection())).thenReturn(List.of(10L, 11L));
+        when(reviewRepository.deletePending(List.of(10L, 11L))).thenReturn(1);
+        when(reviewRepository.findExistingIds(List.of(10L, 11L))).thenReturn(List.of(11L));
+
+        // When
+        BulkModerationResponse response = reviewModerationService.moderate(
+                new BulkModerationRequest(List.of(10L, 11L), ModerationAction.REJECT));
+
+        // Then
+        assertEquals(1, response.getProcessed());
+        verify(helpfulVoteService, times(1)).discard(List.of(10L));
+    }
+
+    @Test
+    @DisplayName("Should skip the delete when no requested review is pending")
+    void moderate_RejectNothingPending() {
+        // Given
+        when(reviewRepository.findPendingIds(anyCollection())).thenReturn(List.of());
+
+        // When
+        BulkModerationResponse response = reviewModerationService.moderate(
+                new BulkModerationRequest(List.of(10L), ModerationAction.REJECT));
+
+        // Then
+        assertEquals(0, response.getProcessed());
+        verify(reviewRepository, never()).deletePending(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should count duplicate review IDs once")
+    void moderate_DuplicateIds() {
+        // Given
+        when(reviewRepository.findPendingProductIds(anyCollection())).thenReturn(List.of());
+        when(reviewRepository.approvePending(anyCollection())).thenReturn(1);
+
+        // When
+        BulkModerationResponse response = reviewModerationService.moderate(
+                new BulkModerationRequest(List.of(10L, 10L), ModerationAction.APPROVE));
+
+        // Then
+        assertEquals(1, response.getRequested());
+        assertEquals(0, response.getProductsUpdated());
+        verifyNoInteractions(productRepository);
+    }
+}
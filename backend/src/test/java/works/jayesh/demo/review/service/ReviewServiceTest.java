@@ -1,5 +1,6 @@
 package works.jayesh.demo.review.service;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,16 +8,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import works.jayesh.demo.common.exception.DuplicateResourceException;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
-import works.jayesh.demo.order.model.entity.OrderItem;
+import works.jayesh.demo.order.model.entity.OrderStatus;
 import works.jayesh.demo.order.repository.OrderItemRepository;
 import works.jayesh.demo.product.model.entity.Product;
 import works.jayesh.demo.product.repository.ProductRepository;
+import works.jayesh.demo.product.service.ProductLeaderboards;
 import works.jayesh.demo.review.model.dto.ReviewRequest;
 import works.jayesh.demo.review.model.dto.ReviewResponse;
 import works.jayesh.demo.review.model.entity.Review;
@@ -24,7 +27,6 @@ import works.jayesh.demo.review.repository.ReviewRepository;
 import works.jayesh.demo.user.model.entity.User;
 import works.jayesh.demo.user.repository.UserRepository;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -49,6 +51,15 @@ class ReviewServiceTest {
     @Mock
     private OrderItemRepository orderItemRepository;
 
+    @Mock
+    private HelpfulVoteService helpfulVoteService;
+
+    @Mock
+    private ReviewDuplicateFilter reviewDuplicateFilter;
+
+    @Mock
+    private ProductLeaderboards productLeaderboards;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -96,10 +107,11 @@ class ReviewServiceTest {
     @DisplayName("Should create review successfully")
     void createReview_Success() {
         // Given
-        when(reviewRepository.existsByProductIdAndUserId(1L, 1L)).thenReturn(false);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(orderItemRepository.findByUserIdAndProductId(1L, 1L)).thenReturn(Arrays.asList(new OrderItem()));
+        when(reviewDuplicateFilter.mightContain(1L, 1L)).thenReturn(false);
+        when(productRepository.getReferenceById(1L)).thenReturn(testProduct);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(orderItemRepository.existsByOrderUserIdAndProductIdAndOrderStatusNot(1L, 1L, OrderStatus.CANCELLED))
+                .thenReturn(true);
         when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
 
         // When
@@ -109,13 +121,18 @@ class ReviewServiceTest {
         assertNotNull(response);
         assertEquals(5, response.getRating());
         assertEquals("Great product!", response.getTitle());
-        verify(reviewRepository, times(1)).save(any(Review.class));
+        verify(reviewRepository, times(1)).save(argThat(Review::isVerified));
+        verify(reviewRepository, never()).existsByProductIdAndUserId(anyLong(), anyLong());
+        verify(productRepository, never()).findById(anyLong());
+        verify(userRepository, never()).findById(anyLong());
+        verify(reviewDuplicateFilter, times(1)).put(1L, 1L);
     }
 
     @Test
     @DisplayName("Should throw exception when user already reviewed product")
     void createReview_AlreadyReviewed() {
         // Given
+        when(reviewDuplicateFilter.mightContain(1L, 1L)).thenReturn(true);
         when(reviewRepository.existsByProductIdAndUserId(1L, 1L)).thenReturn(true);
 
         // When & Then
@@ -127,44 +144,69 @@ class ReviewServiceTest {
     }
 
     @Test
-    @DisplayName("Should throw exception when product not found")
+    @DisplayName("Should map a unique constraint violation to a duplicate review")
+    void createReview_ConcurrentDuplicate() {
+        // Given
+        when(productRepository.getReferenceById(1L)).thenReturn(testProduct);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(reviewRepository.save(any(Review.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_review_product_user"));
+
+        // When & Then
+        assertThrows(DuplicateResourceException.class, () -> {
+            reviewService.createReview(1L, reviewRequest);
+        });
+
+        verify(reviewDuplicateFilter, never()).put(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should map the product foreign key violation to not found")
     void createReview_ProductNotFound() {
         // Given
+        when(reviewDuplicateFilter.mightContain(1L, 1L)).thenReturn(true);
         when(reviewRepository.existsByProductIdAndUserId(1L, 1L)).thenReturn(false);
-        when(productRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(reviewRepository.save(any(Review.class))).thenThrow(foreignKeyViolation("FK_REVIEW_PRODUCT"));
 
         // When & Then
-        assertThrows(ResourceNotFoundException.class, () -> {
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class, () -> {
             reviewService.createReview(1L, reviewRequest);
         });
 
-        verify(reviewRepository, never()).save(any(Review.class));
+        assertEquals("Product not found: 1", e.getMessage());
+        verify(productRepository, never()).findById(anyLong());
+        verify(reviewDuplicateFilter, never()).put(anyLong(), anyLong());
     }
 
     @Test
-    @DisplayName("Should throw exception when user not found")
+    @DisplayName("Should map the user foreign key violation to not found")
     void createReview_UserNotFound() {
         // Given
-        when(reviewRepository.existsByProductIdAndUserId(1L, 1L)).thenReturn(false);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(reviewRepository.save(any(Review.class))).thenThrow(foreignKeyViolation("fk_review_user"));
 
         // When & Then
-        assertThrows(ResourceNotFoundException.class, () -> {
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class, () -> {
             reviewService.createReview(1L, reviewRequest);
         });
 
-        verify(reviewRepository, never()).save(any(Review.class));
+        assertEquals("User not found: 1", e.getMessage());
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    private static DataIntegrityViolationException foreignKeyViolation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", null,
+                        ConstraintViolationException.ConstraintKind.FOREIGN_KEY, constraint));
     }
 
     @Test
     @DisplayName("Should create unverified review when user has not purchased")
     void createReview_UnverifiedPurchase() {
         // Given
-        when(reviewRepository.existsByProductIdAndUserId(1L, 1L)).thenReturn(false);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(orderItemRepository.findByUserIdAndProductId(1L, 1L)).thenReturn(new ArrayList<>());
+        when(productRepository.getReferenceById(1L)).thenReturn(testProduct);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(orderItemRepository.existsByOrderUserIdAndProductIdAndOrderStatusNot(1L, 1L, OrderStatus.CANCELLED))
+                .thenReturn(false);
         when(reviewRepository.save(any(Review.class))).thenReturn(testReview);
 
         // When
@@ -172,7 +214,7 @@ class ReviewServiceTest {
 
         // Then
         assertNotNull(response);
-        verify(reviewRepository, times(1)).save(any(Review.class));
+        verify(reviewRepository, times(1)).save(argThat(review -> !review.isVerified()));
     }
 
     // ==================== GET REVIEW TESTS ====================
@@ -339,4 +381,98 @@ class ReviewServiceTest {
             reviewService.approveReview(999L);
         });
     }
+
+    // ==================== HELPFUL VOTE TESTS ====================
+
+    @Test
+    @DisplayName("Should record helpful vote without loading or saving the review")
+    void markHelpful_Success() {
+        // Given
+        when(reviewRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findIdByEmail("voter@example.com")).thenReturn(Optional.of(2L));
+        when(helpfulVoteService.recordVote(1L, 2L)).thenReturn(true);
+
+        // When
+        assertDoesNotThrow(() -> reviewService.markHelpful(1L, "voter@example.com"));
+
+        // Then
+        verify(helpfulVoteService, times(1)).recordVote(1L, 2L);
+        verify(reviewRepository, never()).findById(anyLong());
+        verify(reviewRepository, never()).save(any(Review.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a second helpful vote from the same user")
+    void markHelpful_DuplicateVote() {
+        // Given
+        when(reviewRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findIdByEmail("voter@example.com")).thenReturn(Optional.of(2L));
+        when(helpfulVoteService.recordVote(1L, 2L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(DuplicateResourceException.class, () -> {
+            reviewService.markHelpful(1L, "voter@example.com");
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject a helpful vote from an unknown principal")
+    void markHelpful_UnknownVoter() {
+        // Given
+        when(reviewRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findIdByEmail("gone@example.com")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> {
+            reviewService.markHelpful(1L, "gone@example.com");
+        });
+
+        verify(helpfulVoteService, never()).recordVote(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when marking non-existent review as helpful")
+    void markHelpful_NotFound() {
+        // Given
+        when(reviewRepository.existsById(anyLong())).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> {
+            reviewService.markHelpful(999L, "voter@example.com");
+        });
+
+        verify(helpfulVoteService, never()).recordVote(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should include pending helpful votes in review response")
+    void getReviewById_IncludesPendingVotes() {
+        // Given
+        testReview.setHelpfulCount(3);
+        when(reviewRepository.findById(1L)).thenReturn(Optional.of(testReview));
+        when(helpfulVoteService.getPendingVotes(1L)).thenReturn(2L);
+
+        // When
+        ReviewResponse response = reviewService.getReviewById(1L);
+
+        // Then
+        assertEquals(5, response.getHelpfulCount());
+    }
+
+    @Test
+    @DisplayName("Should get most helpful product reviews")
+    void getMostHelpfulProductReviews_Success() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Review> reviewPage = new PageImpl<>(Arrays.asList(testReview), pageable, 1);
+
+        when(reviewRepository.findByProductIdAndApprovedTrueOrderByHelpfulCountDescIdDesc(1L, pageable))
+                .thenReturn(reviewPage);
+
+        // When
+        Page<ReviewResponse> response = reviewService.getMostHelpfulProductReviews(1L, pageable);
+
+        // Then
+        assertEquals(1, response.getTotalElements());
+    }
 }
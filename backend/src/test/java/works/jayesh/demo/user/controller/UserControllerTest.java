@@ -21,6 +21,7 @@ import works.jayesh.demo.common.exception.ResourceNotFoundException;
 import works.jayesh.demo.user.model.dto.UserRegistrationRequest;
 import works.jayesh.demo.user.model.dto.UserResponse;
 import works.jayesh.demo.user.model.dto.UserUpdateRequest;
+import works.jayesh.demo.user.model.entity.UserRole;
 import works.jayesh.demo.user.service.UserService;
 
 import java.util.Collections;
@@ -217,7 +218,7 @@ class UserControllerTest {
         // Given
         Pageable pageable = PageRequest.of(0, 20);
         Page<UserResponse> page = new PageImpl<>(Collections.singletonList(testUser), pageable, 1);
-        when(userService.searchUsers(eq("John"), any())).thenReturn(page);
+        when(userService.searchUsers(eq("John"), isNull(), any())).thenReturn(page);
 
         // When & Then
         mockMvc.perform(get("/api/users/search")
@@ -227,7 +228,25 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value("Search completed successfully"))
                 .andExpect(jsonPath("$.data.content[0].firstName").value("John"));
 
-        verify(userService, times(1)).searchUsers(eq("John"), any());
+        verify(userService, times(1)).searchUsers(eq("John"), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/search?role= - Should scope the search to one role")
+    void searchUsers_WithRole() throws Exception {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<UserResponse> page = new PageImpl<>(Collections.singletonList(testUser), pageable, 1);
+        when(userService.searchUsers(eq("jo"), eq(UserRole.ADMIN), any())).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/users/search")
+                .param("keyword", "jo")
+                .param("role", "ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(1));
+
+        verify(userService, times(1)).searchUsers(eq("jo"), eq(UserRole.ADMIN), any());
     }
 
     // ==================== UPDATE TESTS ====================
@@ -0,0 +1,113 @@
+package works.jayesh.demo.user.service;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import works.jayesh.demo.user.model.entity.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginActivityRecorder Unit Tests")
+class LoginActivityRecorderTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private LoginActivityRecorder loginActivityRecorder;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManagerFactory.getCache()).thenReturn(cache);
+    }
+
+    @Test
+    @DisplayName("Should coalesce a login burst into one row per user holding the latest time")
+    @SuppressWarnings("unchecked")
+    void flush_CoalescesBurst() {
+        // Given: 10,000 logins spread over 100 users
+        for (int i = 0; i < 10_000; i++) {
+            loginActivityRecorder.recordLogin((long) (i % 100), START.plusSeconds(i));
+        }
+        assertEquals(100, loginActivityRecorder.getPendingCount());
+
+        // When
+        loginActivityRecorder.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(LoginActivityRecorder.UPDATE_SQL), batch.capture());
+        assertEquals(100, batch.getValue().size());
+        for (Object[] row : batch.getValue()) {
+            long userId = (Long) row[1];
+            assertEquals(Timestamp.valueOf(START.plusSeconds(9_900 + userId)), row[0]);
+        }
+        assertEquals(0, loginActivityRecorder.getPendingCount());
+        verify(cache, times(100)).evict(eq(User.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing is pending")
+    void flush_NothingPending() {
+        loginActivityRecorder.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep logins for the next flush when the write fails")
+    void flush_RetriesAfterFailure() {
+        // Given
+        loginActivityRecorder.recordLogin(1L, START);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When
+        loginActivityRecorder.flush();
+
+        // Then: a newer login recorded meanwhile wins over the re-queued one
+        verifyNoInteractions(cache);
+        loginActivityRecorder.recordLogin(1L, START.plusMinutes(5));
+        assertEquals(1, loginActivityRecorder.getPendingCount());
+        User user = User.builder().id(1L).build();
+        assertEquals(START.plusMinutes(5), loginActivityRecorder.getLastLoginAt(user));
+    }
+
+    @Test
+    @DisplayName("Should report pending logins ahead of the stored value")
+    void getLastLoginAt_IncludesPending() {
+        User user = User.builder().id(7L).lastLoginAt(START).build();
+        assertEquals(START, loginActivityRecorder.getLastLoginAt(user));
+
+        loginActivityRecorder.recordLogin(7L, START.plusHours(1));
+        assertEquals(START.plusHours(1), loginActivityRecorder.getLastLoginAt(user));
+
+        User other = User.builder().id(8L).lastLoginAt(START.plusDays(1)).build();
+        loginActivityRecorder.recordLogin(8L, START);
+        assertEquals(START.plusDays(1), loginActivityRecorder.getLastLoginAt(other));
+    }
+}
@@ -0,0 +1,144 @@
+package works.jayesh.demo.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import works.jayesh.demo.user.model.entity.User;
+import works.jayesh.demo.user.model.entity.UserRole;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSearchIndex Unit Tests")
+class UserSearchIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any(), any())).thenReturn(0);
+    }
+
+    private void buildWith(User... users) {
+        userSearchIndex.rebuild();
+        for (User user : users) {
+            userSearchIndex.indexAfterCommit(user);
+        }
+    }
+
+    private static User user(long id, String email, String firstName, String lastName, UserRole role) {
+        return User.builder()
+                .id(id)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .role(role)
+                .build();
+    }
+
+    private List<Long> search(String keyword) {
+        return userSearchIndex.search(keyword, null, 0, 20).userIds();
+    }
+
+    @Test
+    @DisplayName("Should not be ready and return nothing before the first build")
+    void search_BeforeBuild() {
+        assertFalse(userSearchIndex.isReady());
+        assertTrue(search("john").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match prefixes, infixes and mixed case")
+    void search_PrefixInfixCaseInsensitive() {
+        buildWith(
+                user(1, "john.smith@example.com", "John", "Smith", UserRole.CUSTOMER),
+                user(2, "alice@shop.io", "Alice", "Johnson", UserRole.SELLER),
+                user(3, "bob@example.com", "Bob", "Stone", UserRole.CUSTOMER));
+
+        assertTrue(userSearchIndex.isReady());
+        assertEquals(List.of(1L, 2L), search("JOHN"));
+        assertEquals(List.of(2L), search("hnso"));
+        assertEquals(List.of(1L), search("n.smi"));
+        assertEquals(List.of(1L), search("john smith"));
+        assertTrue(search("zzz").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match short keywords against word prefixes only")
+    void search_ShortKeyword() {
+        buildWith(
+                user(1, "ann@example.com", "Ann", "Lee", UserRole.CUSTOMER),
+                user(2, "joanna@example.com", "Joanna", "Park", UserRole.CUSTOMER));
+
+        assertEquals(List.of(1L), search("a"));
+        assertEquals(List.of(2L), search("Jo"));
+        assertEquals(List.of(1L), search("le"));
+    }
+
+    @Test
+    @DisplayName("Should rank closer and prefix matches ahead of infix matches")
+    void search_RankedBySimilarity() {
+        buildWith(
+                user(1, "mark.maryland@example.com", "Mark", "Maryland", UserRole.CUSTOMER),
+                user(2, "rosemary@example.com", "Rose", "Smith", UserRole.CUSTOMER),
+                user(3, "mary@example.com", "Mary", "Jones", UserRole.CUSTOMER));
+
+        assertEquals(List.of(3L, 1L, 2L), search("mary"));
+    }
+
+    @Test
+    @DisplayName("Should restrict hits to the requested role")
+    void search_RoleScoped() {
+        buildWith(
+                user(1, "dana@example.com", "Dana", "Admin", UserRole.ADMIN),
+                user(2, "dana.seller@example.com", "Dana", "Seller", UserRole.SELLER));
+
+        assertEquals(List.of(2L), userSearchIndex.search("dana", UserRole.SELLER, 0, 20).userIds());
+        assertEquals(2, userSearchIndex.search("dana", null, 0, 20).total());
+    }
+
+    @Test
+    @DisplayName("Should forget old values once a user is re-indexed")
+    void search_ReindexReplacesDocument() {
+        buildWith(user(1, "temp@example.com", "Temp", "User", UserRole.CUSTOMER));
+
+        userSearchIndex.indexAfterCommit(user(1, "temp@example.com", "Priya", "Raman", UserRole.CUSTOMER));
+
+        assertTrue(search("user").isEmpty());
+        assertEquals(List.of(1L), search("priya"));
+        assertEquals(1, userSearchIndex.search("temp", null, 0, 20).total());
+    }
+
+    @Test
+    @DisplayName("Should page through ranked hits and report the total")
+    void search_Paging() {
+        userSearchIndex.rebuild();
+        for (long id = 1; id <= 50; id++) {
+            userSearchIndex.indexAfterCommit(user(id, "customer" + id + "@example.com", "Pat", "Customer", UserRole.CUSTOMER));
+        }
+
+        UserSearchIndex.Result first = userSearchIndex.search("pat", null, 0, 20);
+        UserSearchIndex.Result last = userSearchIndex.search("pat", null, 40, 20);
+
+        assertEquals(50, first.total());
+        assertEquals(20, first.userIds().size());
+        assertEquals(10, last.userIds().size());
+        assertEquals(1L, first.userIds().get(0));
+        assertEquals(50L, last.userIds().get(9));
+    }
+}
@@ -7,6 +7,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import works.jayesh.demo.common.exception.DuplicateResourceException;
 import works.jayesh.demo.common.exception.ResourceNotFoundException;
@@ -18,6 +22,7 @@ import works.jayesh.demo.user.model.entity.UserRole;
 import works.jayesh.demo.user.model.entity.UserStatus;
 import works.jayesh.demo.user.repository.UserRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +43,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private LoginActivityRecorder loginActivityRecorder;
+
     @InjectMocks
     private UserService userService;
 
@@ -89,6 +100,7 @@ class UserServiceTest {
         assertEquals("Doe", response.getLastName());
         verify(userRepository, times(1)).save(any(User.class));
         verify(passwordEncoder, times(1)).encode("password123");
+        verify(userSearchIndex).indexAfterCommit(testUser);
     }
 
     @Test
@@ -337,4 +349,73 @@ class UserServiceTest {
         // Should not check for duplicate when phone number is the same
         verify(userRepository, never()).existsByPhoneNumber(anyString());
     }
+
+    @Test
+    @DisplayName("Should return users in index ranking order")
+    void searchUsers_UsesIndexRanking() {
+        // Given
+        User jane = User.builder()
+                .id(2L)
+                .email("jane@example.com")
+                .firstName("Jane")
+                .lastName("Doe")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build();
+        when(userSearchIndex.isReady()).thenReturn(true);
+        when(userSearchIndex.search("doe", null, 0, 20))
+                .thenReturn(new UserSearchIndex.Result(List.of(2L, 1L), 2));
+        when(userRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testUser, jane));
+
+        // When
+        Page<UserResponse> page = userService.searchUsers("doe", null, PageRequest.of(0, 20));
+
+        // Then
+        assertEquals(2, page.getTotalElements());
+        assertEquals("jane@example.com", page.getContent().get(0).getEmail());
+        assertEquals("test@example.com", page.getContent().get(1).getEmail());
+        verify(userRepository, never()).searchUsers(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database while the index is building")
+    void searchUsers_FallsBackWhenIndexNotReady() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userSearchIndex.isReady()).thenReturn(false);
+        when(userRepository.searchUsers("john", UserRole.CUSTOMER, pageable))
+                .thenReturn(new PageImpl<>(List.of(testUser), pageable, 1));
+
+        // When
+        Page<UserResponse> page = userService.searchUsers(" john ", UserRole.CUSTOMER, pageable);
+
+        // Then
+        assertEquals(1, page.getTotalElements());
+        verify(userSearchIndex, never()).search(anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should defer the last login write to the recorder")
+    void updateLastLogin_Deferred() {
+        // Given
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        userService.updateLastLogin(1L);
+
+        // Then
+        verify(loginActivityRecorder).recordLogin(1L);
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should throw when recording a login for an unknown user")
+    void updateLastLogin_NotFound() {
+        // Given
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> userService.updateLastLogin(99L));
+        verifyNoInteractions(loginActivityRecorder);
+    }
 }